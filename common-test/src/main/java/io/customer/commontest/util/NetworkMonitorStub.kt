@@ -0,0 +1,19 @@
+package io.customer.commontest.util
+
+import io.customer.sdk.core.network.NetworkMonitor
+import io.customer.sdk.core.network.NetworkState
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+
+/**
+ * [NetworkMonitor] whose state is controlled by tests, online by default.
+ */
+class NetworkMonitorStub(isConnected: Boolean = true) : NetworkMonitor {
+    private val state = MutableStateFlow(NetworkState(isConnected = isConnected))
+
+    override val networkState: StateFlow<NetworkState> = state
+
+    fun setConnected(isConnected: Boolean) {
+        state.value = NetworkState(isConnected = isConnected)
+    }
+}
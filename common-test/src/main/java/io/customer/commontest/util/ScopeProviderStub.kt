@@ -10,7 +10,10 @@ class ScopeProviderStub private constructor(
     override val eventBusScope: TestScope,
     override val lifecycleListenerScope: TestScope,
     override val inAppLifecycleScope: TestScope,
-    override val locationScope: TestScope
+    override val locationScope: TestScope,
+    override val networkScope: TestScope,
+    override val metricsScope: TestScope,
+    override val moduleInitScope: TestScope
 ) : ScopeProvider {
 
     @Suppress("FunctionName")
@@ -20,14 +23,20 @@ class ScopeProviderStub private constructor(
             eventBusScope = TestScope(UnconfinedTestDispatcher()),
             lifecycleListenerScope = TestScope(UnconfinedTestDispatcher()),
             inAppLifecycleScope = TestScope(UnconfinedTestDispatcher()),
-            locationScope = TestScope(UnconfinedTestDispatcher())
+            locationScope = TestScope(UnconfinedTestDispatcher()),
+            networkScope = TestScope(UnconfinedTestDispatcher()),
+            metricsScope = TestScope(UnconfinedTestDispatcher()),
+            moduleInitScope = TestScope(UnconfinedTestDispatcher())
         )
 
         fun Standard(): ScopeProviderStub = ScopeProviderStub(
             eventBusScope = TestScope(StandardTestDispatcher()),
             lifecycleListenerScope = TestScope(StandardTestDispatcher()),
             inAppLifecycleScope = TestScope(StandardTestDispatcher()),
-            locationScope = TestScope(StandardTestDispatcher())
+            locationScope = TestScope(StandardTestDispatcher()),
+            networkScope = TestScope(StandardTestDispatcher()),
+            metricsScope = TestScope(StandardTestDispatcher()),
+            moduleInitScope = TestScope(StandardTestDispatcher())
         )
     }
 }
@@ -2,15 +2,14 @@ package io.customer.sdk.communication
 
 import io.customer.base.internal.InternalCustomerIOApi
 import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.metrics.MetricNames
 import kotlin.reflect.KClass
-import kotlin.reflect.safeCast
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.flow.consumeAsFlow
-import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.launch
 
 /**
@@ -28,12 +27,28 @@ interface EventBus {
 inline fun <reified T : Event> EventBus.subscribe(noinline action: (T) -> Unit) = subscribe(T::class, action)
 
 /**
- * Implementation of [EventBus] using [SharedFlow] for event handling.
+ * Implementation of [EventBus] that dispatches each event only to subscribers
+ * registered for a matching type.
+ *
+ * All published events are funneled through a single dispatcher coroutine, so
+ * events are delivered in publish order. Subscribers are indexed by the
+ * [KClass] they subscribed with and each subscriber owns a mailbox drained by
+ * its own coroutine, so a published event wakes only the subscribers that can
+ * receive it instead of every collector in the SDK.
+ * Subscribing with a supertype (e.g. [Event]) still receives all subtypes; the
+ * resolved subscribers for each concrete event type are cached until the next
+ * subscription change.
+ *
+ * Late subscribers receive past events based on [EventReplayPolicy] of each
+ * event type instead of a shared replay buffer, e.g. only the latest
+ * [Event.UserChangedEvent] is replayed while [Event.TrackInAppMetricEvent] is
+ * never replayed.
+ *
  * param scope: [CoroutineScope] to be used for event handling.
- * param flow: [SharedFlow] to be used for event handling and buffer for replay.
+ * param flow: [SharedFlow] to be used for raw event stream.
  */
 class EventBusImpl(
-    private val sharedFlow: MutableSharedFlow<Event> = MutableSharedFlow(replay = 100)
+    private val sharedFlow: MutableSharedFlow<Event> = MutableSharedFlow(extraBufferCapacity = DEFAULT_BUFFER_CAPACITY)
 ) : EventBus {
 
     override val flow: SharedFlow<Event> get() = sharedFlow
@@ -44,36 +59,191 @@ class EventBusImpl(
 
     private val eventChannel = Channel<Event>(capacity = Channel.UNLIMITED)
 
+    // Events published but not yet dispatched to subscribers
+    private val queueDepth = SDKComponent.metricsRegistry.gauge(MetricNames.EVENT_BUS_QUEUE_DEPTH)
+
+    // Guards subscriber index and dispatching so that a new subscriber receives
+    // replayed events followed by live events without gaps or duplicates
+    private val dispatchLock = Any()
+
+    // Subscribers keyed by the type they subscribed with
+    private val subscriptions = HashMap<KClass<out Event>, MutableList<Subscription<*>>>()
+
+    // Subscribers resolved for each concrete event type, rebuilt lazily after subscription changes
+    private val dispatchTable = HashMap<KClass<out Event>, List<Subscription<*>>>()
+
+    // Latest event of each sticky type, kept in the order they were last published
+    private val stickyEvents = LinkedHashMap<KClass<out Event>, Event>()
+
+    // Events published before their type had any subscriber, waiting for the first one
+    private val pendingEvents = ArrayDeque<Event>()
+
     init {
         scope.launch {
             eventChannel.consumeAsFlow().collect { event ->
-                sharedFlow.tryEmit(event)
+                queueDepth.add(-1)
+                dispatch(event)
             }
         }
     }
 
     override fun publish(event: Event) {
-        eventChannel.trySend(event)
+        // Counted before sending so the dispatcher never observes a negative depth
+        queueDepth.add(1)
+        if (eventChannel.trySend(event).isFailure) {
+            queueDepth.add(-1)
+        }
     }
 
     inline fun <reified T : Event> EventBus.subscribe(noinline action: suspend (T) -> Unit) = subscribe(T::class, action)
 
     override fun removeAllSubscriptions() {
-        synchronized(jobs) {
-            jobs.forEach { it.cancel() }
-            jobs.clear()
+        // Cancel outside the lock as completion handlers of the jobs update the list
+        val activeJobs = synchronized(jobs) {
+            jobs.toList().also { jobs.clear() }
+        }
+        activeJobs.forEach { it.cancel() }
+        synchronized(dispatchLock) {
+            subscriptions.values.forEach { list -> list.forEach { it.close() } }
+            subscriptions.clear()
+            dispatchTable.clear()
         }
     }
 
     override fun <T : Event> subscribe(type: KClass<T>, action: suspend (T) -> Unit): Job {
-        val job = scope.launch {
-            flow.mapNotNull { type.safeCast(it) }.collect { event ->
-                action.invoke(event)
-            }
+        val subscription = Subscription(type, action)
+        synchronized(dispatchLock) {
+            replayTo(subscription)
+            subscriptions.getOrPut(type) { mutableListOf() }.add(subscription)
+            dispatchTable.clear()
         }
+
+        val job = scope.launch { subscription.consume() }
         synchronized(jobs) {
             jobs.add(job)
         }
+        job.invokeOnCompletion {
+            unregister(subscription)
+            synchronized(jobs) {
+                jobs.remove(job)
+            }
+        }
         return job
     }
+
+    private fun dispatch(event: Event) {
+        synchronized(dispatchLock) {
+            sharedFlow.tryEmit(event)
+            val eventType = event::class
+            val targets = dispatchTable[eventType] ?: resolveSubscribers(eventType).also {
+                dispatchTable[eventType] = it
+            }
+            // Indexed loop avoids allocating an iterator for every published event
+            for (index in targets.indices) {
+                targets[index].offer(event)
+            }
+            retainForReplay(event, hasSubscribers = targets.isNotEmpty())
+        }
+    }
+
+    private fun retainForReplay(event: Event, hasSubscribers: Boolean) {
+        event.invalidatedStickyTypes.forEach { stickyEvents.remove(it) }
+        when (event.replayPolicy) {
+            EventReplayPolicy.NONE -> {}
+            EventReplayPolicy.LATEST -> {
+                // Remove first so the entry moves to the end and replay keeps publish order
+                stickyEvents.remove(event::class)
+                stickyEvents[event::class] = event
+            }
+
+            EventReplayPolicy.UNTIL_SUBSCRIBED -> {
+                if (hasSubscribers) return
+
+                pendingEvents.addLast(event)
+                while (pendingEvents.size > MAX_PENDING_EVENTS) {
+                    pendingEvents.removeFirst()
+                }
+            }
+        }
+    }
+
+    /**
+     * Offers retained events to a new subscriber. Sticky events are replayed
+     * first, followed by pending events which are handed over only once.
+     * Must be called while holding [dispatchLock].
+     */
+    private fun replayTo(subscription: Subscription<*>) {
+        stickyEvents.values.forEach { event ->
+            if (subscription.type.isInstance(event)) subscription.offer(event)
+        }
+
+        if (pendingEvents.isEmpty()) return
+        val iterator = pendingEvents.iterator()
+        while (iterator.hasNext()) {
+            val event = iterator.next()
+            if (subscription.type.isInstance(event)) {
+                subscription.offer(event)
+                iterator.remove()
+            }
+        }
+    }
+
+    private fun resolveSubscribers(eventType: KClass<out Event>): List<Subscription<*>> {
+        val resolved = mutableListOf<Subscription<*>>()
+        for ((subscribedType, subscribers) in subscriptions) {
+            if (subscribedType.java.isAssignableFrom(eventType.java)) {
+                resolved.addAll(subscribers)
+            }
+        }
+        return resolved
+    }
+
+    private fun unregister(subscription: Subscription<*>) {
+        synchronized(dispatchLock) {
+            val subscribers = subscriptions[subscription.type] ?: return
+            if (!subscribers.remove(subscription)) return
+
+            if (subscribers.isEmpty()) {
+                subscriptions.remove(subscription.type)
+            }
+            dispatchTable.clear()
+        }
+        subscription.close()
+    }
+
+    /**
+     * Single subscriber registered with [subscribe]. Events offered to the
+     * subscription are buffered in its mailbox and delivered in order by
+     * [consume] running in the subscriber coroutine.
+     */
+    private class Subscription<T : Event>(
+        val type: KClass<T>,
+        private val action: suspend (T) -> Unit
+    ) {
+        private val mailbox = Channel<T>(capacity = Channel.UNLIMITED)
+
+        // Callers only offer events resolved for this subscription's type
+        @Suppress("UNCHECKED_CAST")
+        fun offer(event: Event) {
+            mailbox.trySend(event as T)
+        }
+
+        suspend fun consume() {
+            for (event in mailbox) {
+                action.invoke(event)
+            }
+        }
+
+        fun close() {
+            mailbox.cancel()
+        }
+    }
+
+    companion object {
+        // Buffer for collectors of raw flow so slow collectors don't drop events
+        private const val DEFAULT_BUFFER_CAPACITY = 100
+
+        // Upper bound of events held for types without subscribers
+        private const val MAX_PENDING_EVENTS = 100
+    }
 }
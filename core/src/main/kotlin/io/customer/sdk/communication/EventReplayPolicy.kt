@@ -0,0 +1,56 @@
+package io.customer.sdk.communication
+
+import kotlin.reflect.KClass
+
+/**
+ * Defines how [EventBusImpl] retains a published event for subscribers that
+ * register after the event was dispatched.
+ */
+internal enum class EventReplayPolicy {
+    /**
+     * Fire-and-forget events that are only delivered to current subscribers
+     * and never replayed.
+     */
+    NONE,
+
+    /**
+     * Sticky events where only the latest value of the type is retained and
+     * replayed to every new subscriber of the type.
+     */
+    LATEST,
+
+    /**
+     * Events that must not be lost when published before anyone subscribed to
+     * them (e.g. push metrics tracked before SDK initialization). Events are
+     * held only while the type has no subscribers and are handed to the first
+     * subscriber, after which they are never replayed again.
+     */
+    UNTIL_SUBSCRIBED
+}
+
+/**
+ * Replay policy of the event. Declared exhaustively so every new [Event]
+ * type has to decide whether late subscribers should see it.
+ */
+internal val Event.replayPolicy: EventReplayPolicy
+    get() = when (this) {
+        is Event.UserChangedEvent -> EventReplayPolicy.LATEST
+        is Event.ScreenViewedEvent -> EventReplayPolicy.LATEST
+        is Event.RegisterDeviceTokenEvent -> EventReplayPolicy.LATEST
+        is Event.TrackPushMetricEvent -> EventReplayPolicy.UNTIL_SUBSCRIBED
+        is Event.TrackInAppMetricEvent -> EventReplayPolicy.NONE
+        is Event.DeleteDeviceTokenEvent -> EventReplayPolicy.NONE
+        is Event.ResetEvent -> EventReplayPolicy.NONE
+    }
+
+/**
+ * Sticky event types made stale by the event. They stop being replayed once
+ * the event is published, so late subscribers never see e.g. a device token
+ * that was already deleted.
+ */
+internal val Event.invalidatedStickyTypes: List<KClass<out Event>>
+    get() = when (this) {
+        is Event.DeleteDeviceTokenEvent,
+        is Event.ResetEvent -> listOf(Event.RegisterDeviceTokenEvent::class)
+        else -> emptyList()
+    }
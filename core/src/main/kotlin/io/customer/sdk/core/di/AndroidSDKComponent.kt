@@ -1,7 +1,9 @@
 package io.customer.sdk.core.di
 
 import android.app.Application
+import android.content.ComponentCallbacks
 import android.content.Context
+import android.content.res.Configuration
 import io.customer.sdk.core.extensions.applicationMetaData
 import io.customer.sdk.data.store.ApplicationStore
 import io.customer.sdk.data.store.ApplicationStoreImpl
@@ -12,6 +14,7 @@ import io.customer.sdk.data.store.DeviceStore
 import io.customer.sdk.data.store.DeviceStoreImpl
 import io.customer.sdk.data.store.GlobalPreferenceStore
 import io.customer.sdk.data.store.GlobalPreferenceStoreImpl
+import java.util.Locale
 
 abstract class AndroidSDKComponent : DiGraph() {
     abstract val client: Client
@@ -48,17 +51,44 @@ class AndroidSDKComponentImpl(
     override val applicationStore: ApplicationStore
         get() = newInstance<ApplicationStore> { ApplicationStoreImpl(context = applicationContext) }
     override val deviceStore: DeviceStore
-        get() = newInstance<DeviceStore> {
+        get() = singleton<DeviceStore> {
             DeviceStoreImpl(
                 buildStore = buildStore,
                 applicationStore = applicationStore,
                 client = client
-            )
+            ).also { store -> observeDeviceChanges(store) }
         }
     override val globalPreferenceStore: GlobalPreferenceStore
         get() = singleton<GlobalPreferenceStore> { GlobalPreferenceStoreImpl(applicationContext) }
 
+    @Volatile
+    private var deviceConfigurationCallbacks: ComponentCallbacks? = null
+
+    /**
+     * Invalidates device snapshot cached by [store] when locale changes.
+     * Push permission is checked by the store itself on every read.
+     */
+    private fun observeDeviceChanges(store: DeviceStoreImpl) {
+        val callbacks = object : ComponentCallbacks {
+            private var locale = Locale.getDefault()
+
+            override fun onConfigurationChanged(newConfig: Configuration) {
+                val newLocale = Locale.getDefault()
+                if (newLocale != locale) {
+                    locale = newLocale
+                    store.invalidateSnapshot()
+                }
+            }
+
+            override fun onLowMemory() {}
+        }
+        application.registerComponentCallbacks(callbacks)
+        deviceConfigurationCallbacks = callbacks
+    }
+
     override fun reset() {
+        deviceConfigurationCallbacks?.let { application.unregisterComponentCallbacks(it) }
+        deviceConfigurationCallbacks = null
         super.reset()
 
         SDKComponent.activityLifecycleCallbacks.unregister(application)
@@ -0,0 +1,36 @@
+package io.customer.sdk.core.di
+
+/**
+ * Receives a [ConstructionTrace] for every singleton created in any
+ * [DiGraph]. Tracing is disabled by default and can be enabled from SDK code
+ * or tests by setting internal [DiGraph.constructionTracer], e.g. to find
+ * which dependencies make up SDK initialization time:
+ * ```
+ * DiGraph.constructionTracer = ConstructionTracer { trace ->
+ *     Log.d("DiGraph", "${trace.chain.joinToString(" > ")} took ${trace.durationMillis}ms")
+ * }
+ * ```
+ * Tracer is called on the thread that created the singleton, right after it
+ * is created.
+ */
+fun interface ConstructionTracer {
+    fun onConstructed(trace: ConstructionTrace)
+}
+
+/**
+ * Timing of a single singleton construction.
+ *
+ * @property key key of the constructed dependency in the graph.
+ * @property durationNanos time taken by the creator, including time taken by
+ * any dependencies created while constructing it.
+ * @property chain keys of dependencies being constructed on the same thread,
+ * from outermost to [key], i.e. which dependency caused this one to be created.
+ */
+data class ConstructionTrace(
+    val key: String,
+    val durationNanos: Long,
+    val chain: List<String>
+) {
+    val durationMillis: Double
+        get() = durationNanos / 1_000_000.0
+}
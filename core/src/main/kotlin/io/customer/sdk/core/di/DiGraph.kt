@@ -44,10 +44,24 @@ abstract class DiGraph {
         identifier: String?,
         newInstanceCreator: () -> Dependency
     ): Dependency {
+        val singletonKey = dependencyKey<Dependency>(identifier)
+        // Singletons are only ever added to the concurrent map once created, so
+        // existing instances can be read without taking the lock.
+        singletons[singletonKey]?.let { return it as Dependency }
+
         // Use a synchronized block to prevent multiple threads from creating multiple instances of the singleton.
         synchronized(lock = singletons) {
-            val singletonKey = dependencyKey<Dependency>(identifier)
-            return singletons.getOrPut(singletonKey, newInstanceCreator) as Dependency
+            singletons[singletonKey]?.let { return it as Dependency }
+
+            val tracer = constructionTracer
+            val startNanos = if (tracer != null) beginConstruction(singletonKey) else 0L
+            val instance = try {
+                newInstanceCreator()
+            } finally {
+                if (tracer != null) endConstruction(tracer, singletonKey, startNanos)
+            }
+            singletons[singletonKey] = instance
+            return instance
         }
     }
 
@@ -124,6 +138,37 @@ abstract class DiGraph {
         newInstanceCreator = newInstanceCreator
     )
 
+    companion object {
+        /**
+         * Tracer notified whenever a singleton is created in any graph, null
+         * (disabled) by default. See [ConstructionTracer].
+         */
+        @Volatile
+        @JvmStatic
+        @InternalCustomerIOApi
+        var constructionTracer: ConstructionTracer? = null
+
+        // Keys of singletons being constructed on current thread, outermost first
+        private val constructionChain = ThreadLocal<ArrayList<String>>()
+
+        @PublishedApi
+        internal fun beginConstruction(key: String): Long {
+            val chain = constructionChain.get() ?: ArrayList<String>().also { constructionChain.set(it) }
+            chain.add(key)
+            return System.nanoTime()
+        }
+
+        @PublishedApi
+        internal fun endConstruction(tracer: ConstructionTracer, key: String, startNanos: Long) {
+            val durationNanos = System.nanoTime() - startNanos
+            val chain = constructionChain.get() ?: return
+            val trace = ConstructionTrace(key = key, durationNanos = durationNanos, chain = chain.toList())
+            chain.removeAt(chain.lastIndex)
+            // Tracer failures must never break dependency creation
+            runCatching { tracer.onConstructed(trace) }
+        }
+    }
+
     /**
      * Reset the graph to its initial state.
      * This is meant to be called in between automated tests but can also be
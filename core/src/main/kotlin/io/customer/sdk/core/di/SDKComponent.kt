@@ -1,15 +1,20 @@
 package io.customer.sdk.core.di
 
+import io.customer.base.internal.InternalCustomerIOApi
 import io.customer.sdk.communication.EventBus
 import io.customer.sdk.communication.EventBusImpl
 import io.customer.sdk.core.environment.BuildEnvironment
 import io.customer.sdk.core.environment.DefaultBuildEnvironment
+import io.customer.sdk.core.metrics.MetricsRegistry
 import io.customer.sdk.core.module.CustomerIOModule
 import io.customer.sdk.core.module.CustomerIOModuleConfig
+import io.customer.sdk.core.network.AndroidNetworkMonitor
+import io.customer.sdk.core.network.NetworkMonitor
 import io.customer.sdk.core.util.DispatchersProvider
 import io.customer.sdk.core.util.Logger
 import io.customer.sdk.core.util.LoggerImpl
 import io.customer.sdk.core.util.ScopeProvider
+import io.customer.sdk.core.util.SdkCoroutineDispatcher
 import io.customer.sdk.core.util.SdkDispatchers
 import io.customer.sdk.core.util.SdkScopeProvider
 import io.customer.sdk.lifecycle.CustomerIOActivityLifecycleCallbacks
@@ -44,20 +49,36 @@ object SDKComponent : DiGraph() {
     val buildEnvironment: BuildEnvironment
         get() = newInstance<BuildEnvironment> { DefaultBuildEnvironment() }
     val logger: Logger
-        get() = singleton<Logger> { LoggerImpl(buildEnvironment = buildEnvironment) }
+        get() = singleton<Logger> {
+            LoggerImpl(
+                buildEnvironment = buildEnvironment,
+                sinkDispatcher = { dispatchersProvider.background }
+            )
+        }
+
+    // Metrics reported by all modules about SDK performance
+    val metricsRegistry: MetricsRegistry
+        get() = singleton<MetricsRegistry> { MetricsRegistry(reportScope = { scopeProvider.metricsScope }) }
 
     // Communication dependencies
     val eventBus: EventBus
         get() = singleton<EventBus> { EventBusImpl() }
     val dispatchersProvider: DispatchersProvider
         get() = newInstance<DispatchersProvider> { SdkDispatchers() }
+    @InternalCustomerIOApi
+    val sdkCoroutineDispatcher: SdkCoroutineDispatcher
+        get() = singleton<SdkCoroutineDispatcher> { SdkCoroutineDispatcher() }
     val scopeProvider: ScopeProvider
-        get() = newInstance<ScopeProvider> { SdkScopeProvider(dispatchersProvider) }
+        get() = singleton<ScopeProvider> { SdkScopeProvider(dispatchersProvider) }
 
     override fun reset() {
         androidSDKComponent?.reset()
         modules.clear()
         eventBus.removeAllSubscriptions()
+        (singletons[dependencyKey<MetricsRegistry>(identifier = null)] as? MetricsRegistry)?.reset()
+        // Cancel long-lived scopes owned by the SDK so their coroutines do not outlive the graph
+        (singletons[dependencyKey<ScopeProvider>(identifier = null)] as? ScopeProvider)?.cancelAll()
+        (singletons[dependencyKey<NetworkMonitor>(identifier = null)] as? AndroidNetworkMonitor)?.stop()
 
         super.reset()
     }
@@ -2,8 +2,11 @@ package io.customer.sdk.core.di
 
 import android.content.Context
 import io.customer.base.internal.InternalCustomerIOApi
+import io.customer.sdk.core.network.AndroidNetworkMonitor
 import io.customer.sdk.core.network.CustomerIOHttpClient
 import io.customer.sdk.core.network.CustomerIOHttpClientImpl
+import io.customer.sdk.core.network.NetworkMonitor
+import io.customer.sdk.core.network.RequestBodyCompressor
 import io.customer.sdk.core.util.CustomerIOWorkManagerProvider
 
 /**
@@ -26,6 +29,14 @@ fun SDKComponent.setupAndroidComponent(
 val SDKComponent.httpClient: CustomerIOHttpClient
     get() = singleton<CustomerIOHttpClient> { CustomerIOHttpClientImpl() }
 
+@InternalCustomerIOApi
+val SDKComponent.requestBodyCompressor: RequestBodyCompressor
+    get() = singleton<RequestBodyCompressor> { RequestBodyCompressor() }
+
+@InternalCustomerIOApi
+val SDKComponent.networkMonitor: NetworkMonitor
+    get() = singleton<NetworkMonitor> { AndroidNetworkMonitor(android().applicationContext, logger) }
+
 @InternalCustomerIOApi
 val SDKComponent.workManagerProvider: CustomerIOWorkManagerProvider
     get() = singleton<CustomerIOWorkManagerProvider> { CustomerIOWorkManagerProvider(android().applicationContext, logger) }
@@ -0,0 +1,129 @@
+package io.customer.sdk.core.metrics
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Monotonically increasing count, e.g. number of reconnects.
+ */
+class Counter internal constructor() {
+    private val value = AtomicLong()
+
+    val count: Long
+        get() = value.get()
+
+    fun increment(delta: Long = 1) {
+        value.addAndGet(delta)
+    }
+}
+
+/**
+ * Value sampled at a point in time, e.g. current queue depth.
+ */
+class Gauge internal constructor() {
+    private val current = AtomicLong()
+
+    val value: Long
+        get() = current.get()
+
+    fun set(value: Long) {
+        current.set(value)
+    }
+
+    fun add(delta: Long) {
+        current.addAndGet(delta)
+    }
+}
+
+/**
+ * Distribution of recorded values, e.g. request latency in milliseconds or
+ * flush size in bytes.
+ * Values are counted in buckets with power of two upper bounds, so recording
+ * is lock-free and allocation free and percentiles are approximated by upper
+ * bound of the bucket they fall in.
+ */
+class Histogram internal constructor() {
+    private val count = AtomicLong()
+    private val sum = AtomicLong()
+    private val min = AtomicLong(Long.MAX_VALUE)
+    private val max = AtomicLong(Long.MIN_VALUE)
+    private val buckets = AtomicLongArray(BUCKET_COUNT)
+
+    fun record(value: Long) {
+        val sample = value.coerceAtLeast(0)
+        count.incrementAndGet()
+        sum.addAndGet(sample)
+        buckets.incrementAndGet(bucketIndex(sample))
+        updateMin(sample)
+        updateMax(sample)
+    }
+
+    /**
+     * Runs [block] and records its duration in milliseconds.
+     */
+    inline fun <T> time(block: () -> T): T {
+        val startNanos = System.nanoTime()
+        try {
+            return block()
+        } finally {
+            record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+        }
+    }
+
+    internal fun snapshot(): HistogramSnapshot {
+        val samples = count.get()
+        if (samples == 0L) return HistogramSnapshot.EMPTY
+
+        val bucketCounts = LongArray(BUCKET_COUNT) { buckets.get(it) }
+        return HistogramSnapshot(
+            count = samples,
+            sum = sum.get(),
+            min = min.get(),
+            max = max.get(),
+            p50 = percentile(bucketCounts, 0.50),
+            p95 = percentile(bucketCounts, 0.95),
+            p99 = percentile(bucketCounts, 0.99)
+        )
+    }
+
+    private fun updateMin(sample: Long) {
+        var current = min.get()
+        while (sample < current && !min.compareAndSet(current, sample)) {
+            current = min.get()
+        }
+    }
+
+    private fun updateMax(sample: Long) {
+        var current = max.get()
+        while (sample > current && !max.compareAndSet(current, sample)) {
+            current = max.get()
+        }
+    }
+
+    private fun percentile(bucketCounts: LongArray, quantile: Double): Long {
+        // Counts are read one by one while writers may be recording, so rank
+        // is based on sum of buckets read instead of count read earlier
+        val total = bucketCounts.sum()
+        if (total == 0L) return 0
+        val rank = kotlin.math.ceil(total * quantile).toLong().coerceAtLeast(1)
+        var seen = 0L
+        for (index in bucketCounts.indices) {
+            seen += bucketCounts[index]
+            if (seen >= rank) return bucketUpperBound(index)
+        }
+        return bucketUpperBound(BUCKET_COUNT - 1)
+    }
+
+    internal companion object {
+        private const val BUCKET_COUNT = 40
+
+        // Bucket 0 holds 0, bucket i holds values in [2^(i-1), 2^i)
+        fun bucketIndex(value: Long): Int {
+            if (value == 0L) return 0
+            return (Long.SIZE_BITS - java.lang.Long.numberOfLeadingZeros(value)).coerceAtMost(BUCKET_COUNT - 1)
+        }
+
+        fun bucketUpperBound(index: Int): Long = if (index == 0) 0 else (1L shl index) - 1
+    }
+}
@@ -0,0 +1,152 @@
+package io.customer.sdk.core.metrics
+
+import io.customer.sdk.core.di.SDKComponent
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArraySet
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+
+/**
+ * Registry of metrics SDK modules report their own performance to.
+ * Metrics are created on first use and looked up by name, see [MetricNames]
+ * for names reported by SDK. Updating a metric is lock-free so it can be
+ * done from hot paths.
+ *
+ * Registered [MetricsListener]s receive a [MetricsSnapshot] every
+ * [reportIntervalMillis] while at least one of them is registered, so apps
+ * can forward the numbers to their own monitoring. Reports run in
+ * [reportScope], so they stop when SDK scopes are cancelled.
+ */
+class MetricsRegistry(
+    private val reportIntervalMillis: Long = DEFAULT_REPORT_INTERVAL_MILLIS,
+    private val reportScope: () -> CoroutineScope = { SDKComponent.scopeProvider.metricsScope },
+    private val clock: () -> Long = { System.currentTimeMillis() }
+) {
+    private val counters = ConcurrentHashMap<String, Counter>()
+    private val gauges = ConcurrentHashMap<String, Gauge>()
+    private val histograms = ConcurrentHashMap<String, Histogram>()
+
+    private val listeners = CopyOnWriteArraySet<MetricsListener>()
+    private var reportJob: Job? = null
+
+    fun counter(name: String): Counter = counters[name] ?: counters.getOrPut(name) { Counter() }
+
+    fun gauge(name: String): Gauge = gauges[name] ?: gauges.getOrPut(name) { Gauge() }
+
+    fun histogram(name: String): Histogram = histograms[name] ?: histograms.getOrPut(name) { Histogram() }
+
+    /**
+     * Returns current value of all metrics.
+     */
+    fun snapshot(): MetricsSnapshot = MetricsSnapshot(
+        timestamp = clock(),
+        counters = counters.mapValues { it.value.count },
+        gauges = gauges.mapValues { it.value.value },
+        histograms = histograms.mapValues { it.value.snapshot() }
+    )
+
+    /**
+     * Registers [listener] to receive snapshots periodically. Reporting starts
+     * with the first listener and stops once all listeners are removed.
+     */
+    @Synchronized
+    fun addListener(listener: MetricsListener) {
+        listeners.add(listener)
+        if (reportJob?.isActive != true) {
+            reportJob = reportScope().launch {
+                while (isActive) {
+                    delay(reportIntervalMillis)
+                    report()
+                }
+            }
+        }
+    }
+
+    @Synchronized
+    fun removeListener(listener: MetricsListener) {
+        listeners.remove(listener)
+        if (listeners.isEmpty()) {
+            reportJob?.cancel()
+            reportJob = null
+        }
+    }
+
+    /**
+     * Sends current snapshot to all listeners immediately.
+     */
+    fun report() {
+        if (listeners.isEmpty()) return
+
+        val snapshot = snapshot()
+        listeners.forEach { listener ->
+            runCatching { listener.onMetrics(snapshot) }
+        }
+    }
+
+    /**
+     * Removes all metrics and listeners.
+     */
+    @Synchronized
+    fun reset() {
+        listeners.clear()
+        reportJob?.cancel()
+        reportJob = null
+        counters.clear()
+        gauges.clear()
+        histograms.clear()
+    }
+
+    companion object {
+        const val DEFAULT_REPORT_INTERVAL_MILLIS = 60_000L
+    }
+}
+
+/**
+ * Names of metrics reported by SDK modules.
+ */
+object MetricNames {
+    /** Gauge: events published to EventBus and not yet dispatched. */
+    const val EVENT_BUS_QUEUE_DEPTH = "event_bus.queue_depth"
+
+    /** Histogram: total duration of SDK HTTP requests in milliseconds. */
+    const val HTTP_REQUEST_LATENCY = "http.request_latency_ms"
+
+    /** Counter: SDK HTTP requests that failed with an I/O error or non 2xx response. */
+    const val HTTP_REQUEST_FAILURES = "http.request_failures"
+
+    /** Gauge prefix: entries waiting in a pending delivery store, suffixed with store name. */
+    const val PENDING_DELIVERY_SIZE_PREFIX = "pending_delivery.size."
+
+    /** Histogram: time from in-app message load until it is rendered in milliseconds. */
+    const val IN_APP_RENDER_TIME = "in_app.render_time_ms"
+
+    /** Counter: SSE reconnect attempts made by in-app messaging. */
+    const val SSE_RECONNECTS = "in_app.sse.reconnects"
+
+    /** Gauge prefix: time taken to initialize a module in milliseconds, suffixed with module name. */
+    const val MODULE_INIT_TIME_PREFIX = "module.init_time_ms."
+
+    /** Gauge prefix: time taken to activate a lazily activated module in milliseconds, suffixed with module name. */
+    const val MODULE_ACTIVATION_TIME_PREFIX = "module.activation_time_ms."
+
+    /** Histogram prefix: time taken by an identify hook in milliseconds, suffixed with hook name. */
+    const val IDENTIFY_HOOK_LATENCY_PREFIX = "identify_hook.latency_ms."
+
+    /** Counter: identify hooks that did not return context within their time budget. */
+    const val IDENTIFY_HOOK_TIMEOUTS = "identify_hook.timeouts"
+
+    /** Histogram: number of events sent by data pipelines in each flush. */
+    const val PIPELINE_FLUSH_SIZE = "pipeline.flush_size_events"
+
+    /** Counter: events dropped by data pipelines rate limiting. */
+    const val PIPELINE_RATE_LIMIT_DROPPED = "pipeline.rate_limit.dropped"
+
+    /** Counter: events over the rate limit that were still sent as a sample. */
+    const val PIPELINE_RATE_LIMIT_SAMPLED = "pipeline.rate_limit.sampled"
+
+    /** Counter: duplicate events suppressed by data pipelines deduplication. */
+    const val PIPELINE_DEDUP_SUPPRESSED = "pipeline.dedup.suppressed"
+}
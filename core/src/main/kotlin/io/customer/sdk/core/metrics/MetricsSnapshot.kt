@@ -0,0 +1,44 @@
+package io.customer.sdk.core.metrics
+
+/**
+ * Point in time copy of all metrics reported by SDK modules.
+ *
+ * @property timestamp Time the snapshot was taken in milliseconds since epoch.
+ * @property counters Value of each counter keyed by metric name.
+ * @property gauges Value of each gauge keyed by metric name.
+ * @property histograms Summary of each histogram keyed by metric name.
+ */
+data class MetricsSnapshot(
+    val timestamp: Long,
+    val counters: Map<String, Long>,
+    val gauges: Map<String, Long>,
+    val histograms: Map<String, HistogramSnapshot>
+)
+
+/**
+ * Summary of values recorded by a [Histogram]. Percentiles are approximate
+ * and report upper bound of the power of two bucket the value falls in.
+ */
+data class HistogramSnapshot(
+    val count: Long,
+    val sum: Long,
+    val min: Long,
+    val max: Long,
+    val p50: Long,
+    val p95: Long,
+    val p99: Long
+) {
+    val mean: Double
+        get() = if (count == 0L) 0.0 else sum.toDouble() / count
+
+    internal companion object {
+        val EMPTY = HistogramSnapshot(count = 0, sum = 0, min = 0, max = 0, p50 = 0, p95 = 0, p99 = 0)
+    }
+}
+
+/**
+ * Listener notified with [MetricsSnapshot] periodically while registered.
+ */
+fun interface MetricsListener {
+    fun onMetrics(snapshot: MetricsSnapshot)
+}
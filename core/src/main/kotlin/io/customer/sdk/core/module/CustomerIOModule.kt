@@ -11,5 +11,15 @@ package io.customer.sdk.core.module
 interface CustomerIOModule<Config : CustomerIOModuleConfig> {
     val moduleName: String
     val moduleConfig: Config
+
+    /**
+     * Names of modules that must be initialized before this module.
+     * Modules that do not depend on each other may be initialized
+     * concurrently on a background thread, so [initialize] should post any
+     * work that requires main thread (e.g. registering lifecycle observers).
+     */
+    val dependencies: Set<String>
+        get() = emptySet()
+
     fun initialize()
 }
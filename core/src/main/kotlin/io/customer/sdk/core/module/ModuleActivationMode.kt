@@ -0,0 +1,20 @@
+package io.customer.sdk.core.module
+
+/**
+ * Defines when a module builds its components.
+ */
+enum class ModuleActivationMode {
+    /**
+     * Components are built when the module is initialized. This is the
+     * default behavior.
+     */
+    EAGER,
+
+    /**
+     * Only lightweight listeners are registered when the module is
+     * initialized, components are built on the first event that needs them.
+     * Reduces work done during app startup; see module config for the events
+     * that activate each module.
+     */
+    LAZY
+}
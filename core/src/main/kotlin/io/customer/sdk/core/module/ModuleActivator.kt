@@ -0,0 +1,76 @@
+package io.customer.sdk.core.module
+
+import io.customer.base.internal.InternalCustomerIOApi
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.core.util.Logger
+import io.customer.sdk.core.util.debug
+import java.util.concurrent.TimeUnit
+
+/**
+ * Builds heavy components of a module exactly once, either when the module
+ * is initialized ([ModuleActivationMode.EAGER]) or on the first trigger
+ * that needs them ([ModuleActivationMode.LAZY]).
+ * Time taken by [onActivate] is reported to [MetricsRegistry] using
+ * [MetricNames.MODULE_ACTIVATION_TIME_PREFIX] followed by module name.
+ */
+@InternalCustomerIOApi
+class ModuleActivator(
+    private val moduleName: String,
+    val mode: ModuleActivationMode,
+    private val logger: Logger = SDKComponent.logger,
+    private val metricsRegistry: MetricsRegistry = SDKComponent.metricsRegistry,
+    private val onActivate: () -> Unit
+) {
+    private val lock = Any()
+
+    @Volatile
+    var isActivated: Boolean = false
+        private set
+
+    /**
+     * Called from module initialization, activates the module right away
+     * unless it is activated lazily.
+     */
+    fun onModuleInitialized() {
+        if (mode == ModuleActivationMode.EAGER) {
+            activate(trigger = "initialize")
+        }
+    }
+
+    /**
+     * Activates the module if not activated yet. [trigger] is only used for
+     * logging.
+     */
+    fun activate(trigger: String) {
+        if (isActivated) return
+
+        synchronized(lock) {
+            if (isActivated) return
+
+            val startNanos = System.nanoTime()
+            onActivate()
+            isActivated = true
+            val durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+            metricsRegistry.gauge(MetricNames.MODULE_ACTIVATION_TIME_PREFIX + moduleName).set(durationMillis)
+            logger.debug { "$moduleName activated on $trigger in ${durationMillis}ms" }
+        }
+    }
+
+    /**
+     * Runs [block] if the module is not activated yet and returns true,
+     * otherwise returns false without running it. Activation waits for
+     * [block] to complete, so state recorded in [block] is visible to
+     * [onActivate].
+     */
+    fun runIfNotActivated(block: () -> Unit): Boolean {
+        if (isActivated) return false
+
+        synchronized(lock) {
+            if (isActivated) return false
+            block()
+            return true
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.customer.sdk.core.module
+
+import io.customer.base.internal.InternalCustomerIOApi
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+
+/**
+ * Initializes SDK modules following [CustomerIOModule.dependencies], either
+ * on the calling thread using [initializeNow] or in background on [scope]
+ * using [initialize].
+ * Dependencies on modules not passed in the same call (not installed or
+ * already initialized) are ignored, and if dependencies form a cycle,
+ * modules are initialized one after another in the order provided.
+ * Time taken by each module is reported to [MetricsRegistry] using
+ * [MetricNames.MODULE_INIT_TIME_PREFIX] followed by module name.
+ */
+@InternalCustomerIOApi
+class ModuleInitializer(
+    private val listener: Listener,
+    private val scope: CoroutineScope = SDKComponent.scopeProvider.moduleInitScope,
+    private val metricsRegistry: MetricsRegistry = SDKComponent.metricsRegistry
+) {
+    interface Listener {
+        fun onModuleInitStart(module: CustomerIOModule<*>)
+        fun onModuleInitSuccess(module: CustomerIOModule<*>, durationMillis: Long)
+    }
+
+    /**
+     * Initializes [module] on the calling thread.
+     */
+    fun initializeNow(module: CustomerIOModule<*>) {
+        listener.onModuleInitStart(module)
+        val startNanos = System.nanoTime()
+        module.initialize()
+        val durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        metricsRegistry.gauge(MetricNames.MODULE_INIT_TIME_PREFIX + module.moduleName).set(durationMillis)
+        listener.onModuleInitSuccess(module, durationMillis)
+    }
+
+    /**
+     * Initializes [modules] on the calling thread, each after the modules it
+     * depends on.
+     */
+    fun initializeNow(modules: List<CustomerIOModule<*>>) {
+        val modulesByName = modules.associateBy { it.moduleName }
+        if (hasCycle(modulesByName)) {
+            modules.forEach { initializeNow(it) }
+            return
+        }
+
+        val initialized = HashSet<String>()
+        fun visit(module: CustomerIOModule<*>) {
+            if (!initialized.add(module.moduleName)) return
+            module.dependencies.mapNotNull { modulesByName[it] }.forEach { visit(it) }
+            initializeNow(module)
+        }
+        modules.forEach { visit(it) }
+    }
+
+    /**
+     * Starts initializing [modules] on [scope] and returns a [Deferred] that
+     * completes once all of them are initialized, or fails with the first
+     * error thrown by a module. Each module starts as soon as all modules it
+     * depends on are initialized, so independent modules initialize
+     * concurrently. Modules depending on a failed module are not initialized.
+     */
+    fun initialize(modules: List<CustomerIOModule<*>>): Deferred<Unit> {
+        val modulesByName = modules.associateBy { it.moduleName }
+        if (hasCycle(modulesByName)) {
+            return scope.async { modules.forEach { initializeNow(it) } }
+        }
+
+        val tasks = LinkedHashMap<String, Deferred<Unit>>(modules.size)
+        modules.forEach { module ->
+            tasks[module.moduleName] = scope.async(start = CoroutineStart.LAZY) {
+                module.dependencies.mapNotNull { tasks[it] }.awaitAll()
+                initializeNow(module)
+            }
+        }
+        // All tasks are created before any of them starts so lookups above see the complete map
+        tasks.values.forEach { it.start() }
+        return scope.async {
+            tasks.values.forEach { it.await() }
+        }
+    }
+
+    private fun hasCycle(modulesByName: Map<String, CustomerIOModule<*>>): Boolean {
+        val visited = HashSet<String>()
+        val inProgress = HashSet<String>()
+
+        fun visit(name: String): Boolean {
+            if (name in inProgress) return true
+            if (!visited.add(name)) return false
+            inProgress.add(name)
+            val cycle = modulesByName[name]?.dependencies?.any { it in modulesByName && visit(it) } == true
+            inProgress.remove(name)
+            return cycle
+        }
+
+        return modulesByName.keys.any { visit(it) }
+    }
+}
@@ -3,12 +3,20 @@ package io.customer.sdk.core.network
 import android.util.Base64
 import io.customer.base.internal.InternalCustomerIOApi
 import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.requestBodyCompressor
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.core.util.Logger
+import io.customer.sdk.core.util.debug
+import io.customer.sdk.data.model.Settings
 import io.customer.sdk.data.store.Client
 import io.customer.sdk.data.store.GlobalPreferenceStore
 import java.io.IOException
+import java.io.InputStream
 import java.net.HttpURLConnection
 import java.net.MalformedURLException
 import java.net.URL
+import java.util.concurrent.TimeUnit
 
 @InternalCustomerIOApi
 data class HttpRequestParams(
@@ -17,9 +25,42 @@ data class HttpRequestParams(
     val body: String? = null
 )
 
+/**
+ * Timings of a single request made by [CustomerIOHttpClient].
+ *
+ * @property path Path of the request.
+ * @property statusCode HTTP status code, null if request failed before receiving a response.
+ * @property connectMs Time spent establishing the connection, i.e. DNS lookup, TCP connect
+ * and TLS handshake combined. Close to zero when a pooled connection is reused.
+ * @property timeToFirstByteMs Time from sending the request until response headers were received.
+ * @property totalMs Total time spent on the request, including reading the response body.
+ */
+@InternalCustomerIOApi
+data class HttpRequestTimings(
+    val path: String,
+    val statusCode: Int?,
+    val connectMs: Long,
+    val timeToFirstByteMs: Long,
+    val totalMs: Long
+)
+
+/**
+ * Failure returned for requests completed with non-2xx response code.
+ */
+@InternalCustomerIOApi
+class HttpResponseException(
+    val statusCode: Int,
+    val responseBody: String
+) : IOException("HTTP $statusCode: $responseBody")
+
 /** HTTP client for Customer.io API calls with SDK authentication. */
 @InternalCustomerIOApi
 interface CustomerIOHttpClient {
+    /**
+     * Listener notified with timings of every request made by the client.
+     */
+    var timingsListener: ((HttpRequestTimings) -> Unit)?
+
     /**
      * Performs a POST request to [params.path] with [params.headers] and [params.body].
      *
@@ -29,9 +70,41 @@ interface CustomerIOHttpClient {
      *   - `Result.failure(exception)` for network errors or non-2xx codes
      */
     suspend fun request(params: HttpRequestParams): Result<String>
+
+    /**
+     * Queues single event request (e.g. `/track`) to be sent along with other
+     * queued requests in one `/batch` request, reducing radio wake-ups when
+     * many events are tracked within a short time. The first request after a
+     * quiet period is sent right away and only requests following it wait
+     * for the batch window.
+     * Suspends until the batch containing the request is sent, or fails if
+     * it is cancelled before being sent.
+     *
+     * @param params The request parameters, [HttpRequestParams.path] defines event
+     * type and [HttpRequestParams.body] must be JSON object of the event. Headers
+     * are not sent as batch request uses its own headers.
+     * @return Result of the batch request in the same form as [request].
+     */
+    suspend fun requestBatched(params: HttpRequestParams): Result<String>
 }
 
-internal class CustomerIOHttpClientImpl : CustomerIOHttpClient {
+/**
+ * [CustomerIOHttpClient] backed by [HttpURLConnection].
+ *
+ * Connections are never disconnected explicitly after a successful exchange
+ * and response streams are always drained and closed, so the platform
+ * keep-alive pool can reuse connections (and skip TLS setup) for consecutive
+ * requests to the same host. Connections are only disconnected when an
+ * exchange fails, so broken sockets are not returned to the pool.
+ *
+ * Values derived from [Settings] (base URL and authorization header) are
+ * memoized and rebuilt only when settings change, and the User-Agent is
+ * built once per client. Request bodies are gzip compressed when enabled in
+ * [RequestBodyCompressor].
+ */
+internal class CustomerIOHttpClientImpl(
+    private val scheme: String = "https"
+) : CustomerIOHttpClient {
 
     private val connectTimeoutMs = 10_000
     private val readTimeoutMs = 10_000
@@ -39,19 +112,44 @@ internal class CustomerIOHttpClientImpl : CustomerIOHttpClient {
         get() = SDKComponent.android().globalPreferenceStore
     private val client: Client
         get() = SDKComponent.android().client
+    private val logger: Logger
+        get() = SDKComponent.logger
+    private val compressor: RequestBodyCompressor
+        get() = SDKComponent.requestBodyCompressor
+    private val metrics: MetricsRegistry
+        get() = SDKComponent.metricsRegistry
+
+    private val userAgent: String by lazy { client.toString() }
+
+    @Volatile
+    private var cachedTarget: RequestTarget? = null
+
+    @Volatile
+    override var timingsListener: ((HttpRequestTimings) -> Unit)? = null
+
+    // Batches are sent in SDK network scope so they are not lost when callers are
+    // cancelled while requests are waiting in the batch, and stop on SDK reset
+    private val batcher = HttpRequestBatcher(
+        config = HttpBatchConfig(),
+        scope = SDKComponent.scopeProvider.networkScope,
+        send = ::request
+    )
 
     override suspend fun request(params: HttpRequestParams): Result<String> {
         return doNetworkRequest(params)
     }
 
+    override suspend fun requestBatched(params: HttpRequestParams): Result<String> {
+        return batcher.enqueue(params)
+    }
+
     private fun doNetworkRequest(params: HttpRequestParams): Result<String> {
         val settings = globalPreferenceStore.getSettings() ?: return Result.failure(IllegalStateException("Setting not available"))
-        val apiHost = settings.apiHost
-        val writeKey = settings.writeKey
+        val target = resolveTarget(settings)
 
         // Ensure we have exactly one slash
         val cleanedPath = if (params.path.startsWith("/")) params.path else "/${params.path}"
-        val urlString = "https://$apiHost$cleanedPath"
+        val urlString = target.baseUrl + cleanedPath
 
         val connection = try {
             val urlObj = URL(urlString)
@@ -62,51 +160,134 @@ internal class CustomerIOHttpClientImpl : CustomerIOHttpClient {
             return Result.failure(e)
         }
 
+        val startTime = System.nanoTime()
+        var connectedTime = startTime
+        var requestSentTime = startTime
+        var statusCode: Int? = null
+        var responseConsumed = false
+
         return try {
             // Configure the connection
             connection.connectTimeout = connectTimeoutMs
             connection.readTimeout = readTimeoutMs
             connection.requestMethod = "POST"
-            connection.setRequestProperty("User-Agent", client.toString())
-
-            // Authorization: Basic <base64("writeKey:")>
-            val base64Value = Base64.encodeToString(
-                "$writeKey:".toByteArray(Charsets.UTF_8),
-                Base64.NO_WRAP
-            )
-            connection.setRequestProperty("Authorization", "Basic $base64Value")
+            connection.setRequestProperty("User-Agent", userAgent)
+            connection.setRequestProperty("Authorization", target.authorization)
 
             // Additional headers
             for ((key, value) in params.headers) {
                 connection.setRequestProperty(key, value)
             }
 
-            // Write the body if present
-            params.body?.let { requestBody ->
+            val bodyBytes = params.body?.toByteArray(Charsets.UTF_8)?.let { rawBytes ->
+                compressor.compress(rawBytes)?.also {
+                    connection.setRequestProperty(RequestBodyCompressor.CONTENT_ENCODING_HEADER, RequestBodyCompressor.GZIP_ENCODING)
+                } ?: rawBytes
+            }
+            if (bodyBytes != null) {
                 connection.doOutput = true
+                // Stream the body directly instead of letting the connection buffer it
+                connection.setFixedLengthStreamingMode(bodyBytes.size)
+            }
+
+            connection.connect()
+            connectedTime = System.nanoTime()
+
+            // Write the body if present
+            if (bodyBytes != null) {
                 connection.outputStream.use { os ->
-                    os.write(requestBody.toByteArray())
+                    os.write(bodyBytes)
                 }
             }
+            requestSentTime = System.nanoTime()
 
             // Execute
             val responseCode = connection.responseCode
+            statusCode = responseCode
+            val firstByteTime = System.nanoTime()
             val inputStream = try {
                 connection.inputStream
             } catch (e: IOException) {
                 connection.errorStream
             }
-            val responseBody = inputStream?.bufferedReader()?.use { it.readText() } ?: ""
+            // Reading response fully and closing the stream releases connection to the keep-alive pool
+            val responseBody = inputStream.readFullyAndClose()
+            responseConsumed = true
+
+            reportTimings(
+                HttpRequestTimings(
+                    path = cleanedPath,
+                    statusCode = responseCode,
+                    connectMs = nanosToMillis(connectedTime - startTime),
+                    timeToFirstByteMs = nanosToMillis(firstByteTime - requestSentTime),
+                    totalMs = nanosToMillis(System.nanoTime() - startTime)
+                )
+            )
 
             if (responseCode in 200..299) {
                 Result.success(responseBody)
             } else {
-                Result.failure(IOException("HTTP $responseCode: $responseBody"))
+                Result.failure(HttpResponseException(responseCode, responseBody))
             }
         } catch (e: IOException) {
+            reportTimings(
+                HttpRequestTimings(
+                    path = cleanedPath,
+                    statusCode = statusCode,
+                    connectMs = nanosToMillis(connectedTime - startTime),
+                    timeToFirstByteMs = 0,
+                    totalMs = nanosToMillis(System.nanoTime() - startTime)
+                )
+            )
             Result.failure(e)
         } finally {
-            connection.disconnect()
+            // Discard the connection on any failure so a broken or partly read socket is not reused
+            if (!responseConsumed) connection.disconnect()
+        }
+    }
+
+    private fun resolveTarget(settings: Settings): RequestTarget {
+        cachedTarget?.takeIf { it.settings == settings }?.let { return it }
+
+        // Authorization: Basic <base64("writeKey:")>
+        val base64Value = Base64.encodeToString(
+            "${settings.writeKey}:".toByteArray(Charsets.UTF_8),
+            Base64.NO_WRAP
+        )
+        return RequestTarget(
+            settings = settings,
+            baseUrl = "$scheme://${settings.apiHost}",
+            authorization = "Basic $base64Value"
+        ).also { cachedTarget = it }
+    }
+
+    private fun reportTimings(timings: HttpRequestTimings) {
+        logger.debug(tag = TAG) { "HTTP request timings: $timings" }
+        metrics.histogram(MetricNames.HTTP_REQUEST_LATENCY).record(timings.totalMs)
+        val statusCode = timings.statusCode
+        if (statusCode == null || statusCode !in 200..299) {
+            metrics.counter(MetricNames.HTTP_REQUEST_FAILURES).increment()
         }
+        timingsListener?.invoke(timings)
+    }
+
+    private fun nanosToMillis(nanos: Long): Long = TimeUnit.NANOSECONDS.toMillis(nanos)
+
+    private fun InputStream?.readFullyAndClose(): String {
+        return this?.bufferedReader()?.use { it.readText() } ?: ""
+    }
+
+    /**
+     * Values derived from [settings] that are reused across requests until
+     * settings change.
+     */
+    private class RequestTarget(
+        val settings: Settings,
+        val baseUrl: String,
+        val authorization: String
+    )
+
+    companion object {
+        private const val TAG = "HttpClient"
     }
 }
@@ -0,0 +1,184 @@
+package io.customer.sdk.core.network
+
+import io.customer.base.internal.InternalCustomerIOApi
+import java.io.IOException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.jsonObject
+
+/**
+ * Configuration for requests sent using [CustomerIOHttpClient.requestBatched].
+ *
+ * @property waitWindowMs Time to collect requests following a sent request
+ * before sending them as one batch. Requests are sent right away when the
+ * value is zero or less.
+ * @property maxBatchSize Maximum number of requests sent in a single batch,
+ * the batch is sent as soon as this many requests are queued.
+ */
+@InternalCustomerIOApi
+data class HttpBatchConfig(
+    val waitWindowMs: Long = DEFAULT_WAIT_WINDOW_MS,
+    val maxBatchSize: Int = DEFAULT_MAX_BATCH_SIZE
+) {
+    companion object {
+        const val DEFAULT_WAIT_WINDOW_MS = 2_000L
+        const val DEFAULT_MAX_BATCH_SIZE = 20
+    }
+}
+
+/**
+ * Coalesces single event requests (e.g. `/track`) into `/batch` requests.
+ *
+ * The first request after a quiet period is sent right away, so a lone
+ * request (e.g. a single push delivery receipt in a short-lived process)
+ * never waits. Requests following it are held until
+ * [HttpBatchConfig.waitWindowMs] has passed or [HttpBatchConfig.maxBatchSize]
+ * requests are queued, whichever comes first, and the window stays open
+ * while requests keep coming. Batches are sent in [scope] so a cancelled
+ * caller does not affect other requests in the same batch, hence the scope
+ * must outlive all callers. If [scope] is cancelled (e.g. on SDK reset),
+ * requests that were not sent fail instead of suspending their callers
+ * forever.
+ *
+ * The batch endpoint accepts or rejects the batch as a whole, so the batch
+ * result is delivered to every request in it. When a batch with more than one
+ * request is rejected as invalid (4xx other than 429), requests are retried
+ * individually so only the invalid ones fail.
+ */
+internal class HttpRequestBatcher(
+    private val config: HttpBatchConfig,
+    private val scope: CoroutineScope,
+    private val send: suspend (HttpRequestParams) -> Result<String>
+) {
+    private val lock = Any()
+    private var pending = ArrayList<PendingRequest>()
+    private var scheduledFlush: Job? = null
+
+    suspend fun enqueue(params: HttpRequestParams): Result<String> {
+        val event = runCatching { params.toBatchEvent() }.getOrElse { ex ->
+            return Result.failure(IllegalArgumentException("Unable to batch request to ${params.path}", ex))
+        }
+        val request = PendingRequest(event)
+
+        val readyBatch = synchronized(lock) {
+            pending.add(request)
+            when {
+                pending.size >= config.maxBatchSize || config.waitWindowMs <= 0 -> takePending()
+                scheduledFlush == null -> {
+                    scheduleFlush()
+                    takePending()
+                }
+
+                else -> null
+            }
+        }
+        if (readyBatch != null) {
+            scope.launch { sendBatch(readyBatch) }.invokeOnCompletion { cause ->
+                // Batch never got sent if scope was cancelled before the coroutine started
+                if (cause != null) readyBatch.failIncomplete(cause)
+            }
+        }
+
+        return request.result.await()
+    }
+
+    /**
+     * Opens the wait window, requests queued while it is open are sent when
+     * it ends and the window closes once it ends with nothing queued.
+     * Must be called while holding [lock].
+     */
+    private fun scheduleFlush() {
+        val job = scope.launch {
+            while (true) {
+                delay(config.waitWindowMs)
+                val batch = synchronized(lock) {
+                    takePending().also { if (it.isEmpty()) scheduledFlush = null }
+                }
+                if (batch.isEmpty()) break
+                sendBatch(batch)
+            }
+        }
+        scheduledFlush = job
+        job.invokeOnCompletion { cause ->
+            if (cause == null) return@invokeOnCompletion
+            val orphaned = synchronized(lock) {
+                if (scheduledFlush !== job) return@invokeOnCompletion
+                scheduledFlush = null
+                takePending()
+            }
+            orphaned.failIncomplete(cause)
+        }
+    }
+
+    /**
+     * Takes all queued requests.
+     * Must be called while holding [lock].
+     */
+    private fun takePending(): List<PendingRequest> {
+        val batch = pending
+        pending = ArrayList()
+        return batch
+    }
+
+    private suspend fun sendBatch(batch: List<PendingRequest>) {
+        if (batch.isEmpty()) return
+
+        val result = sendSafely(batch)
+        val exception = result.exceptionOrNull()
+        if (batch.size > 1 && exception is HttpResponseException && exception.isInvalidRequest) {
+            // Isolate invalid requests so valid ones in the same batch are not lost
+            batch.forEach { request -> request.result.complete(sendSafely(listOf(request))) }
+            return
+        }
+        batch.forEach { request -> request.result.complete(result) }
+    }
+
+    // Callers are waiting on the results, so they must be completed even if sending throws
+    private suspend fun sendSafely(batch: List<PendingRequest>): Result<String> {
+        return runCatching { send(batch.toParams()) }.getOrElse { ex -> Result.failure(ex) }
+    }
+
+    private fun List<PendingRequest>.failIncomplete(cause: Throwable) {
+        val failure = Result.failure<String>(IOException("Batch request cancelled before it was sent", cause))
+        forEach { request -> request.result.complete(failure) }
+    }
+
+    private fun List<PendingRequest>.toParams(): HttpRequestParams = HttpRequestParams(
+        path = BATCH_PATH,
+        headers = mapOf("Content-Type" to "application/json; charset=utf-8"),
+        body = JsonObject(mapOf(BATCH_KEY to JsonArray(map { it.event }))).toString()
+    )
+
+    private val HttpResponseException.isInvalidRequest: Boolean
+        get() = statusCode in 400..499 && statusCode != 429
+
+    private class PendingRequest(val event: JsonObject) {
+        val result = CompletableDeferred<Result<String>>()
+    }
+
+    companion object {
+        private const val BATCH_PATH = "/batch"
+        private const val BATCH_KEY = "batch"
+        private const val TYPE_KEY = "type"
+
+        /**
+         * Converts single event request to an entry of batch request, the event
+         * type is derived from request path, e.g. `/track` becomes `track`.
+         */
+        private fun HttpRequestParams.toBatchEvent(): JsonObject {
+            val type = path.removePrefix("/")
+            require(type in BATCHABLE_TYPES) { "Unsupported batch type: $type" }
+            val event = Json.parseToJsonElement(requireNotNull(body)).jsonObject
+            return JsonObject(event + (TYPE_KEY to JsonPrimitive(type)))
+        }
+
+        private val BATCHABLE_TYPES = setOf("track", "identify", "screen", "page", "group", "alias")
+    }
+}
@@ -0,0 +1,162 @@
+package io.customer.sdk.core.network
+
+import android.annotation.SuppressLint
+import android.content.Context
+import android.net.ConnectivityManager
+import android.net.Network
+import android.net.NetworkCapabilities
+import android.net.NetworkRequest
+import android.os.Build
+import io.customer.base.internal.InternalCustomerIOApi
+import io.customer.sdk.core.util.Logger
+import io.customer.sdk.core.util.debug
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.first
+
+/**
+ * Network connectivity of the device.
+ *
+ * @property isConnected true if device has a network with internet capability
+ * @property isMetered true if data usage of current network may be charged
+ */
+@InternalCustomerIOApi
+data class NetworkState(
+    val isConnected: Boolean,
+    val isMetered: Boolean = false
+) {
+    companion object {
+        /**
+         * Used when network state cannot be determined, so SDK keeps making
+         * requests instead of waiting for connectivity that may never be
+         * reported.
+         */
+        val UNKNOWN = NetworkState(isConnected = true)
+    }
+}
+
+/**
+ * Shared source of network state for SDK components making network calls,
+ * so they can pause work while device is offline instead of spending
+ * retries and battery on requests that cannot succeed.
+ */
+@InternalCustomerIOApi
+interface NetworkMonitor {
+    val networkState: StateFlow<NetworkState>
+
+    val isConnected: Boolean
+        get() = networkState.value.isConnected
+}
+
+/**
+ * Suspends until device is connected, returns immediately if it already is.
+ */
+@InternalCustomerIOApi
+suspend fun NetworkMonitor.awaitConnected() {
+    networkState.first { it.isConnected }
+}
+
+/**
+ * [NetworkMonitor] backed by a single [ConnectivityManager.NetworkCallback]
+ * registered for the lifetime of SDK. Follows default network on API 24+
+ * and any network with internet capability on older versions. If the
+ * callback cannot be registered (e.g. `ACCESS_NETWORK_STATE` permission is
+ * removed), network state stays [NetworkState.UNKNOWN].
+ */
+internal class AndroidNetworkMonitor(
+    context: Context,
+    private val logger: Logger
+) : NetworkMonitor {
+    private val connectivityManager = context.getSystemService(Context.CONNECTIVITY_SERVICE) as? ConnectivityManager
+    private val followsDefaultNetwork = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+    private val state = MutableStateFlow(readActiveNetworkState())
+
+    override val networkState: StateFlow<NetworkState> = state.asStateFlow()
+
+    @Volatile
+    private var networkCallback: ConnectivityManager.NetworkCallback? = null
+
+    init {
+        registerNetworkCallback()
+    }
+
+    @SuppressLint("MissingPermission")
+    private fun registerNetworkCallback() {
+        val manager = connectivityManager ?: return
+        val callback = object : ConnectivityManager.NetworkCallback() {
+            override fun onAvailable(network: Network) {
+                // Default network callback reports capabilities right after, other versions read active network
+                if (!followsDefaultNetwork) updateState(readActiveNetworkState())
+            }
+
+            override fun onCapabilitiesChanged(network: Network, networkCapabilities: NetworkCapabilities) {
+                updateState(if (followsDefaultNetwork) networkCapabilities.toNetworkState() else readActiveNetworkState())
+            }
+
+            override fun onLost(network: Network) {
+                updateState(if (followsDefaultNetwork) NetworkState(isConnected = false) else readActiveNetworkState())
+            }
+        }
+
+        try {
+            if (followsDefaultNetwork) {
+                manager.registerDefaultNetworkCallback(callback)
+            } else {
+                val request = NetworkRequest.Builder()
+                    .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                    .build()
+                manager.registerNetworkCallback(request, callback)
+            }
+            networkCallback = callback
+        } catch (ex: Exception) {
+            logger.error("Unable to monitor network state, assuming device is online", throwable = ex)
+            state.value = NetworkState.UNKNOWN
+        }
+    }
+
+    /**
+     * Unregisters network callback, network state is not updated afterwards.
+     */
+    fun stop() {
+        val callback = networkCallback ?: return
+        networkCallback = null
+        try {
+            connectivityManager?.unregisterNetworkCallback(callback)
+        } catch (ex: Exception) {
+            logger.error("Unable to stop monitoring network state", throwable = ex)
+        }
+    }
+
+    private fun updateState(newState: NetworkState) {
+        val oldState = state.value
+        state.value = newState
+        if (oldState != newState) {
+            logger.debug { "Network state changed: $newState" }
+        }
+    }
+
+    @SuppressLint("MissingPermission")
+    @Suppress("DEPRECATION")
+    private fun readActiveNetworkState(): NetworkState {
+        val manager = connectivityManager ?: return NetworkState.UNKNOWN
+        return try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                val capabilities = manager.getNetworkCapabilities(manager.activeNetwork)
+                capabilities?.toNetworkState() ?: NetworkState(isConnected = false)
+            } else {
+                NetworkState(
+                    isConnected = manager.activeNetworkInfo?.isConnected == true,
+                    isMetered = manager.isActiveNetworkMetered
+                )
+            }
+        } catch (ex: Exception) {
+            NetworkState.UNKNOWN
+        }
+    }
+
+    private fun NetworkCapabilities.toNetworkState() = NetworkState(
+        isConnected = hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET),
+        isMetered = !hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED)
+    )
+}
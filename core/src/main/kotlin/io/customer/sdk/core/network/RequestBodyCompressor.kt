@@ -0,0 +1,69 @@
+package io.customer.sdk.core.network
+
+import io.customer.base.internal.InternalCustomerIOApi
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.atomic.AtomicLong
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Gzip compression for outgoing request bodies shared by all SDK uploads.
+ *
+ * Compression is opt-in and disabled by default. Bodies smaller than
+ * [minBodySizeBytes] are sent as is since gzip header and CPU cost outweigh
+ * savings for small payloads. Bodies that do not get smaller after
+ * compression are also sent as is.
+ *
+ * [bytesBeforeCompression] and [bytesAfterCompression] only account for
+ * bodies that were actually sent compressed, so their ratio reflects the
+ * savings of compression.
+ */
+@InternalCustomerIOApi
+class RequestBodyCompressor {
+    @Volatile
+    var isEnabled: Boolean = false
+        private set
+
+    @Volatile
+    var minBodySizeBytes: Int = DEFAULT_MIN_BODY_SIZE_BYTES
+        private set
+
+    private val uncompressedBytesCounter = AtomicLong()
+    private val compressedBytesCounter = AtomicLong()
+
+    val bytesBeforeCompression: Long
+        get() = uncompressedBytesCounter.get()
+
+    val bytesAfterCompression: Long
+        get() = compressedBytesCounter.get()
+
+    fun configure(enabled: Boolean, minBodySizeBytes: Int = DEFAULT_MIN_BODY_SIZE_BYTES) {
+        this.isEnabled = enabled
+        this.minBodySizeBytes = minBodySizeBytes.coerceAtLeast(0)
+    }
+
+    /**
+     * Compresses [body] if compression is enabled and worth it.
+     *
+     * @return gzip compressed body that should be sent with
+     * `Content-Encoding: gzip` header, or null if [body] should be sent as is.
+     */
+    fun compress(body: ByteArray): ByteArray? {
+        if (!isEnabled || body.size < minBodySizeBytes) return null
+
+        val compressed = ByteArrayOutputStream(body.size / 2).use { buffer ->
+            GZIPOutputStream(buffer).use { gzip -> gzip.write(body) }
+            buffer.toByteArray()
+        }
+        if (compressed.size >= body.size) return null
+
+        uncompressedBytesCounter.addAndGet(body.size.toLong())
+        compressedBytesCounter.addAndGet(compressed.size.toLong())
+        return compressed
+    }
+
+    companion object {
+        const val CONTENT_ENCODING_HEADER = "Content-Encoding"
+        const val GZIP_ENCODING = "gzip"
+        const val DEFAULT_MIN_BODY_SIZE_BYTES = 1024
+    }
+}
@@ -9,6 +9,9 @@ import io.customer.base.internal.InternalCustomerIOApi
  * added to the identify event's context via `putInContext()`. Return an
  * empty map when there is nothing to contribute. These are context-level
  * enrichment data (e.g., location coordinates), NOT profile traits.
+ * It is called on a background thread concurrently with other hooks and
+ * its result is dropped if it does not return within a short time budget,
+ * so it should only read cached state.
  *
  * [resetContext] is called synchronously during `analytics.reset()`
  * (clearIdentify flow). Implementations must clear any cached data
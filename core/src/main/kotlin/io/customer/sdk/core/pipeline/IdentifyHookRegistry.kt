@@ -8,6 +8,7 @@ import io.customer.sdk.core.di.SDKComponent
  *
  * Modules register hooks during initialization. The datapipelines module
  * queries all hooks when enriching identify event context and on reset.
+ * Registration is copy-on-write, reading hooks is lock-free.
  *
  * Cleared automatically when [SDKComponent.reset] clears singletons.
  *
@@ -15,21 +16,25 @@ import io.customer.sdk.core.di.SDKComponent
  */
 @InternalCustomerIOApi
 class IdentifyHookRegistry {
-    private val hooks = mutableListOf<IdentifyHook>()
+    // Replaced on every change so identify can read hooks without locking or copying
+    @Volatile
+    private var hooks: List<IdentifyHook> = emptyList()
 
     @Synchronized
     fun register(hook: IdentifyHook) {
         if (hook !in hooks) {
-            hooks.add(hook)
+            hooks = hooks + hook
         }
     }
 
-    @Synchronized
-    fun getAll(): List<IdentifyHook> = hooks.toList()
+    /**
+     * Returns an immutable snapshot of registered hooks in registration order.
+     */
+    fun getAll(): List<IdentifyHook> = hooks
 
     @Synchronized
     fun clear() {
-        hooks.clear()
+        hooks = emptyList()
     }
 }
 
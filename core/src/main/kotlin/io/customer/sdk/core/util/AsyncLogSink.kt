@@ -0,0 +1,137 @@
+package io.customer.sdk.core.util
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.AtomicReferenceArray
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.launch
+
+/**
+ * Queues log records in a [LogRingBuffer] and writes them to [write] on
+ * [scope], one record at a time and in the order they were queued.
+ * Producers never block, records that don't fit are dropped based on
+ * [overflowPolicy] and the number of dropped records is reported through
+ * [onDropped] on the consumer side once there is space again.
+ */
+internal class AsyncLogSink(
+    capacity: Int,
+    private val overflowPolicy: LogOverflowPolicy,
+    private val scope: CoroutineScope,
+    private val write: (LogRecord) -> Unit,
+    private val onDropped: (count: Long) -> Unit
+) {
+    private val buffer = LogRingBuffer<LogRecord>(capacity)
+    private val droppedSinceLastDrain = AtomicLong(0)
+    private val totalDropped = AtomicLong(0)
+
+    // Conflated so that any number of submits wake consumer up only once
+    private val wakeUps = Channel<Unit>(Channel.CONFLATED)
+
+    val droppedCount: Long
+        get() = totalDropped.get()
+
+    init {
+        scope.launch {
+            for (wakeUp in wakeUps) {
+                drain()
+            }
+        }
+    }
+
+    fun submit(record: LogRecord) {
+        val accepted = when (overflowPolicy) {
+            LogOverflowPolicy.DROP_NEWEST -> buffer.offer(record)
+            LogOverflowPolicy.DROP_OLDEST -> {
+                while (!buffer.offer(record)) {
+                    if (buffer.poll() != null) recordDropped()
+                }
+                true
+            }
+        }
+        if (!accepted) recordDropped()
+        wakeUps.trySend(Unit)
+    }
+
+    /**
+     * Writes all queued records on the calling thread.
+     */
+    fun drain() {
+        while (true) {
+            val record = buffer.poll() ?: break
+            // Failures in writer must not stop consumer
+            runCatching { write(record) }
+        }
+        val dropped = droppedSinceLastDrain.getAndSet(0)
+        if (dropped > 0) runCatching { onDropped(dropped) }
+    }
+
+    fun close() {
+        wakeUps.close()
+        scope.cancel()
+    }
+
+    private fun recordDropped() {
+        droppedSinceLastDrain.incrementAndGet()
+        totalDropped.incrementAndGet()
+    }
+}
+
+/**
+ * Bounded lock-free multi-producer multi-consumer queue based on Dmitry
+ * Vyukov's array queue. Each slot has a sequence number telling whether it
+ * is ready to be written or read for the current lap, so producers and
+ * consumers only contend on a single compare-and-set of their position.
+ */
+internal class LogRingBuffer<T : Any>(capacity: Int) {
+    private val size = Integer.highestOneBit(maxOf(capacity, 2) - 1) shl 1
+    private val mask = size - 1L
+    private val items = AtomicReferenceArray<T?>(size)
+    private val sequences = AtomicLongArray(size).apply {
+        for (index in 0 until size) set(index, index.toLong())
+    }
+    private val enqueuePosition = AtomicLong(0)
+    private val dequeuePosition = AtomicLong(0)
+
+    val capacity: Int
+        get() = size
+
+    /** Adds [item] to the tail and returns false if the buffer is full. */
+    fun offer(item: T): Boolean {
+        var position = enqueuePosition.get()
+        while (true) {
+            val index = (position and mask).toInt()
+            val difference = sequences.get(index) - position
+            when {
+                difference == 0L && enqueuePosition.compareAndSet(position, position + 1) -> {
+                    items.set(index, item)
+                    sequences.set(index, position + 1)
+                    return true
+                }
+
+                difference < 0L -> return false
+                else -> position = enqueuePosition.get()
+            }
+        }
+    }
+
+    /** Removes and returns item at the head or null if the buffer is empty. */
+    fun poll(): T? {
+        var position = dequeuePosition.get()
+        while (true) {
+            val index = (position and mask).toInt()
+            val difference = sequences.get(index) - (position + 1)
+            when {
+                difference == 0L && dequeuePosition.compareAndSet(position, position + 1) -> {
+                    val item = items.getAndSet(index, null)
+                    sequences.set(index, position + size)
+                    return item
+                }
+
+                difference < 0L -> return null
+                else -> position = dequeuePosition.get()
+            }
+        }
+    }
+}
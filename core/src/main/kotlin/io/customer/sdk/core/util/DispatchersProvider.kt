@@ -1,5 +1,6 @@
 package io.customer.sdk.core.util
 
+import io.customer.sdk.core.di.SDKComponent
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.Dispatchers
 
@@ -8,6 +9,10 @@ interface DispatchersProvider {
     val background: CoroutineDispatcher
     val main: CoroutineDispatcher
     val default: CoroutineDispatcher
+
+    // Dispatcher dedicated to long-lived SDK scopes, falls back to default dispatcher
+    val sdk: CoroutineDispatcher
+        get() = default
 }
 
 class SdkDispatchers : DispatchersProvider {
@@ -19,4 +24,7 @@ class SdkDispatchers : DispatchersProvider {
 
     override val default: CoroutineDispatcher
         get() = Dispatchers.Default
+
+    override val sdk: CoroutineDispatcher
+        get() = SDKComponent.sdkCoroutineDispatcher
 }
@@ -0,0 +1,57 @@
+package io.customer.sdk.core.util
+
+/**
+ * Configures how [Logger] writes log records.
+ *
+ * @property asynchronous when true, records are queued in a bounded buffer and
+ * written to Logcat or log dispatcher on a background thread, so callers never
+ * block on logging (e.g. when wrapper SDKs forward logs over a bridge).
+ * @property bufferCapacity maximum number of records waiting to be written
+ * when [asynchronous] is enabled, rounded up to the next power of two.
+ * @property overflowPolicy which records to drop when buffer is full.
+ * @property historySize number of most recent records kept in memory for
+ * [Logger.getRecentLogs], `0` disables history.
+ * @property historyLogLevel most verbose level of records kept in history,
+ * independent of [Logger.logLevel]. This allows collecting debug logs for
+ * diagnostics without printing them.
+ */
+data class LogSinkConfig @JvmOverloads constructor(
+    val asynchronous: Boolean = false,
+    val bufferCapacity: Int = DEFAULT_BUFFER_CAPACITY,
+    val overflowPolicy: LogOverflowPolicy = LogOverflowPolicy.DROP_OLDEST,
+    val historySize: Int = 0,
+    val historyLogLevel: CioLogLevel = CioLogLevel.DEBUG
+) {
+    init {
+        require(bufferCapacity > 0) { "bufferCapacity must be positive" }
+        require(historySize >= 0) { "historySize must not be negative" }
+    }
+
+    companion object {
+        const val DEFAULT_BUFFER_CAPACITY = 256
+    }
+}
+
+/**
+ * Policy for records that don't fit in asynchronous log buffer.
+ */
+enum class LogOverflowPolicy {
+    /** Drop oldest waiting records to make space for new ones. */
+    DROP_OLDEST,
+
+    /** Keep waiting records and drop new ones until space is available. */
+    DROP_NEWEST
+}
+
+/**
+ * A single log record.
+ *
+ * @property timestamp time the record was logged in milliseconds since epoch.
+ */
+data class LogRecord(
+    val timestamp: Long,
+    val level: CioLogLevel,
+    val tag: String?,
+    val message: String,
+    val throwable: Throwable? = null
+)
@@ -18,7 +18,53 @@ interface Logger {
      */
     fun setLogDispatcher(dispatcher: ((CioLogLevel, String) -> Unit)?)
 
+    /**
+     * Returns true if messages logged at [level] will be printed with current [logLevel].
+     * Can be used to skip building expensive log messages.
+     */
+    fun isLoggable(level: CioLogLevel): Boolean = logLevel.priority >= level.priority
+
+    /**
+     * Configures how log records are written, e.g. asynchronously or with
+     * recent records kept in memory. Logs are written synchronously with no
+     * history by default.
+     */
+    fun configureSink(config: LogSinkConfig) {}
+
+    /**
+     * Returns most recent log records kept in memory, oldest first. Always
+     * empty unless history is enabled using [configureSink]. Records still
+     * waiting to be written by asynchronous sink are not included.
+     */
+    fun getRecentLogs(): List<LogRecord> = emptyList()
+
     fun info(message: String, tag: String? = null)
     fun debug(message: String, tag: String? = null)
     fun error(message: String, tag: String? = null, throwable: Throwable? = null)
 }
+
+/**
+ * Logs message at [CioLogLevel.INFO]. [message] is only evaluated if the level
+ * is enabled, so messages built from string templates cost nothing otherwise.
+ * Prefer this over [Logger.info] when message is not a constant on hot paths.
+ */
+inline fun Logger.info(tag: String? = null, message: () -> String) {
+    if (isLoggable(CioLogLevel.INFO)) info(message(), tag)
+}
+
+/**
+ * Logs message at [CioLogLevel.DEBUG]. [message] is only evaluated if the level
+ * is enabled, so messages built from string templates cost nothing otherwise.
+ * Prefer this over [Logger.debug] when message is not a constant on hot paths.
+ */
+inline fun Logger.debug(tag: String? = null, message: () -> String) {
+    if (isLoggable(CioLogLevel.DEBUG)) debug(message(), tag)
+}
+
+/**
+ * Logs message at [CioLogLevel.ERROR]. [message] is only evaluated if the level
+ * is enabled.
+ */
+inline fun Logger.error(tag: String? = null, throwable: Throwable? = null, message: () -> String) {
+    if (isLoggable(CioLogLevel.ERROR)) error(message(), tag, throwable)
+}
@@ -1,10 +1,15 @@
 package io.customer.sdk.core.util
 
 import io.customer.sdk.core.environment.BuildEnvironment
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
 
 internal open class LoggerImpl(
     private val buildEnvironment: BuildEnvironment,
-    private val actualLogger: LogcatLogger = LogcatLogger()
+    private val actualLogger: LogcatLogger = LogcatLogger(),
+    private val sinkDispatcher: () -> CoroutineDispatcher = { Dispatchers.IO }
 ) : Logger {
 
     // Log level defined by user in configurations
@@ -26,10 +31,47 @@ internal open class LoggerImpl(
 
     private var logDispatcher: ((CioLogLevel, String) -> Unit)? = null
 
+    @Volatile
+    private var sinkConfig: LogSinkConfig = LogSinkConfig()
+
+    // Null unless asynchronous logging is enabled
+    @Volatile
+    private var asyncSink: AsyncLogSink? = null
+
+    // Null unless history is enabled
+    @Volatile
+    private var history: LogHistory? = null
+
     override fun setLogDispatcher(dispatcher: ((CioLogLevel, String) -> Unit)?) {
         logDispatcher = dispatcher
     }
 
+    @Synchronized
+    override fun configureSink(config: LogSinkConfig) {
+        asyncSink?.let { previousSink ->
+            // Write records still waiting so they are not lost
+            previousSink.close()
+            previousSink.drain()
+        }
+        history = if (config.historySize > 0) LogHistory(config.historySize) else null
+        asyncSink = if (config.asynchronous) {
+            AsyncLogSink(
+                capacity = config.bufferCapacity,
+                overflowPolicy = config.overflowPolicy,
+                scope = CoroutineScope(SupervisorJob() + sinkDispatcher()),
+                write = ::write,
+                onDropped = { count ->
+                    write(LogRecord(System.currentTimeMillis(), CioLogLevel.ERROR, TAG_LOGGER, "Dropped $count log records as log buffer was full"))
+                }
+            )
+        } else {
+            null
+        }
+        sinkConfig = config
+    }
+
+    override fun getRecentLogs(): List<LogRecord> = history?.snapshot().orEmpty()
+
     override fun info(message: String, tag: String?) {
         logIfMatchesCriteria(CioLogLevel.INFO, message, tag, null)
     }
@@ -42,9 +84,35 @@ internal open class LoggerImpl(
         logIfMatchesCriteria(CioLogLevel.ERROR, message, tag, throwable)
     }
 
+    override fun isLoggable(level: CioLogLevel): Boolean {
+        return isPrintable(level) || (history != null && sinkConfig.historyLogLevel.priority >= level.priority)
+    }
+
+    private fun isPrintable(level: CioLogLevel): Boolean {
+        return logLevel.priority >= level.priority
+    }
+
     private fun logIfMatchesCriteria(levelForMessage: CioLogLevel, message: String, tag: String?, throwable: Throwable?) {
-        if (!shouldLog(levelForMessage)) return
+        if (!isLoggable(levelForMessage)) return
+
+        val sink = asyncSink
+        if (sink == null && history == null) {
+            print(levelForMessage, message, tag, throwable)
+            return
+        }
+
+        val record = LogRecord(System.currentTimeMillis(), levelForMessage, tag, message, throwable)
+        if (sink != null) sink.submit(record) else write(record)
+    }
 
+    private fun write(record: LogRecord) {
+        history?.add(record)
+        if (isPrintable(record.level)) {
+            print(record.level, record.message, record.tag, record.throwable)
+        }
+    }
+
+    private fun print(levelForMessage: CioLogLevel, message: String, tag: String?, throwable: Throwable?) {
         // Dispatch log event to log dispatcher only if the log level is met and the dispatcher is set
         // Otherwise, log to Logcat
         logDispatcher?.invoke(levelForMessage, message) ?: when (levelForMessage) {
@@ -55,17 +123,30 @@ internal open class LoggerImpl(
         }
     }
 
-    private fun shouldLog(levelForMessage: CioLogLevel): Boolean {
-        return logLevel.priority >= levelForMessage.priority
-    }
-
     private fun prependTagToMessage(tag: String?, message: String): String {
         if (tag.isNullOrBlank()) return message
 
         return "[$tag] $message"
     }
 
+    /**
+     * Keeps last [size] records in memory, oldest first.
+     */
+    private class LogHistory(private val size: Int) {
+        private val records = ArrayDeque<LogRecord>(size)
+
+        @Synchronized
+        fun add(record: LogRecord) {
+            if (records.size == size) records.removeFirst()
+            records.addLast(record)
+        }
+
+        @Synchronized
+        fun snapshot(): List<LogRecord> = records.toList()
+    }
+
     companion object {
         const val TAG = "[CIO]"
+        private const val TAG_LOGGER = "Logger"
     }
 }
@@ -1,22 +1,104 @@
 package io.customer.sdk.core.util
 
+import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
 
 interface ScopeProvider {
     val eventBusScope: CoroutineScope
     val lifecycleListenerScope: CoroutineScope
     val inAppLifecycleScope: CoroutineScope
     val locationScope: CoroutineScope
+
+    /**
+     * Scope for network requests that must outlive their callers, e.g.
+     * batched requests that other callers are waiting on.
+     */
+    val networkScope: CoroutineScope
+
+    /**
+     * Scope for periodic metrics reports delivered to app listeners.
+     */
+    val metricsScope: CoroutineScope
+
+    /**
+     * Scope for modules initialized in background, so resetting SDK stops
+     * initialization still in progress.
+     */
+    val moduleInitScope: CoroutineScope
+
+    /**
+     * Returns number of active coroutines in each SDK scope keyed by scope name.
+     * Can be used to monitor how much work SDK is running at any given time.
+     */
+    fun activeCoroutineCounts(): Map<String, Int> = mapOf(
+        "eventBus" to eventBusScope.activeCoroutineCount,
+        "lifecycleListener" to lifecycleListenerScope.activeCoroutineCount,
+        "inAppLifecycle" to inAppLifecycleScope.activeCoroutineCount,
+        "location" to locationScope.activeCoroutineCount,
+        "network" to networkScope.activeCoroutineCount,
+        "metrics" to metricsScope.activeCoroutineCount,
+        "moduleInit" to moduleInitScope.activeCoroutineCount
+    )
+
+    /**
+     * Cancels all SDK scopes as a group. Scopes cannot be used to launch new
+     * coroutines once cancelled.
+     */
+    fun cancelAll() {
+        eventBusScope.cancel()
+        lifecycleListenerScope.cancel()
+        inAppLifecycleScope.cancel()
+        locationScope.cancel()
+        networkScope.cancel()
+        metricsScope.cancel()
+        moduleInitScope.cancel()
+    }
 }
 
+/**
+ * Default [ScopeProvider] for the SDK.
+ * Scopes are created once and live as long as the provider and share a parent
+ * [SupervisorJob] so they can be cancelled together while failure in one
+ * coroutine does not affect others. All scopes run on [DispatchersProvider.sdk]
+ * except [networkScope], [metricsScope] and [moduleInitScope], which run blocking
+ * I/O, app listeners and module setup on [DispatchersProvider.background] so they
+ * do not hold SDK threads.
+ */
 class SdkScopeProvider(private val dispatchers: DispatchersProvider) : ScopeProvider {
-    override val eventBusScope: CoroutineScope
-        get() = CoroutineScope(dispatchers.default + SupervisorJob())
-    override val lifecycleListenerScope: CoroutineScope
-        get() = CoroutineScope(dispatchers.default + SupervisorJob())
-    override val inAppLifecycleScope: CoroutineScope
-        get() = CoroutineScope(dispatchers.default + SupervisorJob())
-    override val locationScope: CoroutineScope
-        get() = CoroutineScope(dispatchers.default + SupervisorJob())
+    private val parentJob = SupervisorJob()
+
+    override val eventBusScope: CoroutineScope = createScope()
+    override val lifecycleListenerScope: CoroutineScope = createScope()
+    override val inAppLifecycleScope: CoroutineScope = createScope()
+    override val locationScope: CoroutineScope = createScope()
+    override val networkScope: CoroutineScope = createScope(dispatchers.background)
+    override val metricsScope: CoroutineScope = createScope(dispatchers.background)
+    override val moduleInitScope: CoroutineScope = createScope(dispatchers.background)
+
+    private fun createScope(
+        dispatcher: CoroutineDispatcher = dispatchers.sdk
+    ): CoroutineScope = CoroutineScope(dispatcher + SupervisorJob(parentJob))
+
+    override fun cancelAll() {
+        parentJob.cancel()
+    }
+}
+
+/**
+ * Number of active coroutines launched in the scope, including nested
+ * coroutines launched by them.
+ */
+internal val CoroutineScope.activeCoroutineCount: Int
+    get() = coroutineContext[Job]?.let { job -> countActiveDescendants(job) } ?: 0
+
+private fun countActiveDescendants(job: Job): Int {
+    var count = 0
+    for (child in job.children) {
+        if (child.isActive) count++
+        count += countActiveDescendants(child)
+    }
+    return count
 }
@@ -0,0 +1,87 @@
+package io.customer.sdk.core.util
+
+import io.customer.base.internal.InternalCustomerIOApi
+import java.util.concurrent.Executor
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.CoroutineContext
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+
+/**
+ * Dedicated dispatcher for long-lived SDK scopes so SDK work does not compete
+ * with host app on shared [Dispatchers.Default] and [Dispatchers.IO] pools.
+ *
+ * By default, coroutines run on a small pool of named daemon threads with
+ * limited parallelism. Idle threads are released after [KEEP_ALIVE_SECONDS] so
+ * the pool costs nothing while the SDK is idle.
+ * Host apps can provide their own [Executor] (e.g. to share an existing
+ * background pool) using [setExecutor]. Since scopes are created before SDK
+ * initialization, the executor is resolved on every dispatch and can be
+ * replaced at any time.
+ */
+@InternalCustomerIOApi
+class SdkCoroutineDispatcher(
+    private val parallelism: Int = DEFAULT_PARALLELISM
+) : CoroutineDispatcher() {
+    @Volatile
+    private var customExecutor: Executor? = null
+
+    private val defaultExecutor: ThreadPoolExecutor by lazy {
+        ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            LinkedBlockingQueue(),
+            SdkThreadFactory()
+        ).apply { allowCoreThreadTimeOut(true) }
+    }
+
+    /**
+     * Executor currently used to run SDK coroutines.
+     */
+    val executor: Executor
+        get() = customExecutor ?: defaultExecutor
+
+    /**
+     * Replaces the executor used to run SDK coroutines, pass null to reset to
+     * default SDK thread pool.
+     */
+    fun setExecutor(executor: Executor?) {
+        customExecutor = executor
+    }
+
+    override fun dispatch(context: CoroutineContext, block: Runnable) {
+        try {
+            executor.execute(block)
+        } catch (ex: RejectedExecutionException) {
+            // Executor provided by host app may be shut down or saturated, run on
+            // shared IO pool instead of losing the task
+            Dispatchers.IO.dispatch(context, block)
+        }
+    }
+
+    override fun toString(): String = "SdkCoroutineDispatcher"
+
+    private class SdkThreadFactory : ThreadFactory {
+        private val threadCount = AtomicInteger()
+
+        override fun newThread(runnable: Runnable): Thread {
+            return Thread(runnable, "$THREAD_NAME_PREFIX-${threadCount.incrementAndGet()}").apply {
+                isDaemon = true
+                priority = Thread.NORM_PRIORITY - 1
+            }
+        }
+    }
+
+    companion object {
+        private const val THREAD_NAME_PREFIX = "cio-sdk"
+        private const val KEEP_ALIVE_SECONDS = 30L
+        val DEFAULT_PARALLELISM: Int = (Runtime.getRuntime().availableProcessors() / 2).coerceIn(2, 4)
+    }
+}
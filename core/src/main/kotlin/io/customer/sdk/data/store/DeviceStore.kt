@@ -1,5 +1,8 @@
 package io.customer.sdk.data.store
 
+import java.util.Collections
+import java.util.concurrent.atomic.AtomicLong
+
 interface DeviceStore : BuildStore, ApplicationStore {
     // Source SDK client
     val customerIOClient: Client
@@ -21,6 +24,16 @@ interface DeviceStore : BuildStore, ApplicationStore {
     fun buildDeviceAttributes(): Map<String, Any?>
 }
 
+/**
+ * [DeviceStore] that memoizes user agent and device attributes in an
+ * immutable snapshot, so events reuse them instead of reading stores and
+ * rebuilding them every time.
+ * The snapshot depends on values that only change on locale change, push
+ * permission change or app update. App updates restart the process and
+ * locale changes are reported using [invalidateSnapshot]. Push permission
+ * can be granted from a runtime dialog without the app leaving foreground,
+ * so it is read again on every [buildDeviceAttributes] call, which is cheap.
+ */
 class DeviceStoreImpl(
     private val buildStore: BuildStore,
     private val applicationStore: ApplicationStore,
@@ -28,6 +41,29 @@ class DeviceStoreImpl(
     version: String = client.sdkVersion
 ) : DeviceStore {
 
+    private class DeviceSnapshot(
+        val userAgent: String,
+        val attributes: Map<String, Any?>,
+        val isPushEnabled: Boolean
+    )
+
+    @Volatile
+    private var snapshot: DeviceSnapshot? = null
+    private val snapshotHits = AtomicLong()
+    private val snapshotMisses = AtomicLong()
+
+    /**
+     * Number of calls served from cached snapshot.
+     */
+    val snapshotHitCount: Long
+        get() = snapshotHits.get()
+
+    /**
+     * Number of calls that had to build a new snapshot.
+     */
+    val snapshotMissCount: Long
+        get() = snapshotMisses.get()
+
     override val deviceBrand: String?
         get() = buildStore.deviceBrand
     override val deviceModel: String?
@@ -49,23 +85,63 @@ class DeviceStoreImpl(
     override val customerIOClient: Client = client
     override val customerIOVersion: String = version
 
-    override fun buildUserAgent(): String {
-        return buildString {
+    override fun buildUserAgent(): String = snapshot().userAgent
+
+    override fun buildDeviceAttributes(): Map<String, Any?> {
+        invalidateSnapshotIfPushPermissionChanged()
+        return snapshot().attributes
+    }
+
+    /**
+     * Drops cached snapshot so the next call reads latest values again.
+     */
+    fun invalidateSnapshot() {
+        snapshot = null
+    }
+
+    /**
+     * Drops cached snapshot only if push permission differs from the value
+     * it was built with.
+     */
+    fun invalidateSnapshotIfPushPermissionChanged() {
+        val current = snapshot ?: return
+        if (current.isPushEnabled != isPushEnabled) {
+            snapshot = null
+        }
+    }
+
+    private fun snapshot(): DeviceSnapshot {
+        snapshot?.let { current ->
+            snapshotHits.incrementAndGet()
+            return current
+        }
+
+        snapshotMisses.incrementAndGet()
+        // Concurrent misses may build the snapshot more than once, which is
+        // harmless as all of them read the same values
+        return createSnapshot().also { snapshot = it }
+    }
+
+    private fun createSnapshot(): DeviceSnapshot {
+        val pushEnabled = isPushEnabled
+        val userAgent = buildString {
             append("Customer.io $customerIOClient")
             append(" ($deviceManufacturer $deviceModel; $deviceOSVersion)")
             append(" $customerPackageName/${customerAppVersion ?: "0.0.0"}")
         }
-    }
-
-    override fun buildDeviceAttributes(): Map<String, Any?> {
-        return mapOf(
+        val attributes = mapOf(
             "device_os" to deviceOSVersion,
             "device_model" to deviceModel,
             "device_manufacturer" to deviceManufacturer,
             "app_version" to (customerAppVersion ?: ""),
             "cio_sdk_version" to customerIOVersion,
             "device_locale" to deviceLocale,
-            "push_enabled" to isPushEnabled
+            "push_enabled" to pushEnabled
+        )
+        return DeviceSnapshot(
+            userAgent = userAgent,
+            attributes = Collections.unmodifiableMap(attributes),
+            isPushEnabled = pushEnabled
         )
     }
 }
@@ -1,7 +1,6 @@
 package io.customer.sdk.data.store
 
 import android.content.Context
-import androidx.core.content.edit
 import io.customer.sdk.data.model.Settings
 import kotlinx.serialization.json.Json
 
@@ -27,23 +26,25 @@ internal class GlobalPreferenceStoreImpl(
         "io.customer.sdk.${context.packageName}"
     }
 
-    override fun saveDeviceToken(token: String) = prefs.edit {
+    override fun saveDeviceToken(token: String) = writeCached(KEY_DEVICE_TOKEN to token) {
         putString(KEY_DEVICE_TOKEN, token)
     }
 
-    override fun saveSettings(value: Settings) = prefs.edit {
+    override fun saveSettings(value: Settings) = writeCached(KEY_CONFIG_SETTINGS to value) {
         putString(KEY_CONFIG_SETTINGS, Json.encodeToString(Settings.serializer(), value))
     }
 
-    override fun getDeviceToken(): String? = prefs.read {
+    override fun getDeviceToken(): String? = readCached(KEY_DEVICE_TOKEN) {
         getString(KEY_DEVICE_TOKEN, null)
     }
 
-    override fun getSettings(): Settings? = prefs.read {
+    // Settings are read for every network request, snapshot keeps decoded copy
+    // in memory to avoid reading and decoding preferences each time
+    override fun getSettings(): Settings? = readCached(KEY_CONFIG_SETTINGS) {
         runCatching {
             Json.decodeFromString(
                 Settings.serializer(),
-                getString(KEY_CONFIG_SETTINGS, null) ?: return null
+                getString(KEY_CONFIG_SETTINGS, null) ?: return@readCached null
             )
         }.getOrNull()
     }
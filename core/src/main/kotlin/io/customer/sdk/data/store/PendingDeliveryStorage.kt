@@ -0,0 +1,371 @@
+package io.customer.sdk.data.store
+
+import io.customer.sdk.core.util.Logger
+import io.customer.sdk.data.store.PendingDeliveryStore.PendingDeliveryEntry
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.RandomAccessFile
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.builtins.ListSerializer
+import kotlinx.serialization.builtins.serializer
+import kotlinx.serialization.json.Json
+
+/**
+ * On-disk representation used by [PendingDeliveryStore]. Implementations are
+ * not thread-safe, the store guards every call with its lock.
+ */
+internal interface PendingDeliveryStorage<T : PendingDeliveryEntry> {
+    /** Number of entries as of the last operation. */
+    val size: Int
+
+    /** Returns all entries in insertion order. */
+    fun readAll(): List<T>
+
+    /** Appends [entry] and drops entries from the head while above [maxEntries]. */
+    fun append(entry: T, maxEntries: Int)
+
+    /**
+     * Removes entries whose key is in [keys] and returns removed entries in
+     * insertion order. Nothing is written when no entry matches.
+     */
+    fun remove(keys: Set<String>): List<T>
+
+    /**
+     * Removes up to [limit] oldest entries and returns them in insertion
+     * order. Nothing is written when the storage is empty.
+     */
+    fun removeFirst(limit: Int): List<T>
+
+    /** Removes all entries. */
+    fun clear()
+}
+
+/**
+ * Stores all entries as a single JSON array that is read, modified and
+ * written back in full for every operation.
+ */
+internal class SnapshotPendingDeliveryStorage<T : PendingDeliveryEntry>(
+    private val file: File,
+    elementSerializer: KSerializer<T>,
+    private val logger: Logger
+) : PendingDeliveryStorage<T> {
+    private val listSerializer = ListSerializer(elementSerializer)
+
+    override var size: Int = 0
+        private set
+
+    override fun readAll(): List<T> = readFile().also { size = it.size }
+
+    private fun readFile(): List<T> {
+        if (!file.exists()) return emptyList()
+        return try {
+            val text = file.readText()
+            if (text.isBlank()) return emptyList()
+            Json.decodeFromString(listSerializer, text)
+        } catch (ex: Exception) {
+            logger.error(
+                "Failed to read pending delivery store ${file.name}; treating as empty",
+                tag = TAG,
+                throwable = ex
+            )
+            emptyList()
+        }
+    }
+
+    override fun append(entry: T, maxEntries: Int) {
+        val entries = readAll().toMutableList()
+        entries.add(entry)
+        while (entries.size > maxEntries) {
+            entries.removeAt(0)
+        }
+        writeAll(entries)
+    }
+
+    override fun remove(keys: Set<String>): List<T> {
+        val (removed, kept) = readAll().partition { it.key in keys }
+        // Skip the write when nothing was removed so a transient read failure cannot wipe the file
+        if (removed.isEmpty()) return removed
+        writeAll(kept)
+        return removed
+    }
+
+    override fun removeFirst(limit: Int): List<T> {
+        val entries = readAll()
+        if (entries.isEmpty()) return entries
+        writeAll(entries.drop(limit))
+        return entries.take(limit)
+    }
+
+    override fun clear() = writeAll(emptyList())
+
+    private fun writeAll(entries: List<T>) {
+        try {
+            file.writeAtomically(Json.encodeToString(listSerializer, entries).toByteArray())
+            size = entries.size
+        } catch (ex: Exception) {
+            logger.error(
+                "Failed to write pending delivery store ${file.name}",
+                tag = TAG,
+                throwable = ex
+            )
+        }
+    }
+}
+
+/**
+ * Stores entries as an append-only log of records, one per line:
+ * `+<entry json>` adds an entry and `-<key json>` is a tombstone removing it.
+ *
+ * Entries are indexed in memory by key on first access, so appends and
+ * removals only write the changed records instead of the whole queue. The log
+ * is compacted to live entries once it holds at least [compactionMinRecords]
+ * records and dead records make up half of them, or once it grows beyond
+ * [compactionMaxBytes]. Compaction and clearing write a temp file and rename
+ * it over the log. A torn record at the end of the log (e.g. process killed
+ * mid-write) is skipped on load and the log is rewritten right away, so
+ * later appends never land on the partial line and a crash never loses
+ * committed entries.
+ *
+ * If [legacySnapshotFile] exists, entries stored by
+ * [SnapshotPendingDeliveryStorage] are migrated into the log on first access.
+ */
+internal class AppendLogPendingDeliveryStorage<T : PendingDeliveryEntry>(
+    private val file: File,
+    private val legacySnapshotFile: File?,
+    private val elementSerializer: KSerializer<T>,
+    private val logger: Logger,
+    private val compactionMinRecords: Int = DEFAULT_COMPACTION_MIN_RECORDS,
+    private val compactionMaxBytes: Long = DEFAULT_COMPACTION_MAX_BYTES
+) : PendingDeliveryStorage<T> {
+    // Live entries keyed by entry key in insertion order, null until loaded
+    private var index: LinkedHashMap<String, T>? = null
+
+    // Number of records and bytes in the log, used to decide compaction
+    private var recordCount = 0
+    private var fileBytes = 0L
+
+    // Set when log ends with a partial line that could not be rewritten, next append starts a new line
+    private var needsLeadingNewline = false
+
+    override val size: Int
+        get() = index?.size ?: 0
+
+    override fun readAll(): List<T> = entries().values.toList()
+
+    override fun append(entry: T, maxEntries: Int) {
+        val entries = entries()
+        val records = StringBuilder()
+        // Re-adding an existing key moves it to the tail, same as replaying the record on load
+        entries.remove(entry.key)
+        entries[entry.key] = entry
+        records.appendPutRecord(entry)
+        var count = 1
+        while (entries.size > maxEntries) {
+            val evictedKey = entries.keys.first()
+            entries.remove(evictedKey)
+            records.appendTombstoneRecord(evictedKey)
+            count++
+        }
+        writeRecords(records, count)
+    }
+
+    override fun remove(keys: Set<String>): List<T> = removeEntries(entries().values.filter { it.key in keys })
+
+    override fun removeFirst(limit: Int): List<T> = removeEntries(entries().values.take(limit))
+
+    private fun removeEntries(removed: List<T>): List<T> {
+        if (removed.isEmpty()) return removed
+
+        val entries = entries()
+        val records = StringBuilder()
+        removed.forEach { entry ->
+            entries.remove(entry.key)
+            records.appendTombstoneRecord(entry.key)
+        }
+        writeRecords(records, removed.size)
+        return removed
+    }
+
+    override fun clear() {
+        entries().clear()
+        rewrite()
+    }
+
+    private fun entries(): LinkedHashMap<String, T> = index ?: load()
+
+    /**
+     * Reads the log and keeps the result as [index]. If the log cannot be
+     * read, entries read so far are returned without keeping them, so the
+     * log is never compacted or cleared from a partial index and is read
+     * again on next access.
+     */
+    private fun load(): LinkedHashMap<String, T> {
+        val entries = LinkedHashMap<String, T>()
+        recordCount = 0
+        // Only set once the whole log was read, a failed read must never trigger a rewrite
+        var hasTornTail = false
+        var readFailed = false
+        val legacyEntries = legacySnapshotFile?.takeIf { it.exists() }?.let { legacyFile ->
+            SnapshotPendingDeliveryStorage(legacyFile, elementSerializer, logger).readAll()
+        }
+        legacyEntries?.forEach { entries[it.key] = it }
+
+        try {
+            if (file.exists()) {
+                var hasUnreadableRecords = false
+                file.bufferedReader().useLines { lines ->
+                    lines.forEach { line ->
+                        if (line.isBlank()) return@forEach
+                        recordCount++
+                        if (!replayRecord(line, entries)) hasUnreadableRecords = true
+                    }
+                }
+                hasTornTail = hasUnreadableRecords || !file.endsWithNewline()
+            }
+        } catch (ex: IOException) {
+            logger.error(
+                "Failed to read pending delivery log ${file.name}; will retry on next access",
+                tag = TAG,
+                throwable = ex
+            )
+            readFailed = true
+        }
+        fileBytes = file.length()
+        if (readFailed) return entries
+
+        index = entries
+        // Appending after a torn tail would join the next record onto the partial line
+        if (legacyEntries != null || hasTornTail) {
+            val rewritten = rewrite()
+            needsLeadingNewline = hasTornTail && !rewritten
+            // Legacy file is the only copy of migrated entries until the log is rewritten
+            if (rewritten) legacySnapshotFile?.delete()
+        }
+        return entries
+    }
+
+    /** Applies [line] to [entries], returns `false` if the record is unreadable. */
+    private fun replayRecord(line: String, entries: LinkedHashMap<String, T>): Boolean {
+        return try {
+            val payload = line.substring(1)
+            when (line[0]) {
+                PUT_RECORD -> {
+                    val entry = Json.decodeFromString(elementSerializer, payload)
+                    entries.remove(entry.key)
+                    entries[entry.key] = entry
+                }
+
+                TOMBSTONE_RECORD -> entries.remove(Json.decodeFromString(String.serializer(), payload))
+                else -> throw IllegalArgumentException("Unknown record type ${line[0]}")
+            }
+            true
+        } catch (ex: Exception) {
+            // Most likely a torn write at the end of the log, dropped by rewriting the log after load
+            logger.error(
+                "Skipping unreadable record in pending delivery log ${file.name}",
+                tag = TAG,
+                throwable = ex
+            )
+            false
+        }
+    }
+
+    private fun File.endsWithNewline(): Boolean = RandomAccessFile(this, "r").use { raf ->
+        raf.length() == 0L || raf.run {
+            seek(length() - 1)
+            read() == '\n'.code
+        }
+    }
+
+    private fun writeRecords(records: StringBuilder, count: Int) {
+        if (needsLeadingNewline) records.insert(0, '\n')
+        val bytes = records.toString().toByteArray()
+        try {
+            // Single write per operation so a record is either fully appended or torn at the tail
+            FileOutputStream(file, true).use { it.write(bytes) }
+            needsLeadingNewline = false
+            recordCount += count
+            fileBytes += bytes.size
+        } catch (ex: IOException) {
+            logger.error(
+                "Failed to append to pending delivery log ${file.name}",
+                tag = TAG,
+                throwable = ex
+            )
+            // Memory no longer matches disk, reload on next access
+            index = null
+            return
+        }
+        compactIfNeeded()
+    }
+
+    private fun compactIfNeeded() {
+        val liveCount = index?.size ?: return
+        val hasDeadRecords = recordCount > liveCount
+        val tooManyDeadRecords = recordCount >= compactionMinRecords &&
+            recordCount >= liveCount * COMPACTION_RECORDS_PER_ENTRY
+        val tooLarge = fileBytes > compactionMaxBytes
+        if (hasDeadRecords && (tooManyDeadRecords || tooLarge)) {
+            rewrite()
+        }
+    }
+
+    /** Replaces the log with put records of live entries only, returns `false` if it failed. */
+    private fun rewrite(): Boolean {
+        val entries = index ?: return false
+        val records = StringBuilder()
+        entries.values.forEach { records.appendPutRecord(it) }
+        val bytes = records.toString().toByteArray()
+        try {
+            file.writeAtomically(bytes)
+            recordCount = entries.size
+            fileBytes = bytes.size.toLong()
+            needsLeadingNewline = false
+            return true
+        } catch (ex: IOException) {
+            logger.error(
+                "Failed to compact pending delivery log ${file.name}",
+                tag = TAG,
+                throwable = ex
+            )
+            index = null
+            return false
+        }
+    }
+
+    private fun StringBuilder.appendPutRecord(entry: T) {
+        append(PUT_RECORD).append(Json.encodeToString(elementSerializer, entry)).append('\n')
+    }
+
+    private fun StringBuilder.appendTombstoneRecord(key: String) {
+        append(TOMBSTONE_RECORD).append(Json.encodeToString(String.serializer(), key)).append('\n')
+    }
+
+    companion object {
+        private const val PUT_RECORD = '+'
+        private const val TOMBSTONE_RECORD = '-'
+        private const val COMPACTION_RECORDS_PER_ENTRY = 2
+        const val DEFAULT_COMPACTION_MIN_RECORDS = 64
+        const val DEFAULT_COMPACTION_MAX_BYTES = 256L * 1024
+    }
+}
+
+/**
+ * Replaces file content by writing to a temp file and renaming it over the
+ * original, so readers see either the old or the new content even if the
+ * process dies mid-write.
+ */
+internal fun File.writeAtomically(bytes: ByteArray) {
+    val tempFile = File(parentFile, "$name.tmp")
+    FileOutputStream(tempFile).use { output ->
+        output.write(bytes)
+        output.fd.sync()
+    }
+    if (!tempFile.renameTo(this)) {
+        tempFile.delete()
+        throw IOException("Failed to replace $name")
+    }
+}
+
+private const val TAG = "PendingDeliveryStore"
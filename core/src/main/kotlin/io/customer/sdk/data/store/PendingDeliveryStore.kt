@@ -2,13 +2,13 @@ package io.customer.sdk.data.store
 
 import android.content.Context
 import io.customer.base.internal.InternalCustomerIOApi
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.metrics.MetricNames
 import io.customer.sdk.core.util.Logger
 import java.io.File
 import java.util.concurrent.locks.ReentrantLock
 import kotlin.concurrent.withLock
 import kotlinx.serialization.KSerializer
-import kotlinx.serialization.builtins.ListSerializer
-import kotlinx.serialization.json.Json
 
 /**
  * Disk-backed queue of entries waiting on confirmation that they reached the
@@ -21,12 +21,11 @@ import kotlinx.serialization.json.Json
  * compiler-generated [KSerializer] for their entry type (e.g.
  * `PendingPushDeliveryMetric.serializer()`).
  *
- * Storage is a single JSON file in [Context.filesDir]. All read-modify-write
- * sequences are guarded by an in-process [ReentrantLock] so concurrent appends
- * cannot corrupt the file. Capacity is capped at [maxEntries]; on overflow
- * the entry with the smallest [PendingDeliveryEntry.timestamp] is dropped so
- * the queue never grows without bound when the primary delivery path is
- * failing.
+ * Entries are stored in a file in [Context.filesDir] using [storageMode].
+ * All read-modify-write sequences are guarded by an in-process
+ * [ReentrantLock] so concurrent appends cannot corrupt the file. Capacity is
+ * capped at [maxEntries]; on overflow the oldest entry is dropped so the
+ * queue never grows without bound when the primary delivery path is failing.
  *
  * Mutating operations skip the write when nothing actually changed, so a
  * transient read failure (a corrupted file, a brief IO error) cannot silently
@@ -37,8 +36,9 @@ class PendingDeliveryStore<T : PendingDeliveryStore.PendingDeliveryEntry>(
     context: Context,
     fileName: String,
     elementSerializer: KSerializer<T>,
-    private val logger: Logger,
-    private val maxEntries: Int = DEFAULT_MAX_ENTRIES
+    logger: Logger,
+    private val maxEntries: Int = DEFAULT_MAX_ENTRIES,
+    storageMode: StorageMode = StorageMode.SNAPSHOT
 ) {
     /**
      * Shape contract every entry must satisfy. The store relies on [key]
@@ -51,24 +51,56 @@ class PendingDeliveryStore<T : PendingDeliveryStore.PendingDeliveryEntry>(
         val key: String
     }
 
-    private val file: File = File(context.applicationContext.filesDir, fileName)
+    /**
+     * Defines how entries are persisted on disk.
+     */
+    enum class StorageMode {
+        /**
+         * Single JSON file read and written back in full on every operation.
+         * Simple and compact, but every operation costs O(n) disk I/O.
+         */
+        SNAPSHOT,
+
+        /**
+         * Append-only log of added entries and tombstones with an in-memory
+         * index, compacted periodically. Operations only write changed
+         * records, which keeps appends and claims cheap for larger queues.
+         * Entries stored using [SNAPSHOT] mode are migrated on first access.
+         */
+        APPEND_LOG
+    }
+
     private val lock = ReentrantLock()
-    private val listSerializer = ListSerializer(elementSerializer)
+    private val storage: PendingDeliveryStorage<T> = run {
+        val filesDir = context.applicationContext.filesDir
+        val snapshotFile = File(filesDir, fileName)
+        when (storageMode) {
+            StorageMode.SNAPSHOT -> SnapshotPendingDeliveryStorage(snapshotFile, elementSerializer, logger)
+            StorageMode.APPEND_LOG -> AppendLogPendingDeliveryStorage(
+                file = File(filesDir, "$fileName$LOG_FILE_SUFFIX"),
+                legacySnapshotFile = snapshotFile,
+                elementSerializer = elementSerializer,
+                logger = logger
+            )
+        }
+    }
+
+    // Reports number of entries after every operation so stuck deliveries are visible
+    private val sizeGauge = SDKComponent.metricsRegistry.gauge(MetricNames.PENDING_DELIVERY_SIZE_PREFIX + fileName)
+
+    private inline fun <R> withStorageLock(block: () -> R): R = lock.withLock {
+        block().also { sizeGauge.set(storage.size.toLong()) }
+    }
 
     /** Append a new entry, evicting the head if the store is at capacity. */
     fun append(entry: T) {
-        lock.withLock {
-            val entries = readAll().toMutableList()
-            entries.add(entry)
-            while (entries.size > maxEntries) {
-                entries.removeAt(0)
-            }
-            writeAll(entries)
+        withStorageLock {
+            storage.append(entry, maxEntries)
         }
     }
 
     /** Returns all pending entries in insertion order. */
-    fun loadAll(): List<T> = lock.withLock { readAll() }
+    fun loadAll(): List<T> = withStorageLock { storage.readAll() }
 
     /**
      * Remove the entry whose [PendingDeliveryEntry.key] equals [key]. No-op
@@ -76,11 +108,8 @@ class PendingDeliveryStore<T : PendingDeliveryStore.PendingDeliveryEntry>(
      * removed so a transient read failure cannot wipe the file.
      */
     fun remove(key: String) {
-        lock.withLock {
-            val entries = readAll()
-            val filtered = entries.filterNot { it.key == key }
-            if (filtered.size == entries.size) return@withLock
-            writeAll(filtered)
+        withStorageLock {
+            storage.remove(setOf(key))
         }
     }
 
@@ -94,12 +123,36 @@ class PendingDeliveryStore<T : PendingDeliveryStore.PendingDeliveryEntry>(
      * slow send lets both channels act on the same still-present entry.
      * Returns true if this call removed the entry, false if it was already gone.
      */
-    fun claim(key: String): Boolean = lock.withLock {
-        val entries = readAll()
-        val filtered = entries.filterNot { it.key == key }
-        if (filtered.size == entries.size) return@withLock false
-        writeAll(filtered)
-        true
+    fun claim(key: String): Boolean = withStorageLock {
+        storage.remove(setOf(key)).isNotEmpty()
+    }
+
+    /**
+     * Batch version of [claim]: atomically removes all entries whose key is
+     * in [keys] in a single read-modify-write and returns the entries this
+     * call removed, in insertion order. Keys that were already gone (e.g.
+     * claimed by another delivery channel) are simply absent from the result,
+     * so the caller owns the send of exactly the returned entries.
+     */
+    fun claimAll(keys: Collection<String>): List<T> {
+        if (keys.isEmpty()) return emptyList()
+        val keySet = keys.toSet()
+        return withStorageLock {
+            storage.remove(keySet)
+        }
+    }
+
+    /**
+     * Atomically removes and returns up to [limit] oldest entries in a single
+     * read-modify-write, letting a batch uploader empty the store without
+     * claiming entries one by one. Entries appended after this call are left
+     * for the next drain.
+     */
+    fun drain(limit: Int = Int.MAX_VALUE): List<T> {
+        require(limit > 0) { "limit must be greater than 0" }
+        return withStorageLock {
+            storage.removeFirst(limit)
+        }
     }
 
     /**
@@ -110,51 +163,20 @@ class PendingDeliveryStore<T : PendingDeliveryStore.PendingDeliveryEntry>(
     fun removeAll(keys: Collection<String>) {
         if (keys.isEmpty()) return
         val keySet = keys.toSet()
-        lock.withLock {
-            val entries = readAll()
-            val filtered = entries.filterNot { it.key in keySet }
-            if (filtered.size == entries.size) return@withLock
-            writeAll(filtered)
+        withStorageLock {
+            storage.remove(keySet)
         }
     }
 
     /** Remove all pending entries. */
     fun removeAll() {
-        lock.withLock {
-            writeAll(emptyList())
-        }
-    }
-
-    private fun readAll(): List<T> {
-        if (!file.exists()) return emptyList()
-        return try {
-            val text = file.readText()
-            if (text.isBlank()) return emptyList()
-            Json.decodeFromString(listSerializer, text)
-        } catch (ex: Exception) {
-            logger.error(
-                "Failed to read pending delivery store ${file.name}; treating as empty",
-                tag = TAG,
-                throwable = ex
-            )
-            emptyList()
-        }
-    }
-
-    private fun writeAll(entries: List<T>) {
-        try {
-            file.writeText(Json.encodeToString(listSerializer, entries))
-        } catch (ex: Exception) {
-            logger.error(
-                "Failed to write pending delivery store ${file.name}",
-                tag = TAG,
-                throwable = ex
-            )
+        withStorageLock {
+            storage.clear()
         }
     }
 
     companion object {
         const val DEFAULT_MAX_ENTRIES = 100
-        private const val TAG = "PendingDeliveryStore"
+        private const val LOG_FILE_SUFFIX = ".log"
     }
 }
@@ -19,59 +19,100 @@ import javax.crypto.spec.GCMParameterSpec
  *
  * The [MODE_PRIVATE][android.content.Context.MODE_PRIVATE] SharedPreferences
  * sandbox remains the baseline protection in all cases.
+ *
+ * Keystore operations can take milliseconds on low-end devices, so ciphers
+ * are reused per thread and recently decrypted values are kept in memory
+ * keyed by their ciphertext. Stores clear the cache using [clearCache] when
+ * they clear their values, while the key itself is kept.
  */
-class PreferenceCrypto(
+class PreferenceCrypto internal constructor(
     private val keyAlias: String,
-    private val logger: Logger
+    private val logger: Logger,
+    private val keyProvider: KeyProvider,
+    private val maxCachedValues: Int
 ) {
+    constructor(keyAlias: String, logger: Logger) : this(
+        keyAlias = keyAlias,
+        logger = logger,
+        keyProvider = AndroidKeystoreKeyProvider,
+        maxCachedValues = DEFAULT_MAX_CACHED_VALUES
+    )
+
+    /**
+     * Loads or creates the secret key for an alias. Abstracted so tests can
+     * run without Android Keystore.
+     */
+    internal interface KeyProvider {
+        fun getOrCreateKey(keyAlias: String): SecretKey
+    }
+
     private val isKeystoreAvailable: Boolean = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
 
     @Volatile
     private var cachedKey: SecretKey? = null
 
+    // Cipher instances are not thread-safe, so each thread reuses its own and
+    // re-initializes it for every operation
+    private val encryptCipher = ThreadLocal<Cipher>()
+    private val decryptCipher = ThreadLocal<Cipher>()
+
+    // Decrypted values keyed by ciphertext in access order, guarded by itself
+    private val decryptedValues = object : LinkedHashMap<String, String>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, String>?): Boolean {
+            return size > maxCachedValues
+        }
+    }
+
     @Synchronized
-    @SuppressLint("NewApi", "InlinedApi")
     private fun getOrCreateKey(): SecretKey {
         cachedKey?.let { return it }
 
-        val keyStore = KeyStore.getInstance(KEYSTORE_PROVIDER).apply { load(null) }
-        val entry = keyStore.getEntry(keyAlias, null) as? KeyStore.SecretKeyEntry
-        if (entry != null) {
-            cachedKey = entry.secretKey
-            return entry.secretKey
-        }
-
-        val spec = KeyGenParameterSpec.Builder(
-            keyAlias,
-            KeyProperties.PURPOSE_ENCRYPT or KeyProperties.PURPOSE_DECRYPT
-        )
-            .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
-            .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
-            .setKeySize(256)
-            .build()
-
-        val key = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, KEYSTORE_PROVIDER)
-            .apply { init(spec) }
-            .generateKey()
+        val key = keyProvider.getOrCreateKey(keyAlias)
         cachedKey = key
         return key
     }
 
+    /**
+     * Loads (or creates) the key so that later [encrypt] or [decrypt] calls
+     * do not block on Keystore access. Blocks the calling thread, so call it
+     * from background. Failures are ignored here and surface as plaintext
+     * fallback on actual use.
+     */
+    fun prewarm() {
+        if (!isKeystoreAvailable) return
+
+        try {
+            getOrCreateKey()
+        } catch (e: Exception) {
+            logger.debug("Failed to prewarm Keystore key $keyAlias: ${e.message}")
+        }
+    }
+
+    /**
+     * Clears decrypted values kept in memory so they do not outlive the
+     * stored values they belong to. The key is kept, so this is cheap.
+     */
+    fun clearCache() {
+        synchronized(decryptedValues) { decryptedValues.clear() }
+    }
+
     /**
      * Encrypts [plaintext] with AES-256-GCM. Returns a Base64 string
      * containing the 12-byte IV prepended to the ciphertext. Falls back
      * to returning [plaintext] unchanged if encryption is unavailable.
      */
-    @SuppressLint("NewApi")
     fun encrypt(plaintext: String): String {
         if (!isKeystoreAvailable) return plaintext
 
         return try {
-            val cipher = Cipher.getInstance(TRANSFORMATION)
+            val cipher = encryptCipher.getOrCreate()
             cipher.init(Cipher.ENCRYPT_MODE, getOrCreateKey())
             val ciphertext = cipher.doFinal(plaintext.toByteArray(Charsets.UTF_8))
             val combined = cipher.iv + ciphertext
-            Base64.encodeToString(combined, Base64.NO_WRAP)
+            Base64.encodeToString(combined, Base64.NO_WRAP).also { encoded ->
+                // Values are usually read back soon after being written
+                cacheValue(encoded, plaintext)
+            }
         } catch (e: Exception) {
             logger.debug("Keystore encryption unavailable, storing without encryption: ${e.message}")
             plaintext
@@ -84,19 +125,27 @@ class PreferenceCrypto(
      * encryption was enabled, or the Keystore is unavailable), returns
      * [encoded] as-is, which handles migration from plaintext transparently.
      */
-    @SuppressLint("NewApi")
     fun decrypt(encoded: String): String {
         if (!isKeystoreAvailable) return encoded
 
+        getCachedValue(encoded)?.let { return it }
+
         return try {
             val combined = Base64.decode(encoded, Base64.NO_WRAP)
             if (combined.size <= GCM_IV_LENGTH) return encoded
 
-            val iv = combined.copyOfRange(0, GCM_IV_LENGTH)
-            val ciphertext = combined.copyOfRange(GCM_IV_LENGTH, combined.size)
-            val cipher = Cipher.getInstance(TRANSFORMATION)
-            cipher.init(Cipher.DECRYPT_MODE, getOrCreateKey(), GCMParameterSpec(GCM_TAG_LENGTH, iv))
-            String(cipher.doFinal(ciphertext), Charsets.UTF_8)
+            val cipher = decryptCipher.getOrCreate()
+            cipher.init(
+                Cipher.DECRYPT_MODE,
+                getOrCreateKey(),
+                GCMParameterSpec(GCM_TAG_LENGTH, combined, 0, GCM_IV_LENGTH)
+            )
+            val plaintext = String(
+                cipher.doFinal(combined, GCM_IV_LENGTH, combined.size - GCM_IV_LENGTH),
+                Charsets.UTF_8
+            )
+            cacheValue(encoded, plaintext)
+            plaintext
         } catch (e: Exception) {
             // Value is likely stored as plaintext from before encryption was
             // enabled, or from a Keystore failure during write. Return as-is.
@@ -104,10 +153,52 @@ class PreferenceCrypto(
         }
     }
 
+    private fun ThreadLocal<Cipher>.getOrCreate(): Cipher {
+        return get() ?: Cipher.getInstance(TRANSFORMATION).also { set(it) }
+    }
+
+    private fun getCachedValue(encoded: String): String? {
+        if (maxCachedValues <= 0) return null
+        return synchronized(decryptedValues) { decryptedValues[encoded] }
+    }
+
+    private fun cacheValue(encoded: String, plaintext: String) {
+        if (maxCachedValues <= 0) return
+        synchronized(decryptedValues) { decryptedValues[encoded] = plaintext }
+    }
+
+    /**
+     * Default [KeyProvider] backed by Android Keystore.
+     */
+    @SuppressLint("NewApi", "InlinedApi")
+    private object AndroidKeystoreKeyProvider : KeyProvider {
+        override fun getOrCreateKey(keyAlias: String): SecretKey {
+            val keyStore = KeyStore.getInstance(KEYSTORE_PROVIDER).apply { load(null) }
+            val entry = keyStore.getEntry(keyAlias, null) as? KeyStore.SecretKeyEntry
+            if (entry != null) {
+                return entry.secretKey
+            }
+
+            val spec = KeyGenParameterSpec.Builder(
+                keyAlias,
+                KeyProperties.PURPOSE_ENCRYPT or KeyProperties.PURPOSE_DECRYPT
+            )
+                .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+                .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+                .setKeySize(256)
+                .build()
+
+            return KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, KEYSTORE_PROVIDER)
+                .apply { init(spec) }
+                .generateKey()
+        }
+    }
+
     companion object {
         private const val KEYSTORE_PROVIDER = "AndroidKeyStore"
         private const val TRANSFORMATION = "AES/GCM/NoPadding"
         private const val GCM_IV_LENGTH = 12
         private const val GCM_TAG_LENGTH = 128
+        internal const val DEFAULT_MAX_CACHED_VALUES = 32
     }
 }
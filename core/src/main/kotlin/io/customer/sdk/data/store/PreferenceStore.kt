@@ -2,32 +2,122 @@ package io.customer.sdk.data.store
 
 import android.content.Context
 import android.content.SharedPreferences
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArraySet
 
 /**
  * Base preference repository that can be reused among different preference repositories.
+ *
+ * Stores can use [readCached] and [writeCached] to keep an in-memory snapshot
+ * of decoded values, so repeated reads on hot paths neither touch
+ * SharedPreferences nor decode stored values again. Writes update the
+ * snapshot first and are persisted asynchronously using
+ * [SharedPreferences.Editor.apply].
  */
 abstract class PreferenceStore(val context: Context) {
     abstract val prefsName: String
 
-    protected val prefs: SharedPreferences
-        get() = context.applicationContext.getSharedPreferences(
+    /**
+     * Listener notified after a value is written or cleared using this store.
+     */
+    fun interface ChangeListener {
+        /**
+         * Called with the changed [key], or null when all preferences were cleared.
+         */
+        fun onPreferenceChanged(key: String?)
+    }
+
+    private val sharedPreferences: SharedPreferences by lazy {
+        context.applicationContext.getSharedPreferences(
             prefsName,
             Context.MODE_PRIVATE
         )
+    }
+
+    protected val prefs: SharedPreferences
+        get() = sharedPreferences
+
+    // Decoded values keyed by preference key, NoValue marks keys known to be absent
+    private val snapshot = ConcurrentHashMap<String, Any>()
+
+    // Incremented whenever snapshot is cleared so that reads started before
+    // clearing cannot put stale values back
+    @Volatile
+    private var snapshotGeneration = 0
+
+    private val changeListeners = CopyOnWriteArraySet<ChangeListener>()
+
+    fun addChangeListener(listener: ChangeListener) {
+        changeListeners.add(listener)
+    }
+
+    fun removeChangeListener(listener: ChangeListener) {
+        changeListeners.remove(listener)
+    }
+
+    /**
+     * Returns value for [key] from in-memory snapshot, or reads it using
+     * [read] on first access and keeps the result (including null) in the
+     * snapshot. Values for the same key should always be read as the same type.
+     * Snapshot is never trimmed, so only use it for a small set of keys with
+     * small values, not for keys derived from unbounded input such as URLs.
+     */
+    @Suppress("UNCHECKED_CAST")
+    protected fun <Value : Any> readCached(
+        key: String,
+        read: SharedPreferences.() -> Value?
+    ): Value? {
+        snapshot[key]?.let { cached -> return if (cached === NoValue) null else cached as Value }
+
+        val generation = snapshotGeneration
+        val value = prefs.read(read)
+        synchronized(snapshot) {
+            // Values written meanwhile win over the value just read
+            if (generation != snapshotGeneration) return value
+            val cached = snapshot.putIfAbsent(key, value ?: NoValue) ?: return value
+            return if (cached === NoValue) null else cached as Value
+        }
+    }
+
+    /**
+     * Updates in-memory snapshot with decoded [values] (null for removed keys)
+     * and persists them asynchronously using [persist].
+     */
+    protected fun writeCached(
+        vararg values: Pair<String, Any?>,
+        persist: SharedPreferences.Editor.() -> Unit
+    ) {
+        synchronized(snapshot) {
+            values.forEach { (key, value) -> snapshot[key] = value ?: NoValue }
+            prefs.edit().apply(persist).apply()
+        }
+        values.forEach { (key, _) -> notifyChanged(key) }
+    }
 
     /**
      * Clear all preferences stored in associated preference file asynchronously.
      */
     open fun clearAll() {
-        prefs.edit().clear().apply()
+        synchronized(snapshot) {
+            snapshotGeneration++
+            snapshot.clear()
+            prefs.edit().clear().apply()
+        }
+        notifyChanged(null)
     }
 
     /**
      * Clear a specific preference stored in associated preference file asynchronously.
      */
     open fun clear(key: String) {
-        prefs.edit().remove(key).apply()
+        writeCached(key to null) { remove(key) }
     }
+
+    private fun notifyChanged(key: String?) {
+        changeListeners.forEach { it.onPreferenceChanged(key) }
+    }
+
+    private object NoValue
 }
 
 /**
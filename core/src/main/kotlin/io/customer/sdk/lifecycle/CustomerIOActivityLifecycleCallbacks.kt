@@ -5,27 +5,81 @@ import android.app.Application
 import android.os.Bundle
 import androidx.lifecycle.Lifecycle
 import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.util.debug
 import java.lang.ref.WeakReference
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicLong
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.cancel
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.launch
 
+/**
+ * Listener for activity lifecycle events dispatched by
+ * [CustomerIOActivityLifecycleCallbacks].
+ */
+fun interface LifecycleEventListener {
+    fun onLifecycleEvent(state: LifecycleStateChange)
+}
+
 /**
  * SDK component to listen to lifecycle events of all activities.
  * The class is responsible for registering and unregistering the lifecycle callbacks.
  * SDK clients can subscribe to lifecycle events of all activities using the [subscribe] function
  * and should avoid listening to events from ActivityLifecycleCallbacks directly.
+ *
+ * Events received from activities are queued in a buffer of [bufferCapacity]
+ * and drained by a single dispatcher coroutine, so all subscribers observe
+ * transitions in the order they happened. Listeners registered with event
+ * types are called directly by the dispatcher for matching events only,
+ * without launching a coroutine for each of them. If the buffer is full,
+ * newest events are dropped and counted in [droppedEventCount] so delivered
+ * events remain in order.
  */
-class CustomerIOActivityLifecycleCallbacks : Application.ActivityLifecycleCallbacks {
+class CustomerIOActivityLifecycleCallbacks(
+    bufferCapacity: Int = DEFAULT_BUFFER_CAPACITY
+) : Application.ActivityLifecycleCallbacks {
     /**
      * remits the last emitted lifecycle state to provide last state to new subscribers.
      * */
-    private val lifecycleEvents = MutableSharedFlow<LifecycleStateChange>(replay = 1)
+    private val lifecycleEvents = MutableSharedFlow<LifecycleStateChange>(
+        replay = 1,
+        extraBufferCapacity = bufferCapacity
+    )
 
     private val subscriberScope = SDKComponent.scopeProvider.lifecycleListenerScope
 
+    private val pendingEvents = Channel<LifecycleStateChange>(capacity = bufferCapacity)
+
+    // Guards last dispatched event so that a new listener receives the replayed
+    // event followed by live events without gaps or duplicates
+    private val dispatchLock = Any()
+    private val listeners = CopyOnWriteArrayList<ListenerRegistration>()
+    private var lastEvent: LifecycleStateChange? = null
+
+    private val droppedEvents = AtomicLong()
+
+    /**
+     * Number of lifecycle events dropped because the buffer was full.
+     */
+    val droppedEventCount: Long
+        get() = droppedEvents.get()
+
+    private class ListenerRegistration(
+        val events: Set<Lifecycle.Event>,
+        val listener: LifecycleEventListener
+    )
+
+    init {
+        subscriberScope.launch {
+            for (state in pendingEvents) {
+                dispatch(state)
+            }
+        }
+    }
+
     /**
      * Register the lifecycle callbacks to start receiving events.
      */
@@ -38,6 +92,7 @@ class CustomerIOActivityLifecycleCallbacks : Application.ActivityLifecycleCallba
      */
     fun unregister(application: Application) {
         application.unregisterActivityLifecycleCallbacks(this)
+        listeners.clear()
         subscriberScope.cancel()
     }
 
@@ -50,6 +105,48 @@ class CustomerIOActivityLifecycleCallbacks : Application.ActivityLifecycleCallba
         subscriberScope.launch { block(lifecycleEvents) }
     }
 
+    /**
+     * Subscribe [listener] to lifecycle events of all activities whose type is
+     * in [events]. The last dispatched event is replayed to the listener if it
+     * matches. Listeners are called from the dispatcher coroutine and should
+     * return quickly as they delay delivery to other subscribers.
+     */
+    fun subscribe(events: Set<Lifecycle.Event>, listener: LifecycleEventListener) {
+        val registration = ListenerRegistration(events = events, listener = listener)
+        synchronized(dispatchLock) {
+            listeners.add(registration)
+            lastEvent?.let { state -> deliver(registration, state) }
+        }
+    }
+
+    /**
+     * Stops delivering events to [listener].
+     */
+    fun unsubscribe(listener: LifecycleEventListener) {
+        listeners.removeAll { it.listener === listener }
+    }
+
+    private suspend fun dispatch(state: LifecycleStateChange) {
+        synchronized(dispatchLock) {
+            lastEvent = state
+            for (registration in listeners) {
+                deliver(registration, state)
+            }
+        }
+        // Suspends only when collectors of the flow fall behind its buffer
+        lifecycleEvents.emit(state)
+    }
+
+    private fun deliver(registration: ListenerRegistration, state: LifecycleStateChange) {
+        if (state.event !in registration.events) return
+
+        try {
+            registration.listener.onLifecycleEvent(state)
+        } catch (ex: Exception) {
+            SDKComponent.logger.error("Lifecycle listener failed for ${state.event}: ${ex.message}", throwable = ex)
+        }
+    }
+
     /**
      * Sends event received from activity to all subscribers.
      */
@@ -57,9 +154,15 @@ class CustomerIOActivityLifecycleCallbacks : Application.ActivityLifecycleCallba
         activity: Activity,
         event: Lifecycle.Event,
         bundle: Bundle? = null
-    ): Boolean = lifecycleEvents.tryEmit(
-        LifecycleStateChange(activity = WeakReference(activity), event = event, bundle = bundle)
-    )
+    ): Boolean {
+        val state = LifecycleStateChange(activity = WeakReference(activity), event = event, bundle = bundle)
+        val queued = pendingEvents.trySend(state).isSuccess
+        if (!queued) {
+            val dropped = droppedEvents.incrementAndGet()
+            SDKComponent.logger.debug { "Lifecycle event buffer full, dropped $event ($dropped dropped so far)" }
+        }
+        return queued
+    }
 
     override fun onActivityCreated(activity: Activity, bundle: Bundle?) {
         sendEventToCallbacks(activity, Lifecycle.Event.ON_CREATE, bundle)
@@ -88,4 +191,8 @@ class CustomerIOActivityLifecycleCallbacks : Application.ActivityLifecycleCallba
     override fun onActivityDestroyed(activity: Activity) {
         sendEventToCallbacks(activity, Lifecycle.Event.ON_DESTROY)
     }
+
+    companion object {
+        const val DEFAULT_BUFFER_CAPACITY = 64
+    }
 }
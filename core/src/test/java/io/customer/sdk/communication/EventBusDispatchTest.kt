@@ -0,0 +1,99 @@
+package io.customer.sdk.communication
+
+import io.customer.commontest.config.TestConfig
+import io.customer.commontest.config.testConfigurationDefault
+import io.customer.commontest.core.JUnit5Test
+import io.customer.commontest.util.ScopeProviderStub
+import io.customer.sdk.core.util.ScopeProvider
+import io.customer.sdk.events.Metric
+import kotlin.coroutines.CoroutineContext
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import org.amshove.kluent.shouldBeEqualTo
+import org.junit.jupiter.api.Test
+
+/**
+ * Verifies how much coroutine work [EventBusImpl] schedules for a published
+ * event. Event bus scope runs on [CountingDispatcher], which queues every
+ * resumed coroutine so tests can count them and run them on the test thread.
+ */
+class EventBusDispatchTest : JUnit5Test() {
+    private val dispatcher = CountingDispatcher()
+    private val eventBusScope = CoroutineScope(dispatcher + SupervisorJob())
+
+    override fun setup(testConfig: TestConfig) {
+        super.setup(
+            testConfigurationDefault {
+                diGraph {
+                    sdk {
+                        overrideDependency<ScopeProvider>(
+                            object : ScopeProvider by ScopeProviderStub.Unconfined() {
+                                override val eventBusScope: CoroutineScope = this@EventBusDispatchTest.eventBusScope
+                            }
+                        )
+                    }
+                }
+            }
+        )
+    }
+
+    override fun teardown() {
+        eventBusScope.cancel()
+
+        super.teardown()
+    }
+
+    @Test
+    fun publish_givenSubscribersOfOtherTypes_expectOnlyMatchingSubscriberDispatched() {
+        val withoutUnrelatedSubscribers = dispatchesToDeliverEvent(unrelatedSubscriberCount = 0)
+        val withUnrelatedSubscribers = dispatchesToDeliverEvent(unrelatedSubscriberCount = 50)
+
+        withUnrelatedSubscribers shouldBeEqualTo withoutUnrelatedSubscribers
+    }
+
+    /**
+     * Returns number of coroutines resumed to deliver a single event to one
+     * matching subscriber while [unrelatedSubscriberCount] subscribers of
+     * another type are registered.
+     */
+    private fun dispatchesToDeliverEvent(unrelatedSubscriberCount: Int): Int {
+        val eventBus = EventBusImpl()
+        var unrelatedDeliveries = 0
+        var deliveredEvents = 0
+        repeat(unrelatedSubscriberCount) {
+            eventBus.subscribe<Event.ScreenViewedEvent> { unrelatedDeliveries++ }
+        }
+        eventBus.subscribe<Event.TrackPushMetricEvent> { deliveredEvents++ }
+        // Let dispatcher and subscriber coroutines start and suspend waiting for events
+        dispatcher.runPending()
+        dispatcher.dispatchCount = 0
+
+        eventBus.publish(Event.TrackPushMetricEvent("deliveryId", Metric.Delivered, "deviceToken"))
+        dispatcher.runPending()
+        val dispatchCount = dispatcher.dispatchCount
+
+        deliveredEvents shouldBeEqualTo 1
+        unrelatedDeliveries shouldBeEqualTo 0
+        eventBus.removeAllSubscriptions()
+        dispatcher.runPending()
+        return dispatchCount
+    }
+
+    private class CountingDispatcher : CoroutineDispatcher() {
+        private val pending = ArrayDeque<Runnable>()
+        var dispatchCount = 0
+
+        override fun dispatch(context: CoroutineContext, block: Runnable) {
+            dispatchCount++
+            pending.addLast(block)
+        }
+
+        fun runPending() {
+            while (pending.isNotEmpty()) {
+                pending.removeFirst().run()
+            }
+        }
+    }
+}
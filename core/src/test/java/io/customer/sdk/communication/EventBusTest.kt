@@ -182,10 +182,10 @@ class EventBusTest : JUnit5Test() {
     }
 
     @Test
-    fun givenBufferEventsAndReplayToNewSubscriberExpectAllEventsReceived() = runBlocking {
+    fun givenEventsPublishedBeforeFirstSubscriberExpectPendingEventsDeliveredOnce() = runBlocking {
         // Publish multiple events without any subscribers
         repeat(15) { index ->
-            val event = Event.TrackInAppMetricEvent("deliveryId$index", Metric.Delivered, params = mapOf("message" to "Message $index"))
+            val event = Event.TrackPushMetricEvent("deliveryId$index", Metric.Delivered, "deviceToken$index")
             println("Publishing event: $event")
             eventBus.publish(event)
         }
@@ -193,18 +193,143 @@ class EventBusTest : JUnit5Test() {
         yield() // Allow event processing
 
         val events = mutableListOf<Event>()
-        val job = eventBus.subscribe<Event.TrackInAppMetricEvent> { event ->
+        val job = eventBus.subscribe<Event.TrackPushMetricEvent> { event ->
             events.add(event)
         }
+        val lateEvents = mutableListOf<Event>()
+        val lateJob = eventBus.subscribe<Event.TrackPushMetricEvent> { event ->
+            lateEvents.add(event)
+        }
 
         yield() // Allow event processing
 
+        events.size shouldBeEqualTo 15
         for (i in 0 until 15) {
-            (events[i] as Event.TrackInAppMetricEvent).event shouldBeEqualTo Metric.Delivered
-            (events[i] as Event.TrackInAppMetricEvent).deliveryID shouldBeEqualTo "deliveryId$i"
-            (events[i] as Event.TrackInAppMetricEvent).params shouldBeEqualTo mapOf("message" to "Message $i")
+            (events[i] as Event.TrackPushMetricEvent).event shouldBeEqualTo Metric.Delivered
+            (events[i] as Event.TrackPushMetricEvent).deliveryId shouldBeEqualTo "deliveryId$i"
+        }
+        // Pending events are handed over to the first subscriber only
+        lateEvents.size shouldBeEqualTo 0
+
+        job.cancel()
+        lateJob.cancel()
+    }
+
+    @Test
+    fun givenFireAndForgetEventsPublishedBeforeSubscribeExpectNoReplay() = runBlocking {
+        repeat(15) { index ->
+            eventBus.publish(Event.TrackInAppMetricEvent("deliveryId$index", Metric.Delivered, params = mapOf("message" to "Message $index")))
+        }
+
+        yield() // Allow event processing
+
+        val events = mutableListOf<Event>()
+        val job = eventBus.subscribe<Event.TrackInAppMetricEvent> { event ->
+            events.add(event)
         }
 
+        yield() // Allow event processing
+
+        events.size shouldBeEqualTo 0
+
+        job.cancel()
+    }
+
+    @Test
+    fun givenStickyEventsPublishedBeforeSubscribeExpectOnlyLatestReplayed() = runBlocking {
+        eventBus.publish(Event.UserChangedEvent(userId = null, anonymousId = "anonymousId"))
+        eventBus.publish(Event.UserChangedEvent(userId = "user1", anonymousId = "anonymousId"))
+        eventBus.publish(Event.UserChangedEvent(userId = "user2", anonymousId = "anonymousId"))
+        repeat(10) { index ->
+            eventBus.publish(Event.ScreenViewedEvent("screen$index"))
+        }
+
+        yield() // Allow event processing
+
+        val userEvents = mutableListOf<Event.UserChangedEvent>()
+        val userJob = eventBus.subscribe<Event.UserChangedEvent> { event ->
+            userEvents.add(event)
+        }
+        val screenEvents = mutableListOf<Event.ScreenViewedEvent>()
+        val screenJob = eventBus.subscribe<Event.ScreenViewedEvent> { event ->
+            screenEvents.add(event)
+        }
+
+        yield() // Allow event processing
+
+        userEvents.shouldHaveSingleItem().userId shouldBeEqualTo "user2"
+        screenEvents.shouldHaveSingleItem().name shouldBeEqualTo "screen9"
+
+        // Every late subscriber receives the sticky value
+        val secondUserEvents = mutableListOf<Event.UserChangedEvent>()
+        val secondUserJob = eventBus.subscribe<Event.UserChangedEvent> { event ->
+            secondUserEvents.add(event)
+        }
+
+        yield() // Allow event processing
+
+        secondUserEvents.shouldHaveSingleItem().userId shouldBeEqualTo "user2"
+
+        userJob.cancel()
+        screenJob.cancel()
+        secondUserJob.cancel()
+    }
+
+    @Test
+    fun givenDeviceTokenDeletedBeforeSubscribeExpectTokenNotReplayed() = runBlocking {
+        eventBus.publish(Event.RegisterDeviceTokenEvent("token1"))
+        eventBus.publish(Event.DeleteDeviceTokenEvent())
+
+        yield() // Allow event processing
+
+        val tokenEvents = mutableListOf<Event.RegisterDeviceTokenEvent>()
+        val job = eventBus.subscribe<Event.RegisterDeviceTokenEvent> { event ->
+            tokenEvents.add(event)
+        }
+
+        yield() // Allow event processing
+
+        tokenEvents.size shouldBeEqualTo 0
+
+        job.cancel()
+    }
+
+    @Test
+    fun givenResetBeforeSubscribeExpectTokenNotReplayed() = runBlocking {
+        eventBus.publish(Event.RegisterDeviceTokenEvent("token1"))
+        eventBus.publish(Event.ResetEvent)
+
+        yield() // Allow event processing
+
+        val tokenEvents = mutableListOf<Event.RegisterDeviceTokenEvent>()
+        val job = eventBus.subscribe<Event.RegisterDeviceTokenEvent> { event ->
+            tokenEvents.add(event)
+        }
+
+        yield() // Allow event processing
+
+        tokenEvents.size shouldBeEqualTo 0
+
+        job.cancel()
+    }
+
+    @Test
+    fun givenTokenRegisteredAfterDeleteExpectNewTokenReplayed() = runBlocking {
+        eventBus.publish(Event.RegisterDeviceTokenEvent("token1"))
+        eventBus.publish(Event.DeleteDeviceTokenEvent())
+        eventBus.publish(Event.RegisterDeviceTokenEvent("token2"))
+
+        yield() // Allow event processing
+
+        val tokenEvents = mutableListOf<Event.RegisterDeviceTokenEvent>()
+        val job = eventBus.subscribe<Event.RegisterDeviceTokenEvent> { event ->
+            tokenEvents.add(event)
+        }
+
+        yield() // Allow event processing
+
+        tokenEvents.shouldHaveSingleItem().token shouldBeEqualTo "token2"
+
         job.cancel()
     }
 
@@ -274,34 +399,99 @@ class EventBusTest : JUnit5Test() {
     }
 
     @Test
-    fun givenMoreThan100EventsExpectReplayBufferLimited() = runBlocking {
-        // Publish 150 events without any subscribers to test replay buffer limit
+    fun givenMoreThan100PendingEventsExpectPendingBufferLimited() = runBlocking {
+        // Publish 150 events without any subscribers to test pending buffer limit
         repeat(150) { index ->
-            eventBus.publish(Event.TrackInAppMetricEvent("deliveryId$index", Metric.Delivered, params = mapOf("index" to index.toString())))
+            eventBus.publish(Event.TrackPushMetricEvent("deliveryId$index", Metric.Delivered, "deviceToken$index"))
         }
 
         yield() // Allow event processing
 
         val events = mutableListOf<Event>()
-        val job = eventBus.subscribe<Event.TrackInAppMetricEvent> { event ->
+        val job = eventBus.subscribe<Event.TrackPushMetricEvent> { event ->
             events.add(event)
         }
 
         yield() // Allow event processing
 
-        // Should only receive the last 100 events due to replay buffer limit
+        // Should only receive the last 100 events due to pending buffer limit
         events.size shouldBeEqualTo 100
 
         // First received event should be from index 50 (events 0-49 should be dropped)
-        val firstEvent = events.first() as Event.TrackInAppMetricEvent
-        firstEvent.deliveryID shouldBeEqualTo "deliveryId50"
-        firstEvent.params["index"] shouldBeEqualTo "50"
+        val firstEvent = events.first() as Event.TrackPushMetricEvent
+        firstEvent.deliveryId shouldBeEqualTo "deliveryId50"
 
         // Last received event should be from index 149
-        val lastEvent = events.last() as Event.TrackInAppMetricEvent
-        lastEvent.deliveryID shouldBeEqualTo "deliveryId149"
-        lastEvent.params["index"] shouldBeEqualTo "149"
+        val lastEvent = events.last() as Event.TrackPushMetricEvent
+        lastEvent.deliveryId shouldBeEqualTo "deliveryId149"
+
+        job.cancel()
+    }
+
+    @Test
+    fun givenSubscribersOfOtherTypesExpectOnlyMatchingSubscribersInvoked() = runBlocking {
+        val screenEvents = mutableListOf<Event>()
+        val resetEvents = mutableListOf<Event>()
+        val screenJob = eventBus.subscribe<Event.ScreenViewedEvent> { event ->
+            screenEvents.add(event)
+        }
+        val resetJob = eventBus.subscribe<Event.ResetEvent> { event ->
+            resetEvents.add(event)
+        }
+
+        eventBus.publish(Event.ScreenViewedEvent("Home"))
+        eventBus.publish(Event.ScreenViewedEvent("Profile"))
+
+        yield() // Allow event processing
+
+        screenEvents.size shouldBeEqualTo 2
+        resetEvents.size shouldBeEqualTo 0
+
+        screenJob.cancel()
+        resetJob.cancel()
+    }
+
+    @Test
+    fun givenSubscribeToSupertypeExpectAllSubtypesReceivedInOrder() = runBlocking {
+        val events = mutableListOf<Event>()
+        val job = eventBus.subscribe<Event> { event ->
+            events.add(event)
+        }
+
+        val screenEvent = Event.ScreenViewedEvent("Home")
+        val tokenEvent = Event.RegisterDeviceTokenEvent("Token")
+        eventBus.publish(screenEvent)
+        eventBus.publish(tokenEvent)
+        eventBus.publish(Event.ResetEvent)
+
+        yield() // Allow event processing
+
+        events shouldBeEqualTo listOf(screenEvent, tokenEvent, Event.ResetEvent)
 
         job.cancel()
     }
+
+    @Test
+    fun givenSingleSubscriptionCancelledExpectOtherSubscribersStillReceiveEvents() = runBlocking {
+        val subscriber1 = mutableListOf<Event>()
+        val subscriber2 = mutableListOf<Event>()
+        val job1 = eventBus.subscribe<Event.ScreenViewedEvent> { event ->
+            subscriber1.add(event)
+        }
+        val job2 = eventBus.subscribe<Event.ScreenViewedEvent> { event ->
+            subscriber2.add(event)
+        }
+
+        eventBus.publish(Event.ScreenViewedEvent("First"))
+        yield() // Allow event processing
+
+        job1.cancel()
+        eventBus.publish(Event.ScreenViewedEvent("Second"))
+        yield() // Allow event processing
+
+        subscriber1.size shouldBeEqualTo 1
+        subscriber2.size shouldBeEqualTo 2
+
+        job2.cancel()
+    }
 }
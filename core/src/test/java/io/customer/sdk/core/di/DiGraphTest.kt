@@ -7,6 +7,7 @@ import java.util.concurrent.TimeUnit
 import kotlin.concurrent.thread
 import org.amshove.kluent.internal.assertEquals
 import org.amshove.kluent.shouldBeEmpty
+import org.amshove.kluent.shouldBeEqualTo
 import org.amshove.kluent.shouldBeNull
 import org.amshove.kluent.shouldBeTrue
 import org.amshove.kluent.shouldNotBeNull
@@ -22,6 +23,7 @@ class DiGraphTest : JUnit5Test() {
     }
 
     override fun teardown() {
+        DiGraph.constructionTracer = null
         diGraph.reset()
 
         super.teardown()
@@ -217,6 +219,54 @@ class DiGraphTest : JUnit5Test() {
         assertEquals(1, initCount)
     }
 
+    @Test
+    fun singleton_givenInstanceCreated_expectReadWithoutWaitingForLock() {
+        val givenInstance = diGraph.singleton { "SingletonInstance" }
+        val lockHeldLatch = CountDownLatch(1)
+        val releaseLockLatch = CountDownLatch(1)
+        val lockHolder = thread {
+            synchronized(diGraph.singletons) {
+                lockHeldLatch.countDown()
+                releaseLockLatch.await(3, TimeUnit.SECONDS)
+            }
+        }
+        lockHeldLatch.await(3, TimeUnit.SECONDS)
+
+        val actualInstance = diGraph.singleton { "NewSingletonInstance" }
+
+        releaseLockLatch.countDown()
+        lockHolder.join()
+        assertEquals(givenInstance, actualInstance)
+    }
+
+    @Test
+    fun singleton_givenTracerSet_expectTraceWithDependencyChainForEachCreatedInstance() {
+        val traces = mutableListOf<ConstructionTrace>()
+        DiGraph.constructionTracer = ConstructionTracer { traces.add(it) }
+
+        diGraph.singleton<String> {
+            val dependency = diGraph.singleton<Int> { 1 }
+            "Instance$dependency"
+        }
+        diGraph.singleton<String> { "NewInstance" }
+
+        traces.map { it.key } shouldBeEqualTo listOf(Int::class.java.name, String::class.java.name)
+        traces[0].chain shouldBeEqualTo listOf(String::class.java.name, Int::class.java.name)
+        traces[1].chain shouldBeEqualTo listOf(String::class.java.name)
+        (traces[1].durationNanos >= traces[0].durationNanos).shouldBeTrue()
+    }
+
+    @Test
+    fun singleton_givenTracerNotSet_expectNoTracing() {
+        val traces = mutableListOf<ConstructionTrace>()
+        DiGraph.constructionTracer = ConstructionTracer { traces.add(it) }
+        DiGraph.constructionTracer = null
+
+        diGraph.singleton<String> { "Instance" }
+
+        traces.shouldBeEmpty()
+    }
+
     @Test
     fun reset_givenDependenciesSet_expectDependenciesCleared() {
         diGraph.overrideDependency<String>("OverriddenString")
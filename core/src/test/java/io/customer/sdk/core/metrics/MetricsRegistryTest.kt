@@ -0,0 +1,124 @@
+package io.customer.sdk.core.metrics
+
+import io.customer.commontest.core.JUnit5Test
+import java.util.concurrent.CountDownLatch
+import kotlin.concurrent.thread
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestCoroutineScheduler
+import kotlinx.coroutines.test.TestScope
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeNull
+import org.junit.jupiter.api.Test
+
+class MetricsRegistryTest : JUnit5Test() {
+    private val scheduler = TestCoroutineScheduler()
+    private val reportScope = TestScope(StandardTestDispatcher(scheduler))
+    private val registry = MetricsRegistry(
+        reportIntervalMillis = 1_000,
+        reportScope = { reportScope },
+        clock = { 42L }
+    )
+
+    @Test
+    fun counter_givenSameName_expectSameInstance() {
+        registry.counter("requests") shouldBe registry.counter("requests")
+    }
+
+    @Test
+    fun snapshot_givenRecordedMetrics_expectCurrentValues() {
+        registry.counter("requests").increment()
+        registry.counter("requests").increment(2)
+        registry.gauge("depth").set(5)
+        registry.gauge("depth").add(-2)
+
+        val snapshot = registry.snapshot()
+
+        snapshot.timestamp shouldBeEqualTo 42L
+        snapshot.counters shouldBeEqualTo mapOf("requests" to 3L)
+        snapshot.gauges shouldBeEqualTo mapOf("depth" to 3L)
+    }
+
+    @Test
+    fun histogram_givenRecordedValues_expectSummaryAndApproximatePercentiles() {
+        val histogram = registry.histogram("latency")
+        (1L..100L).forEach { histogram.record(it) }
+
+        val summary = registry.snapshot().histograms["latency"]!!
+
+        summary.count shouldBeEqualTo 100L
+        summary.sum shouldBeEqualTo 5050L
+        summary.min shouldBeEqualTo 1L
+        summary.max shouldBeEqualTo 100L
+        summary.mean shouldBeEqualTo 50.5
+        // Values 32..63 share a bucket, so median reports its upper bound
+        summary.p50 shouldBeEqualTo 63L
+        summary.p99 shouldBeEqualTo 127L
+    }
+
+    @Test
+    fun histogram_givenNoValues_expectEmptySummary() {
+        registry.histogram("latency")
+
+        registry.snapshot().histograms["latency"] shouldBeEqualTo HistogramSnapshot.EMPTY
+    }
+
+    @Test
+    fun counter_givenConcurrentIncrements_expectNoLostUpdates() {
+        val threads = 8
+        val incrementsPerThread = 10_000
+        val start = CountDownLatch(1)
+        val workers = List(threads) {
+            thread {
+                start.await()
+                repeat(incrementsPerThread) {
+                    registry.counter("events").increment()
+                    registry.histogram("sizes").record(it.toLong())
+                }
+            }
+        }
+
+        start.countDown()
+        workers.forEach { it.join() }
+
+        registry.counter("events").count shouldBeEqualTo (threads * incrementsPerThread).toLong()
+        registry.snapshot().histograms["sizes"]!!.count shouldBeEqualTo (threads * incrementsPerThread).toLong()
+    }
+
+    @Test
+    fun addListener_givenReportInterval_expectSnapshotDeliveredPeriodically() {
+        val received = mutableListOf<MetricsSnapshot>()
+        registry.counter("requests").increment()
+        registry.addListener { received.add(it) }
+
+        scheduler.advanceTimeBy(2_500)
+
+        received.size shouldBeEqualTo 2
+        received.first().counters shouldBeEqualTo mapOf("requests" to 1L)
+    }
+
+    @Test
+    fun removeListener_givenLastListenerRemoved_expectReportingStopped() {
+        var delivered: MetricsSnapshot? = null
+        val listener = MetricsListener { delivered = it }
+        registry.addListener(listener)
+
+        registry.removeListener(listener)
+        scheduler.advanceTimeBy(5_000)
+
+        delivered.shouldBeNull()
+    }
+
+    @Test
+    fun reset_givenListenerRegistered_expectReportJobCancelled() {
+        var delivered: MetricsSnapshot? = null
+        registry.addListener { delivered = it }
+
+        registry.reset()
+        scheduler.advanceTimeBy(5_000)
+
+        delivered.shouldBeNull()
+        reportScope.coroutineContext[Job]!!.children.none { it.isActive } shouldBe true
+    }
+}
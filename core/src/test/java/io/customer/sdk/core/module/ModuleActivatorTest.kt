@@ -0,0 +1,64 @@
+package io.customer.sdk.core.module
+
+import io.customer.commontest.core.JUnit5Test
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.core.util.Logger
+import io.mockk.mockk
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeFalse
+import org.amshove.kluent.shouldBeTrue
+import org.amshove.kluent.shouldContain
+import org.junit.jupiter.api.Test
+
+class ModuleActivatorTest : JUnit5Test() {
+    private val metricsRegistry = MetricsRegistry()
+    private var activationCount = 0
+
+    private fun createActivator(mode: ModuleActivationMode) = ModuleActivator(
+        moduleName = "TestModule",
+        mode = mode,
+        logger = mockk<Logger>(relaxed = true),
+        metricsRegistry = metricsRegistry,
+        onActivate = { activationCount++ }
+    )
+
+    @Test
+    fun onModuleInitialized_givenEagerMode_expectActivated() {
+        val activator = createActivator(ModuleActivationMode.EAGER)
+
+        activator.onModuleInitialized()
+
+        activator.isActivated.shouldBeTrue()
+        activationCount shouldBeEqualTo 1
+        metricsRegistry.snapshot().gauges.keys shouldContain MetricNames.MODULE_ACTIVATION_TIME_PREFIX + "TestModule"
+    }
+
+    @Test
+    fun onModuleInitialized_givenLazyMode_expectNotActivatedUntilTriggered() {
+        val activator = createActivator(ModuleActivationMode.LAZY)
+
+        activator.onModuleInitialized()
+
+        activator.isActivated.shouldBeFalse()
+        activationCount shouldBeEqualTo 0
+
+        activator.activate(trigger = "test")
+        activator.activate(trigger = "test")
+
+        activator.isActivated.shouldBeTrue()
+        activationCount shouldBeEqualTo 1
+    }
+
+    @Test
+    fun runIfNotActivated_givenActivationState_expectBlockRunOnlyBeforeActivation() {
+        val activator = createActivator(ModuleActivationMode.LAZY)
+        var blockCount = 0
+
+        activator.runIfNotActivated { blockCount++ }.shouldBeTrue()
+        activator.activate(trigger = "test")
+        activator.runIfNotActivated { blockCount++ }.shouldBeFalse()
+
+        blockCount shouldBeEqualTo 1
+    }
+}
@@ -0,0 +1,162 @@
+package io.customer.sdk.core.module
+
+import io.customer.commontest.core.JUnit5Test
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.runBlocking
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeTrue
+import org.amshove.kluent.shouldContain
+import org.amshove.kluent.shouldNotContain
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+class ModuleInitializerTest : JUnit5Test() {
+    private val executor = Executors.newFixedThreadPool(4)
+    private val metricsRegistry = MetricsRegistry()
+    private val initialized: MutableList<String> = Collections.synchronizedList(mutableListOf())
+    private val initializer = ModuleInitializer(
+        listener = object : ModuleInitializer.Listener {
+            override fun onModuleInitStart(module: CustomerIOModule<*>) {}
+
+            override fun onModuleInitSuccess(module: CustomerIOModule<*>, durationMillis: Long) {
+                initialized.add(module.moduleName)
+            }
+        },
+        scope = CoroutineScope(executor.asCoroutineDispatcher() + SupervisorJob()),
+        metricsRegistry = metricsRegistry
+    )
+
+    @AfterEach
+    fun shutdownExecutor() {
+        executor.shutdownNow()
+    }
+
+    private class TestModule(
+        override val moduleName: String,
+        override val dependencies: Set<String> = emptySet(),
+        private val onInitialize: () -> Unit = {}
+    ) : CustomerIOModule<CustomerIOModuleConfig> {
+        override val moduleConfig: CustomerIOModuleConfig = object : CustomerIOModuleConfig {}
+
+        override fun initialize() = onInitialize()
+    }
+
+    @Test
+    fun initialize_givenIndependentModules_expectInitializedConcurrently() {
+        val bothStarted = CountDownLatch(2)
+        val awaitOther = {
+            bothStarted.countDown()
+            // Only completes if the other module is initializing at the same time
+            bothStarted.await(5, TimeUnit.SECONDS).shouldBeTrue()
+        }
+
+        runBlocking {
+            initializer.initialize(
+                listOf(TestModule("first", onInitialize = awaitOther), TestModule("second", onInitialize = awaitOther))
+            ).await()
+        }
+
+        initialized.toSet() shouldBeEqualTo setOf("first", "second")
+    }
+
+    @Test
+    fun initialize_givenDependencies_expectDependenciesInitializedFirst() {
+        runBlocking {
+            initializer.initialize(
+                listOf(
+                    TestModule("inApp", dependencies = setOf("push")),
+                    TestModule("push", dependencies = setOf("location")),
+                    TestModule("location")
+                )
+            ).await()
+        }
+
+        initialized shouldBeEqualTo listOf("location", "push", "inApp")
+    }
+
+    @Test
+    fun initialize_givenMissingDependency_expectDependencyIgnored() {
+        runBlocking {
+            initializer.initialize(listOf(TestModule("inApp", dependencies = setOf("notInstalled")))).await()
+        }
+
+        initialized shouldBeEqualTo listOf("inApp")
+    }
+
+    @Test
+    fun initialize_givenCyclicDependencies_expectModulesInitializedInOrder() {
+        runBlocking {
+            initializer.initialize(
+                listOf(
+                    TestModule("first", dependencies = setOf("second")),
+                    TestModule("second", dependencies = setOf("first"))
+                )
+            ).await()
+        }
+
+        initialized shouldBeEqualTo listOf("first", "second")
+    }
+
+    @Test
+    fun initialize_givenFailingModule_expectDependentsSkippedAndErrorReported() {
+        val pending = initializer.initialize(
+            listOf(
+                TestModule("independent"),
+                TestModule("failing", onInitialize = { throw IllegalStateException("failed") }),
+                TestModule("dependent", dependencies = setOf("failing"))
+            )
+        )
+
+        assertThrows<IllegalStateException> { runBlocking { pending.await() } }
+        initialized shouldContain "independent"
+        initialized shouldNotContain "dependent"
+    }
+
+    @Test
+    fun initializeNow_givenDependencies_expectInitializedInOrderOnCallingThread() {
+        val callingThread = Thread.currentThread()
+        val threads = Collections.synchronizedSet(mutableSetOf<Thread>())
+        val recordThread = { threads.add(Thread.currentThread()); Unit }
+
+        initializer.initializeNow(
+            listOf(
+                TestModule("inApp", dependencies = setOf("push"), onInitialize = recordThread),
+                TestModule("push", dependencies = setOf("location"), onInitialize = recordThread),
+                TestModule("location", onInitialize = recordThread)
+            )
+        )
+
+        initialized shouldBeEqualTo listOf("location", "push", "inApp")
+        threads shouldBeEqualTo setOf(callingThread)
+    }
+
+    @Test
+    fun initializeNow_givenCyclicDependencies_expectModulesInitializedInOrder() {
+        initializer.initializeNow(
+            listOf(
+                TestModule("first", dependencies = setOf("second")),
+                TestModule("second", dependencies = setOf("first"))
+            )
+        )
+
+        initialized shouldBeEqualTo listOf("first", "second")
+    }
+
+    @Test
+    fun initializeNow_givenModule_expectInitTimeReported() {
+        initializer.initializeNow(TestModule("dataPipelines", onInitialize = { Thread.sleep(20) }))
+
+        val initTime = metricsRegistry.snapshot().gauges.getValue(MetricNames.MODULE_INIT_TIME_PREFIX + "dataPipelines")
+        (initTime >= 20).shouldBeTrue()
+        initialized shouldBeEqualTo listOf("dataPipelines")
+    }
+}
@@ -0,0 +1,164 @@
+package io.customer.sdk.core.network
+
+import android.util.Base64
+import io.customer.commontest.config.TestConfig
+import io.customer.commontest.core.RobolectricTest
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.requestBodyCompressor
+import io.customer.sdk.data.model.Settings
+import io.customer.sdk.data.store.GlobalPreferenceStore
+import java.util.zip.GZIPInputStream
+import kotlinx.coroutines.runBlocking
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeTrue
+import org.amshove.kluent.shouldNotBeNull
+import org.amshove.kluent.shouldStartWith
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class CustomerIOHttpClientTest : RobolectricTest() {
+
+    private lateinit var server: MockWebServer
+    private lateinit var globalPreferenceStore: GlobalPreferenceStore
+    private lateinit var httpClient: CustomerIOHttpClientImpl
+
+    override fun setup(testConfig: TestConfig) {
+        super.setup(testConfig)
+
+        server = MockWebServer()
+        server.start()
+        globalPreferenceStore = SDKComponent.android().globalPreferenceStore
+        globalPreferenceStore.saveSettings(settings(writeKey = "write-key"))
+        httpClient = CustomerIOHttpClientImpl(scheme = "http")
+    }
+
+    override fun teardown() {
+        server.shutdown()
+
+        super.teardown()
+    }
+
+    private fun settings(writeKey: String) = Settings(
+        writeKey = writeKey,
+        apiHost = "${server.hostName}:${server.port}"
+    )
+
+    private fun basicAuth(writeKey: String): String {
+        return "Basic " + Base64.encodeToString("$writeKey:".toByteArray(), Base64.NO_WRAP)
+    }
+
+    @Test
+    fun request_givenSuccessResponse_expectBodyAndSdkHeaders() = runBlocking {
+        server.enqueue(MockResponse().setResponseCode(200).setBody("ok"))
+
+        val result = httpClient.request(HttpRequestParams(path = "track", body = "{\"a\":1}"))
+
+        result.getOrNull() shouldBeEqualTo "ok"
+        val recorded = server.takeRequest()
+        recorded.path shouldBeEqualTo "/track"
+        recorded.method shouldBeEqualTo "POST"
+        recorded.body.readUtf8() shouldBeEqualTo "{\"a\":1}"
+        recorded.getHeader("Authorization") shouldBeEqualTo basicAuth("write-key")
+        recorded.getHeader("User-Agent") shouldBeEqualTo SDKComponent.android().client.toString()
+    }
+
+    @Test
+    fun request_givenErrorResponse_expectFailureWithStatusCode() = runBlocking {
+        server.enqueue(MockResponse().setResponseCode(500).setBody("boom"))
+
+        val result = httpClient.request(HttpRequestParams(path = "/track", body = "{}"))
+
+        result.isFailure.shouldBeTrue()
+        result.exceptionOrNull()?.message shouldBeEqualTo "HTTP 500: boom"
+    }
+
+    @Test
+    fun request_givenConsecutiveRequests_expectConnectionReused() = runBlocking {
+        server.enqueue(MockResponse().setResponseCode(200).setBody("first"))
+        server.enqueue(MockResponse().setResponseCode(200).setBody("second"))
+        server.enqueue(MockResponse().setResponseCode(200).setBody("third"))
+
+        repeat(3) { httpClient.request(HttpRequestParams(path = "/track", body = "{}")) }
+
+        // Sequence number is the index of request on its connection
+        server.takeRequest().sequenceNumber shouldBeEqualTo 0
+        server.takeRequest().sequenceNumber shouldBeEqualTo 1
+        server.takeRequest().sequenceNumber shouldBeEqualTo 2
+    }
+
+    @Test
+    fun request_givenSettingsChanged_expectUpdatedAuthorization() = runBlocking {
+        server.enqueue(MockResponse().setResponseCode(200))
+        server.enqueue(MockResponse().setResponseCode(200))
+
+        httpClient.request(HttpRequestParams(path = "/track", body = "{}"))
+        globalPreferenceStore.saveSettings(settings(writeKey = "new-write-key"))
+        httpClient.request(HttpRequestParams(path = "/track", body = "{}"))
+
+        server.takeRequest().getHeader("Authorization") shouldBeEqualTo basicAuth("write-key")
+        server.takeRequest().getHeader("Authorization") shouldBeEqualTo basicAuth("new-write-key")
+    }
+
+    @Test
+    fun request_givenTimingsListener_expectTimingsReportedForEachRequest() = runBlocking {
+        val reportedTimings = mutableListOf<HttpRequestTimings>()
+        httpClient.timingsListener = { reportedTimings.add(it) }
+        server.enqueue(MockResponse().setResponseCode(200).setBody("ok"))
+        server.enqueue(MockResponse().setResponseCode(400).setBody("bad"))
+
+        httpClient.request(HttpRequestParams(path = "/track", body = "{}"))
+        httpClient.request(HttpRequestParams(path = "/track", body = "{}"))
+
+        reportedTimings.map { it.statusCode } shouldBeEqualTo listOf(200, 400)
+        reportedTimings.forEach { timings ->
+            timings.path shouldStartWith "/track"
+            (timings.totalMs >= timings.connectMs).shouldBeTrue()
+            (timings.totalMs >= timings.timeToFirstByteMs).shouldBeTrue()
+        }
+    }
+
+    @Test
+    fun request_givenServerUnavailable_expectFailureAndTimingsWithoutStatusCode() = runBlocking {
+        val reportedTimings = mutableListOf<HttpRequestTimings>()
+        httpClient.timingsListener = { reportedTimings.add(it) }
+        // Nothing listens on port 1 so connection is refused
+        globalPreferenceStore.saveSettings(Settings(writeKey = "write-key", apiHost = "127.0.0.1:1"))
+
+        val result = httpClient.request(HttpRequestParams(path = "/track", body = "{}"))
+
+        result.exceptionOrNull().shouldNotBeNull()
+        reportedTimings.single().statusCode shouldBeEqualTo null
+    }
+
+    @Test
+    fun request_givenCompressionEnabledAndLargeBody_expectGzipBodyReceived() = runBlocking {
+        val compressor = SDKComponent.requestBodyCompressor
+        compressor.configure(enabled = true, minBodySizeBytes = 100)
+        val body = "{\"properties\":{" + List(50) { "\"key$it\":\"value\"" }.joinToString(",") + "}}"
+        server.enqueue(MockResponse().setResponseCode(200))
+
+        httpClient.request(HttpRequestParams(path = "/track", body = body)).isSuccess.shouldBeTrue()
+
+        val recorded = server.takeRequest()
+        recorded.getHeader("Content-Encoding") shouldBeEqualTo "gzip"
+        GZIPInputStream(recorded.body.inputStream()).bufferedReader().use { it.readText() } shouldBeEqualTo body
+        compressor.bytesBeforeCompression shouldBeEqualTo body.length.toLong()
+        compressor.bytesAfterCompression shouldBeEqualTo recorded.bodySize
+    }
+
+    @Test
+    fun request_givenCompressionEnabledAndSmallBody_expectPlainBodyReceived() = runBlocking {
+        SDKComponent.requestBodyCompressor.configure(enabled = true, minBodySizeBytes = 100)
+        server.enqueue(MockResponse().setResponseCode(200))
+
+        httpClient.request(HttpRequestParams(path = "/track", body = "{}")).isSuccess.shouldBeTrue()
+
+        val recorded = server.takeRequest()
+        recorded.getHeader("Content-Encoding") shouldBeEqualTo null
+        recorded.body.readUtf8() shouldBeEqualTo "{}"
+    }
+}
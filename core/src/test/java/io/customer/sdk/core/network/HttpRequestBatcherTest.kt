@@ -0,0 +1,197 @@
+package io.customer.sdk.core.network
+
+import io.customer.commontest.core.JUnit5Test
+import java.io.IOException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.jsonArray
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.jsonPrimitive
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeInstanceOf
+import org.amshove.kluent.shouldBeTrue
+import org.junit.jupiter.api.Test
+
+class HttpRequestBatcherTest : JUnit5Test() {
+
+    private val sentRequests = mutableListOf<HttpRequestParams>()
+
+    private fun TestScope.createBatcher(
+        config: HttpBatchConfig = HttpBatchConfig(waitWindowMs = 1_000, maxBatchSize = 5),
+        scope: CoroutineScope = backgroundScope,
+        send: (HttpRequestParams) -> Result<String> = { Result.success("ok") }
+    ) = HttpRequestBatcher(
+        config = config,
+        scope = scope,
+        send = { params ->
+            sentRequests.add(params)
+            send(params)
+        }
+    )
+
+    private fun trackParams(id: String) = HttpRequestParams(
+        path = "/track",
+        body = """{"anonymousId":"$id","event":"Report Delivery Event"}"""
+    )
+
+    private fun HttpRequestParams.batchIds(): List<String> {
+        val batch = Json.parseToJsonElement(body!!).jsonObject["batch"]!!.jsonArray
+        return batch.map { it.jsonObject["anonymousId"]!!.jsonPrimitive.content }
+    }
+
+    @Test
+    fun enqueue_givenSingleRequest_expectSentWithoutWaiting() = runTest {
+        val batcher = createBatcher(config = HttpBatchConfig(waitWindowMs = 60_000, maxBatchSize = 5))
+
+        val result = async { batcher.enqueue(trackParams("id0")) }
+        runCurrent()
+
+        result.isCompleted shouldBe true
+        result.await().isSuccess.shouldBeTrue()
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(listOf("id0"))
+    }
+
+    @Test
+    fun enqueue_givenRequestsWithinWaitWindow_expectFollowingRequestsInSingleBatch() = runTest {
+        val batcher = createBatcher()
+
+        val results = List(3) { index -> async { batcher.enqueue(trackParams("id$index")) } }
+        runCurrent()
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(listOf("id0"))
+
+        advanceTimeBy(1_001)
+        results.awaitAll().all { it.isSuccess }.shouldBeTrue()
+
+        sentRequests.size shouldBeEqualTo 2
+        sentRequests[1].path shouldBeEqualTo "/batch"
+        sentRequests[1].batchIds() shouldBeEqualTo listOf("id1", "id2")
+        val firstEvent = Json.parseToJsonElement(sentRequests[1].body!!).jsonObject["batch"]!!.jsonArray[0].jsonObject
+        firstEvent["type"]!!.jsonPrimitive.content shouldBeEqualTo "track"
+    }
+
+    @Test
+    fun enqueue_givenRequestsAfterWindowEnded_expectFirstSentWithoutWaitingAgain() = runTest {
+        val batcher = createBatcher()
+
+        batcher.enqueue(trackParams("id0")).isSuccess.shouldBeTrue()
+        // Window ends with nothing queued and closes
+        advanceTimeBy(1_001)
+        val result = async { batcher.enqueue(trackParams("id1")) }
+        runCurrent()
+
+        result.isCompleted shouldBe true
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(listOf("id0"), listOf("id1"))
+    }
+
+    @Test
+    fun enqueue_givenMaxBatchSizeReached_expectBatchSentWithoutWaiting() = runTest {
+        val batcher = createBatcher(config = HttpBatchConfig(waitWindowMs = 60_000, maxBatchSize = 2))
+
+        val results = List(4) { index -> async { batcher.enqueue(trackParams("id$index")) } }
+        runCurrent()
+
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(listOf("id0"), listOf("id1", "id2"))
+        results[2].isCompleted shouldBe true
+        results[3].isCompleted shouldBe false
+
+        advanceTimeBy(60_001)
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(listOf("id0"), listOf("id1", "id2"), listOf("id3"))
+        results.awaitAll().all { it.isSuccess }.shouldBeTrue()
+    }
+
+    @Test
+    fun enqueue_givenScopeCancelledWhileRequestQueued_expectQueuedRequestFails() = runTest {
+        val batcherScope = CoroutineScope(StandardTestDispatcher(testScheduler) + SupervisorJob())
+        val batcher = createBatcher(scope = batcherScope)
+
+        val sent = async { batcher.enqueue(trackParams("id0")) }
+        val queued = async { batcher.enqueue(trackParams("id1")) }
+        runCurrent()
+        batcherScope.cancel()
+        runCurrent()
+
+        sent.await().isSuccess.shouldBeTrue()
+        queued.await().exceptionOrNull() shouldBeInstanceOf IOException::class
+        batcher.enqueue(trackParams("id2")).exceptionOrNull() shouldBeInstanceOf IOException::class
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(listOf("id0"))
+    }
+
+    @Test
+    fun enqueue_givenNoWaitWindow_expectEachRequestSentImmediately() = runTest {
+        val batcher = createBatcher(config = HttpBatchConfig(waitWindowMs = 0, maxBatchSize = 5))
+
+        batcher.enqueue(trackParams("id0")).isSuccess.shouldBeTrue()
+        batcher.enqueue(trackParams("id1")).isSuccess.shouldBeTrue()
+
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(listOf("id0"), listOf("id1"))
+    }
+
+    @Test
+    fun enqueue_givenBatchFailsWithServerError_expectFailureForEveryRequest() = runTest {
+        val batcher = createBatcher(send = { Result.failure(HttpResponseException(500, "error")) })
+
+        val results = List(3) { index -> async { batcher.enqueue(trackParams("id$index")) } }
+        advanceTimeBy(1_001)
+
+        results.awaitAll().forEach { it.exceptionOrNull() shouldBeInstanceOf HttpResponseException::class }
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(listOf("id0"), listOf("id1", "id2"))
+    }
+
+    @Test
+    fun enqueue_givenBatchRejectedAsInvalid_expectRequestsRetriedIndividually() = runTest {
+        val batcher = createBatcher(
+            send = { params ->
+                if ("invalid" in params.batchIds()) {
+                    Result.failure(HttpResponseException(400, "bad request"))
+                } else {
+                    Result.success("ok")
+                }
+            }
+        )
+
+        val first = async { batcher.enqueue(trackParams("first")) }
+        val valid = async { batcher.enqueue(trackParams("valid")) }
+        val invalid = async { batcher.enqueue(trackParams("invalid")) }
+        advanceTimeBy(1_001)
+
+        first.await().isSuccess.shouldBeTrue()
+        valid.await().isSuccess.shouldBeTrue()
+        invalid.await().exceptionOrNull() shouldBeInstanceOf HttpResponseException::class
+        sentRequests.map { it.batchIds() } shouldBeEqualTo listOf(
+            listOf("first"),
+            listOf("valid", "invalid"),
+            listOf("valid"),
+            listOf("invalid")
+        )
+    }
+
+    @Test
+    fun enqueue_givenSendThrows_expectFailureResult() = runTest {
+        val batcher = createBatcher(send = { throw IOException("socket closed") })
+
+        val result = async { batcher.enqueue(trackParams("id0")) }
+        advanceTimeBy(1_001)
+
+        result.await().exceptionOrNull() shouldBeInstanceOf IOException::class
+    }
+
+    @Test
+    fun enqueue_givenUnsupportedPathOrInvalidBody_expectFailureWithoutSending() = runTest {
+        val batcher = createBatcher()
+
+        batcher.enqueue(HttpRequestParams(path = "/unknown", body = "{}")).isFailure.shouldBeTrue()
+        batcher.enqueue(HttpRequestParams(path = "/track", body = "not json")).isFailure.shouldBeTrue()
+
+        sentRequests.size shouldBeEqualTo 0
+    }
+}
@@ -0,0 +1,133 @@
+package io.customer.sdk.core.util
+
+import io.customer.commontest.core.JUnit5Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestCoroutineScheduler
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeNull
+import org.amshove.kluent.shouldBeTrue
+import org.junit.jupiter.api.Test
+
+class AsyncLogSinkTest : JUnit5Test() {
+
+    private val scheduler = TestCoroutineScheduler()
+    private val written = mutableListOf<String>()
+    private val droppedReports = mutableListOf<Long>()
+
+    private fun record(message: String) = LogRecord(
+        timestamp = 0L,
+        level = CioLogLevel.DEBUG,
+        tag = null,
+        message = message
+    )
+
+    private fun newSink(capacity: Int, overflowPolicy: LogOverflowPolicy) = AsyncLogSink(
+        capacity = capacity,
+        overflowPolicy = overflowPolicy,
+        scope = CoroutineScope(StandardTestDispatcher(scheduler)),
+        write = { written.add(it.message) },
+        onDropped = { droppedReports.add(it) }
+    )
+
+    @Test
+    fun ringBuffer_givenCapacity_expectRoundedUpToPowerOfTwo() {
+        LogRingBuffer<String>(1).capacity shouldBeEqualTo 2
+        LogRingBuffer<String>(5).capacity shouldBeEqualTo 8
+        LogRingBuffer<String>(256).capacity shouldBeEqualTo 256
+    }
+
+    @Test
+    fun ringBuffer_givenItems_expectFifoOrderAndFullBufferRejectsOffers() {
+        val buffer = LogRingBuffer<Int>(4)
+
+        (0 until 4).map { buffer.offer(it) }.all { it }.shouldBeTrue()
+        buffer.offer(4) shouldBeEqualTo false
+
+        List(4) { buffer.poll() } shouldBeEqualTo listOf(0, 1, 2, 3)
+        buffer.poll().shouldBeNull()
+        // Slots are reusable once consumed
+        buffer.offer(5) shouldBeEqualTo true
+        buffer.poll() shouldBeEqualTo 5
+    }
+
+    @Test
+    fun ringBuffer_givenConcurrentProducers_expectNoItemLostOrDuplicated() {
+        val buffer = LogRingBuffer<Int>(64)
+        val producers = 4
+        val itemsPerProducer = 10_000
+        val consumed = mutableListOf<Int>()
+        val producersDone = CountDownLatch(producers)
+
+        repeat(producers) { producer ->
+            thread {
+                repeat(itemsPerProducer) { index ->
+                    val item = producer * itemsPerProducer + index
+                    while (!buffer.offer(item)) Thread.yield()
+                }
+                producersDone.countDown()
+            }
+        }
+        while (consumed.size < producers * itemsPerProducer) {
+            buffer.poll()?.let { consumed.add(it) } ?: Thread.yield()
+        }
+
+        producersDone.await(5, TimeUnit.SECONDS).shouldBeTrue()
+        consumed.sorted() shouldBeEqualTo (0 until producers * itemsPerProducer).toList()
+    }
+
+    @Test
+    fun submit_givenRecords_expectWrittenInOrderOnConsumer() {
+        val sink = newSink(capacity = 8, overflowPolicy = LogOverflowPolicy.DROP_OLDEST)
+
+        sink.submit(record("first"))
+        sink.submit(record("second"))
+
+        written shouldBeEqualTo emptyList()
+        scheduler.advanceUntilIdle()
+        written shouldBeEqualTo listOf("first", "second")
+    }
+
+    @Test
+    fun submit_givenDropOldestAndFullBuffer_expectOldestRecordsDropped() {
+        val sink = newSink(capacity = 2, overflowPolicy = LogOverflowPolicy.DROP_OLDEST)
+
+        listOf("1", "2", "3", "4").forEach { sink.submit(record(it)) }
+        scheduler.advanceUntilIdle()
+
+        written shouldBeEqualTo listOf("3", "4")
+        droppedReports shouldBeEqualTo listOf(2L)
+        sink.droppedCount shouldBeEqualTo 2L
+    }
+
+    @Test
+    fun submit_givenDropNewestAndFullBuffer_expectNewRecordsDropped() {
+        val sink = newSink(capacity = 2, overflowPolicy = LogOverflowPolicy.DROP_NEWEST)
+
+        listOf("1", "2", "3", "4").forEach { sink.submit(record(it)) }
+        scheduler.advanceUntilIdle()
+
+        written shouldBeEqualTo listOf("1", "2")
+        droppedReports shouldBeEqualTo listOf(2L)
+    }
+
+    @Test
+    fun submit_givenWriterThrows_expectFollowingRecordsStillWritten() {
+        val sink = AsyncLogSink(
+            capacity = 4,
+            overflowPolicy = LogOverflowPolicy.DROP_OLDEST,
+            scope = CoroutineScope(StandardTestDispatcher(scheduler)),
+            write = { if (it.message == "bad") throw IllegalStateException() else written.add(it.message) },
+            onDropped = {}
+        )
+
+        sink.submit(record("bad"))
+        sink.submit(record("good"))
+        scheduler.advanceUntilIdle()
+
+        written shouldBeEqualTo listOf("good")
+    }
+}
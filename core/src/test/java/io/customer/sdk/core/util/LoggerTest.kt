@@ -10,18 +10,26 @@ import io.mockk.every
 import io.mockk.just
 import io.mockk.mockk
 import io.mockk.runs
+import io.mockk.verifyOrder
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestCoroutineScheduler
+import org.amshove.kluent.shouldBeEmpty
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 
 class LoggerTest : JUnit5Test() {
 
     private val mockLogger = mockk<LogcatLogger>()
+    private val sinkScheduler = TestCoroutineScheduler()
     private val logger = LoggerImpl(
         object : BuildEnvironment {
             override val debugModeEnabled: Boolean
                 get() = true
         },
-        mockLogger
+        mockLogger,
+        sinkDispatcher = { StandardTestDispatcher(sinkScheduler) }
     )
 
     @BeforeEach
@@ -200,4 +208,61 @@ class LoggerTest : JUnit5Test() {
         assertCalledOnce { mockLogger.info(LoggerImpl.TAG, "[Tag?] Test info message") }
         assertCalledOnce { mockLogger.debug(LoggerImpl.TAG, "[Tag?] Test debug message") }
     }
+
+    @Test
+    fun givenAsyncSink_shouldWriteLogsOnConsumerInOrder() {
+        logger.logLevel = CioLogLevel.DEBUG
+        val logEventListenerMock = mockk<(CioLogLevel, String) -> Unit>(relaxed = true)
+        logger.setLogDispatcher(logEventListenerMock)
+        logger.configureSink(LogSinkConfig(asynchronous = true))
+
+        logger.info("First message")
+        logger.debug("Second message")
+
+        assertNoInteractions(logEventListenerMock)
+        sinkScheduler.advanceUntilIdle()
+        verifyOrder {
+            logEventListenerMock(CioLogLevel.INFO, "First message")
+            logEventListenerMock(CioLogLevel.DEBUG, "Second message")
+        }
+    }
+
+    @Test
+    fun givenHistoryEnabled_shouldKeepRecentLogsIncludingLevelsNotPrinted() {
+        logger.logLevel = CioLogLevel.ERROR
+        logger.configureSink(LogSinkConfig(historySize = 2))
+
+        logger.isLoggable(CioLogLevel.DEBUG).shouldBeTrue()
+        logger.debug("Debug message", "Tag")
+        logger.info("Info message")
+        logger.error("Error message")
+
+        logger.getRecentLogs().map { it.level to it.message } shouldBeEqualTo listOf(
+            CioLogLevel.INFO to "Info message",
+            CioLogLevel.ERROR to "Error message"
+        )
+        assertCalledOnce { mockLogger.error(LoggerImpl.TAG, "Error message", null) }
+        assertCalledNever { mockLogger.debug(any(), any()) }
+        assertCalledNever { mockLogger.info(any(), any()) }
+    }
+
+    @Test
+    fun givenHistoryLevelInfo_shouldNotBuildDebugMessages() {
+        logger.logLevel = CioLogLevel.ERROR
+        logger.configureSink(LogSinkConfig(historySize = 10, historyLogLevel = CioLogLevel.INFO))
+
+        logger.debug { throw IllegalStateException("Message should not be built") }
+        logger.info { "Info message" }
+
+        logger.getRecentLogs().map { it.message } shouldBeEqualTo listOf("Info message")
+    }
+
+    @Test
+    fun givenHistoryDisabled_shouldReturnNoRecentLogs() {
+        logger.logLevel = CioLogLevel.DEBUG
+
+        logger.debug("Debug message")
+
+        logger.getRecentLogs().shouldBeEmpty()
+    }
 }
@@ -0,0 +1,103 @@
+package io.customer.sdk.core.util
+
+import io.customer.commontest.core.JUnit5Test
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicInteger
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldStartWith
+import org.junit.jupiter.api.Test
+
+class ScopeProviderTest : JUnit5Test() {
+
+    private val sdkDispatcher = SdkCoroutineDispatcher(parallelism = 2)
+    private val dispatchersProvider = object : DispatchersProvider {
+        override val background: CoroutineDispatcher = Dispatchers.IO
+        override val main: CoroutineDispatcher = Dispatchers.Unconfined
+        override val default: CoroutineDispatcher = Dispatchers.Default
+        override val sdk: CoroutineDispatcher = sdkDispatcher
+    }
+
+    @Test
+    fun scopes_givenAccessedMultipleTimes_expectSameLongLivedScope() {
+        val scopeProvider = SdkScopeProvider(dispatchersProvider)
+
+        scopeProvider.eventBusScope shouldBe scopeProvider.eventBusScope
+        scopeProvider.lifecycleListenerScope shouldBe scopeProvider.lifecycleListenerScope
+        scopeProvider.inAppLifecycleScope shouldBe scopeProvider.inAppLifecycleScope
+        scopeProvider.locationScope shouldBe scopeProvider.locationScope
+        scopeProvider.networkScope shouldBe scopeProvider.networkScope
+        scopeProvider.metricsScope shouldBe scopeProvider.metricsScope
+        scopeProvider.moduleInitScope shouldBe scopeProvider.moduleInitScope
+    }
+
+    @Test
+    fun activeCoroutineCounts_givenRunningCoroutines_expectCountForEachScope() = runBlocking {
+        val scopeProvider = SdkScopeProvider(dispatchersProvider)
+        val gate = CompletableDeferred<Unit>()
+
+        val jobs = List(3) { scopeProvider.eventBusScope.launch { gate.await() } } +
+            scopeProvider.locationScope.launch { gate.await() }
+
+        scopeProvider.activeCoroutineCounts() shouldBeEqualTo mapOf(
+            "eventBus" to 3,
+            "lifecycleListener" to 0,
+            "inAppLifecycle" to 0,
+            "location" to 1,
+            "network" to 0,
+            "metrics" to 0,
+            "moduleInit" to 0
+        )
+
+        gate.complete(Unit)
+        jobs.joinAll()
+
+        scopeProvider.activeCoroutineCounts().values.sum() shouldBeEqualTo 0
+    }
+
+    @Test
+    fun cancelAll_givenMultipleScopes_expectAllScopesCancelled() {
+        val scopeProvider = SdkScopeProvider(dispatchersProvider)
+
+        scopeProvider.cancelAll()
+
+        scopeProvider.eventBusScope.isActive shouldBe false
+        scopeProvider.lifecycleListenerScope.isActive shouldBe false
+        scopeProvider.inAppLifecycleScope.isActive shouldBe false
+        scopeProvider.locationScope.isActive shouldBe false
+        scopeProvider.networkScope.isActive shouldBe false
+        scopeProvider.metricsScope.isActive shouldBe false
+        scopeProvider.moduleInitScope.isActive shouldBe false
+    }
+
+    @Test
+    fun dispatch_givenDefaultExecutor_expectWorkRunsOnNamedSdkThread() = runBlocking {
+        val threadName = withContext(sdkDispatcher) { Thread.currentThread().name }
+
+        threadName shouldStartWith "cio-sdk-"
+    }
+
+    @Test
+    fun dispatch_givenCustomExecutor_expectWorkRunsOnProvidedExecutor() = runBlocking {
+        val executedTasks = AtomicInteger()
+        val givenExecutor = Executor { runnable ->
+            executedTasks.incrementAndGet()
+            Thread(runnable, "host-app-thread").start()
+        }
+        sdkDispatcher.setExecutor(givenExecutor)
+
+        val threadName = withContext(sdkDispatcher) { Thread.currentThread().name }
+
+        threadName shouldBeEqualTo "host-app-thread"
+        (executedTasks.get() > 0) shouldBe true
+        sdkDispatcher.executor shouldBe givenExecutor
+    }
+}
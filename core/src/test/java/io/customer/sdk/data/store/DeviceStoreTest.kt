@@ -0,0 +1,112 @@
+package io.customer.sdk.data.store
+
+import io.customer.commontest.core.JUnit5Test
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeEqualTo
+import org.junit.jupiter.api.Test
+
+class DeviceStoreTest : JUnit5Test() {
+    private var locale = "en-US"
+    private var pushEnabled = true
+    private var buildStoreReads = 0
+
+    private val buildStore = object : BuildStore {
+        override val deviceBrand: String = "Google"
+        override val deviceModel: String
+            get() = "Pixel 6".also { buildStoreReads++ }
+        override val deviceManufacturer: String = "Google"
+        override val deviceOSVersion: Int = 30
+        override val deviceLocale: String
+            get() = locale
+    }
+
+    private val applicationStore = object : ApplicationStore {
+        override val customerAppName: String = "User App"
+        override val customerAppVersion: String = "1.0"
+        override val customerPackageName: String = "io.customer.sdk"
+        override val isPushEnabled: Boolean
+            get() = pushEnabled
+    }
+
+    private val deviceStore = DeviceStoreImpl(
+        buildStore = buildStore,
+        applicationStore = applicationStore,
+        client = Client(source = "Android", sdkVersion = "1.0.0"),
+        version = "1.0.0"
+    )
+
+    @Test
+    fun buildUserAgent_givenRepeatedCalls_expectSnapshotReused() {
+        val first = deviceStore.buildUserAgent()
+        val second = deviceStore.buildUserAgent()
+
+        first shouldBeEqualTo "Customer.io Android Client/1.0.0 (Google Pixel 6; 30) io.customer.sdk/1.0"
+        second shouldBe first
+        buildStoreReads shouldBeEqualTo 1
+        deviceStore.snapshotMissCount shouldBeEqualTo 1L
+        deviceStore.snapshotHitCount shouldBeEqualTo 1L
+    }
+
+    @Test
+    fun buildDeviceAttributes_givenRepeatedCalls_expectSameMapReused() {
+        val first = deviceStore.buildDeviceAttributes()
+        val second = deviceStore.buildDeviceAttributes()
+
+        second shouldBe first
+        first shouldBeEqualTo mapOf(
+            "device_os" to 30,
+            "device_model" to "Pixel 6",
+            "device_manufacturer" to "Google",
+            "app_version" to "1.0",
+            "cio_sdk_version" to "1.0.0",
+            "device_locale" to "en-US",
+            "push_enabled" to true
+        )
+    }
+
+    @Test
+    fun invalidateSnapshot_givenLocaleChanged_expectNewLocaleReported() {
+        deviceStore.buildDeviceAttributes()
+        locale = "fr-FR"
+
+        deviceStore.buildDeviceAttributes()["device_locale"] shouldBeEqualTo "en-US"
+        deviceStore.invalidateSnapshot()
+        deviceStore.buildDeviceAttributes()["device_locale"] shouldBeEqualTo "fr-FR"
+        deviceStore.snapshotMissCount shouldBeEqualTo 2L
+    }
+
+    @Test
+    fun invalidateSnapshotIfPushPermissionChanged_givenSamePermission_expectSnapshotKept() {
+        deviceStore.buildDeviceAttributes()
+
+        deviceStore.invalidateSnapshotIfPushPermissionChanged()
+        deviceStore.buildDeviceAttributes()
+
+        deviceStore.snapshotMissCount shouldBeEqualTo 1L
+        deviceStore.snapshotHitCount shouldBeEqualTo 1L
+    }
+
+    @Test
+    fun invalidateSnapshotIfPushPermissionChanged_givenPermissionRevoked_expectSnapshotRebuilt() {
+        deviceStore.buildDeviceAttributes()
+        pushEnabled = false
+
+        deviceStore.invalidateSnapshotIfPushPermissionChanged()
+
+        deviceStore.buildDeviceAttributes()["push_enabled"] shouldBeEqualTo false
+        deviceStore.snapshotMissCount shouldBeEqualTo 2L
+    }
+
+    @Test
+    fun buildDeviceAttributes_givenPermissionGrantedWithoutLeavingApp_expectPushEnabledReported() {
+        pushEnabled = false
+        deviceStore.buildDeviceAttributes()["push_enabled"] shouldBeEqualTo false
+
+        // Runtime permission dialog only pauses the activity, nothing invalidates snapshot explicitly
+        pushEnabled = true
+
+        deviceStore.buildDeviceAttributes()["push_enabled"] shouldBeEqualTo true
+        deviceStore.buildUserAgent()
+        deviceStore.snapshotMissCount shouldBeEqualTo 2L
+    }
+}
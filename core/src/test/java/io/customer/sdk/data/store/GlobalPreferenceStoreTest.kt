@@ -0,0 +1,92 @@
+package io.customer.sdk.data.store
+
+import io.customer.commontest.core.RobolectricTest
+import io.customer.sdk.data.model.Settings
+import org.amshove.kluent.shouldBe
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeNull
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class GlobalPreferenceStoreTest : RobolectricTest() {
+
+    private val givenSettings = Settings(writeKey = "write-key", apiHost = "cdp.customer.io/v1")
+
+    private fun newStore() = GlobalPreferenceStoreImpl(contextMock)
+
+    override fun teardown() {
+        newStore().clearAll()
+
+        super.teardown()
+    }
+
+    @Test
+    fun saveSettings_givenValue_expectSameInstanceReturnedFromSnapshot() {
+        val store = newStore()
+
+        store.saveSettings(givenSettings)
+
+        store.getSettings() shouldBe givenSettings
+    }
+
+    @Test
+    fun saveSettings_givenValue_expectPersistedForNewStoreInstance() {
+        newStore().saveSettings(givenSettings)
+        newStore().saveDeviceToken("token")
+
+        val store = newStore()
+        store.getSettings() shouldBeEqualTo givenSettings
+        store.getDeviceToken() shouldBeEqualTo "token"
+    }
+
+    @Test
+    fun getDeviceToken_givenNothingSaved_expectNullUntilSaved() {
+        val store = newStore()
+
+        store.getDeviceToken().shouldBeNull()
+
+        store.saveDeviceToken("token")
+        store.getDeviceToken() shouldBeEqualTo "token"
+    }
+
+    @Test
+    fun removeDeviceToken_expectClearedFromSnapshotAndPreferences() {
+        val store = newStore()
+        store.saveDeviceToken("token")
+
+        store.removeDeviceToken()
+
+        store.getDeviceToken().shouldBeNull()
+        newStore().getDeviceToken().shouldBeNull()
+    }
+
+    @Test
+    fun clearAll_expectAllValuesCleared() {
+        val store = newStore()
+        store.saveDeviceToken("token")
+        store.saveSettings(givenSettings)
+
+        store.clearAll()
+
+        store.getDeviceToken().shouldBeNull()
+        store.getSettings().shouldBeNull()
+    }
+
+    @Test
+    fun changeListener_givenWritesAndClears_expectNotifiedWithChangedKeys() {
+        val store = newStore()
+        val changedKeys = mutableListOf<String?>()
+        val listener = PreferenceStore.ChangeListener { changedKeys += it }
+        store.addChangeListener(listener)
+
+        store.saveDeviceToken("token")
+        store.removeDeviceToken()
+        store.clearAll()
+        store.removeChangeListener(listener)
+        store.saveDeviceToken("ignored")
+
+        changedKeys shouldBeEqualTo listOf("device_token", "device_token", null)
+    }
+}
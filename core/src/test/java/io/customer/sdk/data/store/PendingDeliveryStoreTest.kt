@@ -32,7 +32,10 @@ class PendingDeliveryStoreTest : RobolectricTest() {
     private fun entry(id: String, payload: String = "p-$id"): TestEntry =
         TestEntry(id = id, payload = payload)
 
-    private fun newStore(maxEntries: Int = PendingDeliveryStore.DEFAULT_MAX_ENTRIES) =
+    private fun newStore(
+        maxEntries: Int = PendingDeliveryStore.DEFAULT_MAX_ENTRIES,
+        fileName: String = this.fileName
+    ) =
         PendingDeliveryStore(
             context = contextMock,
             fileName = fileName,
@@ -43,6 +46,18 @@ class PendingDeliveryStoreTest : RobolectricTest() {
 
     private fun storeFile(): File = File(contextMock.applicationContext.filesDir, fileName)
 
+    private fun newLogStore(maxEntries: Int = PendingDeliveryStore.DEFAULT_MAX_ENTRIES) =
+        PendingDeliveryStore(
+            context = contextMock,
+            fileName = fileName,
+            elementSerializer = TestEntry.serializer(),
+            logger = mockLogger,
+            maxEntries = maxEntries,
+            storageMode = PendingDeliveryStore.StorageMode.APPEND_LOG
+        )
+
+    private fun logFile(): File = File(contextMock.applicationContext.filesDir, "$fileName.log")
+
     @Test
     fun append_givenSingleEntry_expectLoadAllReturnsIt() {
         val store = newStore()
@@ -287,4 +302,177 @@ class PendingDeliveryStoreTest : RobolectricTest() {
         raw shouldContain "\"id\":\"serial\""
         raw shouldContain "\"payload\":\"the-payload\""
     }
+
+    @Test
+    fun appendLog_givenAppendsAndClaims_expectStateRestoredByNewInstance() {
+        val store = newLogStore().also { it.removeAll() }
+        listOf("a", "b", "c").forEach { store.append(entry(it)) }
+
+        store.claim("b") shouldBeEqualTo true
+        store.claim("b") shouldBeEqualTo false
+        store.remove("c")
+
+        store.loadAll().map { it.id } shouldBeEqualTo listOf("a")
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo listOf("a")
+    }
+
+    @Test
+    fun appendLog_givenSameOperationsAsSnapshot_expectSameEntries() {
+        // Separate file so log store does not migrate entries written by snapshot store
+        val snapshotStore = newStore(fileName = "cio_test_pending_delivery_snapshot.json")
+        val logStore = newLogStore().also { it.removeAll() }
+        listOf(snapshotStore, logStore).forEach { store ->
+            repeat(10) { store.append(entry("queued-$it")) }
+            // Mirrors a push being received and its metric delivered while older entries wait
+            repeat(20) { index ->
+                store.append(entry("delivered-$index"))
+                store.claim("delivered-$index")
+            }
+        }
+
+        logStore.loadAll() shouldBeEqualTo snapshotStore.loadAll()
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo List(10) { "queued-$it" }
+    }
+
+    @Test
+    fun appendLog_givenMutations_expectOnlyChangedRecordsAppended() {
+        val store = newLogStore().also { it.removeAll() }
+        store.append(entry("a"))
+        store.append(entry("b"))
+        store.claim("a")
+
+        logFile().readLines() shouldBeEqualTo listOf(
+            "+" + """{"id":"a","payload":"p-a"}""",
+            "+" + """{"id":"b","payload":"p-b"}""",
+            "-" + "\"a\""
+        )
+    }
+
+    @Test
+    fun appendLog_givenOverCapacity_expectHeadDroppedAndPersisted() {
+        val store = newLogStore(maxEntries = 2).also { it.removeAll() }
+        listOf("a", "b", "c").forEach { store.append(entry(it)) }
+
+        store.loadAll().map { it.id } shouldBeEqualTo listOf("b", "c")
+        newLogStore(maxEntries = 2).loadAll().map { it.id } shouldBeEqualTo listOf("b", "c")
+    }
+
+    @Test
+    fun appendLog_givenManyDeadRecords_expectLogCompactedToLiveEntries() {
+        val store = newLogStore().also { it.removeAll() }
+        repeat(100) { index ->
+            store.append(entry("e-$index"))
+            store.claim("e-$index")
+        }
+        store.append(entry("live"))
+
+        // Without compaction the log would hold 201 records
+        (logFile().readLines().size < 64).shouldBeTrue()
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo listOf("live")
+        File(logFile().parentFile, "${logFile().name}.tmp").exists() shouldBeEqualTo false
+    }
+
+    @Test
+    fun appendLog_givenTornRecordAtTail_expectCommittedEntriesLoaded() {
+        val store = newLogStore().also { it.removeAll() }
+        store.append(entry("a"))
+        store.append(entry("b"))
+        logFile().appendText("+{\"id\":\"c\",\"pay")
+
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo listOf("a", "b")
+    }
+
+    @Test
+    fun appendLog_givenTornRecordAtTail_expectRecordAppendedAfterReloadSurvives() {
+        val store = newLogStore().also { it.removeAll() }
+        store.append(entry("a"))
+        logFile().appendText("+{\"id\":\"b\",\"pay")
+
+        newLogStore().append(entry("c"))
+
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo listOf("a", "c")
+        logFile().readText().endsWith("\n").shouldBeTrue()
+    }
+
+    @Test
+    fun appendLog_givenCompleteRecordMissingNewlineAtTail_expectRecordAppendedAfterReloadSurvives() {
+        val store = newLogStore().also { it.removeAll() }
+        store.append(entry("a"))
+        logFile().appendText("+{\"id\":\"b\",\"payload\":\"p-b\"}")
+
+        newLogStore().append(entry("c"))
+
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo listOf("a", "b", "c")
+    }
+
+    @Test
+    fun appendLog_givenExistingSnapshotFile_expectEntriesMigrated() {
+        newStore().apply {
+            append(entry("a"))
+            append(entry("b"))
+        }
+        logFile().delete()
+
+        val store = newLogStore()
+        store.append(entry("c"))
+
+        store.loadAll().map { it.id } shouldBeEqualTo listOf("a", "b", "c")
+        storeFile().exists() shouldBeEqualTo false
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo listOf("a", "b", "c")
+    }
+
+    @Test
+    fun appendLog_givenMigrationRewriteFails_expectSnapshotFileKept() {
+        newStore().apply {
+            append(entry("a"))
+            append(entry("b"))
+        }
+        logFile().delete()
+        // Non-empty directory in place of temp file makes rewriting the log fail
+        val tempFile = File(logFile().parentFile, "${logFile().name}.tmp")
+        File(tempFile, "blocker").apply { parentFile?.mkdirs() }.writeText("")
+
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo listOf("a", "b")
+        storeFile().exists() shouldBeEqualTo true
+
+        tempFile.deleteRecursively()
+        newLogStore().loadAll().map { it.id } shouldBeEqualTo listOf("a", "b")
+        storeFile().exists() shouldBeEqualTo false
+    }
+
+    @Test
+    fun claimAll_givenMixOfPresentAndAbsentKeys_expectOnlyPresentEntriesReturnedAndRemoved() {
+        listOf(newStore(), newLogStore().also { it.removeAll() }).forEach { store ->
+            listOf("a", "b", "c").forEach { store.append(entry(it)) }
+
+            val claimed = store.claimAll(listOf("c", "a", "missing"))
+
+            claimed.map { it.id } shouldBeEqualTo listOf("a", "c")
+            store.loadAll().map { it.id } shouldBeEqualTo listOf("b")
+            store.claimAll(listOf("a", "c")).isEmpty().shouldBeTrue()
+        }
+    }
+
+    @Test
+    fun drain_givenLimit_expectOldestEntriesReturnedAndRemoved() {
+        listOf(newStore(), newLogStore().also { it.removeAll() }).forEach { store ->
+            listOf("a", "b", "c").forEach { store.append(entry(it)) }
+
+            store.drain(limit = 2).map { it.id } shouldBeEqualTo listOf("a", "b")
+            store.append(entry("d"))
+            store.drain().map { it.id } shouldBeEqualTo listOf("c", "d")
+            store.drain().isEmpty().shouldBeTrue()
+        }
+    }
+
+    @Test
+    fun drain_givenCorruptedFile_expectStoreFilePreserved() {
+        val store = newStore()
+        val corrupted = "{not-valid-json"
+        storeFile().writeText(corrupted)
+
+        store.drain().isEmpty().shouldBeTrue()
+
+        storeFile().readText() shouldBeEqualTo corrupted
+    }
 }
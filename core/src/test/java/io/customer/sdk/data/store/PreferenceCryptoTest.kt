@@ -0,0 +1,103 @@
+package io.customer.sdk.data.store
+
+import io.customer.commontest.core.RobolectricTest
+import io.customer.sdk.core.util.Logger
+import io.mockk.mockk
+import javax.crypto.KeyGenerator
+import javax.crypto.SecretKey
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldNotBeEqualTo
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class PreferenceCryptoTest : RobolectricTest() {
+
+    private val mockLogger: Logger = mockk(relaxed = true)
+
+    /**
+     * In-memory [PreferenceCrypto.KeyProvider] as Android Keystore is not
+     * available in unit tests.
+     */
+    internal class InMemoryKeyProvider : PreferenceCrypto.KeyProvider {
+        private val keys = mutableMapOf<String, SecretKey>()
+        var loadCount = 0
+            private set
+
+        override fun getOrCreateKey(keyAlias: String): SecretKey {
+            loadCount++
+            return keys.getOrPut(keyAlias) {
+                KeyGenerator.getInstance("AES").apply { init(256) }.generateKey()
+            }
+        }
+    }
+
+    private val keyProvider = InMemoryKeyProvider()
+
+    private fun newCrypto(maxCachedValues: Int = PreferenceCrypto.DEFAULT_MAX_CACHED_VALUES) = PreferenceCrypto(
+        keyAlias = "cio_test_key",
+        logger = mockLogger,
+        keyProvider = keyProvider,
+        maxCachedValues = maxCachedValues
+    )
+
+    @Test
+    fun encrypt_givenPlaintext_expectDecryptsBack() {
+        val crypto = newCrypto()
+
+        val encrypted = crypto.encrypt("37.7749")
+
+        encrypted shouldNotBeEqualTo "37.7749"
+        crypto.decrypt(encrypted) shouldBeEqualTo "37.7749"
+    }
+
+    @Test
+    fun decrypt_givenValueEncryptedByAnotherInstance_expectDecryptsWithoutCache() {
+        val encrypted = newCrypto().encrypt("-122.4194")
+
+        newCrypto(maxCachedValues = 0).decrypt(encrypted) shouldBeEqualTo "-122.4194"
+        newCrypto().decrypt(encrypted) shouldBeEqualTo "-122.4194"
+    }
+
+    @Test
+    fun encrypt_givenSameValueTwice_expectFreshIvForEachCall() {
+        val crypto = newCrypto()
+
+        val first = crypto.encrypt("value")
+        val second = crypto.encrypt("value")
+
+        first shouldNotBeEqualTo second
+        crypto.decrypt(first) shouldBeEqualTo "value"
+        crypto.decrypt(second) shouldBeEqualTo "value"
+    }
+
+    @Test
+    fun decrypt_givenPlaintextValue_expectReturnedAsIs() {
+        val crypto = newCrypto()
+
+        crypto.decrypt("37.7749") shouldBeEqualTo "37.7749"
+    }
+
+    @Test
+    fun clearCache_givenCachedValue_expectValueDecryptedAgainWithSameKey() {
+        val crypto = newCrypto()
+        val encrypted = crypto.encrypt("secret")
+        crypto.decrypt(encrypted) shouldBeEqualTo "secret"
+
+        crypto.clearCache()
+
+        crypto.decrypt(encrypted) shouldBeEqualTo "secret"
+        keyProvider.loadCount shouldBeEqualTo 1
+    }
+
+    @Test
+    fun prewarm_expectKeyLoadedOnceAndReusedByLaterCalls() {
+        val crypto = newCrypto()
+
+        crypto.prewarm()
+        crypto.decrypt(crypto.encrypt("value")) shouldBeEqualTo "value"
+
+        keyProvider.loadCount shouldBeEqualTo 1
+    }
+}
@@ -0,0 +1,128 @@
+package io.customer.sdk.lifecycle
+
+import android.app.Activity
+import androidx.lifecycle.Lifecycle
+import io.customer.commontest.config.TestConfig
+import io.customer.commontest.config.testConfigurationDefault
+import io.customer.commontest.core.JUnit5Test
+import io.customer.commontest.util.ScopeProviderStub
+import io.customer.sdk.core.util.ScopeProvider
+import io.mockk.mockk
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeFalse
+import org.amshove.kluent.shouldBeTrue
+import org.junit.jupiter.api.Test
+
+class CustomerIOActivityLifecycleCallbacksTest : JUnit5Test() {
+    private val testScopeProvider = ScopeProviderStub.Standard()
+    private val activity: Activity = mockk(relaxed = true)
+
+    override fun setup(testConfig: TestConfig) {
+        super.setup(
+            testConfigurationDefault {
+                diGraph {
+                    sdk { overrideDependency<ScopeProvider>(testScopeProvider) }
+                }
+            }
+        )
+    }
+
+    private fun dispatchPendingEvents() = testScopeProvider.lifecycleListenerScope.testScheduler.advanceUntilIdle()
+
+    private fun CustomerIOActivityLifecycleCallbacks.launchActivity() {
+        onActivityCreated(activity, null)
+        onActivityStarted(activity)
+        onActivityResumed(activity)
+    }
+
+    @Test
+    fun subscribe_givenBurstOfEvents_expectAllDeliveredInOrder() {
+        val callbacks = CustomerIOActivityLifecycleCallbacks()
+        val received = mutableListOf<Lifecycle.Event>()
+        callbacks.subscribe(events = Lifecycle.Event.values().toSet()) { received.add(it.event) }
+
+        callbacks.launchActivity()
+        callbacks.onActivityPaused(activity)
+        callbacks.onActivityStopped(activity)
+        dispatchPendingEvents()
+
+        received shouldBeEqualTo listOf(
+            Lifecycle.Event.ON_CREATE,
+            Lifecycle.Event.ON_START,
+            Lifecycle.Event.ON_RESUME,
+            Lifecycle.Event.ON_PAUSE,
+            Lifecycle.Event.ON_STOP
+        )
+        callbacks.droppedEventCount shouldBeEqualTo 0L
+    }
+
+    @Test
+    fun subscribe_givenEventFilter_expectOnlyMatchingEventsDelivered() {
+        val callbacks = CustomerIOActivityLifecycleCallbacks()
+        val created = mutableListOf<Lifecycle.Event>()
+        val started = mutableListOf<Lifecycle.Event>()
+        callbacks.subscribe(events = setOf(Lifecycle.Event.ON_CREATE)) { created.add(it.event) }
+        callbacks.subscribe(events = setOf(Lifecycle.Event.ON_START)) { started.add(it.event) }
+
+        callbacks.launchActivity()
+        dispatchPendingEvents()
+
+        created shouldBeEqualTo listOf(Lifecycle.Event.ON_CREATE)
+        started shouldBeEqualTo listOf(Lifecycle.Event.ON_START)
+    }
+
+    @Test
+    fun subscribe_givenLateListener_expectLastMatchingEventReplayed() {
+        val callbacks = CustomerIOActivityLifecycleCallbacks()
+        callbacks.onActivityCreated(activity, null)
+        dispatchPendingEvents()
+
+        val created = mutableListOf<Lifecycle.Event>()
+        val started = mutableListOf<Lifecycle.Event>()
+        callbacks.subscribe(events = setOf(Lifecycle.Event.ON_CREATE)) { created.add(it.event) }
+        callbacks.subscribe(events = setOf(Lifecycle.Event.ON_START)) { started.add(it.event) }
+
+        created shouldBeEqualTo listOf(Lifecycle.Event.ON_CREATE)
+        started shouldBeEqualTo emptyList()
+    }
+
+    @Test
+    fun sendEvent_givenBufferFull_expectNewestDroppedAndCounted() {
+        val callbacks = CustomerIOActivityLifecycleCallbacks(bufferCapacity = 2)
+        val received = mutableListOf<Lifecycle.Event>()
+        callbacks.subscribe(events = Lifecycle.Event.values().toSet()) { received.add(it.event) }
+
+        callbacks.launchActivity()
+        dispatchPendingEvents()
+
+        received shouldBeEqualTo listOf(Lifecycle.Event.ON_CREATE, Lifecycle.Event.ON_START)
+        callbacks.droppedEventCount shouldBeEqualTo 1L
+    }
+
+    @Test
+    fun subscribe_givenFailingListener_expectOtherListenersStillNotified() {
+        val callbacks = CustomerIOActivityLifecycleCallbacks()
+        var delivered = false
+        callbacks.subscribe(events = setOf(Lifecycle.Event.ON_CREATE)) { throw IllegalStateException("failed") }
+        callbacks.subscribe(events = setOf(Lifecycle.Event.ON_CREATE)) { delivered = true }
+
+        callbacks.onActivityCreated(activity, null)
+        dispatchPendingEvents()
+
+        delivered.shouldBeTrue()
+    }
+
+    @Test
+    fun unsubscribe_givenListenerRemoved_expectNoFurtherEvents() {
+        val callbacks = CustomerIOActivityLifecycleCallbacks()
+        var delivered = false
+        val listener = LifecycleEventListener { delivered = true }
+        callbacks.subscribe(events = setOf(Lifecycle.Event.ON_CREATE), listener = listener)
+
+        callbacks.unsubscribe(listener)
+        callbacks.onActivityCreated(activity, null)
+        dispatchPendingEvents()
+
+        delivered.shouldBeFalse()
+    }
+}
@@ -29,7 +29,13 @@ class DataPipelinesModuleConfig(
     // Configuration options required for migration from earlier versions
     val migrationSiteId: String? = null,
     // Determines how SDK should handle screen view events
-    val screenViewUse: ScreenView
+    val screenViewUse: ScreenView,
+    // Rate limiting of events with the same name, disabled when null
+    val rateLimitConfig: RateLimitConfig? = null,
+    // Rules for collapsing high-frequency events into summaries, disabled when empty
+    val aggregationRules: List<EventAggregationRule> = emptyList(),
+    // Suppression of duplicate events, disabled when null
+    val deduplicationConfig: DeduplicationConfig? = null
 ) : CustomerIOModuleConfig {
     val apiHost: String = apiHostOverride ?: region.apiHost()
     val cdnHost: String = cdnHostOverride ?: region.cdnHost()
@@ -0,0 +1,23 @@
+package io.customer.datapipelines.config
+
+/**
+ * Configures suppression of duplicate track events, such as the same event
+ * tracked again by a retry in app code or a lifecycle callback firing twice.
+ * Events are duplicates when they have the same name, properties and user,
+ * regardless of order of properties.
+ *
+ * @property windowMillis time in milliseconds after an event during which
+ * identical events are dropped. Window is not extended by duplicates, so an
+ * event repeated continuously is still sent once per window.
+ * @property maxTrackedEvents number of recent distinct events remembered,
+ * least recently seen events are forgotten first once limit is reached.
+ */
+data class DeduplicationConfig @JvmOverloads constructor(
+    val windowMillis: Long = 1_000,
+    val maxTrackedEvents: Int = 500
+) {
+    init {
+        require(windowMillis > 0) { "windowMillis must be positive" }
+        require(maxTrackedEvents > 0) { "maxTrackedEvents must be positive" }
+    }
+}
@@ -0,0 +1,29 @@
+package io.customer.datapipelines.config
+
+/**
+ * Rule for collapsing high-frequency track events, such as impressions or
+ * scroll depth, into a single summary event per time window. Window starts
+ * with the first matching event and the summary is sent once it ends, or
+ * earlier when app enters background or events are flushed.
+ *
+ * Summary event keeps the event name and properties of the last event in the
+ * window, and adds an `aggregation` property containing number of events
+ * collapsed, timestamps of first and last event, and minimum and maximum of
+ * each numeric top-level property.
+ *
+ * @property eventName name of track events to aggregate.
+ * @property windowSeconds length of aggregation window in seconds.
+ * @property groupByProperties properties whose values must match for events
+ * to be aggregated together, e.g. `item_id` to summarize impressions per item.
+ * Events are always aggregated separately per user.
+ */
+data class EventAggregationRule @JvmOverloads constructor(
+    val eventName: String,
+    val windowSeconds: Int,
+    val groupByProperties: List<String> = emptyList()
+) {
+    init {
+        require(eventName.isNotBlank()) { "eventName must not be blank" }
+        require(windowSeconds > 0) { "windowSeconds must be positive" }
+    }
+}
@@ -0,0 +1,45 @@
+package io.customer.datapipelines.config
+
+/**
+ * Token bucket limit for events sharing the same name. Up to [burstSize]
+ * events can be sent at once, after which events are allowed at
+ * [eventsPerSecond] as the bucket refills.
+ *
+ * @property burstSize maximum number of events allowed at once.
+ * @property eventsPerSecond rate at which bucket refills once burst is used.
+ * @property sampleRate when greater than `0`, one of every [sampleRate] events
+ * over the limit is still sent instead of being dropped, so event remains
+ * visible at a reduced rate. `0` drops all events over the limit.
+ */
+data class EventRateLimit @JvmOverloads constructor(
+    val burstSize: Int,
+    val eventsPerSecond: Double,
+    val sampleRate: Int = 0
+) {
+    init {
+        require(burstSize > 0) { "burstSize must be positive" }
+        require(eventsPerSecond > 0) { "eventsPerSecond must be positive" }
+        require(sampleRate >= 0) { "sampleRate must not be negative" }
+    }
+}
+
+/**
+ * Configures rate limiting of events before they are stored and uploaded,
+ * protecting against app code tracking the same event in a tight loop.
+ * Every event name has its own bucket, so a noisy event never limits others.
+ * Identify, group and alias events are never limited, neither are events
+ * SDK sends for device updates and delivery metrics.
+ *
+ * @property defaultLimit limit applied to each track event name not listed
+ * in [eventLimits].
+ * @property eventLimits limits for specific track event names, overriding
+ * [defaultLimit].
+ * @property screenLimit limit applied to each screen name, screen events are
+ * not limited when `null`. Screen and track events with the same name are
+ * limited separately.
+ */
+data class RateLimitConfig @JvmOverloads constructor(
+    val defaultLimit: EventRateLimit,
+    val eventLimits: Map<String, EventRateLimit> = emptyMap(),
+    val screenLimit: EventRateLimit? = null
+)
@@ -5,6 +5,7 @@ import com.segment.analytics.kotlin.core.ErrorHandler
 import com.segment.analytics.kotlin.core.Settings
 import com.segment.analytics.kotlin.core.emptyJsonObject
 import io.customer.datapipelines.config.DataPipelinesModuleConfig
+import io.customer.datapipelines.network.CompressingRequestFactory
 import io.customer.datapipelines.plugins.CUSTOMER_IO_DATA_PIPELINES
 import kotlinx.serialization.json.buildJsonObject
 
@@ -34,4 +35,6 @@ internal fun updateAnalyticsConfig(
     this.apiHost = moduleConfig.apiHost
     this.cdnHost = moduleConfig.cdnHost
     this.errorHandler = errorHandler
+    // Compresses batch uploads when request compression is enabled
+    this.requestFactory = CompressingRequestFactory()
 }
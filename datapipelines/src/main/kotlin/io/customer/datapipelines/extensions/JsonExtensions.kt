@@ -1,12 +1,15 @@
 package io.customer.datapipelines.extensions
 
 import com.segment.analytics.kotlin.core.utilities.toJsonElement
+import io.customer.datapipelines.util.SegmentInstantFormatter
 import io.customer.sdk.core.di.SDKComponent
 import io.customer.sdk.core.util.Logger
+import java.util.Date
 import kotlinx.serialization.json.JsonArray
 import kotlinx.serialization.json.JsonElement
 import kotlinx.serialization.json.JsonNull
 import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
 import kotlinx.serialization.json.buildJsonArray
 import kotlinx.serialization.json.buildJsonObject
 import org.json.JSONArray
@@ -47,51 +50,60 @@ private fun Any?.toSerializableJson(): JsonElement {
 }
 
 /**
- * Recursively sanitizes data for JSON serialization by:
- * 1. Replacing all `null` values in nested structure with [JsonNull]
- * 2. Removing entries with NaN or infinity values from maps
- * This ensures the data can be safely converted to JSON.
+ * Converts map to [JsonObject] in a single pass, sanitizing values while
+ * building the tree so the data can be safely serialized:
+ * 1. `null` values are kept as [JsonNull]
+ * 2. NaN or infinity values are removed from maps, lists, sets and arrays
+ * 3. [Date] values are formatted as ISO-8601 strings, same as event timestamps
+ *
+ * Values of any other type are converted using [toJsonElement].
  *
  * @param logger Logger to log when invalid numeric values are removed
  */
-internal fun Map<String, Any?>.sanitizeForJson(logger: Logger = SDKComponent.logger): Map<String, Any?> {
-    val resultMap = mutableMapOf<String, Any>()
-
-    for (entry in this.entries) {
-        val sanitizedValue = entry.value.sanitizeValue(logger)
-        if (sanitizedValue != null) {
-            resultMap[entry.key] = sanitizedValue
+internal fun Map<*, *>.toSanitizedJsonObject(logger: Logger = SDKComponent.logger): JsonObject {
+    val content = LinkedHashMap<String, JsonElement>(mapCapacity(size))
+    for ((key, value) in this) {
+        val element = value.toSanitizedJsonElement(logger)
+        if (element != null) {
+            content[key.toString()] = element
         } else {
-            logger.error("Removed invalid JSON numeric value (NaN or infinity) for key: ${entry.key}")
+            logger.error("Removed invalid JSON numeric value (NaN or infinity) for key: $key")
         }
     }
-
-    return resultMap
+    return JsonObject(content)
 }
 
-@Suppress("UNCHECKED_CAST")
-private fun <T> T?.sanitizeValue(logger: Logger = SDKComponent.logger): T? = when (this) {
-    null -> JsonNull as T
-    is Double, is Float -> if (isInvalidJsonNumber(this)) null else this
-    is Map<*, *> -> (this as? Map<String, Any?>)?.sanitizeForJson(logger) as T
-    is List<*> -> sanitizeList(logger) as T
-    else -> this
+/**
+ * Returns [JsonElement] for the value or null if the value is NaN or infinity
+ * and should be removed by the caller.
+ */
+private fun Any?.toSanitizedJsonElement(logger: Logger): JsonElement? = when (this) {
+    null -> JsonNull
+    is String -> JsonPrimitive(this)
+    is Boolean -> JsonPrimitive(this)
+    is Double -> if (isNaN() || isInfinite()) null else JsonPrimitive(this)
+    is Float -> if (isNaN() || isInfinite()) null else JsonPrimitive(this)
+    is Number -> JsonPrimitive(this)
+    is JsonElement -> this
+    is Map<*, *> -> toSanitizedJsonObject(logger)
+    is Collection<*> -> toSanitizedJsonArray(logger)
+    is Array<*> -> asList().toSanitizedJsonArray(logger)
+    is Date -> SegmentInstantFormatter.from(this)?.let(::JsonPrimitive) ?: JsonNull
+    else -> toJsonElement()
 }
 
-private fun List<*>.sanitizeList(logger: Logger): List<*> {
-    return this.mapNotNull {
-        val sanitizedValue = it.sanitizeValue(logger)
-        if (sanitizedValue == null) {
+private fun Collection<*>.toSanitizedJsonArray(logger: Logger): JsonArray {
+    val content = ArrayList<JsonElement>(size)
+    for (value in this) {
+        val element = value.toSanitizedJsonElement(logger)
+        if (element != null) {
+            content.add(element)
+        } else {
             logger.error("Removed invalid JSON numeric value (NaN or infinity)")
         }
-        sanitizedValue
     }
+    return JsonArray(content)
 }
 
-private fun isInvalidJsonNumber(value: Any?): Boolean {
-    return when (value) {
-        is Float -> value.isNaN() || value.isInfinite()
-        is Double -> value.isNaN() || value.isInfinite()
-        else -> false
-    }
-}
+// Same sizing as HashMap copy constructors so building the object never rehashes
+private fun mapCapacity(expectedSize: Int): Int = if (expectedSize < 3) expectedSize + 1 else expectedSize + expectedSize / 3
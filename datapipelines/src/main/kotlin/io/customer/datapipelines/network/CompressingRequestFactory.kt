@@ -0,0 +1,136 @@
+package io.customer.datapipelines.network
+
+import com.segment.analytics.kotlin.core.RequestFactory
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.requestBodyCompressor
+import io.customer.sdk.core.network.RequestBodyCompressor
+import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+import java.net.HttpURLConnection
+
+/**
+ * [RequestFactory] that gzip compresses batch uploads made by analytics
+ * event pipeline when compression is enabled in [RequestBodyCompressor].
+ * Settings requests are not affected as they have no body.
+ */
+internal class CompressingRequestFactory(
+    private val compressorProvider: () -> RequestBodyCompressor = { SDKComponent.requestBodyCompressor }
+) : RequestFactory() {
+    override fun upload(apiHost: String): HttpURLConnection {
+        val connection = super.upload(apiHost)
+        val compressor = compressorProvider()
+        if (!compressor.isEnabled) return connection
+
+        return CompressingUploadConnection(connection, compressor)
+    }
+}
+
+/**
+ * [HttpURLConnection] wrapper for uploads that buffers the body written by
+ * event pipeline and compresses it before sending.
+ * Compression can only be decided once the whole body is known since the
+ * `Content-Encoding` header has to be sent before the body, so the body is
+ * written to [delegate] when the output stream is closed or the response is
+ * first requested, whichever comes first. Batch files are size-limited by
+ * analytics storage, so buffering them in memory is bounded.
+ */
+internal class CompressingUploadConnection(
+    private val delegate: HttpURLConnection,
+    private val compressor: RequestBodyCompressor
+) : HttpURLConnection(delegate.url) {
+    private val bodyBuffer = ByteArrayOutputStream()
+    private var isBodySent = false
+
+    private val bufferingOutputStream = object : OutputStream() {
+        override fun write(b: Int) = bodyBuffer.write(b)
+
+        override fun write(b: ByteArray, off: Int, len: Int) = bodyBuffer.write(b, off, len)
+
+        override fun close() = sendBody()
+    }
+
+    @Synchronized
+    private fun sendBody() {
+        if (isBodySent) return
+        isBodySent = true
+
+        val rawBody = bodyBuffer.toByteArray()
+        val compressedBody = compressor.compress(rawBody)
+        if (compressedBody != null) {
+            delegate.setRequestProperty(RequestBodyCompressor.CONTENT_ENCODING_HEADER, RequestBodyCompressor.GZIP_ENCODING)
+        }
+        delegate.outputStream.use { it.write(compressedBody ?: rawBody) }
+    }
+
+    override fun getOutputStream(): OutputStream = bufferingOutputStream
+
+    override fun getInputStream(): InputStream {
+        sendBody()
+        return delegate.inputStream
+    }
+
+    override fun getErrorStream(): InputStream? = delegate.errorStream
+
+    override fun getResponseCode(): Int {
+        sendBody()
+        return delegate.responseCode
+    }
+
+    override fun getResponseMessage(): String? {
+        sendBody()
+        return delegate.responseMessage
+    }
+
+    override fun getHeaderField(name: String?): String? = delegate.getHeaderField(name)
+
+    override fun getHeaderField(n: Int): String? = delegate.getHeaderField(n)
+
+    override fun getHeaderFieldKey(n: Int): String? = delegate.getHeaderFieldKey(n)
+
+    override fun getHeaderFields(): MutableMap<String, MutableList<String>> = delegate.headerFields
+
+    override fun setRequestProperty(key: String?, value: String?) = delegate.setRequestProperty(key, value)
+
+    override fun addRequestProperty(key: String?, value: String?) = delegate.addRequestProperty(key, value)
+
+    override fun getRequestProperty(key: String?): String? = delegate.getRequestProperty(key)
+
+    override fun getRequestProperties(): MutableMap<String, MutableList<String>> = delegate.requestProperties
+
+    override fun setRequestMethod(method: String?) {
+        delegate.requestMethod = method
+    }
+
+    override fun getRequestMethod(): String = delegate.requestMethod
+
+    override fun setDoOutput(dooutput: Boolean) {
+        delegate.doOutput = dooutput
+    }
+
+    override fun getDoOutput(): Boolean = delegate.doOutput
+
+    override fun setConnectTimeout(timeout: Int) {
+        delegate.connectTimeout = timeout
+    }
+
+    override fun getConnectTimeout(): Int = delegate.connectTimeout
+
+    override fun setReadTimeout(timeout: Int) {
+        delegate.readTimeout = timeout
+    }
+
+    override fun getReadTimeout(): Int = delegate.readTimeout
+
+    // Fixed length streaming mode is not forwarded since length of compressed
+    // body is unknown to callers, delegate keeps streaming in chunks
+    override fun setChunkedStreamingMode(chunklen: Int) = delegate.setChunkedStreamingMode(chunklen)
+
+    // Connecting is deferred until the body is sent so Content-Encoding header
+    // can still be added
+    override fun connect() {}
+
+    override fun disconnect() = delegate.disconnect()
+
+    override fun usingProxy(): Boolean = delegate.usingProxy()
+}
@@ -20,6 +20,11 @@ import com.segment.analytics.kotlin.core.platform.policies.CountBasedFlushPolicy
 import com.segment.analytics.kotlin.core.platform.policies.FlushPolicy
 import com.segment.analytics.kotlin.core.platform.policies.FrequencyFlushPolicy
 import io.customer.datapipelines.plugins.policies.BackgroundAwareFrequencyFlushPolicy
+import io.customer.datapipelines.plugins.policies.ConnectivityAwareFlushPolicy
+import io.customer.datapipelines.plugins.policies.FlushOnReconnectPolicy
+import io.customer.datapipelines.plugins.policies.FlushSizeMetricsPolicy
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.networkMonitor
 import kotlinx.coroutines.launch
 import kotlinx.serialization.Serializable
 import sovran.kotlin.Subscriber
@@ -43,6 +48,8 @@ internal const val CUSTOMER_IO_DATA_PIPELINES = "Customer.io Data Pipelines"
  * - Plugin receives `apiHost` settings
  * - We store events into a file with the batch api format (@link {https://customer.io/docs/api/cdp/#operation/batch})
  * - We upload events on a dedicated thread using the batch api
+ * - Flushes requested while device is offline are skipped, events stay stored
+ *   and are uploaded once device reconnects
  */
 class CustomerIODestination : DestinationPlugin(), VersionedPlugin, Subscriber {
 
@@ -82,7 +89,8 @@ class CustomerIODestination : DestinationPlugin(), VersionedPlugin, Subscriber {
     override fun setup(analytics: Analytics) {
         super.setup(analytics)
 
-        // convert flushAt and flushIntervals into FlushPolicies
+        // convert flushAt and flushIntervals into FlushPolicies, held back while offline and flushed on reconnect.
+        // Policies provided by app are used as they are.
         flushPolicies = analytics.configuration.flushPolicies.ifEmpty {
             val flushIntervalMs = analytics.configuration.flushInterval * 1000L
             // Android 15+ blocks background network; gate the periodic flush on foreground state.
@@ -94,8 +102,8 @@ class CustomerIODestination : DestinationPlugin(), VersionedPlugin, Subscriber {
             listOf(
                 CountBasedFlushPolicy(analytics.configuration.flushAt),
                 frequencyPolicy
-            )
-        }
+            ).map { ConnectivityAwareFlushPolicy(it) }
+        } + FlushOnReconnectPolicy() + FlushSizeMetricsPolicy()
 
         // Add DestinationMetadata enrichment plugin
         add(DestinationMetadataPlugin())
@@ -131,6 +139,9 @@ class CustomerIODestination : DestinationPlugin(), VersionedPlugin, Subscriber {
     }
 
     override fun flush() {
+        // Frequency policies flush from their own timers without asking shouldFlush, so the
+        // check has to happen here to avoid uploads that would only fail while offline
+        if (!SDKComponent.networkMonitor.isConnected) return
         pipeline?.flush()
     }
 
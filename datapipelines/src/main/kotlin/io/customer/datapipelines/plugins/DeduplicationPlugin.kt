@@ -0,0 +1,116 @@
+package io.customer.datapipelines.plugins
+
+import com.segment.analytics.kotlin.core.Analytics
+import com.segment.analytics.kotlin.core.BaseEvent
+import com.segment.analytics.kotlin.core.TrackEvent
+import com.segment.analytics.kotlin.core.platform.EventPlugin
+import com.segment.analytics.kotlin.core.platform.Plugin
+import io.customer.datapipelines.config.DeduplicationConfig
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.core.util.Logger
+import java.util.concurrent.TimeUnit
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.doubleOrNull
+
+/**
+ * Plugin to drop track events identical to one seen within the window
+ * configured in [DeduplicationConfig]. Events are remembered by a 64-bit hash
+ * of their name, user and properties in a bounded LRU, so memory stays
+ * constant and hashing walks properties once without serializing them.
+ * Suppressed events are counted under [MetricNames.PIPELINE_DEDUP_SUPPRESSED].
+ *
+ * @param nanoClock monotonic time source in nanoseconds, replaced in tests.
+ */
+internal class DeduplicationPlugin(
+    config: DeduplicationConfig,
+    private val logger: Logger = SDKComponent.logger,
+    private val metricsRegistry: MetricsRegistry = SDKComponent.metricsRegistry,
+    private val nanoClock: () -> Long = System::nanoTime
+) : EventPlugin {
+    override lateinit var analytics: Analytics
+    override val type: Plugin.Type = Plugin.Type.Before
+
+    private val windowNanos = TimeUnit.MILLISECONDS.toNanos(config.windowMillis)
+    private val maxTrackedEvents = config.maxTrackedEvents
+
+    // Content hash to time event was last sent, ordered by access so eldest entry is least recently seen
+    private val recentEvents = object : LinkedHashMap<Long, Long>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Long, Long>): Boolean = size > maxTrackedEvents
+    }
+
+    override fun track(payload: TrackEvent): BaseEvent? {
+        val hash = contentHash(payload)
+        val now = nanoClock()
+        val isDuplicate = synchronized(recentEvents) {
+            val sentAt = recentEvents[hash]
+            if (sentAt != null && now - sentAt < windowNanos) {
+                true
+            } else {
+                recentEvents[hash] = now
+                false
+            }
+        }
+        if (!isDuplicate) return payload
+
+        logger.debug("Suppressed duplicate event: ${payload.event}")
+        metricsRegistry.counter(MetricNames.PIPELINE_DEDUP_SUPPRESSED).increment()
+        return null
+    }
+
+    companion object {
+        private const val HASH_SEED = -0x340d631b7bdddcdbL
+        private const val NULL_HASH = 0x2545f4914f6cdd1dL
+
+        /**
+         * Hash of event name, user and properties. Object entries are
+         * combined by addition so order of properties does not matter, and
+         * numbers are compared by value so `1` and `1.0` hash the same.
+         */
+        internal fun contentHash(payload: TrackEvent): Long {
+            var hash = mix(HASH_SEED + payload.event.hashCode())
+            hash = mix(hash + payload.userId.hashCode())
+            hash = mix(hash + payload.anonymousId.hashCode())
+            return mix(hash + hashOf(payload.properties))
+        }
+
+        private fun hashOf(element: JsonElement): Long = when (element) {
+            is JsonNull -> NULL_HASH
+            is JsonPrimitive -> primitiveHash(element)
+            is JsonObject -> {
+                var sum = element.size.toLong()
+                for ((key, value) in element) {
+                    sum += mix(key.hashCode().toLong() * 31 + hashOf(value))
+                }
+                mix(sum)
+            }
+            is JsonArray -> {
+                var hash = element.size.toLong()
+                for (value in element) {
+                    hash = mix(hash * 31 + hashOf(value))
+                }
+                hash
+            }
+        }
+
+        private fun primitiveHash(primitive: JsonPrimitive): Long {
+            if (primitive.isString) return mix(primitive.content.hashCode().toLong())
+            val number = primitive.doubleOrNull ?: return mix(primitive.content.hashCode().toLong() xor NULL_HASH)
+            // Adding zero turns -0.0 into 0.0, offset keeps numbers from colliding with strings
+            return mix(java.lang.Double.doubleToLongBits(number + 0.0) + 1)
+        }
+
+        // SplitMix64 finalizer, spreads bits so summed and chained hashes collide rarely
+        private fun mix(value: Long): Long {
+            var z = value
+            z = (z xor (z ushr 30)) * -0x40a7b892e31b1a47L
+            z = (z xor (z ushr 27)) * -0x6b2fb644ecceee15L
+            return z xor (z ushr 31)
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package io.customer.datapipelines.plugins
+
+import androidx.annotation.VisibleForTesting
+import androidx.lifecycle.DefaultLifecycleObserver
+import androidx.lifecycle.LifecycleOwner
+import androidx.lifecycle.ProcessLifecycleOwner
+import com.segment.analytics.kotlin.core.Analytics
+import com.segment.analytics.kotlin.core.BaseEvent
+import com.segment.analytics.kotlin.core.TrackEvent
+import com.segment.analytics.kotlin.core.platform.EventPlugin
+import com.segment.analytics.kotlin.core.platform.Plugin
+import io.customer.datapipelines.config.EventAggregationRule
+import io.customer.datapipelines.util.UiThreadRunner
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.util.Logger
+import java.util.UUID
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.serialization.json.JsonElement
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.contentOrNull
+import kotlinx.serialization.json.double
+import kotlinx.serialization.json.doubleOrNull
+import kotlinx.serialization.json.put
+
+/**
+ * Plugin that collapses track events matching [EventAggregationRule]s into a
+ * single summary event per window, so high-frequency events are not stored,
+ * enriched and uploaded one by one. Runs before other plugins so collapsed
+ * events never reach them.
+ *
+ * Pending summaries are sent when their window ends, when app enters
+ * background and when analytics is flushed. Summaries sent on flush reach
+ * destinations after they were flushed, so analytics is flushed again once
+ * all of them did, without blocking the thread that called flush.
+ *
+ * Summaries carry [SUMMARY_ID_KEY] in their properties so this plugin lets
+ * them pass. The key is removed before summaries reach destinations, and from
+ * then on they are recognized by their message id.
+ */
+internal class EventAggregationPlugin : EventPlugin {
+
+    constructor(rules: List<EventAggregationRule>) : this(rules, ProcessLifecycleOwner.get(), UiThreadRunner(), SDKComponent.logger)
+
+    @VisibleForTesting
+    constructor(
+        rules: List<EventAggregationRule>,
+        processLifecycleOwner: LifecycleOwner,
+        uiThreadRunner: UiThreadRunner,
+        logger: Logger
+    ) {
+        this.rulesByEventName = rules.associateBy { it.eventName }
+        this.processLifecycleOwner = processLifecycleOwner
+        this.uiThreadRunner = uiThreadRunner
+        this.logger = logger
+    }
+
+    override lateinit var analytics: Analytics
+    override val type: Plugin.Type = Plugin.Type.Before
+
+    private val rulesByEventName: Map<String, EventAggregationRule>
+    private val processLifecycleOwner: LifecycleOwner
+    private val uiThreadRunner: UiThreadRunner
+    private val logger: Logger
+
+    // Insertion ordered so oldest aggregate is sent first when limit is reached, guarded by itself
+    private val pendingAggregates = LinkedHashMap<AggregateKey, Aggregate>()
+
+    // Callbacks run once summaries passed destinations, guarded by itself. Keyed by summary id
+    // until summary reaches destinations and by its message id afterwards.
+    private val summariesInFlight = HashMap<String, () -> Unit>()
+
+    // Runs after destinations, so summaries reaching it have been handed to them
+    private val deliveryTracker = object : EventPlugin {
+        override lateinit var analytics: Analytics
+        override val type: Plugin.Type = Plugin.Type.After
+
+        override fun track(payload: TrackEvent): BaseEvent {
+            completeSummary(payload.messageId)
+            return payload
+        }
+    }
+
+    override fun setup(analytics: Analytics) {
+        super.setup(analytics)
+        analytics.add(deliveryTracker)
+        uiThreadRunner.run {
+            processLifecycleOwner.lifecycle.addObserver(object : DefaultLifecycleObserver {
+                override fun onStop(owner: LifecycleOwner) {
+                    sendPendingAggregates()
+                }
+            })
+        }
+    }
+
+    override fun track(payload: TrackEvent): BaseEvent? {
+        val rule = rulesByEventName[payload.event] ?: return payload
+        // Summaries sent by this plugin are tracked with the same name and must pass through
+        val summaryId = (payload.properties[SUMMARY_ID_KEY] as? JsonPrimitive)?.contentOrNull
+        if (summaryId != null && synchronized(summariesInFlight) { summariesInFlight.containsKey(summaryId) }) return payload
+
+        val key = AggregateKey(
+            eventName = payload.event,
+            userId = payload.userId,
+            anonymousId = payload.anonymousId,
+            groupValues = rule.groupByProperties.map { payload.properties[it] }
+        )
+        var evicted: Aggregate? = null
+        val started = synchronized(pendingAggregates) {
+            val aggregate = pendingAggregates[key]
+            if (aggregate != null) {
+                aggregate.add(payload)
+                return@synchronized null
+            }
+            if (pendingAggregates.size >= MAX_PENDING_AGGREGATES) {
+                val oldestKey = pendingAggregates.keys.first()
+                evicted = pendingAggregates.remove(oldestKey)
+            }
+            Aggregate(payload).also { pendingAggregates[key] = it }
+        }
+
+        evicted?.let(::send)
+        started?.let { scheduleWindowEnd(key, it, rule) }
+        return null
+    }
+
+    override fun flush() {
+        val aggregates = takePendingAggregates()
+        if (aggregates.isNotEmpty()) {
+            // Destinations are flushed before summaries processed on analytics dispatcher reach them,
+            // so flush again once all of them did instead of blocking caller (e.g. main thread) until then
+            val remaining = AtomicInteger(aggregates.size)
+            aggregates.forEach { aggregate ->
+                send(aggregate) {
+                    if (remaining.decrementAndGet() == 0) analytics.flush()
+                }
+            }
+        }
+        super.flush()
+    }
+
+    private fun scheduleWindowEnd(key: AggregateKey, aggregate: Aggregate, rule: EventAggregationRule) {
+        with(analytics) {
+            analyticsScope.launch(analyticsDispatcher) {
+                delay(TimeUnit.SECONDS.toMillis(rule.windowSeconds.toLong()))
+                // Aggregate may have been sent already by flush, in which case key may hold a newer one
+                val ended = synchronized(pendingAggregates) {
+                    pendingAggregates.takeIf { it[key] === aggregate }?.remove(key)
+                }
+                ended?.let(::send)
+            }
+        }
+    }
+
+    private fun sendPendingAggregates() {
+        takePendingAggregates().forEach { aggregate -> send(aggregate) }
+    }
+
+    private fun takePendingAggregates(): List<Aggregate> {
+        val aggregates = synchronized(pendingAggregates) {
+            pendingAggregates.values.toList().also { pendingAggregates.clear() }
+        }
+        if (aggregates.isNotEmpty()) {
+            logger.debug("Sending ${aggregates.size} pending event aggregate(s)")
+        }
+        return aggregates
+    }
+
+    private fun send(aggregate: Aggregate, onDelivered: () -> Unit = {}) {
+        val summaryId = UUID.randomUUID().toString()
+        synchronized(summariesInFlight) { summariesInFlight[summaryId] = onDelivered }
+        val summary = TrackEvent(event = aggregate.eventName, properties = aggregate.toSummaryProperties(summaryId))
+        // Runs after other plugins and right before destinations
+        analytics.process(summary) { event ->
+            // Summary dropped by another plugin never reaches destinations
+            if (event == null) {
+                completeSummary(summaryId)
+                return@process null
+            }
+            (event as? TrackEvent)?.let { track -> track.properties = JsonObject(track.properties - SUMMARY_ID_KEY) }
+            synchronized(summariesInFlight) {
+                summariesInFlight.remove(summaryId)?.let { summariesInFlight[event.messageId] = it }
+            }
+            // Attribute summary to the user and time of aggregated events, even if identity changed since
+            event.apply {
+                userId = aggregate.userId
+                anonymousId = aggregate.anonymousId
+                timestamp = aggregate.lastTimestamp
+            }
+        }
+    }
+
+    private fun completeSummary(key: String) {
+        synchronized(summariesInFlight) {
+            if (summariesInFlight.isEmpty()) return
+            summariesInFlight.remove(key)
+        }?.invoke()
+    }
+
+    private data class AggregateKey(
+        val eventName: String,
+        val userId: String,
+        val anonymousId: String,
+        val groupValues: List<JsonElement?>
+    )
+
+    /**
+     * Running summary of events in a single window. Only accessed while
+     * holding lock on pending aggregates, or after being removed from them.
+     */
+    private class Aggregate(first: TrackEvent) {
+        val eventName: String = first.event
+        val userId: String = first.userId
+        val anonymousId: String = first.anonymousId
+        private val firstTimestamp: String = first.timestamp
+        private var last: TrackEvent = first
+        private var count = 0
+        private val minValues = mutableMapOf<String, JsonPrimitive>()
+        private val maxValues = mutableMapOf<String, JsonPrimitive>()
+
+        val lastTimestamp: String get() = last.timestamp
+
+        init {
+            add(first)
+        }
+
+        fun add(event: TrackEvent) {
+            count++
+            last = event
+            for ((name, value) in event.properties) {
+                val primitive = (value as? JsonPrimitive)?.takeUnless { it.isString } ?: continue
+                val number = primitive.doubleOrNull ?: continue
+                if (minValues[name]?.let { number < it.double } != false) minValues[name] = primitive
+                if (maxValues[name]?.let { number > it.double } != false) maxValues[name] = primitive
+            }
+        }
+
+        fun toSummaryProperties(summaryId: String): JsonObject = buildJsonObject {
+            last.properties.forEach { (name, value) -> put(name, value) }
+            put(SUMMARY_ID_KEY, summaryId)
+            put(
+                AGGREGATION_KEY,
+                buildJsonObject {
+                    put("count", count)
+                    put("first_timestamp", firstTimestamp)
+                    put("last_timestamp", last.timestamp)
+                    put("min", JsonObject(minValues))
+                    put("max", JsonObject(maxValues))
+                }
+            )
+        }
+    }
+
+    companion object {
+        internal const val AGGREGATION_KEY = "aggregation"
+        internal const val MAX_PENDING_AGGREGATES = 1_000
+
+        // Internal to SDK and removed before summaries reach destinations
+        internal const val SUMMARY_ID_KEY = "cio_aggregation_summary_id"
+    }
+}
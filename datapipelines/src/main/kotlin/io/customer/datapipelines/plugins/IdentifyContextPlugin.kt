@@ -14,8 +14,9 @@ import kotlinx.serialization.json.JsonPrimitive
  * Segment enrichment plugin that delegates to registered [IdentifyHook]
  * instances for both identify enrichment and reset lifecycle.
  *
- * On identify: queries all hooks for context entries and adds them
- * to the event context via `putInContext()`.
+ * On identify: collects context entries from all hooks through
+ * [IdentifyHookExecutor] and adds them to the event context via
+ * `putInContext()`.
  *
  * On reset: propagates synchronously to all hooks so they clear
  * cached state before a subsequent identify() picks up stale values.
@@ -25,7 +26,8 @@ import kotlinx.serialization.json.JsonPrimitive
  */
 internal class IdentifyContextPlugin(
     private val registry: IdentifyHookRegistry,
-    private val logger: Logger
+    private val logger: Logger,
+    private val hookExecutor: IdentifyHookExecutor
 ) : EventPlugin {
     override val type: Plugin.Type = Plugin.Type.Enrichment
     override lateinit var analytics: Analytics
@@ -47,24 +49,18 @@ internal class IdentifyContextPlugin(
     }
 
     override fun identify(payload: IdentifyEvent): BaseEvent {
-        for (hook in registry.getAll()) {
-            try {
-                val context = hook.getIdentifyContext()
-                if (context.isEmpty()) continue
-                for ((key, value) in context) {
-                    val jsonValue = when (value) {
-                        is String -> JsonPrimitive(value)
-                        is Number -> JsonPrimitive(value)
-                        is Boolean -> JsonPrimitive(value)
-                        else -> {
-                            logger.debug("Skipping non-primitive context entry: $key")
-                            continue
-                        }
+        for (context in hookExecutor.collectContext()) {
+            for ((key, value) in context) {
+                val jsonValue = when (value) {
+                    is String -> JsonPrimitive(value)
+                    is Number -> JsonPrimitive(value)
+                    is Boolean -> JsonPrimitive(value)
+                    else -> {
+                        logger.debug("Skipping non-primitive context entry: $key")
+                        continue
                     }
-                    payload.putInContext(key, jsonValue)
                 }
-            } catch (e: Exception) {
-                logger.error("IdentifyHook failed: ${e.message}")
+                payload.putInContext(key, jsonValue)
             }
         }
         return payload
@@ -0,0 +1,118 @@
+package io.customer.datapipelines.plugins
+
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.core.pipeline.IdentifyHook
+import io.customer.sdk.core.pipeline.IdentifyHookRegistry
+import io.customer.sdk.core.util.Logger
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.TimeoutCancellationException
+import kotlinx.coroutines.async
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.runInterruptible
+import kotlinx.coroutines.withTimeout
+
+/**
+ * Collects identify context from all hooks in [IdentifyHookRegistry].
+ *
+ * Hooks run concurrently on a dedicated [executor] that starts a thread for
+ * each hook right away, so hooks never wait behind other SDK work. Each hook
+ * gets [hookTimeoutMillis] starting when it starts running, so a slow hook
+ * delays identify by at most that long. Context of hooks that fail or exceed
+ * the timeout is skipped; timed out hooks are interrupted and counted under
+ * [MetricNames.IDENTIFY_HOOK_TIMEOUTS]. Time taken by each hook is recorded
+ * using [MetricNames.IDENTIFY_HOOK_LATENCY_PREFIX] followed by hook class
+ * name.
+ */
+internal class IdentifyHookExecutor(
+    private val registry: IdentifyHookRegistry,
+    private val logger: Logger,
+    private val metricsRegistry: MetricsRegistry,
+    private val hookTimeoutMillis: Long = DEFAULT_HOOK_TIMEOUT_MILLIS,
+    executor: ExecutorService = Executors.newCachedThreadPool(HookThreadFactory())
+) {
+    // Not tied to callers so waiting for a hook can time out without waiting for the hook itself
+    private val scope = CoroutineScope(executor.asCoroutineDispatcher() + SupervisorJob())
+
+    /**
+     * Returns context of each hook that completed in time, in registration
+     * order so later hooks override keys of earlier ones.
+     */
+    fun collectContext(): List<Map<String, Any>> {
+        val hooks = registry.getAll()
+        if (hooks.isEmpty()) return emptyList()
+
+        val tasks = hooks.map { hook ->
+            val started = CompletableDeferred<Long>()
+            val task = scope.async {
+                started.complete(System.nanoTime())
+                runInterruptible { runHook(hook) }
+            }
+            HookTask(hook, started, task)
+        }
+        return runBlocking {
+            tasks.mapNotNull { awaitContext(it) }
+        }
+    }
+
+    private fun runHook(hook: IdentifyHook): Map<String, Any> {
+        val hookStartNanos = System.nanoTime()
+        try {
+            return hook.getIdentifyContext()
+        } finally {
+            val durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - hookStartNanos)
+            metricsRegistry.histogram(MetricNames.IDENTIFY_HOOK_LATENCY_PREFIX + hook.metricName).record(durationMillis)
+        }
+    }
+
+    private suspend fun awaitContext(hookTask: HookTask): Map<String, Any>? {
+        val (hook, started, task) = hookTask
+        return try {
+            if (task.isCompleted) return task.await()
+            // Executor starts hooks right away, so time spent before hook started is not counted
+            val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started.await())
+            withTimeout((hookTimeoutMillis - elapsedMillis).coerceAtLeast(0L)) { task.await() }
+        } catch (e: TimeoutCancellationException) {
+            task.cancel()
+            metricsRegistry.counter(MetricNames.IDENTIFY_HOOK_TIMEOUTS).increment()
+            logger.error("IdentifyHook ${hook.metricName} timed out after ${hookTimeoutMillis}ms")
+            null
+        } catch (e: Exception) {
+            logger.error("IdentifyHook failed: ${e.message}")
+            null
+        }
+    }
+
+    private val IdentifyHook.metricName: String
+        get() = javaClass.simpleName.ifEmpty { javaClass.name }
+
+    private data class HookTask(
+        val hook: IdentifyHook,
+        val started: CompletableDeferred<Long>,
+        val task: Deferred<Map<String, Any>>
+    )
+
+    private class HookThreadFactory : ThreadFactory {
+        private val threadCount = AtomicInteger()
+
+        override fun newThread(runnable: Runnable): Thread {
+            return Thread(runnable, "$THREAD_NAME_PREFIX-${threadCount.incrementAndGet()}").apply {
+                isDaemon = true
+            }
+        }
+    }
+
+    companion object {
+        const val DEFAULT_HOOK_TIMEOUT_MILLIS = 100L
+        private const val THREAD_NAME_PREFIX = "cio-identify-hook"
+    }
+}
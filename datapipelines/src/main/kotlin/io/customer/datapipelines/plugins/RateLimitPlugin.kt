@@ -0,0 +1,118 @@
+package io.customer.datapipelines.plugins
+
+import com.segment.analytics.kotlin.core.Analytics
+import com.segment.analytics.kotlin.core.BaseEvent
+import com.segment.analytics.kotlin.core.ScreenEvent
+import com.segment.analytics.kotlin.core.TrackEvent
+import com.segment.analytics.kotlin.core.platform.EventPlugin
+import com.segment.analytics.kotlin.core.platform.Plugin
+import io.customer.datapipelines.config.EventRateLimit
+import io.customer.datapipelines.config.RateLimitConfig
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.core.util.Logger
+import io.customer.sdk.util.EventNames
+import java.util.concurrent.TimeUnit
+
+/**
+ * Plugin to drop track and screen events exceeding limits configured in
+ * [RateLimitConfig], using a token bucket per event type and name. Runs as a
+ * before plugin so dropped events are never enriched or stored. Buckets are
+ * kept in a bounded LRU so memory stays constant with unbounded event names.
+ * Dropped and sampled events are counted under
+ * [MetricNames.PIPELINE_RATE_LIMIT_DROPPED] and
+ * [MetricNames.PIPELINE_RATE_LIMIT_SAMPLED].
+ *
+ * @param nanoClock monotonic time source in nanoseconds, replaced in tests.
+ */
+internal class RateLimitPlugin(
+    private val config: RateLimitConfig,
+    private val logger: Logger = SDKComponent.logger,
+    private val metricsRegistry: MetricsRegistry = SDKComponent.metricsRegistry,
+    private val nanoClock: () -> Long = System::nanoTime
+) : EventPlugin {
+    override lateinit var analytics: Analytics
+    override val type: Plugin.Type = Plugin.Type.Before
+
+    // Buckets by event key, ordered by access so eldest entry is least recently seen event
+    private val buckets = object : LinkedHashMap<String, TokenBucket>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, TokenBucket>): Boolean = size > MAX_BUCKETS
+    }
+
+    override fun track(payload: TrackEvent): BaseEvent? {
+        if (payload.event in exemptEventNames) return payload
+
+        val limit = config.eventLimits[payload.event] ?: config.defaultLimit
+        return payload.takeIf { isAllowed(TRACK_KEY_PREFIX + payload.event, limit) }
+    }
+
+    override fun screen(payload: ScreenEvent): BaseEvent? {
+        val limit = config.screenLimit ?: return payload
+        return payload.takeIf { isAllowed(SCREEN_KEY_PREFIX + payload.name, limit) }
+    }
+
+    private fun isAllowed(key: String, limit: EventRateLimit): Boolean {
+        val now = nanoClock()
+        val bucket = synchronized(buckets) { buckets.getOrPut(key) { TokenBucket(limit, now) } }
+        val limitedEvents = bucket.tryAcquire(now)
+        if (limitedEvents == 0L) return true
+
+        if (limitedEvents == 1L) {
+            logger.debug("Rate limit exceeded for $key, events over the limit are dropped")
+        }
+        if (limit.sampleRate > 0 && limitedEvents % limit.sampleRate == 0L) {
+            metricsRegistry.counter(MetricNames.PIPELINE_RATE_LIMIT_SAMPLED).increment()
+            return true
+        }
+        metricsRegistry.counter(MetricNames.PIPELINE_RATE_LIMIT_DROPPED).increment()
+        return false
+    }
+
+    /**
+     * Token bucket refilled lazily on access. Events of the same name may be
+     * processed on different threads, so state is guarded by the bucket.
+     */
+    private class TokenBucket(private val limit: EventRateLimit, nowNanos: Long) {
+        private var tokens = limit.burstSize.toDouble()
+        private var lastRefillNanos = nowNanos
+        private var limitedEvents = 0L
+
+        /**
+         * Takes a token if available and returns `0`, otherwise returns the
+         * number of events limited in a row including this one.
+         */
+        @Synchronized
+        fun tryAcquire(nowNanos: Long): Long {
+            refill(nowNanos)
+            if (tokens >= 1) {
+                tokens -= 1
+                limitedEvents = 0
+            } else {
+                limitedEvents++
+            }
+            return limitedEvents
+        }
+
+        private fun refill(nowNanos: Long) {
+            val elapsedNanos = nowNanos - lastRefillNanos
+            if (elapsedNanos <= 0) return
+            tokens = minOf(limit.burstSize.toDouble(), tokens + elapsedNanos * limit.eventsPerSecond / NANOS_PER_SECOND)
+            lastRefillNanos = nowNanos
+        }
+    }
+
+    companion object {
+        private const val TRACK_KEY_PREFIX = "track:"
+        private const val SCREEN_KEY_PREFIX = "screen:"
+        private val NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1).toDouble()
+        internal const val MAX_BUCKETS = 1_000
+
+        // Each of these carries data for a single device or delivery, dropping any of them loses data
+        private val exemptEventNames = setOf(
+            EventNames.DEVICE_UPDATE,
+            EventNames.DEVICE_DELETE,
+            EventNames.METRIC_DELIVERY
+        )
+    }
+}
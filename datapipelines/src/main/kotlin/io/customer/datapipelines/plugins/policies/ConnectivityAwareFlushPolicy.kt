@@ -0,0 +1,22 @@
+package io.customer.datapipelines.plugins.policies
+
+import com.segment.analytics.kotlin.core.platform.policies.FlushPolicy
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.networkMonitor
+import io.customer.sdk.core.network.NetworkMonitor
+
+/**
+ * Wraps [delegate] so it does not trigger flushes while device is offline.
+ * Only gates [shouldFlush]; flushes that [delegate] runs from [schedule]
+ * are skipped by CustomerIODestination while offline.
+ * Events keep piling up in storage and [delegate] keeps its state, so the
+ * pending flush happens once device is back online, either through
+ * [FlushOnReconnectPolicy] or the next event.
+ */
+internal class ConnectivityAwareFlushPolicy(
+    private val delegate: FlushPolicy,
+    private val networkMonitor: NetworkMonitor = SDKComponent.networkMonitor
+) : FlushPolicy by delegate {
+
+    override fun shouldFlush(): Boolean = networkMonitor.isConnected && delegate.shouldFlush()
+}
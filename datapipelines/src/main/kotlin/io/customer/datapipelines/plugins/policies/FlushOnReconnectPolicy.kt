@@ -0,0 +1,41 @@
+package io.customer.datapipelines.plugins.policies
+
+import com.segment.analytics.kotlin.core.Analytics
+import com.segment.analytics.kotlin.core.platform.policies.FlushPolicy
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.networkMonitor
+import io.customer.sdk.core.network.NetworkMonitor
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.drop
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+
+/** Flush policy that flushes queued events as soon as device goes from offline to online. */
+internal class FlushOnReconnectPolicy(
+    private val networkMonitor: NetworkMonitor = SDKComponent.networkMonitor
+) : FlushPolicy {
+
+    private var reconnectJob: Job? = null
+
+    override fun schedule(analytics: Analytics) {
+        if (reconnectJob?.isActive == true) return
+        reconnectJob = analytics.analyticsScope.launch(analytics.fileIODispatcher) {
+            networkMonitor.networkState
+                .map { it.isConnected }
+                .distinctUntilChanged()
+                // Skip current state, only transitions matter
+                .drop(1)
+                .filter { isConnected -> isConnected }
+                .collect { analytics.flush() }
+        }
+    }
+
+    override fun unschedule() {
+        reconnectJob?.cancel()
+        reconnectJob = null
+    }
+
+    override fun shouldFlush(): Boolean = false
+}
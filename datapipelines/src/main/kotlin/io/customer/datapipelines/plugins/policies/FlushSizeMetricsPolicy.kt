@@ -0,0 +1,34 @@
+package io.customer.datapipelines.plugins.policies
+
+import com.segment.analytics.kotlin.core.BaseEvent
+import com.segment.analytics.kotlin.core.platform.policies.FlushPolicy
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Flush policy that never triggers a flush itself but reports number of
+ * events included in each flush to [MetricsRegistry]. Event pipeline updates
+ * all policies for every queued event and resets them when it flushes, so
+ * events counted between two resets make up one flush.
+ */
+internal class FlushSizeMetricsPolicy(
+    private val metricsRegistry: MetricsRegistry = SDKComponent.metricsRegistry
+) : FlushPolicy {
+
+    private val pendingEvents = AtomicLong()
+
+    override fun shouldFlush(): Boolean = false
+
+    override fun updateState(event: BaseEvent) {
+        pendingEvents.incrementAndGet()
+    }
+
+    override fun reset() {
+        val flushedEvents = pendingEvents.getAndSet(0)
+        if (flushedEvents > 0) {
+            metricsRegistry.histogram(MetricNames.PIPELINE_FLUSH_SIZE).record(flushedEvents)
+        }
+    }
+}
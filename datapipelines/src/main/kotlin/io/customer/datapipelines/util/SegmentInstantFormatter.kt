@@ -32,10 +32,15 @@ internal class SegmentInstantFormatter {
          * @return Formatted string in the format similar to output of [SegmentInstant.now].
          * If the conversion fails, it will return null.
          */
-        fun from(unixTimestamp: Long): String? = runCatching {
+        fun from(unixTimestamp: Long): String? = from(Date(TimeUnit.SECONDS.toMillis(unixTimestamp)))
+
+        /**
+         * Formats [date] in the format similar to output of [SegmentInstant.now].
+         *
+         * @return Formatted string or null if the conversion fails.
+         */
+        fun from(date: Date): String? = runCatching {
             val formatter = formatters.get() ?: return null
-            val date = Date()
-            date.time = TimeUnit.SECONDS.toMillis(unixTimestamp)
             return formatter.format(date).replace("UTC", "Z")
         }.getOrNull()
     }
@@ -0,0 +1,132 @@
+package io.customer.datapipelines.util
+
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.util.Logger
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.EmptyCoroutineContext
+import kotlinx.coroutines.CoroutineDispatcher
+
+/**
+ * Runs tasks submitted from any thread one at a time in submission order,
+ * without holding a lock while submitting.
+ *
+ * Producers only add tasks to a lock-free queue. The producer that finds the
+ * queue idle starts a single consumer on [dispatcher], which drains tasks
+ * until the queue is empty, so tasks never run on the caller's thread (e.g.
+ * main thread) and callers never run tasks of other threads. Tasks submitted
+ * by one thread run in the order that thread submitted them.
+ *
+ * Tasks submitted from a running task (e.g. a task calling back into public
+ * API) run inline right away, same as a reentrant lock would allow.
+ *
+ * [executeAndWait] waits at most [waitTimeoutMillis], so a caller (e.g. main
+ * thread) is never stalled by a long backlog. Its task still runs later in
+ * order.
+ */
+internal class SerialTaskQueue(
+    private val dispatcher: CoroutineDispatcher = SDKComponent.dispatchersProvider.background,
+    private val logger: Logger = SDKComponent.logger,
+    private val waitTimeoutMillis: Long = DEFAULT_WAIT_TIMEOUT_MILLIS
+) {
+    private val tasks = ConcurrentLinkedQueue<Task>()
+
+    // Number of submitted tasks not yet completed, the producer moving it from 0 starts the consumer
+    private val pendingCount = AtomicInteger()
+
+    @Volatile
+    private var consumerThread: Thread? = null
+
+    /**
+     * Runs [block] after previously submitted tasks without waiting for it.
+     * Failures of [block] are logged.
+     */
+    fun execute(block: () -> Unit) {
+        submit(Task(block, latch = null))
+    }
+
+    /**
+     * Runs [block] after previously submitted tasks and waits until it
+     * completes, rethrowing its failure. Used for calls whose effects callers
+     * may read right after they return. If it does not complete within
+     * [waitTimeoutMillis], returns without waiting and its failure is logged.
+     */
+    fun executeAndWait(block: () -> Unit) {
+        val task = Task(block, latch = CountDownLatch(1))
+        submit(task)
+        val latch = checkNotNull(task.latch)
+        if (!latch.await(waitTimeoutMillis, TimeUnit.MILLISECONDS) && task.failureClaimed.compareAndSet(false, true)) {
+            logger.debug("Queued task did not complete within ${waitTimeoutMillis}ms, continuing without waiting for it")
+            return
+        }
+        // Task either completed or already failed and is about to release the latch
+        latch.await()
+        task.error?.let { throw it }
+    }
+
+    private fun submit(task: Task) {
+        if (consumerThread === Thread.currentThread()) {
+            task.run()
+            return
+        }
+
+        tasks.offer(task)
+        if (pendingCount.getAndIncrement() == 0) {
+            startConsumer()
+        }
+    }
+
+    private fun startConsumer() {
+        // Consumer exits once queue is drained, so there is no job to cancel and no scope needed
+        if (dispatcher.isDispatchNeeded(EmptyCoroutineContext)) {
+            dispatcher.dispatch(EmptyCoroutineContext, Runnable { drain() })
+        } else {
+            // Unconfined dispatchers (used in tests) run the consumer on the calling thread
+            drain()
+        }
+    }
+
+    private fun drain() {
+        do {
+            consumerThread = Thread.currentThread()
+            // Every count is incremented after its task was offered, so the queue cannot be empty here
+            checkNotNull(tasks.poll()).run()
+            // Clear before releasing so a thread starting next drain is never mistaken for a reentrant call
+            consumerThread = null
+        } while (pendingCount.decrementAndGet() != 0)
+    }
+
+    private fun Task.run() {
+        try {
+            block()
+        } catch (ex: Throwable) {
+            error = ex
+            // Waiting caller rethrows the failure unless it already stopped waiting
+            if (latch == null || !failureClaimed.compareAndSet(false, true)) {
+                logger.error("Failed to run queued task: ${ex.message}", throwable = ex)
+            }
+        } finally {
+            latch?.countDown()
+        }
+    }
+
+    private class Task(
+        val block: () -> Unit,
+        val latch: CountDownLatch?
+    ) {
+        @Volatile
+        var error: Throwable? = null
+
+        // Set by whichever comes first, waiting caller giving up or task failing,
+        // so a failure is either rethrown or logged, never both or neither
+        val failureClaimed = AtomicBoolean()
+    }
+
+    companion object {
+        // Well below ANR threshold, so waiting on main thread cannot freeze the app
+        internal const val DEFAULT_WAIT_TIMEOUT_MILLIS = 1_000L
+    }
+}
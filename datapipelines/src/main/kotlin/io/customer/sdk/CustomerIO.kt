@@ -15,7 +15,7 @@ import io.customer.datapipelines.config.DataPipelinesModuleConfig
 import io.customer.datapipelines.di.analyticsFactory
 import io.customer.datapipelines.di.dataPipelinesLogger
 import io.customer.datapipelines.extensions.asMap
-import io.customer.datapipelines.extensions.sanitizeForJson
+import io.customer.datapipelines.extensions.toSanitizedJsonObject
 import io.customer.datapipelines.extensions.type
 import io.customer.datapipelines.extensions.updateAnalyticsConfig
 import io.customer.datapipelines.migration.TrackingMigrationProcessor
@@ -25,13 +25,22 @@ import io.customer.datapipelines.plugins.AutomaticActivityScreenTrackingPlugin
 import io.customer.datapipelines.plugins.AutomaticApplicationLifecycleTrackingPlugin
 import io.customer.datapipelines.plugins.ContextPlugin
 import io.customer.datapipelines.plugins.CustomerIODestination
+import io.customer.datapipelines.plugins.DeduplicationPlugin
+import io.customer.datapipelines.plugins.EventAggregationPlugin
 import io.customer.datapipelines.plugins.IdentifyContextPlugin
+import io.customer.datapipelines.plugins.IdentifyHookExecutor
+import io.customer.datapipelines.plugins.RateLimitPlugin
 import io.customer.datapipelines.plugins.ScreenFilterPlugin
 import io.customer.sdk.communication.Event
 import io.customer.sdk.communication.subscribe
 import io.customer.sdk.core.di.AndroidSDKComponent
 import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.requestBodyCompressor
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsListener
+import io.customer.sdk.core.metrics.MetricsSnapshot
 import io.customer.sdk.core.module.CustomerIOModule
+import io.customer.sdk.core.module.ModuleInitializer
 import io.customer.sdk.core.pipeline.DataPipeline
 import io.customer.sdk.core.pipeline.identifyHookRegistry
 import io.customer.sdk.core.util.CioLogLevel
@@ -121,6 +130,21 @@ class CustomerIO private constructor(
         Analytics.debugLogsEnabled = logger.logLevel == CioLogLevel.DEBUG
         Analytics.setLogger(segmentLogger)
 
+        // Drop duplicates first so they are neither counted in aggregates nor take up rate limit
+        moduleConfig.deduplicationConfig?.let { deduplicationConfig ->
+            analytics.add(DeduplicationPlugin(deduplicationConfig))
+        }
+
+        // Collapse high-frequency events so rate limiting applies to summaries instead of raw events
+        if (moduleConfig.aggregationRules.isNotEmpty()) {
+            analytics.add(EventAggregationPlugin(moduleConfig.aggregationRules))
+        }
+
+        // Drop events over the rate limit after duplicates and aggregates are handled, before context is added
+        moduleConfig.rateLimitConfig?.let { rateLimitConfig ->
+            analytics.add(RateLimitPlugin(rateLimitConfig))
+        }
+
         // Add required plugins to analytics instance
         analytics.add(contextPlugin)
 
@@ -135,7 +159,13 @@ class CustomerIO private constructor(
 
         // Add plugin to filter events based on SDK configuration
         analytics.add(ScreenFilterPlugin(moduleConfig.screenViewUse))
-        analytics.add(IdentifyContextPlugin(SDKComponent.identifyHookRegistry, logger))
+        val identifyHookRegistry = SDKComponent.identifyHookRegistry
+        val identifyHookExecutor = IdentifyHookExecutor(
+            registry = identifyHookRegistry,
+            logger = logger,
+            metricsRegistry = SDKComponent.metricsRegistry
+        )
+        analytics.add(IdentifyContextPlugin(identifyHookRegistry, logger, identifyHookExecutor))
         analytics.add(ApplicationLifecyclePlugin())
 
         // Register this instance as DataPipeline so modules can send track events directly
@@ -216,7 +246,7 @@ class CustomerIO private constructor(
             identify(userId = identifier, traits = attributes)
         } else {
             logger.debug("No user profile found, updating sanitized traits for anonymous user ${analytics.anonymousId()}")
-            analytics.identify(traits = attributes.sanitizeForJson())
+            analytics.identify(traits = attributes.toSanitizedJsonObject())
         }
     }
 
@@ -429,6 +459,27 @@ class CustomerIO private constructor(
         track(name = EventNames.METRIC_DELIVERY, properties = event.asMap())
     }
 
+    /**
+     * Returns current value of metrics SDK modules report about their own
+     * performance, e.g. HTTP latency or event queue depth. See [MetricNames]
+     * for names of reported metrics.
+     */
+    fun metricsSnapshot(): MetricsSnapshot {
+        return SDKComponent.metricsRegistry.snapshot()
+    }
+
+    /**
+     * Registers [listener] to receive [MetricsSnapshot] periodically, so the
+     * numbers can be forwarded to app monitoring tools.
+     */
+    fun addMetricsListener(listener: MetricsListener) {
+        SDKComponent.metricsRegistry.addListener(listener)
+    }
+
+    fun removeMetricsListener(listener: MetricsListener) {
+        SDKComponent.metricsRegistry.removeListener(listener)
+    }
+
     companion object {
 
         /**
@@ -481,6 +532,15 @@ class CustomerIO private constructor(
 
             // Update the log level for the SDK
             SDKComponent.logger.logLevel = config.logLevel
+            config.logSinkConfig?.let { SDKComponent.logger.configureSink(it) }
+            // Run SDK scopes on executor provided by the app, if any
+            config.coroutineExecutor?.let { executor ->
+                SDKComponent.sdkCoroutineDispatcher.setExecutor(executor)
+            }
+            SDKComponent.requestBodyCompressor.configure(
+                enabled = config.compressRequests,
+                minBodySizeBytes = config.compressionThresholdBytes
+            )
 
             logger.coreSdkInitStart()
 
@@ -498,7 +558,10 @@ class CustomerIO private constructor(
                 autoTrackDeviceAttributes = config.autoTrackDeviceAttributes,
                 autoTrackActivityScreens = config.autoTrackActivityScreens,
                 migrationSiteId = config.migrationSiteId,
-                screenViewUse = config.screenViewUse
+                screenViewUse = config.screenViewUse,
+                rateLimitConfig = config.rateLimitConfig,
+                aggregationRules = config.aggregationRules,
+                deduplicationConfig = config.deduplicationConfig
             )
 
             // Initialize CustomerIO instance before initializing the modules
@@ -511,13 +574,35 @@ class CustomerIO private constructor(
             modules[MODULE_NAME] = customerIO
             modules.putAll(config.modules.associateBy { module -> module.moduleName })
 
-            modules.forEach { (_, module) ->
-                logger.moduleInitStart(module)
-                module.initialize()
-                logger.moduleInitSuccess(module)
-            }
+            val moduleInitializer = ModuleInitializer(
+                listener = object : ModuleInitializer.Listener {
+                    override fun onModuleInitStart(module: CustomerIOModule<*>) {
+                        logger.moduleInitStart(module)
+                    }
 
-            logger.coreSdkInitSuccess()
+                    override fun onModuleInitSuccess(module: CustomerIOModule<*>, durationMillis: Long) {
+                        logger.moduleInitSuccess(module)
+                        logger.moduleInitTime(module, durationMillis)
+                    }
+                }
+            )
+            // DataPipelines is always initialized on caller thread so events tracked
+            // right after initialization go through fully configured analytics
+            moduleInitializer.initializeNow(customerIO)
+            val otherModules = modules.values.filter { module -> module !== customerIO }
+
+            if (config.initializeModulesInBackground) {
+                moduleInitializer.initialize(otherModules).invokeOnCompletion { error ->
+                    if (error == null) {
+                        logger.coreSdkInitSuccess()
+                    } else {
+                        logger.moduleInitFailure(error)
+                    }
+                }
+            } else {
+                moduleInitializer.initializeNow(otherModules)
+                logger.coreSdkInitSuccess()
+            }
         }
 
         /**
@@ -2,11 +2,17 @@ package io.customer.sdk
 
 import android.app.Application
 import com.segment.analytics.kotlin.core.platform.policies.FlushPolicy
+import io.customer.datapipelines.config.DeduplicationConfig
+import io.customer.datapipelines.config.EventAggregationRule
+import io.customer.datapipelines.config.RateLimitConfig
 import io.customer.datapipelines.config.ScreenView
 import io.customer.sdk.core.module.CustomerIOModule
 import io.customer.sdk.core.module.CustomerIOModuleConfig
+import io.customer.sdk.core.network.RequestBodyCompressor
 import io.customer.sdk.core.util.CioLogLevel
+import io.customer.sdk.core.util.LogSinkConfig
 import io.customer.sdk.data.model.Region
+import java.util.concurrent.Executor
 
 /**
  * Configuration class for initializing CustomerIO SDK.
@@ -28,5 +34,13 @@ data class CustomerIOConfig internal constructor(
     internal val autoTrackActivityScreens: Boolean,
     internal val migrationSiteId: String?,
     internal val screenViewUse: ScreenView,
-    internal val modules: List<CustomerIOModule<out CustomerIOModuleConfig>>
+    internal val modules: List<CustomerIOModule<out CustomerIOModuleConfig>>,
+    internal val coroutineExecutor: Executor? = null,
+    internal val compressRequests: Boolean = false,
+    internal val compressionThresholdBytes: Int = RequestBodyCompressor.DEFAULT_MIN_BODY_SIZE_BYTES,
+    internal val logSinkConfig: LogSinkConfig? = null,
+    internal val initializeModulesInBackground: Boolean = false,
+    internal val rateLimitConfig: RateLimitConfig? = null,
+    internal val aggregationRules: List<EventAggregationRule> = emptyList(),
+    internal val deduplicationConfig: DeduplicationConfig? = null
 )
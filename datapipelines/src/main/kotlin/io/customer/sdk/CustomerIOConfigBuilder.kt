@@ -2,13 +2,19 @@ package io.customer.sdk
 
 import android.app.Application
 import com.segment.analytics.kotlin.core.platform.policies.FlushPolicy
+import io.customer.datapipelines.config.DeduplicationConfig
+import io.customer.datapipelines.config.EventAggregationRule
+import io.customer.datapipelines.config.RateLimitConfig
 import io.customer.datapipelines.config.ScreenView
 import io.customer.sdk.core.di.SDKComponent
 import io.customer.sdk.core.di.setupAndroidComponent
 import io.customer.sdk.core.module.CustomerIOModule
 import io.customer.sdk.core.module.CustomerIOModuleConfig
+import io.customer.sdk.core.network.RequestBodyCompressor
 import io.customer.sdk.core.util.CioLogLevel
+import io.customer.sdk.core.util.LogSinkConfig
 import io.customer.sdk.data.model.Region
+import java.util.concurrent.Executor
 
 /**
  * Builder class for creating CustomerIO SDK configuration.
@@ -47,6 +53,14 @@ class CustomerIOConfigBuilder(
         val migrationSiteId: String? = null
         val screenViewUse: ScreenView = ScreenView.All
         val modules: List<CustomerIOModule<out CustomerIOModuleConfig>> = emptyList()
+        val coroutineExecutor: Executor? = null
+        val compressRequests: Boolean = false
+        val compressionThresholdBytes: Int = RequestBodyCompressor.DEFAULT_MIN_BODY_SIZE_BYTES
+        val logSinkConfig: LogSinkConfig? = null
+        val initializeModulesInBackground: Boolean = false
+        val rateLimitConfig: RateLimitConfig? = null
+        val aggregationRules: List<EventAggregationRule> = emptyList()
+        val deduplicationConfig: DeduplicationConfig? = null
     }
 
     init {
@@ -84,6 +98,28 @@ class CustomerIOConfigBuilder(
     // Determines how SDK should handle screen view events
     private var screenViewUse: ScreenView = Defaults.screenViewUse
 
+    // Executor to run SDK coroutines on, uses dedicated SDK thread pool if not provided
+    private var coroutineExecutor: Executor? = Defaults.coroutineExecutor
+
+    // Request body compression
+    private var compressRequests: Boolean = Defaults.compressRequests
+    private var compressionThresholdBytes: Int = Defaults.compressionThresholdBytes
+
+    // Log sink configuration
+    private var logSinkConfig: LogSinkConfig? = Defaults.logSinkConfig
+
+    // Whether initialization waits for modules initialized in background
+    private var initializeModulesInBackground: Boolean = Defaults.initializeModulesInBackground
+
+    // Rate limiting of events with the same name, disabled by default
+    private var rateLimitConfig: RateLimitConfig? = Defaults.rateLimitConfig
+
+    // Rules for collapsing high-frequency events into summaries, disabled by default
+    private var aggregationRules: List<EventAggregationRule> = Defaults.aggregationRules
+
+    // Suppression of duplicate events, disabled by default
+    private var deduplicationConfig: DeduplicationConfig? = Defaults.deduplicationConfig
+
     // List of modules to be initialized with the SDK
     private val modules: MutableList<CustomerIOModule<out CustomerIOModuleConfig>> = mutableListOf()
 
@@ -138,6 +174,9 @@ class CustomerIOConfigBuilder(
     /**
      * Specifies the list of flush policies that should be applied to the event queue.
      * Default value is an empty list.
+     * Provided policies are used as they are, but flushes they trigger while
+     * device is offline are skipped and events are uploaded once device
+     * reconnects.
      */
     fun flushPolicies(flushPolicies: List<FlushPolicy>): CustomerIOConfigBuilder {
         this.flushPolicies = flushPolicies
@@ -200,6 +239,101 @@ class CustomerIOConfigBuilder(
         return this
     }
 
+    /**
+     * Specifies the executor used to run SDK background work.
+     * By default, SDK runs its work on a small dedicated pool of threads with limited
+     * parallelism so it does not compete with the app on shared coroutine dispatchers.
+     * Provide your own executor if you want SDK work to run on a pool managed by your app.
+     * Default value is `null`.
+     */
+    fun coroutineExecutor(executor: Executor): CustomerIOConfigBuilder {
+        this.coroutineExecutor = executor
+        return this
+    }
+
+    /**
+     * Enable gzip compression of request bodies sent by the SDK, including
+     * event batch uploads. Make sure the configured [apiHost] accepts
+     * `Content-Encoding: gzip` before enabling it.
+     * Default value is `false`.
+     */
+    fun compressRequests(enabled: Boolean): CustomerIOConfigBuilder {
+        this.compressRequests = enabled
+        return this
+    }
+
+    /**
+     * Minimum size of request body in bytes for it to be compressed, smaller
+     * bodies are sent uncompressed. Only applies when [compressRequests] is enabled.
+     * Default value is `1024`.
+     */
+    fun compressionThresholdBytes(bytes: Int): CustomerIOConfigBuilder {
+        this.compressionThresholdBytes = bytes
+        return this
+    }
+
+    /**
+     * Configure how SDK logs are written. Use it to write logs asynchronously
+     * so SDK never blocks on a slow log dispatcher, or to keep recent logs in
+     * memory for diagnostics (see [io.customer.sdk.core.util.Logger.getRecentLogs]).
+     * Default value is `null`, logs are written synchronously with no history.
+     */
+    fun logSink(config: LogSinkConfig): CustomerIOConfigBuilder {
+        this.logSinkConfig = config
+        return this
+    }
+
+    /**
+     * By default [CustomerIO.initialize] initializes all modules added with
+     * [addCustomerIOModule] before returning, so their APIs can be used right
+     * after it. Set this to `true` to initialize modules other than data
+     * pipelines concurrently in background and return as soon as data
+     * pipelines is ready, which shortens app startup. Module APIs called
+     * before their module finishes initializing may then have no effect.
+     * Default value is `false`.
+     */
+    fun initializeModulesInBackground(enabled: Boolean): CustomerIOConfigBuilder {
+        this.initializeModulesInBackground = enabled
+        return this
+    }
+
+    /**
+     * Limit how often events with the same name are sent, so a bug tracking
+     * an event in a tight loop does not flood event storage, uploads and
+     * workspace quota. Events over the limit are dropped before they are
+     * stored, see [RateLimitConfig] for details.
+     * Default value is `null`, events are not limited.
+     */
+    fun rateLimit(config: RateLimitConfig): CustomerIOConfigBuilder {
+        this.rateLimitConfig = config
+        return this
+    }
+
+    /**
+     * Collapse high-frequency track events, such as impressions or scroll
+     * depth, into a single summary event per time window instead of storing
+     * and uploading each of them. Events are aggregated only when their name
+     * matches one of the given rules, see [EventAggregationRule] for details
+     * of the summary sent.
+     * Default value is an empty list, events are not aggregated.
+     */
+    fun aggregateEvents(rules: List<EventAggregationRule>): CustomerIOConfigBuilder {
+        this.aggregationRules = rules
+        return this
+    }
+
+    /**
+     * Drop track events identical to one tracked shortly before, such as
+     * events tracked again by retries in app code or lifecycle callbacks
+     * firing twice. Duplicates are dropped before they are stored, see
+     * [DeduplicationConfig] for details.
+     * Default value is `null`, duplicate events are not suppressed.
+     */
+    fun deduplicateEvents(config: DeduplicationConfig): CustomerIOConfigBuilder {
+        this.deduplicationConfig = config
+        return this
+    }
+
     /**
      * Add a CustomerIO module to be initialized with the SDK.
      */
@@ -228,7 +362,15 @@ class CustomerIOConfigBuilder(
             autoTrackActivityScreens = autoTrackActivityScreens,
             migrationSiteId = migrationSiteId,
             screenViewUse = screenViewUse,
-            modules = modules.toList()
+            modules = modules.toList(),
+            coroutineExecutor = coroutineExecutor,
+            compressRequests = compressRequests,
+            compressionThresholdBytes = compressionThresholdBytes,
+            logSinkConfig = logSinkConfig,
+            initializeModulesInBackground = initializeModulesInBackground,
+            rateLimitConfig = rateLimitConfig,
+            aggregationRules = aggregationRules,
+            deduplicationConfig = deduplicationConfig
         )
     }
 }
@@ -1,7 +1,8 @@
 package io.customer.sdk
 
 import com.segment.analytics.kotlin.core.utilities.JsonAnySerializer
-import io.customer.datapipelines.extensions.sanitizeForJson
+import io.customer.datapipelines.extensions.toSanitizedJsonObject
+import io.customer.datapipelines.util.SerialTaskQueue
 import io.customer.sdk.data.model.CustomAttributes
 import io.customer.sdk.events.TrackMetric
 import kotlinx.serialization.SerializationStrategy
@@ -11,10 +12,17 @@ import kotlinx.serialization.serializer
 /**
  * Extends [CustomerIOInstance] to provide the instance of CustomerIO SDK with
  * Data Pipelines implementation.
+ *
+ * Calls are applied one at a time in the order they are made, on a single
+ * background consumer. Identity and device token changes wait up to one
+ * second to be applied before the call returns, while events (track, screen
+ * and metrics) are applied shortly after returning so callers (e.g. main
+ * thread) never run them.
  */
 abstract class DataPipelineInstance : CustomerIOInstance {
 
-    private inline fun <T> synchronized(block: () -> T): T = synchronized(this) { block() }
+    // Serializes calls without blocking callers on each other, see SerialTaskQueue
+    private val taskQueue = SerialTaskQueue()
 
     /**
      * Custom profile attributes for the current profile.
@@ -35,6 +43,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * Note: You can only identify 1 profile at a time in your SDK. If you call this function multiple times,
      * the previously identified profile will be removed. Only the latest identified customer is persisted.
      *
+     * Waits until earlier calls and this one are applied, for at most one second.
+     * If they take longer, returns and the call is still applied later in order.
+     *
      * @param Traits Serializable json object to be added.
      * @param userId Identifier you want to assign to the customer.
      * This value can be an internal ID that your system uses or an email address.
@@ -55,6 +66,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * Note: You can only identify 1 profile at a time in your SDK. If you call this function multiple times,
      * the previously identified profile will be removed. Only the latest identified customer is persisted.
      *
+     * Waits until earlier calls and this one are applied, for at most one second.
+     * If they take longer, returns and the call is still applied later in order.
+     *
      * @param userId Identifier you want to assign to the customer.
      * This value can be an internal ID that your system uses or an email address.
      * [Learn more](https://customer.io/docs/api/#operation/identify)
@@ -74,6 +88,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * Note: You can only identify 1 profile at a time in your SDK. If you call this function multiple times,
      * the previously identified profile will be removed. Only the latest identified customer is persisted.
      *
+     * Waits until earlier calls and this one are applied, for at most one second.
+     * If they take longer, returns and the call is still applied later in order.
+     *
      * @param userId Identifier you want to assign to the customer.
      * This value can be an internal ID that your system uses or an email address.
      * [Learn more](https://customer.io/docs/api/#operation/identify)
@@ -82,7 +99,7 @@ abstract class DataPipelineInstance : CustomerIOInstance {
     @JvmOverloads
     fun identify(userId: String, traits: Map<String, Any?> = emptyMap()) {
         // Method needed for Java interop as inline doesn't work with Java
-        identify(userId = userId, traits = traits.sanitizeForJson(), serializationStrategy = JsonAnySerializer.serializersModule.serializer())
+        identify(userId = userId, traits = traits.toSanitizedJsonObject(), serializationStrategy = JsonObject.serializer())
     }
 
     /**
@@ -91,6 +108,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * Note: You can only identify 1 profile at a time in your SDK. If you call this function multiple times,
      * the previously identified profile will be removed. Only the latest identified customer is persisted.
      *
+     * Waits until earlier calls and this one are applied, for at most one second.
+     * If they take longer, returns and the call is still applied later in order.
+     *
      * @param Traits Serializable json object to be added.
      * @param userId Identifier you want to assign to the customer.
      * This value can be an internal ID that your system uses or an email address.
@@ -107,7 +127,7 @@ abstract class DataPipelineInstance : CustomerIOInstance {
         traits: Traits,
         serializationStrategy: SerializationStrategy<Traits>
     ) {
-        synchronized {
+        taskQueue.executeAndWait {
             identifyImpl(userId, traits, serializationStrategy)
         }
     }
@@ -128,6 +148,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * the name of the event might be Video Started,
      * and the properties might include the title of the video, the length of the video, and so on.
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param name Name of the action
      * @param properties custom values providing extra information about the event.
      * @see [Learn more](https://customer.io/docs/cdp/sources/source-spec/track-spec/)
@@ -147,6 +170,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * the name of the event might be Video Started,
      * and the properties might include the title of the video, the length of the video, and so on.
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param name Name of the action
      * @param properties Map of <String, Any> to be added
      * @see [Learn more](https://customer.io/docs/cdp/sources/source-spec/track-spec/)
@@ -154,7 +180,7 @@ abstract class DataPipelineInstance : CustomerIOInstance {
     @JvmOverloads
     fun track(name: String, properties: Map<String, Any?> = emptyMap()) {
         // Method needed for Java interop as inline doesn't work with Java
-        track(name = name, properties = properties.sanitizeForJson(), serializationStrategy = JsonAnySerializer.serializersModule.serializer())
+        track(name = name, properties = properties.toSanitizedJsonObject(), serializationStrategy = JsonObject.serializer())
     }
 
     /**
@@ -164,6 +190,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * the name of the event might be Video Started,
      * and the properties might include the title of the video, the length of the video, and so on.
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param name Name of the action
      * @param properties to describe the action. Needs to be [serializable](https://github.com/Kotlin/kotlinx.serialization/blob/master/docs/serializers.md)
      * @param serializationStrategy strategy to serialize [properties]
@@ -178,7 +207,7 @@ abstract class DataPipelineInstance : CustomerIOInstance {
         properties: T,
         serializationStrategy: SerializationStrategy<T>
     ) {
-        synchronized {
+        taskQueue.execute {
             trackImpl(name, properties, serializationStrategy)
         }
     }
@@ -199,6 +228,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * the name of the event might be Video Started,
      * and the properties might include the title of the video, the length of the video, and so on.
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param name Name of the action
      * @param properties to describe the action. Needs to be [serializable](https://github.com/Kotlin/kotlinx.serialization/blob/master/docs/serializers.md)
      * @see [Learn more](https://customer.io/docs/cdp/sources/source-spec/track-spec/)
@@ -217,6 +249,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
     /**
      * The screen methods represents screen views in your mobile apps
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param title A name for the screen.
      * @param properties Additional details about the screen.
      * @see [Learn more](https://customer.io/docs/cdp/sources/source-spec/screen-spec/)
@@ -232,6 +267,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
     /**
      * The screen methods represents screen views in your mobile apps
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param title A name for the screen.
      * @param properties Additional details about the screen in Map <String, Any> format.
      * @see [Learn more](https://customer.io/docs/cdp/sources/source-spec/screen-spec/)
@@ -239,12 +277,15 @@ abstract class DataPipelineInstance : CustomerIOInstance {
     @JvmOverloads
     fun screen(title: String, properties: Map<String, Any?> = emptyMap()) {
         // Method needed for Java interop as inline doesn't work with Java
-        screen(title = title, properties = properties.sanitizeForJson(), serializationStrategy = JsonAnySerializer.serializersModule.serializer())
+        screen(title = title, properties = properties.toSanitizedJsonObject(), serializationStrategy = JsonObject.serializer())
     }
 
     /**
      * The screen methods represents screen views in your mobile apps
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param title A name for the screen.
      * @param properties Additional details about the screen.
      * @see [Learn more](https://customer.io/docs/cdp/sources/source-spec/screen-spec/)
@@ -258,7 +299,7 @@ abstract class DataPipelineInstance : CustomerIOInstance {
         properties: T,
         serializationStrategy: SerializationStrategy<T>
     ) {
-        synchronized {
+        taskQueue.execute {
             screenImpl(title, properties, serializationStrategy)
         }
     }
@@ -275,6 +316,9 @@ abstract class DataPipelineInstance : CustomerIOInstance {
     /**
      * The screen methods represents screen views in your mobile apps
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param title A name for the screen.
      * @param properties Additional details about the screen.
      * @see [Learn more](https://customer.io/docs/cdp/sources/source-spec/screen-spec/)
@@ -296,9 +340,12 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * Note: If you simply want to identify a *new* customer, this function call is optional. Simply
      * call `identify()` again to identify the new customer profile over the existing.
      * If no profile has been identified yet, this function will reset anonymous profile.
+     *
+     * Waits until earlier calls and this one are applied, for at most one second.
+     * If they take longer, returns and the call is still applied later in order.
      */
     fun clearIdentify() {
-        synchronized {
+        taskQueue.executeAndWait {
             clearIdentifyImpl()
         }
     }
@@ -312,10 +359,13 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * The track method helps manually record metric events for push notifications and
      * in-app messages.
      *
+     * The event is recorded after this call returns, in the order calls are made,
+     * so it runs off the calling thread. Failures are logged instead of thrown.
+     *
      * @param event [TrackMetric] event to be tracked.
      */
     fun trackMetric(event: TrackMetric) {
-        synchronized {
+        taskQueue.execute {
             trackMetricImpl(event)
         }
     }
@@ -358,9 +408,12 @@ abstract class DataPipelineInstance : CustomerIOInstance {
      * profile. If there is no profile identified yet, this will store the device
      * token and associate it with anonymous profile, and later merge it to
      * identified profile.
+     *
+     * Waits until earlier calls and this one are applied, for at most one second.
+     * If they take longer, returns and the call is still applied later in order.
      */
     fun registerDeviceToken(deviceToken: String) {
-        synchronized {
+        taskQueue.executeAndWait {
             registerDeviceTokenImpl(deviceToken)
         }
     }
@@ -372,9 +425,12 @@ abstract class DataPipelineInstance : CustomerIOInstance {
 
     /**
      * Delete the currently registered device token
+     *
+     * Waits until earlier calls and this one are applied, for at most one second.
+     * If they take longer, returns and the call is still applied later in order.
      */
     fun deleteDeviceToken() {
-        synchronized {
+        taskQueue.executeAndWait {
             deleteDeviceTokenImpl()
         }
     }
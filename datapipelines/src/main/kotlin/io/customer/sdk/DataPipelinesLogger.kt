@@ -3,6 +3,8 @@ package io.customer.sdk
 import io.customer.sdk.core.module.CustomerIOModule
 import io.customer.sdk.core.module.CustomerIOModuleConfig
 import io.customer.sdk.core.util.Logger
+import io.customer.sdk.core.util.debug
+import io.customer.sdk.core.util.info
 import java.lang.IllegalStateException
 
 internal class DataPipelinesLogger(private val logger: Logger) {
@@ -13,10 +15,9 @@ internal class DataPipelinesLogger(private val logger: Logger) {
     }
 
     fun coreSdkInitStart() {
-        logger.debug(
-            tag = INIT_TAG,
-            message = "Creating new instance of CustomerIO SDK version: ${Version.version}..."
-        )
+        logger.debug(tag = INIT_TAG) {
+            "Creating new instance of CustomerIO SDK version: ${Version.version}..."
+        }
     }
 
     fun coreSdkAlreadyInitialized() {
@@ -35,25 +36,36 @@ internal class DataPipelinesLogger(private val logger: Logger) {
     }
 
     fun moduleInitStart(module: CustomerIOModule<out CustomerIOModuleConfig>) {
-        logger.debug(
-            tag = INIT_TAG,
-            message = "Initializing SDK module ${module.moduleName} with config: ${module.moduleConfig}..."
-        )
+        logger.debug(tag = INIT_TAG) {
+            "Initializing SDK module ${module.moduleName} with config: ${module.moduleConfig}..."
+        }
     }
 
     fun moduleInitSuccess(module: CustomerIOModule<out CustomerIOModuleConfig>) {
-        logger.info(
+        logger.info(tag = INIT_TAG) {
+            "CustomerIO ${module.moduleName} module is initialized and ready to use"
+        }
+    }
+
+    fun moduleInitTime(module: CustomerIOModule<out CustomerIOModuleConfig>, durationMillis: Long) {
+        logger.debug(tag = INIT_TAG) {
+            "CustomerIO ${module.moduleName} module initialized in $durationMillis ms"
+        }
+    }
+
+    fun moduleInitFailure(throwable: Throwable) {
+        logger.error(
             tag = INIT_TAG,
-            message = "CustomerIO ${module.moduleName} module is initialized and ready to use"
+            message = "Failed to initialize CustomerIO SDK modules: ${throwable.message}",
+            throwable = throwable
         )
     }
 
     //region Push
     fun logStoringDevicePushToken(token: String, userId: String?) {
-        logger.debug(
-            tag = PUSH_TAG,
-            message = "Storing device token: $token for user profile: $userId"
-        )
+        logger.debug(tag = PUSH_TAG) {
+            "Storing device token: $token for user profile: $userId"
+        }
     }
 
     fun logStoringBlankPushToken() {
@@ -64,10 +76,9 @@ internal class DataPipelinesLogger(private val logger: Logger) {
     }
 
     fun logRegisteringPushToken(token: String, userId: String?) {
-        logger.debug(
-            tag = PUSH_TAG,
-            message = "Registering device token: $token for user profile: $userId"
-        )
+        logger.debug(tag = PUSH_TAG) {
+            "Registering device token: $token for user profile: $userId"
+        }
     }
 
     fun logPushTokenRefreshed() {
@@ -78,10 +89,9 @@ internal class DataPipelinesLogger(private val logger: Logger) {
     }
 
     fun automaticTokenRegistrationForNewProfile(token: String, userId: String) {
-        logger.debug(
-            tag = PUSH_TAG,
-            message = "Automatically registering device token: $token to newly identified profile: $userId"
-        )
+        logger.debug(tag = PUSH_TAG) {
+            "Automatically registering device token: $token to newly identified profile: $userId"
+        }
     }
 
     fun logDeletingTokenDueToNewProfileIdentification() {
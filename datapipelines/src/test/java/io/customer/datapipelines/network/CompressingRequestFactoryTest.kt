@@ -0,0 +1,100 @@
+package io.customer.datapipelines.network
+
+import io.customer.commontest.config.TestConfig
+import io.customer.commontest.core.JUnit5Test
+import io.customer.sdk.core.network.RequestBodyCompressor
+import java.net.HttpURLConnection
+import java.util.zip.GZIPInputStream
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeInstanceOf
+import org.amshove.kluent.shouldNotBeInstanceOf
+import org.junit.jupiter.api.Test
+
+class CompressingRequestFactoryTest : JUnit5Test() {
+
+    private lateinit var server: MockWebServer
+    private val compressor = RequestBodyCompressor()
+
+    // Batch payload with repeated context blocks similar to real uploads
+    private val batchBody = buildString {
+        append("{\"batch\":[")
+        repeat(50) { index ->
+            if (index > 0) append(',')
+            append("{\"type\":\"track\",\"event\":\"Event $index\",\"context\":{\"app\":{\"name\":\"test\",\"version\":\"1.0.0\"},\"device\":{\"model\":\"Pixel\",\"manufacturer\":\"Google\"}}}")
+        }
+        append("]}")
+    }
+
+    override fun setup(testConfig: TestConfig) {
+        super.setup(testConfig)
+
+        server = MockWebServer()
+        server.start()
+    }
+
+    override fun teardown() {
+        server.shutdown()
+
+        super.teardown()
+    }
+
+    private fun openUploadConnection(): HttpURLConnection {
+        return (server.url("/b").toUrl().openConnection() as HttpURLConnection).apply {
+            requestMethod = "POST"
+            doOutput = true
+            setChunkedStreamingMode(0)
+        }
+    }
+
+    private fun upload(body: String): Int {
+        val connection = CompressingUploadConnection(openUploadConnection(), compressor)
+        connection.outputStream.use { it.write(body.toByteArray()) }
+        return connection.responseCode.also { connection.inputStream.close() }
+    }
+
+    @Test
+    fun upload_givenCompressionDisabled_expectUncompressedConnection() {
+        compressor.configure(enabled = false)
+
+        CompressingRequestFactory { compressor }.upload("localhost") shouldNotBeInstanceOf CompressingUploadConnection::class
+    }
+
+    @Test
+    fun upload_givenCompressionEnabled_expectCompressingConnection() {
+        compressor.configure(enabled = true)
+
+        CompressingRequestFactory { compressor }.upload("localhost") shouldBeInstanceOf CompressingUploadConnection::class
+    }
+
+    @Test
+    fun upload_givenBodyAboveThreshold_expectServerReceivesGzipBody() {
+        compressor.configure(enabled = true, minBodySizeBytes = 1024)
+        server.enqueue(MockResponse().setResponseCode(200))
+
+        upload(batchBody) shouldBeEqualTo 200
+
+        val recorded = server.takeRequest()
+        recorded.getHeader("Content-Encoding") shouldBeEqualTo "gzip"
+        val receivedBody = GZIPInputStream(recorded.body.inputStream()).bufferedReader().use { it.readText() }
+        receivedBody shouldBeEqualTo batchBody
+        compressor.bytesBeforeCompression shouldBeEqualTo batchBody.toByteArray().size.toLong()
+        compressor.bytesAfterCompression shouldBeEqualTo recorded.bodySize
+        (compressor.bytesAfterCompression * 5 < compressor.bytesBeforeCompression) shouldBeEqualTo true
+    }
+
+    @Test
+    fun upload_givenBodyBelowThreshold_expectServerReceivesPlainBody() {
+        compressor.configure(enabled = true, minBodySizeBytes = 1024)
+        server.enqueue(MockResponse().setResponseCode(200))
+        val smallBody = "{\"batch\":[]}"
+
+        upload(smallBody) shouldBeEqualTo 200
+
+        val recorded = server.takeRequest()
+        recorded.getHeader("Content-Encoding") shouldBeEqualTo null
+        recorded.body.readUtf8() shouldBeEqualTo smallBody
+        compressor.bytesBeforeCompression shouldBeEqualTo 0L
+    }
+}
@@ -0,0 +1,155 @@
+package io.customer.datapipelines.plugins
+
+import com.segment.analytics.kotlin.core.TrackEvent
+import io.customer.commontest.config.TestConfig
+import io.customer.datapipelines.config.DeduplicationConfig
+import io.customer.datapipelines.testutils.core.JUnitTest
+import io.customer.datapipelines.testutils.core.testConfiguration
+import io.customer.datapipelines.testutils.utils.OutputReaderPlugin
+import io.customer.datapipelines.testutils.utils.trackEvents
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import java.util.concurrent.TimeUnit
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.put
+import kotlinx.serialization.json.putJsonArray
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeNull
+import org.amshove.kluent.shouldNotBeEqualTo
+import org.junit.jupiter.api.Test
+
+class DeduplicationPluginTest : JUnitTest() {
+    private lateinit var outputReaderPlugin: OutputReaderPlugin
+    private val metricsRegistry = MetricsRegistry()
+
+    // Virtual clock so windows are driven by tests instead of real time
+    private var nowNanos = 0L
+
+    override fun setup(testConfig: TestConfig) {
+        // Keep setup empty to avoid calling super.setup() as it will initialize the SDK
+        // and we want to test the SDK with different configurations in each test
+    }
+
+    private fun setupWithConfig(deduplicationConfig: DeduplicationConfig) {
+        super.setup(
+            testConfiguration {
+                analytics {
+                    add(
+                        DeduplicationPlugin(
+                            config = deduplicationConfig,
+                            metricsRegistry = metricsRegistry,
+                            nanoClock = { nowNanos }
+                        )
+                    )
+                }
+            }
+        )
+
+        outputReaderPlugin = OutputReaderPlugin()
+        analytics.add(outputReaderPlugin)
+    }
+
+    private fun advanceTimeBy(millis: Long) {
+        nowNanos += TimeUnit.MILLISECONDS.toNanos(millis)
+    }
+
+    private fun trackedEventNames(name: String) = outputReaderPlugin.trackEvents.count { it.event == name }
+
+    private val suppressedCount get() = metricsRegistry.snapshot().counters[MetricNames.PIPELINE_DEDUP_SUPPRESSED]
+
+    private fun trackEvent(name: String, properties: JsonObject, userId: String = "user") = TrackEvent(properties = properties, event = name).apply {
+        this.userId = userId
+        anonymousId = "anonymous"
+    }
+
+    @Test
+    fun track_givenIdenticalEventsWithinWindow_expectDuplicatesSuppressed() {
+        setupWithConfig(DeduplicationConfig(windowMillis = 1_000))
+
+        repeat(3) { sdkInstance.track("purchase", mapOf("order_id" to "A-1", "total" to 10)) }
+
+        trackedEventNames("purchase") shouldBeEqualTo 1
+        suppressedCount shouldBeEqualTo 2L
+    }
+
+    @Test
+    fun track_givenDifferentProperties_expectAllEventsSent() {
+        setupWithConfig(DeduplicationConfig(windowMillis = 1_000))
+
+        sdkInstance.track("purchase", mapOf("order_id" to "A-1"))
+        sdkInstance.track("purchase", mapOf("order_id" to "A-2"))
+        sdkInstance.track("refund", mapOf("order_id" to "A-1"))
+
+        trackedEventNames("purchase") shouldBeEqualTo 2
+        trackedEventNames("refund") shouldBeEqualTo 1
+        suppressedCount.shouldBeNull()
+    }
+
+    @Test
+    fun track_givenWindowPassed_expectEventSentAgain() {
+        setupWithConfig(DeduplicationConfig(windowMillis = 1_000))
+
+        sdkInstance.track("purchase")
+        advanceTimeBy(999)
+        sdkInstance.track("purchase")
+        advanceTimeBy(1)
+        sdkInstance.track("purchase")
+
+        trackedEventNames("purchase") shouldBeEqualTo 2
+    }
+
+    @Test
+    fun track_givenDuplicatesRepeatedContinuously_expectWindowNotExtended() {
+        setupWithConfig(DeduplicationConfig(windowMillis = 1_000))
+
+        repeat(5) {
+            sdkInstance.track("retry")
+            advanceTimeBy(500)
+        }
+
+        // Sent at 0ms, 1000ms and 2000ms
+        trackedEventNames("retry") shouldBeEqualTo 3
+    }
+
+    @Test
+    fun track_givenMoreDistinctEventsThanTracked_expectLeastRecentlySeenForgotten() {
+        setupWithConfig(DeduplicationConfig(windowMillis = 1_000, maxTrackedEvents = 2))
+
+        sdkInstance.track("first")
+        sdkInstance.track("second")
+        sdkInstance.track("third")
+        sdkInstance.track("first")
+        sdkInstance.track("third")
+
+        trackedEventNames("first") shouldBeEqualTo 2
+        trackedEventNames("third") shouldBeEqualTo 1
+    }
+
+    @Test
+    fun contentHash_givenPropertiesInDifferentOrder_expectSameHash() {
+        val first = buildJsonObject {
+            put("total", 10)
+            put("currency", "USD")
+            putJsonArray("items") { add(buildJsonObject { put("sku", "A"); put("quantity", 1) }) }
+        }
+        val second = buildJsonObject {
+            putJsonArray("items") { add(buildJsonObject { put("quantity", 1.0); put("sku", "A") }) }
+            put("currency", "USD")
+            put("total", 10.0)
+        }
+
+        DeduplicationPlugin.contentHash(trackEvent("purchase", first)) shouldBeEqualTo DeduplicationPlugin.contentHash(trackEvent("purchase", second))
+    }
+
+    @Test
+    fun contentHash_givenDifferentUserOrValueType_expectDifferentHash() {
+        val properties = buildJsonObject { put("value", 1) }
+        val baseHash = DeduplicationPlugin.contentHash(trackEvent("purchase", properties))
+
+        DeduplicationPlugin.contentHash(trackEvent("purchase", properties, userId = "other")) shouldNotBeEqualTo baseHash
+        DeduplicationPlugin.contentHash(trackEvent("purchase", buildJsonObject { put("value", "1") })) shouldNotBeEqualTo baseHash
+        DeduplicationPlugin.contentHash(trackEvent("purchase", buildJsonObject { put("value", true) })) shouldNotBeEqualTo
+            DeduplicationPlugin.contentHash(trackEvent("purchase", buildJsonObject { put("value", "true") }))
+    }
+}
@@ -0,0 +1,248 @@
+package io.customer.datapipelines.plugins
+
+import androidx.lifecycle.DefaultLifecycleObserver
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.LifecycleOwner
+import com.segment.analytics.kotlin.core.Analytics
+import com.segment.analytics.kotlin.core.BaseEvent
+import com.segment.analytics.kotlin.core.TrackEvent
+import com.segment.analytics.kotlin.core.emptyJsonObject
+import com.segment.analytics.kotlin.core.platform.EnrichmentClosure
+import com.segment.analytics.kotlin.core.platform.EventPlugin
+import com.segment.analytics.kotlin.core.platform.Plugin
+import io.customer.commontest.config.TestConfig
+import io.customer.datapipelines.config.EventAggregationRule
+import io.customer.datapipelines.testutils.core.JUnitTest
+import io.customer.datapipelines.testutils.core.testConfiguration
+import io.customer.datapipelines.testutils.utils.OutputReaderPlugin
+import io.customer.datapipelines.testutils.utils.trackEvents
+import io.customer.datapipelines.util.UiThreadRunner
+import io.customer.sdk.core.util.Logger
+import io.mockk.every
+import io.mockk.just
+import io.mockk.mockk
+import io.mockk.runs
+import io.mockk.slot
+import io.mockk.verify
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.put
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeTrue
+import org.junit.jupiter.api.Test
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class EventAggregationPluginTest : JUnitTest() {
+    private lateinit var outputReaderPlugin: OutputReaderPlugin
+
+    private val mockProcessLifecycleOwner = mockk<LifecycleOwner>()
+    private val mockUiThreadRunner = mockk<UiThreadRunner>()
+    private val lifecycleObserverCaptor = slot<DefaultLifecycleObserver>()
+
+    private val testScope get() = delegate.testScope
+
+    override fun setup(testConfig: TestConfig) {
+        // Keep setup empty to avoid calling super.setup() as it will initialize the SDK
+        // and we want to test the SDK with different configurations in each test
+    }
+
+    private fun createPlugin(vararg rules: EventAggregationRule): EventAggregationPlugin {
+        val uiThreadRunnerCaptor = slot<() -> Unit>()
+        every { mockUiThreadRunner.run(capture(uiThreadRunnerCaptor)) } answers { uiThreadRunnerCaptor.captured.invoke() }
+        val mockLifecycle = mockk<Lifecycle>()
+        every { mockProcessLifecycleOwner.lifecycle } returns mockLifecycle
+        every { mockLifecycle.addObserver(capture(lifecycleObserverCaptor)) } just runs
+
+        return EventAggregationPlugin(
+            rules = rules.toList(),
+            processLifecycleOwner = mockProcessLifecycleOwner,
+            uiThreadRunner = mockUiThreadRunner,
+            logger = mockk<Logger>(relaxed = true)
+        )
+    }
+
+    private fun setupWithRules(vararg rules: EventAggregationRule) {
+        super.setup(
+            testConfiguration {
+                analytics {
+                    add(createPlugin(*rules))
+                }
+            }
+        )
+
+        outputReaderPlugin = OutputReaderPlugin()
+        analytics.add(outputReaderPlugin)
+    }
+
+    private fun advanceTimeBySeconds(seconds: Int) {
+        testScope.advanceTimeBy(TimeUnit.SECONDS.toMillis(seconds.toLong()) + 1)
+        testScope.runCurrent()
+    }
+
+    private fun trackedEvents(name: String) = outputReaderPlugin.trackEvents.filter { it.event == name }
+
+    private val JsonObject.aggregation get() = getValue(EventAggregationPlugin.AGGREGATION_KEY).jsonObject
+
+    @Test
+    fun track_givenEventWithoutRule_expectSentImmediately() {
+        setupWithRules(EventAggregationRule(eventName = "item_impression", windowSeconds = 30))
+
+        repeat(3) { sdkInstance.track("button_tapped") }
+
+        trackedEvents("button_tapped").size shouldBeEqualTo 3
+    }
+
+    @Test
+    fun track_givenEventsWithinWindow_expectSingleSummarySentWhenWindowEnds() {
+        setupWithRules(EventAggregationRule(eventName = "scroll_depth", windowSeconds = 30))
+
+        listOf(25, 75, 50).forEach { depth ->
+            sdkInstance.track("scroll_depth", mapOf("depth" to depth, "screen" to "Home"))
+        }
+        trackedEvents("scroll_depth").size shouldBeEqualTo 0
+
+        advanceTimeBySeconds(30)
+
+        val summaries = trackedEvents("scroll_depth")
+        summaries.size shouldBeEqualTo 1
+        val properties = summaries.single().properties
+        properties["depth"] shouldBeEqualTo JsonPrimitive(50)
+        properties["screen"] shouldBeEqualTo JsonPrimitive("Home")
+        properties.aggregation["count"] shouldBeEqualTo JsonPrimitive(3)
+        properties.aggregation["min"] shouldBeEqualTo buildJsonObject { put("depth", 25) }
+        properties.aggregation["max"] shouldBeEqualTo buildJsonObject { put("depth", 75) }
+    }
+
+    @Test
+    fun track_givenEventsAfterWindowEnded_expectNewWindowStarted() {
+        setupWithRules(EventAggregationRule(eventName = "item_impression", windowSeconds = 10))
+
+        repeat(2) { sdkInstance.track("item_impression") }
+        advanceTimeBySeconds(10)
+        repeat(4) { sdkInstance.track("item_impression") }
+        advanceTimeBySeconds(10)
+
+        trackedEvents("item_impression").map { it.properties.aggregation["count"] } shouldBeEqualTo listOf(
+            JsonPrimitive(2),
+            JsonPrimitive(4)
+        )
+    }
+
+    @Test
+    fun track_givenGroupByProperties_expectSummaryPerGroup() {
+        setupWithRules(EventAggregationRule(eventName = "item_impression", windowSeconds = 10, groupByProperties = listOf("item_id")))
+
+        repeat(3) { sdkInstance.track("item_impression", mapOf("item_id" to "A")) }
+        repeat(2) { sdkInstance.track("item_impression", mapOf("item_id" to "B")) }
+        advanceTimeBySeconds(10)
+
+        val countsByItem = trackedEvents("item_impression").associate { event ->
+            event.properties["item_id"] to event.properties.aggregation["count"]
+        }
+        countsByItem shouldBeEqualTo mapOf(
+            JsonPrimitive("A") to JsonPrimitive(3),
+            JsonPrimitive("B") to JsonPrimitive(2)
+        )
+    }
+
+    @Test
+    fun flush_givenPendingAggregates_expectSummariesSentBeforeWindowEnds() {
+        setupWithRules(EventAggregationRule(eventName = "item_impression", windowSeconds = 60))
+
+        repeat(5) { sdkInstance.track("item_impression") }
+        analytics.flush()
+
+        trackedEvents("item_impression").size shouldBeEqualTo 1
+        trackedEvents("item_impression").single().properties.aggregation["count"] shouldBeEqualTo JsonPrimitive(5)
+        trackedEvents("item_impression").single().properties.containsKey(EventAggregationPlugin.SUMMARY_ID_KEY) shouldBeEqualTo false
+
+        // Window end must not send the same aggregate again
+        advanceTimeBySeconds(60)
+        trackedEvents("item_impression").size shouldBeEqualTo 1
+    }
+
+    @Test
+    fun flush_givenSummariesProcessedOnAnotherThread_expectFlushReturnsWithoutWaitingAndFlushesAgainOnceDelivered() {
+        setupWithRules()
+        val processingExecutor = Executors.newSingleThreadExecutor()
+        val deliveredEvents = Collections.synchronizedList(mutableListOf<TrackEvent>())
+        val deliveryTrackerCaptor = slot<Plugin>()
+        val mockAnalytics = mockk<Analytics>(relaxed = true)
+        every { mockAnalytics.analyticsScope } returns testScope
+        every { mockAnalytics.analyticsDispatcher } returns testDispatcher
+        every { mockAnalytics.add(capture(deliveryTrackerCaptor)) } returns mockAnalytics
+        val release = CountDownLatch(1)
+        // Process events later on another thread, same as analytics dispatcher would
+        every { mockAnalytics.process(any(), any()) } answers {
+            val event = firstArg<BaseEvent>()
+            val enrichment = secondArg<EnrichmentClosure?>()
+            processingExecutor.execute {
+                release.await(5, TimeUnit.SECONDS)
+                event.messageId = "message-${deliveredEvents.size}"
+                val processed = enrichment?.invoke(event) as TrackEvent
+                deliveredEvents.add(processed)
+                (deliveryTrackerCaptor.captured as EventPlugin).execute(processed)
+            }
+        }
+        val plugin = createPlugin(EventAggregationRule(eventName = "item_impression", windowSeconds = 60))
+        plugin.setup(mockAnalytics)
+
+        try {
+            repeat(3) {
+                plugin.execute(
+                    TrackEvent(properties = emptyJsonObject, event = "item_impression").apply {
+                        userId = "user"
+                        anonymousId = "anonymous"
+                        timestamp = "2024-01-01T00:00:00.000Z"
+                    }
+                )
+            }
+            plugin.flush()
+
+            // Returned while summary is still being processed
+            deliveredEvents.size shouldBeEqualTo 0
+            verify(exactly = 0) { mockAnalytics.flush() }
+
+            release.countDown()
+            processingExecutor.submit { }.get(5, TimeUnit.SECONDS)
+
+            val summary = deliveredEvents.single()
+            summary.properties.aggregation["count"] shouldBeEqualTo JsonPrimitive(3)
+            summary.properties.containsKey(EventAggregationPlugin.SUMMARY_ID_KEY) shouldBeEqualTo false
+            verify(exactly = 1) { mockAnalytics.flush() }
+        } finally {
+            processingExecutor.shutdownNow()
+        }
+    }
+
+    @Test
+    fun track_givenAppEventWithAggregationProperty_expectEventAggregated() {
+        setupWithRules(EventAggregationRule(eventName = "item_impression", windowSeconds = 10))
+
+        repeat(2) { sdkInstance.track("item_impression", mapOf(EventAggregationPlugin.AGGREGATION_KEY to "manual")) }
+        trackedEvents("item_impression").size shouldBeEqualTo 0
+
+        advanceTimeBySeconds(10)
+        trackedEvents("item_impression").single().properties.aggregation["count"] shouldBeEqualTo JsonPrimitive(2)
+    }
+
+    @Test
+    fun onStop_givenPendingAggregates_expectSummariesSent() {
+        setupWithRules(EventAggregationRule(eventName = "item_impression", windowSeconds = 60))
+
+        repeat(2) { sdkInstance.track("item_impression") }
+        lifecycleObserverCaptor.isCaptured.shouldBeTrue()
+        lifecycleObserverCaptor.captured.onStop(mockk())
+
+        trackedEvents("item_impression").single().properties.aggregation["count"] shouldBeEqualTo JsonPrimitive(2)
+    }
+}
@@ -0,0 +1,126 @@
+package io.customer.datapipelines.plugins
+
+import io.customer.datapipelines.testutils.core.JUnitTest
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.core.pipeline.IdentifyHook
+import io.customer.sdk.core.pipeline.IdentifyHookRegistry
+import io.customer.sdk.core.util.Logger
+import io.mockk.mockk
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeLessThan
+import org.amshove.kluent.shouldBeTrue
+import org.amshove.kluent.shouldNotBeNull
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+
+class IdentifyHookExecutorTest : JUnitTest() {
+    private val executorService = Executors.newCachedThreadPool()
+    private val registry = IdentifyHookRegistry()
+    private val metricsRegistry = MetricsRegistry()
+    private val hookExecutor = IdentifyHookExecutor(
+        registry = registry,
+        logger = mockk<Logger>(relaxed = true),
+        metricsRegistry = metricsRegistry,
+        hookTimeoutMillis = HOOK_TIMEOUT_MILLIS,
+        executor = executorService
+    )
+
+    @AfterEach
+    fun shutdownExecutor() {
+        executorService.shutdownNow()
+    }
+
+    private class TestHook(private val getContext: () -> Map<String, Any>) : IdentifyHook {
+        override fun getIdentifyContext(): Map<String, Any> = getContext()
+    }
+
+    @Test
+    fun collectContext_givenNoHooks_expectEmptyResult() {
+        hookExecutor.collectContext() shouldBeEqualTo emptyList()
+    }
+
+    @Test
+    fun collectContext_givenHooks_expectContextInRegistrationOrder() {
+        registry.register(TestHook { Thread.sleep(20); mapOf("first" to 1) })
+        registry.register(TestHook { mapOf("second" to 2) })
+
+        hookExecutor.collectContext() shouldBeEqualTo listOf(mapOf("first" to 1), mapOf("second" to 2))
+    }
+
+    @Test
+    fun collectContext_givenMultipleHooks_expectHooksRunConcurrently() {
+        val bothStarted = CountDownLatch(2)
+        val awaitOther = {
+            bothStarted.countDown()
+            // Only completes if the other hook is running at the same time
+            bothStarted.await(HOOK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).shouldBeTrue()
+            mapOf<String, Any>("hook" to true)
+        }
+        registry.register(TestHook(awaitOther))
+        registry.register(TestHook(awaitOther))
+
+        hookExecutor.collectContext().size shouldBeEqualTo 2
+    }
+
+    @Test
+    fun collectContext_givenSlowHook_expectSkippedAfterTimeoutAndOtherHooksKept() {
+        registry.register(TestHook { Thread.sleep(10_000); mapOf("slow" to true) })
+        registry.register(TestHook { mapOf("fast" to true) })
+
+        val startNanos = System.nanoTime()
+        val result = hookExecutor.collectContext()
+        val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+
+        result shouldBeEqualTo listOf(mapOf("fast" to true))
+        elapsedMillis shouldBeLessThan 5_000L
+        metricsRegistry.snapshot().counters[MetricNames.IDENTIFY_HOOK_TIMEOUTS] shouldBeEqualTo 1L
+    }
+
+    @Test
+    fun collectContext_givenHookWaitingForThread_expectTimeoutStartsWhenHookStarts() {
+        val singleThreadExecutor = Executors.newSingleThreadExecutor()
+        val queuedHookExecutor = IdentifyHookExecutor(
+            registry = registry,
+            logger = mockk<Logger>(relaxed = true),
+            metricsRegistry = metricsRegistry,
+            hookTimeoutMillis = HOOK_TIMEOUT_MILLIS,
+            executor = singleThreadExecutor
+        )
+        // Together hooks take longer than timeout, but each finishes within it
+        registry.register(TestHook { Thread.sleep(HOOK_TIMEOUT_MILLIS * 3 / 5); mapOf("first" to 1) })
+        registry.register(TestHook { Thread.sleep(HOOK_TIMEOUT_MILLIS * 3 / 5); mapOf("second" to 2) })
+
+        try {
+            queuedHookExecutor.collectContext() shouldBeEqualTo listOf(mapOf("first" to 1), mapOf("second" to 2))
+            metricsRegistry.snapshot().counters[MetricNames.IDENTIFY_HOOK_TIMEOUTS] shouldBeEqualTo null
+        } finally {
+            singleThreadExecutor.shutdownNow()
+        }
+    }
+
+    @Test
+    fun collectContext_givenFailingHook_expectSkippedAndOtherHooksKept() {
+        registry.register(TestHook { throw IllegalStateException("failed") })
+        registry.register(TestHook { mapOf("working" to true) })
+
+        hookExecutor.collectContext() shouldBeEqualTo listOf(mapOf("working" to true))
+    }
+
+    @Test
+    fun collectContext_givenHook_expectLatencyRecorded() {
+        registry.register(TestHook { mapOf("key" to "value") })
+
+        hookExecutor.collectContext()
+
+        val latency = metricsRegistry.snapshot().histograms[MetricNames.IDENTIFY_HOOK_LATENCY_PREFIX + "TestHook"]
+        latency.shouldNotBeNull().count shouldBeEqualTo 1L
+    }
+
+    companion object {
+        private const val HOOK_TIMEOUT_MILLIS = 1_000L
+    }
+}
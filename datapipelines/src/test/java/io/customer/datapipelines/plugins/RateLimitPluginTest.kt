@@ -0,0 +1,191 @@
+package io.customer.datapipelines.plugins
+
+import io.customer.commontest.config.TestConfig
+import io.customer.datapipelines.config.EventRateLimit
+import io.customer.datapipelines.config.RateLimitConfig
+import io.customer.datapipelines.testutils.core.JUnitTest
+import io.customer.datapipelines.testutils.core.testConfiguration
+import io.customer.datapipelines.testutils.utils.OutputReaderPlugin
+import io.customer.datapipelines.testutils.utils.screenEvents
+import io.customer.datapipelines.testutils.utils.trackEvents
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.events.Metric
+import io.customer.sdk.events.TrackMetric
+import io.customer.sdk.util.EventNames
+import java.util.concurrent.TimeUnit
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeNull
+import org.junit.jupiter.api.Test
+
+class RateLimitPluginTest : JUnitTest() {
+    private lateinit var outputReaderPlugin: OutputReaderPlugin
+    private val metricsRegistry = MetricsRegistry()
+
+    // Virtual clock so bucket refill is driven by tests instead of real time
+    private var nowNanos = 0L
+
+    override fun setup(testConfig: TestConfig) {
+        // Keep setup empty to avoid calling super.setup() as it will initialize the SDK
+        // and we want to test the SDK with different configurations in each test
+    }
+
+    private fun setupWithConfig(rateLimitConfig: RateLimitConfig) {
+        super.setup(
+            testConfiguration {
+                analytics {
+                    add(
+                        RateLimitPlugin(
+                            config = rateLimitConfig,
+                            metricsRegistry = metricsRegistry,
+                            nanoClock = { nowNanos }
+                        )
+                    )
+                }
+            }
+        )
+
+        outputReaderPlugin = OutputReaderPlugin()
+        analytics.add(outputReaderPlugin)
+    }
+
+    private fun advanceTimeBy(millis: Long) {
+        nowNanos += TimeUnit.MILLISECONDS.toNanos(millis)
+    }
+
+    private fun trackedEventNames(name: String) = outputReaderPlugin.trackEvents.count { it.event == name }
+
+    private val droppedCount get() = metricsRegistry.snapshot().counters[MetricNames.PIPELINE_RATE_LIMIT_DROPPED]
+    private val sampledCount get() = metricsRegistry.snapshot().counters[MetricNames.PIPELINE_RATE_LIMIT_SAMPLED]
+
+    @Test
+    fun track_givenBurstWithinLimit_expectAllEventsSent() {
+        setupWithConfig(RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 5, eventsPerSecond = 1.0)))
+
+        repeat(5) { sdkInstance.track("button_tapped") }
+
+        trackedEventNames("button_tapped") shouldBeEqualTo 5
+        droppedCount.shouldBeNull()
+    }
+
+    @Test
+    fun track_givenBurstOverLimit_expectEventsOverLimitDropped() {
+        setupWithConfig(RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 3, eventsPerSecond = 1.0)))
+
+        repeat(10) { sdkInstance.track("button_tapped") }
+
+        trackedEventNames("button_tapped") shouldBeEqualTo 3
+        droppedCount shouldBeEqualTo 7L
+    }
+
+    @Test
+    fun track_givenTimePassed_expectBucketRefilledAtConfiguredRate() {
+        setupWithConfig(RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 2, eventsPerSecond = 2.0)))
+        repeat(2) { sdkInstance.track("scrolled") }
+        sdkInstance.track("scrolled")
+        trackedEventNames("scrolled") shouldBeEqualTo 2
+
+        // Half a second refills exactly one token at 2 events per second
+        advanceTimeBy(500)
+        repeat(2) { sdkInstance.track("scrolled") }
+        trackedEventNames("scrolled") shouldBeEqualTo 3
+
+        // Refill never exceeds burst size
+        advanceTimeBy(60_000)
+        repeat(5) { sdkInstance.track("scrolled") }
+        trackedEventNames("scrolled") shouldBeEqualTo 5
+        droppedCount shouldBeEqualTo 5L
+    }
+
+    @Test
+    fun track_givenDifferentEventNames_expectSeparateBuckets() {
+        setupWithConfig(RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 1, eventsPerSecond = 1.0)))
+
+        repeat(3) { sdkInstance.track("first") }
+        repeat(3) { sdkInstance.track("second") }
+
+        trackedEventNames("first") shouldBeEqualTo 1
+        trackedEventNames("second") shouldBeEqualTo 1
+    }
+
+    @Test
+    fun track_givenMoreEventNamesThanMaxBuckets_expectLeastRecentlySeenBucketForgotten() {
+        setupWithConfig(RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 1, eventsPerSecond = 1.0)))
+        repeat(2) { sdkInstance.track("noisy") }
+
+        // Fill remaining buckets, then touch noisy bucket so it is no longer least recently seen
+        repeat(RateLimitPlugin.MAX_BUCKETS - 1) { sdkInstance.track("event-$it") }
+        sdkInstance.track("noisy")
+        sdkInstance.track("event-new")
+        sdkInstance.track("noisy")
+        sdkInstance.track("event-0")
+
+        trackedEventNames("noisy") shouldBeEqualTo 1
+        // Bucket of event-0 was evicted, so it starts full again
+        trackedEventNames("event-0") shouldBeEqualTo 2
+    }
+
+    @Test
+    fun track_givenEventSpecificLimit_expectOverridesDefaultLimit() {
+        setupWithConfig(
+            RateLimitConfig(
+                defaultLimit = EventRateLimit(burstSize = 1, eventsPerSecond = 1.0),
+                eventLimits = mapOf("item_viewed" to EventRateLimit(burstSize = 4, eventsPerSecond = 1.0))
+            )
+        )
+
+        repeat(6) { sdkInstance.track("item_viewed") }
+        repeat(6) { sdkInstance.track("other") }
+
+        trackedEventNames("item_viewed") shouldBeEqualTo 4
+        trackedEventNames("other") shouldBeEqualTo 1
+    }
+
+    @Test
+    fun track_givenSampleRate_expectEveryNthEventOverLimitSent() {
+        setupWithConfig(RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 1, eventsPerSecond = 1.0, sampleRate = 3)))
+
+        // 1 allowed by burst, then 9 over limit of which every third is sampled
+        repeat(10) { sdkInstance.track("tick") }
+
+        trackedEventNames("tick") shouldBeEqualTo 4
+        sampledCount shouldBeEqualTo 3L
+        droppedCount shouldBeEqualTo 6L
+    }
+
+    @Test
+    fun track_givenSdkMetricEvents_expectNeverLimited() {
+        setupWithConfig(RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 1, eventsPerSecond = 1.0)))
+
+        repeat(5) { index ->
+            sdkInstance.trackMetric(TrackMetric.Push(metric = Metric.Delivered, deliveryId = "delivery-$index", deviceToken = "token"))
+        }
+
+        trackedEventNames(EventNames.METRIC_DELIVERY) shouldBeEqualTo 5
+    }
+
+    @Test
+    fun screen_givenNoScreenLimit_expectScreenEventsNotLimited() {
+        setupWithConfig(RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 1, eventsPerSecond = 1.0)))
+
+        repeat(5) { sdkInstance.screen("Home") }
+
+        outputReaderPlugin.screenEvents.size shouldBeEqualTo 5
+    }
+
+    @Test
+    fun screen_givenScreenLimit_expectLimitedSeparatelyFromTrackEvents() {
+        setupWithConfig(
+            RateLimitConfig(
+                defaultLimit = EventRateLimit(burstSize = 1, eventsPerSecond = 1.0),
+                screenLimit = EventRateLimit(burstSize = 2, eventsPerSecond = 1.0)
+            )
+        )
+
+        repeat(5) { sdkInstance.screen("Home") }
+        repeat(5) { sdkInstance.track("Home") }
+
+        outputReaderPlugin.screenEvents.size shouldBeEqualTo 2
+        trackedEventNames("Home") shouldBeEqualTo 1
+    }
+}
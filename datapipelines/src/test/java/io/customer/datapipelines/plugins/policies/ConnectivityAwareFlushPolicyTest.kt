@@ -0,0 +1,51 @@
+package io.customer.datapipelines.plugins.policies
+
+import com.segment.analytics.kotlin.core.TrackEvent
+import com.segment.analytics.kotlin.core.emptyJsonObject
+import com.segment.analytics.kotlin.core.platform.policies.CountBasedFlushPolicy
+import io.customer.commontest.util.NetworkMonitorStub
+import io.customer.datapipelines.testutils.core.JUnitTest
+import org.amshove.kluent.shouldBeFalse
+import org.amshove.kluent.shouldBeTrue
+import org.junit.jupiter.api.Test
+
+class ConnectivityAwareFlushPolicyTest : JUnitTest() {
+    private val networkMonitor = NetworkMonitorStub()
+    private val policy = ConnectivityAwareFlushPolicy(CountBasedFlushPolicy(flushAt = 2), networkMonitor)
+
+    private fun trackEvent() = TrackEvent(properties = emptyJsonObject, event = "test")
+
+    @Test
+    fun shouldFlush_givenOnlineAndDelegateReady_expectFlush() {
+        repeat(2) { policy.updateState(trackEvent()) }
+
+        policy.shouldFlush().shouldBeTrue()
+    }
+
+    @Test
+    fun shouldFlush_givenOfflineAndDelegateReady_expectNoFlush() {
+        networkMonitor.setConnected(false)
+        repeat(5) { policy.updateState(trackEvent()) }
+
+        policy.shouldFlush().shouldBeFalse()
+    }
+
+    @Test
+    fun shouldFlush_givenBackOnline_expectPendingFlushKept() {
+        networkMonitor.setConnected(false)
+        repeat(2) { policy.updateState(trackEvent()) }
+        policy.shouldFlush().shouldBeFalse()
+
+        networkMonitor.setConnected(true)
+
+        policy.shouldFlush().shouldBeTrue()
+    }
+
+    @Test
+    fun reset_expectDelegateReset() {
+        repeat(2) { policy.updateState(trackEvent()) }
+        policy.reset()
+
+        policy.shouldFlush().shouldBeFalse()
+    }
+}
@@ -0,0 +1,89 @@
+package io.customer.datapipelines.plugins.policies
+
+import com.segment.analytics.kotlin.core.Analytics
+import io.customer.commontest.config.TestConfig
+import io.customer.commontest.util.NetworkMonitorStub
+import io.customer.datapipelines.testutils.core.JUnitTest
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.runCurrent
+import org.amshove.kluent.shouldBeFalse
+import org.junit.jupiter.api.Test
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class FlushOnReconnectPolicyTest : JUnitTest(dispatcher = StandardTestDispatcher()) {
+
+    private val mockAnalytics = mockk<Analytics>(relaxed = true)
+    private val networkMonitor = NetworkMonitorStub()
+    private val policy = FlushOnReconnectPolicy(networkMonitor)
+
+    private val testScope get() = delegate.testScope
+
+    override fun setup(testConfig: TestConfig) {
+        super.setup(testConfig)
+        every { mockAnalytics.analyticsScope } returns testScope
+        every { mockAnalytics.fileIODispatcher } returns testDispatcher
+    }
+
+    @Test
+    fun schedule_givenOnline_expectNoFlush() {
+        policy.schedule(mockAnalytics)
+        testScope.runCurrent()
+
+        verify(exactly = 0) { mockAnalytics.flush() }
+
+        policy.unschedule()
+    }
+
+    @Test
+    fun schedule_givenOfflineThenOnline_expectFlushOnReconnect() {
+        policy.schedule(mockAnalytics)
+        testScope.runCurrent()
+
+        networkMonitor.setConnected(false)
+        testScope.runCurrent()
+        verify(exactly = 0) { mockAnalytics.flush() }
+
+        networkMonitor.setConnected(true)
+        testScope.runCurrent()
+        verify(exactly = 1) { mockAnalytics.flush() }
+
+        policy.unschedule()
+    }
+
+    @Test
+    fun schedule_givenScheduledWhileOffline_expectFlushOnReconnect() {
+        networkMonitor.setConnected(false)
+        policy.schedule(mockAnalytics)
+        testScope.runCurrent()
+
+        networkMonitor.setConnected(true)
+        testScope.runCurrent()
+
+        verify(exactly = 1) { mockAnalytics.flush() }
+
+        policy.unschedule()
+    }
+
+    @Test
+    fun unschedule_givenReconnectAfterwards_expectNoFlush() {
+        policy.schedule(mockAnalytics)
+        testScope.runCurrent()
+        policy.unschedule()
+
+        networkMonitor.setConnected(false)
+        testScope.runCurrent()
+        networkMonitor.setConnected(true)
+        testScope.runCurrent()
+
+        verify(exactly = 0) { mockAnalytics.flush() }
+    }
+
+    @Test
+    fun shouldFlush_expectFalse() {
+        policy.shouldFlush().shouldBeFalse()
+    }
+}
@@ -0,0 +1,44 @@
+package io.customer.datapipelines.plugins.policies
+
+import com.segment.analytics.kotlin.core.TrackEvent
+import com.segment.analytics.kotlin.core.emptyJsonObject
+import io.customer.datapipelines.testutils.core.JUnitTest
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeFalse
+import org.amshove.kluent.shouldBeNull
+import org.junit.jupiter.api.Test
+
+class FlushSizeMetricsPolicyTest : JUnitTest() {
+    private val metricsRegistry = MetricsRegistry()
+    private val policy = FlushSizeMetricsPolicy(metricsRegistry)
+
+    private fun trackEvent() = TrackEvent(properties = emptyJsonObject, event = "test")
+
+    @Test
+    fun shouldFlush_givenEvents_expectNeverTriggersFlush() {
+        repeat(100) { policy.updateState(trackEvent()) }
+
+        policy.shouldFlush().shouldBeFalse()
+    }
+
+    @Test
+    fun reset_givenEventsSinceLastFlush_expectFlushSizeRecorded() {
+        repeat(3) { policy.updateState(trackEvent()) }
+        policy.reset()
+        repeat(5) { policy.updateState(trackEvent()) }
+        policy.reset()
+
+        val flushSizes = metricsRegistry.snapshot().histograms[MetricNames.PIPELINE_FLUSH_SIZE]!!
+        flushSizes.count shouldBeEqualTo 2L
+        flushSizes.sum shouldBeEqualTo 8L
+    }
+
+    @Test
+    fun reset_givenNoEvents_expectNothingRecorded() {
+        policy.reset()
+
+        metricsRegistry.snapshot().histograms[MetricNames.PIPELINE_FLUSH_SIZE].shouldBeNull()
+    }
+}
@@ -53,7 +53,9 @@ class CustomerIOBuilderTest : RobolectricTest() {
     }
 
     private fun mockGenericModule(): CustomerIOGenericModule {
-        return mockk<CustomerIOGenericModule>(relaxUnitFun = true)
+        return mockk<CustomerIOGenericModule>(relaxUnitFun = true).apply {
+            every { dependencies } returns emptySet()
+        }
     }
 
     @Test
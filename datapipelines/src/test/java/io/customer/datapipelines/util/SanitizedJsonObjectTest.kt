@@ -0,0 +1,149 @@
+package io.customer.datapipelines.util
+
+import io.customer.datapipelines.extensions.toSanitizedJsonObject
+import io.customer.datapipelines.testutils.core.JUnitTest
+import io.customer.sdk.core.util.Logger
+import io.mockk.mockk
+import io.mockk.verify
+import java.util.Date
+import kotlinx.serialization.json.JsonArray
+import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.add
+import kotlinx.serialization.json.addJsonArray
+import kotlinx.serialization.json.addJsonObject
+import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.put
+import kotlinx.serialization.json.putJsonArray
+import kotlinx.serialization.json.putJsonObject
+import org.amshove.kluent.shouldBeEqualTo
+import org.junit.jupiter.api.Test
+
+/**
+ * Tests for toSanitizedJsonObject which sanitizes and converts maps to
+ * JsonObject in a single pass by:
+ * 1. Replacing null values with JsonNull
+ * 2. Removing NaN or infinity values from maps and collections
+ */
+class SanitizedJsonObjectTest : JUnitTest() {
+
+    @Test
+    fun convert_givenNestedStructureWithNullsAndInvalidNumbers_expectSanitizedJsonObject() {
+        val input = mapOf(
+            "user" to mapOf(
+                "name" to "John",
+                "age" to null,
+                "score" to Double.NaN
+            ),
+            "metrics" to listOf(
+                mapOf("key" to "views", "value" to 100),
+                listOf(15.0, Float.POSITIVE_INFINITY),
+                mapOf("key" to "conversions", "value" to null)
+            ),
+            "settings" to mapOf(
+                "enabled" to true,
+                "timeout" to Float.NEGATIVE_INFINITY,
+                "fallback" to null,
+                "ratio" to 0.25f,
+                "limit" to 10L
+            )
+        )
+
+        input.toSanitizedJsonObject() shouldBeEqualTo buildJsonObject {
+            putJsonObject("user") {
+                put("name", "John")
+                put("age", JsonNull)
+            }
+            putJsonArray("metrics") {
+                addJsonObject {
+                    put("key", "views")
+                    put("value", 100)
+                }
+                addJsonArray { add(15.0) }
+                addJsonObject {
+                    put("key", "conversions")
+                    put("value", JsonNull)
+                }
+            }
+            putJsonObject("settings") {
+                put("enabled", true)
+                put("fallback", JsonNull)
+                put("ratio", 0.25f)
+                put("limit", 10L)
+            }
+        }
+    }
+
+    @Test
+    fun convert_givenMapWithoutInvalidValues_expectSameStructure() {
+        val input = mapOf("x" to 42, "y" to "hello", "list" to listOf("apple", "banana"))
+
+        input.toSanitizedJsonObject() shouldBeEqualTo buildJsonObject {
+            put("x", 42)
+            put("y", "hello")
+            putJsonArray("list") {
+                add("apple")
+                add("banana")
+            }
+        }
+    }
+
+    @Test
+    fun convert_givenNull_expectJsonNull() {
+        val input = mapOf("key" to null, "list" to listOf("a", null))
+
+        input.toSanitizedJsonObject() shouldBeEqualTo buildJsonObject {
+            put("key", JsonNull)
+            put("list", JsonArray(listOf(JsonPrimitive("a"), JsonNull)))
+        }
+    }
+
+    @Test
+    fun convert_givenInvalidNumbersInSetAndArray_expectRemoved() {
+        val input = mapOf(
+            "set" to setOf(1.0, Double.NaN),
+            "array" to arrayOf(2.0, Double.NEGATIVE_INFINITY)
+        )
+
+        input.toSanitizedJsonObject() shouldBeEqualTo buildJsonObject {
+            put("set", JsonArray(listOf(JsonPrimitive(1.0))))
+            put("array", JsonArray(listOf(JsonPrimitive(2.0))))
+        }
+    }
+
+    @Test
+    fun convert_givenDate_expectIso8601String() {
+        val input = mapOf("purchased_at" to Date(1_700_000_000_123L))
+
+        input.toSanitizedJsonObject() shouldBeEqualTo buildJsonObject {
+            put("purchased_at", "2023-11-14T22:13:20.123Z")
+        }
+    }
+
+    @Test
+    fun convert_givenJsonElementValue_expectKeptAsIs() {
+        val nested = buildJsonObject { put("sku", "A-1") }
+        val input = mapOf("item" to nested)
+
+        input.toSanitizedJsonObject() shouldBeEqualTo buildJsonObject {
+            put("item", nested)
+        }
+    }
+
+    @Test
+    fun convert_givenInvalidNumericValues_expectLogMessages() {
+        val mockLogger = mockk<Logger>(relaxed = true)
+        val input = mapOf(
+            "nan" to Float.NaN,
+            "list" to listOf(Double.POSITIVE_INFINITY),
+            "valid" to 42
+        )
+
+        input.toSanitizedJsonObject(mockLogger)
+
+        verify {
+            mockLogger.error("Removed invalid JSON numeric value (NaN or infinity) for key: nan")
+            mockLogger.error("Removed invalid JSON numeric value (NaN or infinity)")
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.customer.datapipelines.util
+
+import io.customer.datapipelines.testutils.core.JUnitTest
+import io.customer.sdk.core.util.Logger
+import io.mockk.mockk
+import io.mockk.verify
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import org.amshove.kluent.shouldBeEqualTo
+import org.amshove.kluent.shouldBeFalse
+import org.amshove.kluent.shouldBeTrue
+import org.amshove.kluent.shouldNotBe
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+class SerialTaskQueueTest : JUnitTest() {
+    private val executorService = Executors.newFixedThreadPool(PRODUCERS)
+    private val consumerExecutor = Executors.newSingleThreadExecutor()
+    private val logger = mockk<Logger>(relaxed = true)
+    private val taskQueue = SerialTaskQueue(
+        dispatcher = consumerExecutor.asCoroutineDispatcher(),
+        logger = logger,
+        waitTimeoutMillis = TimeUnit.SECONDS.toMillis(10)
+    )
+
+    @AfterEach
+    fun shutdownExecutor() {
+        executorService.shutdownNow()
+        consumerExecutor.shutdownNow()
+    }
+
+    @Test
+    fun execute_givenDispatchingConsumer_expectNeverRunsOnCallerThread() {
+        val callerThread = Thread.currentThread()
+        var executedOn: Thread? = null
+
+        taskQueue.execute { executedOn = Thread.currentThread() }
+        taskQueue.executeAndWait { }
+
+        executedOn shouldNotBe null
+        executedOn shouldNotBe callerThread
+    }
+
+    @Test
+    fun execute_givenConsumerBusy_expectReturnsWithoutWaiting() {
+        val release = CountDownLatch(1)
+        var laterTaskExecuted = false
+
+        taskQueue.execute { release.await(5, TimeUnit.SECONDS) }
+        taskQueue.execute { laterTaskExecuted = true }
+
+        // Both calls returned while the first task is still blocked on consumer
+        laterTaskExecuted.shouldBeFalse()
+        release.countDown()
+        taskQueue.executeAndWait { }
+        laterTaskExecuted.shouldBeTrue()
+    }
+
+    @Test
+    fun execute_givenUnconfinedDispatcher_expectRunsBeforeReturning() {
+        val unconfinedQueue = SerialTaskQueue(dispatcher = UnconfinedTestDispatcher(), logger = logger)
+        var executed = false
+
+        unconfinedQueue.execute { executed = true }
+
+        executed.shouldBeTrue()
+    }
+
+    @Test
+    fun execute_givenSubmittedFromRunningTask_expectRunsInline() {
+        val order = mutableListOf<String>()
+
+        taskQueue.executeAndWait {
+            order.add("outer-start")
+            taskQueue.executeAndWait { order.add("inner") }
+            order.add("outer-end")
+        }
+
+        order shouldBeEqualTo listOf("outer-start", "inner", "outer-end")
+    }
+
+    @Test
+    fun executeAndWait_givenTaskFails_expectFailureRethrownAndQueueUsable() {
+        assertThrows<IllegalStateException> {
+            taskQueue.executeAndWait { throw IllegalStateException("boom") }
+        }
+
+        var executed = false
+        taskQueue.executeAndWait { executed = true }
+        executed.shouldBeTrue()
+    }
+
+    @Test
+    fun executeAndWait_givenBacklogLongerThanTimeout_expectReturnsAndTaskRunsLaterInOrder() {
+        val boundedQueue = SerialTaskQueue(
+            dispatcher = consumerExecutor.asCoroutineDispatcher(),
+            logger = logger,
+            waitTimeoutMillis = 50
+        )
+        val release = CountDownLatch(1)
+        val order = Collections.synchronizedList(mutableListOf<String>())
+
+        boundedQueue.execute { release.await(5, TimeUnit.SECONDS) }
+        boundedQueue.executeAndWait {
+            order.add("waited")
+            throw IllegalStateException("late failure")
+        }
+
+        // Returned while backlog is still blocked
+        order shouldBeEqualTo emptyList()
+        release.countDown()
+        boundedQueue.execute { order.add("next") }
+        // Consumer runs on single thread executor, so this runs after queue is drained
+        consumerExecutor.submit { }.get(5, TimeUnit.SECONDS)
+
+        order shouldBeEqualTo listOf("waited", "next")
+        verify { logger.error(match { it.contains("late failure") }, any(), any()) }
+    }
+
+    @Test
+    fun execute_givenFailingTask_expectLoggedAndDrainContinues() {
+        var laterTaskExecuted = false
+
+        taskQueue.execute { throw IllegalStateException("boom") }
+        taskQueue.execute { laterTaskExecuted = true }
+        taskQueue.executeAndWait { }
+
+        laterTaskExecuted.shouldBeTrue()
+        verify { logger.error(match { it.contains("boom") }, any(), any()) }
+    }
+
+    @Test
+    fun execute_givenConcurrentProducers_expectTasksRunOneAtATimeInPerThreadOrder() {
+        val running = AtomicInteger()
+        val overlaps = AtomicInteger()
+        val executedTasks = Collections.synchronizedList(mutableListOf<Pair<Int, Int>>())
+        val start = CountDownLatch(1)
+
+        val producers = (0 until PRODUCERS).map { producer ->
+            executorService.submit {
+                start.await()
+                repeat(TASKS_PER_PRODUCER) { index ->
+                    taskQueue.execute {
+                        if (running.incrementAndGet() > 1) overlaps.incrementAndGet()
+                        executedTasks.add(producer to index)
+                        running.decrementAndGet()
+                    }
+                }
+            }
+        }
+        start.countDown()
+        producers.forEach { it.get(10, TimeUnit.SECONDS) }
+        // Runs after every task submitted before it
+        taskQueue.executeAndWait { }
+
+        overlaps.get() shouldBeEqualTo 0
+        executedTasks.size shouldBeEqualTo PRODUCERS * TASKS_PER_PRODUCER
+        executedTasks.groupBy({ it.first }, { it.second }).values.forEach { indexes ->
+            indexes shouldBeEqualTo (0 until TASKS_PER_PRODUCER).toList()
+        }
+    }
+
+    companion object {
+        private const val PRODUCERS = 4
+        private const val TASKS_PER_PRODUCER = 2_000
+    }
+}
@@ -7,10 +7,17 @@ import io.customer.commontest.extensions.assertCalledNever
 import io.customer.commontest.extensions.assertCalledOnce
 import io.customer.commontest.extensions.random
 import io.customer.commontest.module.CustomerIOGenericModule
+import io.customer.datapipelines.config.DeduplicationConfig
+import io.customer.datapipelines.config.EventAggregationRule
+import io.customer.datapipelines.config.EventRateLimit
+import io.customer.datapipelines.config.RateLimitConfig
 import io.customer.datapipelines.config.ScreenView
 import io.customer.datapipelines.plugins.ApplicationLifecyclePlugin
 import io.customer.datapipelines.plugins.AutomaticActivityScreenTrackingPlugin
 import io.customer.datapipelines.plugins.CustomerIODestination
+import io.customer.datapipelines.plugins.DeduplicationPlugin
+import io.customer.datapipelines.plugins.EventAggregationPlugin
+import io.customer.datapipelines.plugins.RateLimitPlugin
 import io.customer.datapipelines.plugins.ScreenFilterPlugin
 import io.customer.sdk.core.di.SDKComponent
 import io.customer.sdk.core.util.CioLogLevel
@@ -18,6 +25,7 @@ import io.customer.sdk.data.model.Region
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verifyOrder
+import java.util.concurrent.Executor
 import org.amshove.kluent.shouldBe
 import org.amshove.kluent.shouldNotBe
 import org.amshove.kluent.shouldNotBeEqualTo
@@ -52,7 +60,9 @@ class CustomerIOConfigBuilderTest : RobolectricTest() {
     }
 
     private fun mockGenericModule(): CustomerIOGenericModule {
-        return mockk<CustomerIOGenericModule>(relaxUnitFun = true)
+        return mockk<CustomerIOGenericModule>(relaxUnitFun = true).apply {
+            every { dependencies } returns emptySet()
+        }
     }
 
     @Test
@@ -379,6 +389,114 @@ class CustomerIOConfigBuilderTest : RobolectricTest() {
         configDisabled shouldNotBe null
     }
 
+    @Test
+    fun initialize_givenCoroutineExecutor_expectSdkDispatcherUsesProvidedExecutor() {
+        val givenExecutor = Executor { runnable -> runnable.run() }
+
+        val config = createCustomerIOConfigBuilder()
+            .coroutineExecutor(givenExecutor)
+            .build()
+
+        CustomerIO.initialize(config)
+
+        SDKComponent.sdkCoroutineDispatcher.executor shouldBe givenExecutor
+    }
+
+    @Test
+    fun initialize_givenRateLimit_expectRateLimitPluginAdded() {
+        val givenRateLimit = RateLimitConfig(defaultLimit = EventRateLimit(burstSize = 10, eventsPerSecond = 1.0))
+
+        val config = createCustomerIOConfigBuilder()
+            .rateLimit(givenRateLimit)
+            .build()
+
+        CustomerIO.initialize(config)
+
+        CustomerIO.instance().moduleConfig.rateLimitConfig shouldBe givenRateLimit
+        CustomerIO.instance().analytics.find(RateLimitPlugin::class) shouldNotBe null
+    }
+
+    @Test
+    fun initialize_givenNoRateLimit_expectRateLimitPluginNotAdded() {
+        val config = createCustomerIOConfigBuilder().build()
+
+        CustomerIO.initialize(config)
+
+        CustomerIO.instance().analytics.find(RateLimitPlugin::class) shouldBe null
+    }
+
+    @Test
+    fun initialize_givenModuleDependencies_expectDependencyInitializedFirst() {
+        val givenDependency: CustomerIOGenericModule = mockGenericModule().apply {
+            every { moduleName } returns "dependency"
+            every { moduleConfig } returns mockk()
+        }
+        val givenDependent: CustomerIOGenericModule = mockGenericModule().apply {
+            every { moduleName } returns "dependent"
+            every { moduleConfig } returns mockk()
+            every { dependencies } returns setOf("dependency")
+        }
+
+        val config = createCustomerIOConfigBuilder()
+            .addCustomerIOModule(givenDependent)
+            .addCustomerIOModule(givenDependency)
+            .build()
+
+        CustomerIO.initialize(config)
+
+        config.initializeModulesInBackground shouldBe false
+        verifyOrder {
+            givenDependency.initialize()
+            givenDependent.initialize()
+        }
+    }
+
+    @Test
+    fun initialize_givenAggregationRules_expectEventAggregationPluginAdded() {
+        val givenRules = listOf(EventAggregationRule(eventName = "item_impression", windowSeconds = 30))
+
+        val config = createCustomerIOConfigBuilder()
+            .aggregateEvents(givenRules)
+            .build()
+
+        CustomerIO.initialize(config)
+
+        CustomerIO.instance().moduleConfig.aggregationRules shouldBe givenRules
+        CustomerIO.instance().analytics.find(EventAggregationPlugin::class) shouldNotBe null
+    }
+
+    @Test
+    fun initialize_givenNoAggregationRules_expectEventAggregationPluginNotAdded() {
+        val config = createCustomerIOConfigBuilder().build()
+
+        CustomerIO.initialize(config)
+
+        CustomerIO.instance().analytics.find(EventAggregationPlugin::class) shouldBe null
+    }
+
+    @Test
+    fun initialize_givenDeduplicationConfig_expectDeduplicationPluginAdded() {
+        val givenConfig = DeduplicationConfig(windowMillis = 2_000, maxTrackedEvents = 100)
+
+        val config = createCustomerIOConfigBuilder()
+            .deduplicateEvents(givenConfig)
+            .build()
+
+        CustomerIO.initialize(config)
+
+        CustomerIO.instance().moduleConfig.deduplicationConfig shouldBe givenConfig
+        CustomerIO.instance().analytics.find(DeduplicationPlugin::class) shouldNotBe null
+    }
+
+    @Test
+    fun initialize_givenNoDeduplicationConfig_expectDeduplicationPluginNotAdded() {
+        val config = createCustomerIOConfigBuilder().build()
+
+        CustomerIO.initialize(config)
+
+        CustomerIO.instance().analytics.find(DeduplicationPlugin::class) shouldBe null
+    }
+
     private fun createCustomerIOConfigBuilder(givenCdpApiKey: String? = null): CustomerIOConfigBuilder = CustomerIOConfigBuilder(
         applicationContext = applicationMock,
         cdpApiKey = givenCdpApiKey ?: String.random
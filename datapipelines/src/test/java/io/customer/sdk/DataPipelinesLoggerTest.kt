@@ -21,6 +21,7 @@ class DataPipelinesLoggerTest : JUnitTest() {
 
     @BeforeEach
     fun setUp() {
+        every { mockLogger.isLoggable(any()) } returns true
         every { mockLogger.debug(any(), any()) } just runs
         every { mockLogger.info(any(), any()) } just runs
         every { mockLogger.error(any(), any(), any()) } just runs
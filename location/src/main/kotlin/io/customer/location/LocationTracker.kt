@@ -61,6 +61,7 @@ internal class LocationTracker(
      * state are cleared on reset. This runs before ResetEvent is published,
      * guaranteeing no stale data is available for a subsequent identify().
      */
+    @Synchronized
     override fun resetContext() {
         lastLocation = null
         locationPreferenceStore.clearCachedLocation()
@@ -71,9 +72,12 @@ internal class LocationTracker(
     /**
      * Reads persisted cached location from the preference store and sets the
      * in-memory cache so that identify events have location context
-     * immediately after SDK restart.
+     * immediately after SDK restart. Runs in background, so a location
+     * received or reset in the meantime is kept.
      */
+    @Synchronized
     fun restorePersistedLocation() {
+        if (lastLocation != null) return
         val lat = locationPreferenceStore.getCachedLatitude() ?: return
         val lng = locationPreferenceStore.getCachedLongitude() ?: return
         lastLocation = LocationCoordinates(latitude = lat, longitude = lng)
@@ -87,8 +91,10 @@ internal class LocationTracker(
     fun onLocationReceived(latitude: Double, longitude: Double) {
         logger.debug("Location update received: lat=$latitude, lng=$longitude")
 
-        lastLocation = LocationCoordinates(latitude = latitude, longitude = longitude)
-        locationPreferenceStore.saveCachedLocation(latitude, longitude)
+        synchronized(this) {
+            lastLocation = LocationCoordinates(latitude = latitude, longitude = longitude)
+            locationPreferenceStore.saveCachedLocation(latitude, longitude)
+        }
 
         trySendLocationTrack(latitude, longitude)
     }
@@ -15,6 +15,7 @@ import io.customer.sdk.core.pipeline.identifyHookRegistry
 import io.customer.sdk.core.util.HandlerMainThreadPoster
 import io.customer.sdk.core.util.Logger
 import io.customer.sdk.core.util.MainThreadPoster
+import kotlinx.coroutines.launch
 
 /**
  * Location module for Customer.io SDK.
@@ -75,9 +76,8 @@ class ModuleLocation @JvmOverloads constructor(
 
         val dataPipeline = SDKComponent.getOrNull<DataPipeline>()
         val store = LocationPreferenceStoreImpl(context, logger)
-        val locationSyncFilter = LocationSyncFilter(
-            LocationSyncStoreImpl(context, logger)
-        )
+        val syncStore = LocationSyncStoreImpl(context, logger)
+        val locationSyncFilter = LocationSyncFilter(syncStore)
         val locationTracker = LocationTracker(dataPipeline, store, locationSyncFilter, logger)
 
         val locationProvider = FusedLocationProvider(context)
@@ -103,7 +103,14 @@ class ModuleLocation @JvmOverloads constructor(
 
         val services = _locationServices ?: return
 
-        locationTracker.restorePersistedLocation()
+        // Keystore access can take milliseconds on low-end devices, so keys are
+        // loaded and persisted location is restored in background instead of
+        // blocking initialization.
+        locationScope.launch {
+            store.prewarmEncryption()
+            syncStore.prewarmEncryption()
+            locationTracker.restorePersistedLocation()
+        }
 
         // Register as IdentifyHook so location is added to identify event context
         // and cleared synchronously during analytics.reset(). This ensures every
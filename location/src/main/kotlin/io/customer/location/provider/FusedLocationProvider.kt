@@ -29,8 +29,10 @@ internal class FusedLocationProvider(
     private val context: Context
 ) : LocationProvider {
 
-    private val fusedClient: FusedLocationProviderClient =
+    // Created on first request so module initialization does not bind Play Services
+    private val fusedClient: FusedLocationProviderClient by lazy {
         LocationServices.getFusedLocationProviderClient(context)
+    }
 
     @Suppress("MissingPermission")
     override suspend fun requestLocation(granularity: LocationGranularity): LocationSnapshot {
@@ -1,11 +1,9 @@
 package io.customer.location.store
 
 import android.content.Context
-import androidx.core.content.edit
 import io.customer.sdk.core.util.Logger
 import io.customer.sdk.data.store.PreferenceCrypto
 import io.customer.sdk.data.store.PreferenceStore
-import io.customer.sdk.data.store.read
 
 /**
  * Store for persisting the cached (latest received) location across app restarts.
@@ -32,22 +30,39 @@ internal class LocationPreferenceStoreImpl(
         "io.customer.sdk.location.${context.packageName}"
     }
 
-    override fun saveCachedLocation(latitude: Double, longitude: Double) = prefs.edit {
-        putString(KEY_CACHED_LATITUDE, crypto.encrypt(latitude.toString()))
-        putString(KEY_CACHED_LONGITUDE, crypto.encrypt(longitude.toString()))
+    /**
+     * Loads the encryption key ahead of first use, blocks the calling thread.
+     */
+    fun prewarmEncryption() = crypto.prewarm()
+
+    // Snapshot keeps decrypted coordinates so reads on identify skip decryption
+    override fun saveCachedLocation(latitude: Double, longitude: Double) {
+        val encryptedLatitude = crypto.encrypt(latitude.toString())
+        val encryptedLongitude = crypto.encrypt(longitude.toString())
+        writeCached(KEY_CACHED_LATITUDE to latitude, KEY_CACHED_LONGITUDE to longitude) {
+            putString(KEY_CACHED_LATITUDE, encryptedLatitude)
+            putString(KEY_CACHED_LONGITUDE, encryptedLongitude)
+        }
     }
 
-    override fun getCachedLatitude(): Double? = prefs.read {
+    override fun getCachedLatitude(): Double? = readCached(KEY_CACHED_LATITUDE) {
         getString(KEY_CACHED_LATITUDE, null)?.let { crypto.decrypt(it).toDoubleOrNull() }
     }
 
-    override fun getCachedLongitude(): Double? = prefs.read {
+    override fun getCachedLongitude(): Double? = readCached(KEY_CACHED_LONGITUDE) {
         getString(KEY_CACHED_LONGITUDE, null)?.let { crypto.decrypt(it).toDoubleOrNull() }
     }
 
-    override fun clearCachedLocation() = prefs.edit {
-        remove(KEY_CACHED_LATITUDE)
-        remove(KEY_CACHED_LONGITUDE)
+    // Decrypted copies kept by crypto are dropped along with the stored values
+    override fun clearCachedLocation() {
+        writeCached(
+            KEY_CACHED_LATITUDE to null,
+            KEY_CACHED_LONGITUDE to null
+        ) {
+            remove(KEY_CACHED_LATITUDE)
+            remove(KEY_CACHED_LONGITUDE)
+        }
+        crypto.clearCache()
     }
 
     companion object {
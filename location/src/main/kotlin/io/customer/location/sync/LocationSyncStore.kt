@@ -1,11 +1,9 @@
 package io.customer.location.sync
 
 import android.content.Context
-import androidx.core.content.edit
 import io.customer.sdk.core.util.Logger
 import io.customer.sdk.data.store.PreferenceCrypto
 import io.customer.sdk.data.store.PreferenceStore
-import io.customer.sdk.data.store.read
 
 /**
  * Store for persisting the last synced location data.
@@ -36,28 +34,49 @@ internal class LocationSyncStoreImpl(
         "io.customer.sdk.location_sync.${context.packageName}"
     }
 
-    override fun saveSyncedLocation(latitude: Double, longitude: Double, timestamp: Long) = prefs.edit {
-        putString(KEY_SYNCED_LATITUDE, crypto.encrypt(latitude.toString()))
-        putString(KEY_SYNCED_LONGITUDE, crypto.encrypt(longitude.toString()))
-        putLong(KEY_SYNCED_TIMESTAMP, timestamp)
+    /**
+     * Loads the encryption key ahead of first use, blocks the calling thread.
+     */
+    fun prewarmEncryption() = crypto.prewarm()
+
+    override fun saveSyncedLocation(latitude: Double, longitude: Double, timestamp: Long) {
+        val encryptedLatitude = crypto.encrypt(latitude.toString())
+        val encryptedLongitude = crypto.encrypt(longitude.toString())
+        writeCached(
+            KEY_SYNCED_LATITUDE to latitude,
+            KEY_SYNCED_LONGITUDE to longitude,
+            KEY_SYNCED_TIMESTAMP to timestamp
+        ) {
+            putString(KEY_SYNCED_LATITUDE, encryptedLatitude)
+            putString(KEY_SYNCED_LONGITUDE, encryptedLongitude)
+            putLong(KEY_SYNCED_TIMESTAMP, timestamp)
+        }
     }
 
-    override fun getSyncedLatitude(): Double? = prefs.read {
+    override fun getSyncedLatitude(): Double? = readCached(KEY_SYNCED_LATITUDE) {
         getString(KEY_SYNCED_LATITUDE, null)?.let { crypto.decrypt(it).toDoubleOrNull() }
     }
 
-    override fun getSyncedLongitude(): Double? = prefs.read {
+    override fun getSyncedLongitude(): Double? = readCached(KEY_SYNCED_LONGITUDE) {
         getString(KEY_SYNCED_LONGITUDE, null)?.let { crypto.decrypt(it).toDoubleOrNull() }
     }
 
-    override fun getSyncedTimestamp(): Long? = prefs.read {
+    override fun getSyncedTimestamp(): Long? = readCached(KEY_SYNCED_TIMESTAMP) {
         if (contains(KEY_SYNCED_TIMESTAMP)) getLong(KEY_SYNCED_TIMESTAMP, 0L) else null
     }
 
-    override fun clearSyncedData() = prefs.edit {
-        remove(KEY_SYNCED_LATITUDE)
-        remove(KEY_SYNCED_LONGITUDE)
-        remove(KEY_SYNCED_TIMESTAMP)
+    // Decrypted copies kept by crypto are dropped along with the stored values
+    override fun clearSyncedData() {
+        writeCached(
+            KEY_SYNCED_LATITUDE to null,
+            KEY_SYNCED_LONGITUDE to null,
+            KEY_SYNCED_TIMESTAMP to null
+        ) {
+            remove(KEY_SYNCED_LATITUDE)
+            remove(KEY_SYNCED_LONGITUDE)
+            remove(KEY_SYNCED_TIMESTAMP)
+        }
+        crypto.clearCache()
     }
 
     companion object {
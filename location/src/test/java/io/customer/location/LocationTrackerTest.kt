@@ -150,6 +150,17 @@ class LocationTrackerTest {
         tracker.getIdentifyContext().shouldBeEmpty()
     }
 
+    @Test
+    fun givenLocationReceivedBeforeRestore_expectReceivedLocationKept() {
+        every { store.getCachedLatitude() } returns 1.0
+        every { store.getCachedLongitude() } returns 2.0
+
+        tracker.onLocationReceived(37.7749, -122.4194)
+        tracker.restorePersistedLocation()
+
+        tracker.getIdentifyContext()["location_latitude"] shouldBeEqualTo 37.7749
+    }
+
     // -- getIdentifyContext --
 
     @Test
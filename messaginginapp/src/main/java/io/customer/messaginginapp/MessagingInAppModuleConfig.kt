@@ -3,6 +3,7 @@ package io.customer.messaginginapp
 import io.customer.messaginginapp.type.ColorScheme
 import io.customer.messaginginapp.type.InAppEventListener
 import io.customer.sdk.core.module.CustomerIOModuleConfig
+import io.customer.sdk.core.module.ModuleActivationMode
 import io.customer.sdk.data.model.Region
 
 /**
@@ -13,7 +14,8 @@ class MessagingInAppModuleConfig private constructor(
     val siteId: String,
     val region: Region,
     val eventListener: InAppEventListener?,
-    val colorScheme: ColorScheme
+    val colorScheme: ColorScheme,
+    val activationMode: ModuleActivationMode
 ) : CustomerIOModuleConfig {
     class Builder(
         private val siteId: String,
@@ -21,6 +23,7 @@ class MessagingInAppModuleConfig private constructor(
     ) : CustomerIOModuleConfig.Builder<MessagingInAppModuleConfig> {
         private var eventListener: InAppEventListener? = null
         private var colorScheme: ColorScheme = ColorScheme.AUTO
+        private var activationMode: ModuleActivationMode = ModuleActivationMode.EAGER
 
         fun setEventListener(eventListener: InAppEventListener): Builder {
             this.eventListener = eventListener
@@ -32,12 +35,25 @@ class MessagingInAppModuleConfig private constructor(
             return this
         }
 
+        /**
+         * With [ModuleActivationMode.LAZY], in-app messaging components (message
+         * store, polling and SSE) are built on the first screen view, first
+         * identified user or first use of in-app APIs instead of on SDK
+         * initialization. Messages for anonymous users are not fetched until
+         * then. Default is [ModuleActivationMode.EAGER].
+         */
+        fun setActivationMode(activationMode: ModuleActivationMode): Builder {
+            this.activationMode = activationMode
+            return this
+        }
+
         override fun build(): MessagingInAppModuleConfig {
             return MessagingInAppModuleConfig(
                 siteId = siteId,
                 region = region,
                 eventListener = eventListener,
-                colorScheme = colorScheme
+                colorScheme = colorScheme,
+                activationMode = activationMode
             )
         }
     }
@@ -15,6 +15,7 @@ import io.customer.sdk.communication.Event
 import io.customer.sdk.communication.subscribe
 import io.customer.sdk.core.di.SDKComponent
 import io.customer.sdk.core.module.CustomerIOModule
+import io.customer.sdk.core.module.ModuleActivator
 import io.customer.sdk.events.Metric
 
 class ModuleMessagingInApp(
@@ -28,20 +29,32 @@ class ModuleMessagingInApp(
         get() = SDKComponent.gistProvider
     private val logger = SDKComponent.logger
 
+    // Anonymous id received before lazy activation, applied once activated
+    @Volatile
+    private var pendingAnonymousId: String? = null
+    private val activator = ModuleActivator(
+        moduleName = MODULE_NAME,
+        mode = config.activationMode,
+        onActivate = ::activate
+    )
+
     /**
      * Access the inbox messages instance for managing user inbox messages.
      *
      * @return [NotificationInbox] instance for inbox operations
      */
     fun inbox(): NotificationInbox {
+        activator.activate(trigger = "inbox")
         return SDKComponent.notificationInbox
     }
 
     fun dismissMessage() {
+        activator.activate(trigger = "dismissMessage")
         gistProvider.dismissMessage()
     }
 
     fun setColorScheme(colorScheme: ColorScheme) {
+        activator.activate(trigger = "setColorScheme")
         SDKComponent.inAppMessagingManager.dispatch(InAppMessagingAction.SetColorScheme(colorScheme))
     }
 
@@ -59,10 +72,25 @@ class ModuleMessagingInApp(
 
     override fun initialize() {
         setupHooks()
+        activator.onModuleInitialized()
+    }
+
+    /**
+     * Builds in-app components and applies user state received before
+     * activation, fetching messages if a user was set.
+     */
+    private fun activate() {
+        // Accessing provider builds message store, polling and SSE managers
+        val provider = gistProvider
+        val anonymousId = pendingAnonymousId ?: return
+        pendingAnonymousId = null
+        provider.setAnonymousId(anonymousId)
+        provider.fetchInAppMessages()
     }
 
     private fun setupHooks() {
         eventBus.subscribe<Event.ScreenViewedEvent> {
+            activator.activate(trigger = "screen view")
             gistProvider.setCurrentRoute(it.name)
         }
 
@@ -70,6 +98,19 @@ class ModuleMessagingInApp(
             val userId = event.userId
             logger.debug("User changed: userId=$userId, anonymousId=${event.anonymousId}")
 
+            if (userId == null) {
+                // Until activated, only remember anonymous user so no components are built for them
+                val deferred = activator.runIfNotActivated {
+                    pendingAnonymousId = event.anonymousId
+                    setCustomAttribute("cio_anonymous_id", event.anonymousId)
+                }
+                if (deferred) return@subscribe
+            } else {
+                // Identified user replaces anonymous user remembered before activation
+                activator.runIfNotActivated { pendingAnonymousId = null }
+                activator.activate(trigger = "identified user")
+            }
+
             gistProvider.setAnonymousId(event.anonymousId)
             setCustomAttribute("cio_anonymous_id", event.anonymousId)
 
@@ -82,6 +123,12 @@ class ModuleMessagingInApp(
 
         eventBus.subscribe<Event.ResetEvent> {
             logger.debug("Resetting user token")
+            val deferred = activator.runIfNotActivated {
+                pendingAnonymousId = null
+                clearCustomAttributes()
+            }
+            if (deferred) return@subscribe
+
             gistProvider.reset()
             clearCustomAttributes()
         }
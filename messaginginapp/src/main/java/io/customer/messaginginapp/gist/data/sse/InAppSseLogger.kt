@@ -1,6 +1,7 @@
 package io.customer.messaginginapp.gist.data.sse
 
 import io.customer.sdk.core.util.Logger
+import io.customer.sdk.core.util.debug
 
 /**
  * Logger for SSE (Server-Sent Events) operations in the in-app messaging module.
@@ -24,7 +25,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logConnectionAlreadyActive(state: SseConnectionState) {
-        logger.debug(tag = TAG, message = "Connection already active (state: $state)")
+        logger.debug(tag = TAG) { "Connection already active (state: $state)" }
     }
 
     fun logConnectionStopping() {
@@ -35,12 +36,16 @@ internal class InAppSseLogger(private val logger: Logger) {
         logger.debug(tag = TAG, message = "Connection stopped")
     }
 
+    fun logWaitingForNetwork() {
+        logger.debug(tag = TAG, message = "Device is offline, waiting for network before connecting")
+    }
+
     fun logConnectionCancelled() {
         logger.debug(tag = TAG, message = "Connection cancelled")
     }
 
     fun logEstablishingConnection(userToken: String, sessionId: String) {
-        logger.debug(tag = TAG, message = "Establishing connection for user: $userToken, session: $sessionId")
+        logger.debug(tag = TAG) { "Establishing connection for user: $userToken, session: $sessionId" }
     }
 
     fun logConnectionEstablished() {
@@ -60,7 +65,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logConnectionFailed(errorMessage: String?, responseCode: Int?) {
-        logger.debug(tag = TAG, message = "Connection failed - ${errorMessage ?: "unknown error"}, code: $responseCode")
+        logger.debug(tag = TAG) { "Connection failed - ${errorMessage ?: "unknown error"}, code: $responseCode" }
     }
 
     fun logNoUserTokenAvailable() {
@@ -72,7 +77,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     // =====================
 
     fun logReceivedEvent(type: String?) {
-        logger.debug(tag = TAG, message = "Received event - type: $type")
+        logger.debug(tag = TAG) { "Received event - type: $type" }
     }
 
     fun logReceivedEventWithNoTypeOrData() {
@@ -84,7 +89,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logReceivedMessages(count: Int, type: String?) {
-        logger.debug(tag = TAG, message = "Received $count $type messages")
+        logger.debug(tag = TAG) { "Received $count $type messages" }
     }
 
     fun logReceivedEmptyMessagesEvent() {
@@ -92,7 +97,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logFailedToParseMessages(errorMessage: String?) {
-        logger.debug(tag = TAG, message = "Failed to parse messages: $errorMessage")
+        logger.debug(tag = TAG) { "Failed to parse messages: $errorMessage" }
     }
 
     fun logTtlExceeded() {
@@ -100,7 +105,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logUnknownEventType(eventType: String) {
-        logger.debug(tag = TAG, message = "Unknown event type: $eventType")
+        logger.debug(tag = TAG) { "Unknown event type: $eventType" }
     }
 
     // =====================
@@ -108,15 +113,15 @@ internal class InAppSseLogger(private val logger: Logger) {
     // =====================
 
     fun logFailedToSendConnectionOpenedEvent(errorMessage: String?) {
-        logger.debug(tag = TAG, message = "Failed to send connection opened event: $errorMessage")
+        logger.debug(tag = TAG) { "Failed to send connection opened event: $errorMessage" }
     }
 
     fun logFailedToSendEvent(errorMessage: String?) {
-        logger.debug(tag = TAG, message = "Failed to send event: $errorMessage")
+        logger.debug(tag = TAG) { "Failed to send event: $errorMessage" }
     }
 
     fun logFailedToSendErrorEvent(errorMessage: String?) {
-        logger.debug(tag = TAG, message = "Failed to send error event: $errorMessage")
+        logger.debug(tag = TAG) { "Failed to send error event: $errorMessage" }
     }
 
     fun logFailedToSendConnectionClosedEvent() {
@@ -132,7 +137,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logCreatingRequest(url: String) {
-        logger.debug(tag = TAG, message = "Creating request to: $url")
+        logger.debug(tag = TAG) { "Creating request to: $url" }
     }
 
     // =====================
@@ -140,23 +145,23 @@ internal class InAppSseLogger(private val logger: Logger) {
     // =====================
 
     fun logConnectionAttemptFailed(errorClass: String?, errorMessage: String?) {
-        logger.debug(tag = TAG, message = "Connection attempt failed - $errorClass: $errorMessage")
+        logger.debug(tag = TAG) { "Connection attempt failed - $errorClass: $errorMessage" }
     }
 
     fun logConnectionFailure(errorClass: String?, shouldRetry: Boolean) {
-        logger.debug(tag = TAG, message = "Connection failed - $errorClass, retryable: $shouldRetry")
+        logger.debug(tag = TAG) { "Connection failed - $errorClass, retryable: $shouldRetry" }
     }
 
     fun logRetryingConnection(attemptCount: Int, maxRetries: Int) {
-        logger.debug(tag = TAG, message = "Retrying connection (attempt $attemptCount/$maxRetries)")
+        logger.debug(tag = TAG) { "Retrying connection (attempt $attemptCount/$maxRetries)" }
     }
 
     fun logMaxRetriesExceeded(retryCount: Int, maxRetryCount: Int) {
-        logger.debug(tag = TAG, message = "Max retries exceeded ($retryCount/$maxRetryCount) - falling back to polling")
+        logger.debug(tag = TAG) { "Max retries exceeded ($retryCount/$maxRetryCount) - falling back to polling" }
     }
 
     fun logNonRetryableError(error: SseError) {
-        logger.debug(tag = TAG, message = "Non-retryable error - falling back to polling ($error)")
+        logger.debug(tag = TAG) { "Non-retryable error - falling back to polling ($error)" }
     }
 
     fun logFallingBackToPolling() {
@@ -172,11 +177,11 @@ internal class InAppSseLogger(private val logger: Logger) {
     // =====================
 
     fun logHeartbeatTimerStarting(timeoutMs: Long) {
-        logger.debug(tag = TAG, message = "Heartbeat timer starting with ${timeoutMs}ms timeout")
+        logger.debug(tag = TAG) { "Heartbeat timer starting with ${timeoutMs}ms timeout" }
     }
 
     fun logHeartbeatTimerExpired(timeoutMs: Long) {
-        logger.debug(tag = TAG, message = "Heartbeat timer expired after ${timeoutMs}ms")
+        logger.debug(tag = TAG) { "Heartbeat timer expired after ${timeoutMs}ms" }
     }
 
     fun logHeartbeatTimerCancelled() {
@@ -200,11 +205,11 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logMessageParsingFailedInvalidJson(errorMessage: String?, data: String) {
-        logger.debug(tag = TAG, message = "Failed to parse messages - invalid JSON: $errorMessage, data: $data")
+        logger.debug(tag = TAG) { "Failed to parse messages - invalid JSON: $errorMessage, data: $data" }
     }
 
     fun logMessageParsingError(errorMessage: String?, data: String) {
-        logger.debug(tag = TAG, message = "Error parsing messages: $errorMessage, data: $data")
+        logger.debug(tag = TAG) { "Error parsing messages: $errorMessage, data: $data" }
     }
 
     fun logHeartbeatTimeoutNoData() {
@@ -212,15 +217,15 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logHeartbeatTimeoutParsingFailed(errorMessage: String?, data: String) {
-        logger.debug(tag = TAG, message = "Failed to parse heartbeat timeout - invalid JSON: $errorMessage, data: $data")
+        logger.debug(tag = TAG) { "Failed to parse heartbeat timeout - invalid JSON: $errorMessage, data: $data" }
     }
 
     fun logHeartbeatTimeoutParsingError(errorMessage: String?, data: String) {
-        logger.debug(tag = TAG, message = "Error parsing heartbeat timeout: $errorMessage, data: $data")
+        logger.debug(tag = TAG) { "Error parsing heartbeat timeout: $errorMessage, data: $data" }
     }
 
     fun logFilteredInvalidInboxMessages(count: Int) {
-        logger.debug(tag = TAG, message = "Filtered out $count invalid inbox message(s) from SSE")
+        logger.debug(tag = TAG) { "Filtered out $count invalid inbox message(s) from SSE" }
     }
 
     // =====================
@@ -252,7 +257,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logAppForegroundedSseNotUsed(sseEnabled: Boolean, isUserIdentified: Boolean) {
-        logger.debug(tag = TAG, message = "App foregrounded but SSE not used (sseEnabled=$sseEnabled, isUserIdentified=$isUserIdentified) - using polling")
+        logger.debug(tag = TAG) { "App foregrounded but SSE not used (sseEnabled=$sseEnabled, isUserIdentified=$isUserIdentified) - using polling" }
     }
 
     fun logAppBackgrounded() {
@@ -260,11 +265,11 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logSseFlagChanged(sseEnabled: Boolean) {
-        logger.debug(tag = TAG, message = "SSE flag changed to: $sseEnabled")
+        logger.debug(tag = TAG) { "SSE flag changed to: $sseEnabled" }
     }
 
     fun logSseFlagChangedWhileBackgrounded(sseEnabled: Boolean) {
-        logger.debug(tag = TAG, message = "SSE flag changed to $sseEnabled while backgrounded - will apply when foregrounded")
+        logger.debug(tag = TAG) { "SSE flag changed to $sseEnabled while backgrounded - will apply when foregrounded" }
     }
 
     fun logSseEnabledWhileForegrounded() {
@@ -284,7 +289,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     }
 
     fun logUserIdentificationChanged(isIdentified: Boolean) {
-        logger.debug(tag = TAG, message = "User identification changed - isIdentified: $isIdentified")
+        logger.debug(tag = TAG) { "User identification changed - isIdentified: $isIdentified" }
     }
 
     fun logEnablingSseForIdentifiedUser() {
@@ -300,7 +305,7 @@ internal class InAppSseLogger(private val logger: Logger) {
     // =====================
 
     fun logSseFlagChangedFromTo(oldValue: Boolean, newValue: Boolean) {
-        logger.debug(tag = TAG, message = "SSE flag changed from $oldValue to $newValue")
+        logger.debug(tag = TAG) { "SSE flag changed from $oldValue to $newValue" }
     }
 
     // =====================
@@ -3,6 +3,12 @@ package io.customer.messaginginapp.gist.data.sse
 import io.customer.messaginginapp.gist.data.NetworkUtilities
 import io.customer.messaginginapp.state.InAppMessagingAction
 import io.customer.messaginginapp.state.InAppMessagingManager
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.networkMonitor
+import io.customer.sdk.core.metrics.MetricNames
+import io.customer.sdk.core.metrics.MetricsRegistry
+import io.customer.sdk.core.network.NetworkMonitor
+import io.customer.sdk.core.network.awaitConnected
 import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Job
@@ -18,6 +24,8 @@ import kotlinx.coroutines.sync.withLock
  * Establishes and manages Server-Sent Events connections to the Customer.io SSE endpoint.
  * Handles connection lifecycle, event parsing, and message delivery to the in-app messaging queue.
  * Integrates with SseRetryHelper for automatic retry behavior on connection failures.
+ * Connection attempts made while device is offline wait for network instead of failing, so
+ * retries are not spent while there is no connectivity.
  *
  * Connection state transitions:
  * - DISCONNECTED -> CONNECTING (startConnection)
@@ -52,7 +60,9 @@ internal class SseConnectionManager(
     private val inAppMessagingManager: InAppMessagingManager,
     private val heartbeatTimer: HeartbeatTimer,
     private val retryHelper: SseRetryHelper,
-    private val scope: CoroutineScope
+    private val scope: CoroutineScope,
+    private val metricsRegistry: MetricsRegistry = SDKComponent.metricsRegistry,
+    private val networkMonitor: NetworkMonitor = SDKComponent.networkMonitor
 ) {
 
     private val connectionMutex = Mutex()
@@ -132,6 +142,11 @@ internal class SseConnectionManager(
      */
     private suspend fun executeConnectionAttempt() {
         try {
+            if (!networkMonitor.isConnected) {
+                // State stays CONNECTING so repeated start requests do not stack up while waiting
+                sseLogger.logWaitingForNetwork()
+                networkMonitor.awaitConnected()
+            }
             establishConnection()
         } catch (e: CancellationException) {
             sseLogger.logConnectionCancelled()
@@ -252,6 +267,7 @@ internal class SseConnectionManager(
             ServerEvent.TTL_EXCEEDED -> {
                 sseLogger.logTtlExceeded()
                 cleanupForReconnect()
+                metricsRegistry.counter(MetricNames.SSE_RECONNECTS).increment()
                 startConnection()
             }
 
@@ -362,6 +378,7 @@ internal class SseConnectionManager(
                         when (decision) {
                             is RetryDecision.RetryNow -> {
                                 sseLogger.logRetryingConnection(decision.attemptCount, MAX_RETRY_COUNT)
+                                metricsRegistry.counter(MetricNames.SSE_RECONNECTS).increment()
                                 startConnection()
                             }
                             is RetryDecision.MaxRetriesReached -> {
@@ -6,12 +6,20 @@ import androidx.lifecycle.LifecycleOwner
 import io.customer.messaginginapp.gist.data.listeners.GistQueue
 import io.customer.messaginginapp.state.InAppMessagingManager
 import io.customer.messaginginapp.state.InAppMessagingState
+import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.di.networkMonitor
+import io.customer.sdk.core.network.NetworkMonitor
 import io.customer.sdk.core.util.HandlerMainThreadPoster
 import io.customer.sdk.core.util.Logger
 import io.customer.sdk.core.util.MainThreadPoster
 import java.util.Timer
 import java.util.concurrent.atomic.AtomicBoolean
 import kotlin.concurrent.timer
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.drop
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
 
 /**
  * Manages lifecycle-aware in-app message polling.
@@ -20,13 +28,17 @@ import kotlin.concurrent.timer
  * [SseLifecycleManager]. A single polling timer survives activity navigation and the display of
  * our own [GistModalActivity], so dismissing a modal (normally or after a load failure) never
  * triggers an immediate refetch. Polling stays disabled while SSE is active.
+ * Poll ticks are skipped while device is offline, and messages are fetched
+ * right away once network is restored.
  */
 internal class PollingLifecycleManager(
     private val inAppMessagingManager: InAppMessagingManager,
     processLifecycleOwner: LifecycleOwner,
     private val gistQueue: GistQueue,
     private val logger: Logger,
-    private val mainThreadPoster: MainThreadPoster = HandlerMainThreadPoster()
+    private val mainThreadPoster: MainThreadPoster = HandlerMainThreadPoster(),
+    private val networkMonitor: NetworkMonitor = SDKComponent.networkMonitor,
+    scope: CoroutineScope = SDKComponent.scopeProvider.inAppLifecycleScope
 ) {
     private val isForegrounded = AtomicBoolean(false)
 
@@ -65,6 +77,7 @@ internal class PollingLifecycleManager(
         subscribeToPollIntervalChanges()
         subscribeToSseFlagChanges()
         subscribeToUserIdentificationChanges()
+        subscribeToNetworkChanges(scope)
     }
 
     /**
@@ -123,6 +136,10 @@ internal class PollingLifecycleManager(
         timer?.cancel()
         // create a timer to run the task after the initial run
         timer = timer(name = "GistPolling", daemon = true, initialDelay = initialDelay, period = duration) {
+            if (!networkMonitor.isConnected) {
+                logger.debug("[Polling] Poll tick skipped - device is offline")
+                return@timer
+            }
             logger.debug("[Polling] Poll tick - fetching user messages")
             gistQueue.fetchUserMessages()
         }
@@ -193,4 +210,21 @@ internal class PollingLifecycleManager(
             logger.debug("[Polling] $reason - SSE not active and polling already running, no action")
         }
     }
+
+    // Polling keeps its timer while offline and only skips ticks, so catch up as soon as network
+    // is back instead of waiting for the next tick.
+    private fun subscribeToNetworkChanges(scope: CoroutineScope) {
+        scope.launch {
+            networkMonitor.networkState
+                .map { it.isConnected }
+                .distinctUntilChanged()
+                .drop(1)
+                .collect { isConnected ->
+                    if (isConnected && isForegrounded.get() && timer != null) {
+                        logger.debug("[Polling] Network restored - fetching user messages")
+                        startPolling(duration = state.pollInterval)
+                    }
+                }
+        }
+    }
 }
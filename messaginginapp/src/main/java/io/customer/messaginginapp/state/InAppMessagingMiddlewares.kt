@@ -17,6 +17,7 @@ import io.customer.messaginginapp.gist.utilities.ModalMessageParser
 import io.customer.sdk.communication.Event
 import io.customer.sdk.core.di.SDKComponent
 import io.customer.sdk.core.util.Logger
+import io.customer.sdk.core.util.debug
 import io.customer.sdk.events.Metric
 import org.reduxkotlin.Store
 import org.reduxkotlin.middleware
@@ -26,8 +27,9 @@ import org.reduxkotlin.middleware
  */
 internal fun loggerMiddleware() = middleware<InAppMessagingState> { store, next, action ->
     val logger = SDKComponent.logger
-    logger.debug("Store: action: $action")
-    logger.debug("Store: state before reducer: ${store.state}")
+    // Messages are built lazily as state can be large and this runs for every action
+    logger.debug { "Store: action: $action" }
+    logger.debug { "Store: state before reducer: ${store.state}" }
 
     // continue passing the original action down the middleware chain
     next(action)
@@ -52,6 +52,8 @@ internal class InAppPreferenceStoreImpl(
         private const val INBOX_MESSAGE_OPENED_PREFIX = "inbox_message_opened_"
     }
 
+    // Responses are keyed by URL and can be large, so they are read from prefs
+    // directly instead of being kept in the in-memory snapshot
     override fun saveNetworkResponse(url: String, response: String) = prefs.edit {
         putString(url, response)
     }
@@ -60,7 +62,10 @@ internal class InAppPreferenceStoreImpl(
         getString(url, null)
     }
 
-    override fun saveAnonymousMessages(messages: String, expiryTimeMillis: Long) = prefs.edit {
+    override fun saveAnonymousMessages(messages: String, expiryTimeMillis: Long) = writeCached(
+        ANONYMOUS_MESSAGES_KEY to messages,
+        ANONYMOUS_MESSAGES_EXPIRY_KEY to expiryTimeMillis
+    ) {
         putString(ANONYMOUS_MESSAGES_KEY, messages)
         putLong(ANONYMOUS_MESSAGES_EXPIRY_KEY, expiryTimeMillis)
     }
@@ -73,24 +78,29 @@ internal class InAppPreferenceStoreImpl(
         return getAnonymousMessagesRaw()
     }
 
-    private fun getAnonymousMessagesRaw(): String? = prefs.read {
+    private fun getAnonymousMessagesRaw(): String? = readCached(ANONYMOUS_MESSAGES_KEY) {
         getString(ANONYMOUS_MESSAGES_KEY, null)
     }
 
-    private fun getAnonymousMessagesExpiry(): Long = prefs.read {
+    private fun getAnonymousMessagesExpiry(): Long = readCached(ANONYMOUS_MESSAGES_EXPIRY_KEY) {
         getLong(ANONYMOUS_MESSAGES_EXPIRY_KEY, 0)
     } ?: 0
 
-    private fun clearAnonymousMessages() = prefs.edit {
+    private fun clearAnonymousMessages() = writeCached(
+        ANONYMOUS_MESSAGES_KEY to null,
+        ANONYMOUS_MESSAGES_EXPIRY_KEY to null
+    ) {
         remove(ANONYMOUS_MESSAGES_KEY)
         remove(ANONYMOUS_MESSAGES_EXPIRY_KEY)
     }
 
-    override fun isAnonymousMessagesExpired(): Boolean = prefs.read {
-        val expiryTime = getLong(ANONYMOUS_MESSAGES_EXPIRY_KEY, 0)
-        expiryTime > 0 && System.currentTimeMillis() > expiryTime
-    } ?: false
+    override fun isAnonymousMessagesExpired(): Boolean {
+        val expiryTime = getAnonymousMessagesExpiry()
+        return expiryTime > 0 && System.currentTimeMillis() > expiryTime
+    }
 
+    // Keys below are derived from message and queue ids, which are unbounded, so
+    // they are read from prefs directly instead of being kept in the snapshot
     override fun getAnonymousTimesShown(messageId: String): Int = prefs.read {
         getInt("$ANONYMOUS_TIMES_SHOWN_PREFIX$messageId", 0)
     } ?: 0
@@ -118,12 +128,9 @@ internal class InAppPreferenceStoreImpl(
         remove("$ANONYMOUS_NEXT_SHOW_TIME_PREFIX$messageId")
     }
 
-    override fun clearAllAnonymousData() = prefs.edit {
-        remove(ANONYMOUS_MESSAGES_KEY)
-        remove(ANONYMOUS_MESSAGES_EXPIRY_KEY)
-        // Note: Individual message tracking is cleared by AnonymousMessageManager
-        // which calls clearAnonymousTracking() for each previous message
-    }
+    // Note: Individual message tracking is cleared by AnonymousMessageManager
+    // which calls clearAnonymousTracking() for each previous message
+    override fun clearAllAnonymousData() = clearAnonymousMessages()
 
     override fun setAnonymousNextShowTime(messageId: String, nextShowTimeMillis: Long) = prefs.edit {
         putLong("$ANONYMOUS_NEXT_SHOW_TIME_PREFIX$messageId", nextShowTimeMillis)
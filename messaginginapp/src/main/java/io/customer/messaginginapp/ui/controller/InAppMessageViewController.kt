@@ -17,6 +17,8 @@ import io.customer.messaginginapp.ui.bridge.InAppHostViewDelegate
 import io.customer.messaginginapp.ui.bridge.InAppMessageViewCallback
 import io.customer.messaginginapp.ui.bridge.InAppPlatformDelegate
 import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.metrics.MetricNames
+import java.util.concurrent.TimeUnit
 
 /**
  * Base controller class for managing in-app message view behavior.
@@ -44,6 +46,10 @@ internal abstract class InAppMessageViewController<ViewCallback : InAppMessageVi
 
     var viewCallback: ViewCallback? by threadSafe()
 
+    // Time current message started loading, used to report render time once its route loads
+    @Volatile
+    private var loadStartNanos: Long = 0
+
     /**
      * Listener to handle action clicks from inline in-app messages.
      * Set this property to receive callbacks when actions are triggered.
@@ -114,6 +120,7 @@ internal abstract class InAppMessageViewController<ViewCallback : InAppMessageVi
         )
 
         currentMessage = message
+        loadStartNanos = System.nanoTime()
         engineWebViewDelegate?.setup(config)
     }
 
@@ -256,6 +263,10 @@ internal abstract class InAppMessageViewController<ViewCallback : InAppMessageVi
         // Dispatch the display event to track metrics
         // The display event should be dispatched only once for each message
         shouldDispatchDisplayEvent = false
+        if (loadStartNanos > 0) {
+            SDKComponent.metricsRegistry.histogram(MetricNames.IN_APP_RENDER_TIME)
+                .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStartNanos))
+        }
         onRouteLoaded(message = message, route = route)
     }
 
@@ -20,6 +20,7 @@ import io.customer.messaginginapp.type.InAppMessage
 import io.customer.sdk.communication.Event
 import io.customer.sdk.communication.EventBus
 import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.module.ModuleActivationMode
 import io.customer.sdk.core.util.ScopeProvider
 import io.customer.sdk.data.model.Region
 import io.customer.sdk.events.Metric
@@ -300,4 +301,59 @@ internal class ModuleMessagingInAppTest : JUnitTest() {
             eventBus.publish(any<Event.TrackInAppMetricEvent>())
         }
     }
+
+    private fun createLazyModule(): ModuleMessagingInApp = ModuleMessagingInApp(
+        config = MessagingInAppModuleConfig.Builder(
+            siteId = TestConstants.Keys.SITE_ID,
+            region = Region.US
+        ).setActivationMode(ModuleActivationMode.LAZY).build()
+    ).attachToSDKComponent()
+
+    @Test
+    fun initialize_givenLazyActivationAndAnonymousUser_expectGistUntouchedUntilScreenViewed() {
+        val givenAnonymousId = String.random
+        val givenRoute = "home_screen"
+        createLazyModule().initialize()
+
+        eventBus.publish(Event.UserChangedEvent(userId = null, anonymousId = givenAnonymousId))
+
+        assertCalledNever { inAppMessagesProviderMock.setAnonymousId(any()) }
+        assertCalledNever { inAppMessagesProviderMock.fetchInAppMessages() }
+        assert(SDKComponent.gistCustomAttributes["cio_anonymous_id"] == givenAnonymousId)
+
+        eventBus.publish(Event.ScreenViewedEvent(name = givenRoute))
+
+        assertCalledOnce { inAppMessagesProviderMock.setAnonymousId(givenAnonymousId) }
+        assertCalledOnce { inAppMessagesProviderMock.fetchInAppMessages() }
+        assertCalledOnce { inAppMessagesProviderMock.setCurrentRoute(givenRoute) }
+    }
+
+    @Test
+    fun initialize_givenLazyActivationAndIdentifiedUser_expectGistSetsBothIdsAndFetchesOnce() {
+        val givenUserId = String.random
+        val givenAnonymousId = String.random
+        createLazyModule().initialize()
+
+        eventBus.publish(Event.UserChangedEvent(userId = null, anonymousId = String.random))
+        eventBus.publish(Event.UserChangedEvent(userId = givenUserId, anonymousId = givenAnonymousId))
+
+        assertCalledOnce { inAppMessagesProviderMock.setAnonymousId(any()) }
+        assertCalledOnce { inAppMessagesProviderMock.setAnonymousId(givenAnonymousId) }
+        assertCalledOnce { inAppMessagesProviderMock.setUserId(givenUserId) }
+        assertCalledOnce { inAppMessagesProviderMock.fetchInAppMessages() }
+    }
+
+    @Test
+    fun initialize_givenLazyActivationAndResetBeforeActivation_expectPendingUserCleared() {
+        createLazyModule().initialize()
+
+        eventBus.publish(Event.UserChangedEvent(userId = null, anonymousId = String.random))
+        eventBus.publish(Event.ResetEvent)
+        eventBus.publish(Event.ScreenViewedEvent(name = "home_screen"))
+
+        assertCalledNever { inAppMessagesProviderMock.reset() }
+        assertCalledNever { inAppMessagesProviderMock.setAnonymousId(any()) }
+        assertCalledNever { inAppMessagesProviderMock.fetchInAppMessages() }
+        assert(SDKComponent.gistCustomAttributes.isEmpty())
+    }
 }
@@ -4,6 +4,7 @@ import androidx.lifecycle.DefaultLifecycleObserver
 import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.LifecycleObserver
 import androidx.lifecycle.LifecycleOwner
+import io.customer.commontest.util.NetworkMonitorStub
 import io.customer.messaginginapp.gist.data.listeners.GistQueue
 import io.customer.messaginginapp.state.InAppMessagingManager
 import io.customer.messaginginapp.state.InAppMessagingState
@@ -17,6 +18,8 @@ import io.mockk.mockk
 import io.mockk.slot
 import io.mockk.verify
 import java.util.concurrent.atomic.AtomicInteger
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -29,6 +32,7 @@ class PollingLifecycleManagerTest : JUnitTest() {
     private val gistQueue = mockk<GistQueue>(relaxed = true)
     private val logger = mockk<Logger>(relaxed = true)
     private val mainThreadPoster = mockk<MainThreadPoster>(relaxed = true)
+    private val networkMonitor = NetworkMonitorStub()
 
     // SSE inactive by default (sseEnabled=false), so polling is the active transport.
     private var state = InAppMessagingState(pollInterval = 600000L)
@@ -67,7 +71,9 @@ class PollingLifecycleManagerTest : JUnitTest() {
         processLifecycleOwner = processLifecycleOwner,
         gistQueue = gistQueue,
         logger = logger,
-        mainThreadPoster = mainThreadPoster
+        mainThreadPoster = mainThreadPoster,
+        networkMonitor = networkMonitor,
+        scope = CoroutineScope(Dispatchers.Unconfined)
     )
 
     private fun captureObserver(): DefaultLifecycleObserver {
@@ -141,6 +147,43 @@ class PollingLifecycleManagerTest : JUnitTest() {
         verify { logger.debug(match { it.contains("App backgrounded - stopping polling") }) }
     }
 
+    @Test
+    fun pollTick_whenOffline_skipsFetch() {
+        networkMonitor.setConnected(false)
+        createManager()
+        val observer = captureObserver()
+
+        observer.onStart(processLifecycleOwner)
+
+        verify(timeout = 2000) { logger.debug(match { it.contains("Poll tick skipped") }) }
+        verify(exactly = 0) { gistQueue.fetchUserMessages() }
+    }
+
+    @Test
+    fun networkRestored_whenForegroundedAndPolling_fetchesImmediately() {
+        networkMonitor.setConnected(false)
+        createManager()
+        val observer = captureObserver()
+        observer.onStart(processLifecycleOwner)
+        verify(timeout = 2000) { logger.debug(match { it.contains("Poll tick skipped") }) }
+
+        networkMonitor.setConnected(true)
+
+        verify { logger.debug(match { it.contains("Network restored") }) }
+        verify(timeout = 2000) { gistQueue.fetchUserMessages() }
+    }
+
+    @Test
+    fun networkRestored_whenBackgrounded_doesNotFetch() {
+        createManager()
+        networkMonitor.setConnected(false)
+
+        networkMonitor.setConnected(true)
+
+        verify(exactly = 0) { logger.debug(match { it.contains("Network restored") }) }
+        verify(exactly = 0) { gistQueue.fetchUserMessages() }
+    }
+
     @Test
     fun fetchInAppMessages_whenSseInactive_fetches() {
         val manager = createManager()
@@ -12,6 +12,7 @@ import io.customer.messaginginapp.testutils.extension.createInAppMessage
 import io.customer.messaginginapp.testutils.extension.createInboxMessage
 import io.customer.sdk.communication.Event
 import io.customer.sdk.communication.EventBus
+import io.customer.sdk.core.util.CioLogLevel
 import io.customer.sdk.core.util.Logger
 import io.customer.sdk.events.Metric
 import io.mockk.every
@@ -39,6 +40,7 @@ class InAppMessagingMiddlewaresTest : JUnitTest() {
         // Configure store state
         val emptyState = InAppMessagingState()
         every { store.state } returns emptyState
+        every { mockLogger.isLoggable(any()) } returns true
 
         super.setup(
             testConfigurationDefault {
@@ -345,6 +347,21 @@ class InAppMessagingMiddlewaresTest : JUnitTest() {
         verify { nextFn(action) }
     }
 
+    @Test
+    fun loggerMiddleware_givenDebugLogsDisabled_expectStateNotRead() {
+        val action = InAppMessagingAction.SetPageRoute("test/route")
+        every { mockLogger.isLoggable(CioLogLevel.DEBUG) } returns false
+
+        val middleware = loggerMiddleware()
+        middleware(store)(nextFn)(action)
+
+        verify(exactly = 0) {
+            store.state
+            mockLogger.debug(any(), any())
+        }
+        verify { nextFn(action) }
+    }
+
     @Test
     fun errorLoggerMiddleware_shouldLogErrorAction() {
         val errorMessage = "Test error message"
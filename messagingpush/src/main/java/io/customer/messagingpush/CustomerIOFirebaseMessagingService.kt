@@ -61,6 +61,7 @@ open class CustomerIOFirebaseMessagingService : FirebaseMessagingService() {
             handleNotificationTrigger: Boolean = true
         ): Boolean {
             SDKComponent.setupAndroidComponent(context = context)
+            (SDKComponent.modules[ModuleMessagingPushFCM.MODULE_NAME] as? ModuleMessagingPushFCM)?.onPushReceived()
             val handler = CustomerIOPushNotificationHandler(
                 pushMessageProcessor = SDKComponent.pushMessageProcessor,
                 remoteMessage = remoteMessage,
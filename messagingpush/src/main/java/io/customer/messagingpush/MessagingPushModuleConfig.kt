@@ -4,6 +4,7 @@ import io.customer.messagingpush.config.PushClickBehavior
 import io.customer.messagingpush.config.PushClickBehavior.ACTIVITY_PREVENT_RESTART
 import io.customer.messagingpush.data.communication.CustomerIOPushNotificationCallback
 import io.customer.sdk.core.module.CustomerIOModuleConfig
+import io.customer.sdk.core.module.ModuleActivationMode
 
 /**
  * Push messaging module configurations
@@ -12,16 +13,19 @@ import io.customer.sdk.core.module.CustomerIOModuleConfig
  * notifications
  * @property pushClickBehavior defines the behavior when a push notification
  * is clicked
+ * @property activationMode defines when current device token is fetched from FCM
  */
 class MessagingPushModuleConfig private constructor(
     val autoTrackPushEvents: Boolean,
     val notificationCallback: CustomerIOPushNotificationCallback?,
-    val pushClickBehavior: PushClickBehavior
+    val pushClickBehavior: PushClickBehavior,
+    val activationMode: ModuleActivationMode
 ) : CustomerIOModuleConfig {
     class Builder : CustomerIOModuleConfig.Builder<MessagingPushModuleConfig> {
         private var autoTrackPushEvents: Boolean = true
         private var notificationCallback: CustomerIOPushNotificationCallback? = null
         private var pushClickBehavior: PushClickBehavior = ACTIVITY_PREVENT_RESTART
+        private var activationMode: ModuleActivationMode = ModuleActivationMode.EAGER
 
         /**
          * Allows to enable/disable automatic tracking of push events. Auto tracking will generate
@@ -56,11 +60,25 @@ class MessagingPushModuleConfig private constructor(
             return this
         }
 
+        /**
+         * Defines when current device token is fetched from FCM. With
+         * [ModuleActivationMode.LAZY], token is fetched on the first identified
+         * user or first push received instead of on SDK initialization. Push
+         * click tracking is not affected.
+         *
+         * @param activationMode when to fetch device token; default [ModuleActivationMode.EAGER].
+         */
+        fun setActivationMode(activationMode: ModuleActivationMode): Builder {
+            this.activationMode = activationMode
+            return this
+        }
+
         override fun build(): MessagingPushModuleConfig {
             return MessagingPushModuleConfig(
                 autoTrackPushEvents = autoTrackPushEvents,
                 notificationCallback = notificationCallback,
-                pushClickBehavior = pushClickBehavior
+                pushClickBehavior = pushClickBehavior,
+                activationMode = activationMode
             )
         }
     }
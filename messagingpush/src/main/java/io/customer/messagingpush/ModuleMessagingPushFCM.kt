@@ -16,15 +16,17 @@ import io.customer.messagingpush.logger.PushNotificationLogger
 import io.customer.messagingpush.provider.DeviceTokenProvider
 import io.customer.messagingpush.store.PendingPushDeliveryMetric
 import io.customer.sdk.communication.Event
+import io.customer.sdk.communication.subscribe
 import io.customer.sdk.core.di.SDKComponent
 import io.customer.sdk.core.di.SDKComponent.eventBus
 import io.customer.sdk.core.di.workManagerProvider
 import io.customer.sdk.core.module.CustomerIOModule
+import io.customer.sdk.core.module.ModuleActivationMode
+import io.customer.sdk.core.module.ModuleActivator
 import io.customer.sdk.core.util.DispatchersProvider
 import io.customer.sdk.data.store.PendingDeliveryStore
 import io.customer.sdk.events.Metric
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.flow.filter
 import kotlinx.coroutines.launch
 
 class ModuleMessagingPushFCM @JvmOverloads constructor(
@@ -47,30 +49,42 @@ class ModuleMessagingPushFCM @JvmOverloads constructor(
     override val moduleName: String
         get() = MODULE_NAME
 
+    private val activator = ModuleActivator(
+        moduleName = MODULE_NAME,
+        mode = moduleConfig.activationMode,
+        onActivate = ::getCurrentFcmToken
+    )
+
     override fun initialize() {
-        getCurrentFcmToken()
         subscribeToLifecycleEvents()
         observeProcessForeground()
+        if (activator.mode == ModuleActivationMode.LAZY) {
+            eventBus.subscribe<Event.UserChangedEvent> {
+                if (!it.userId.isNullOrEmpty()) {
+                    activator.activate(trigger = "identified user")
+                }
+            }
+        }
+        activator.onModuleInitialized()
     }
 
-    private fun subscribeToLifecycleEvents() {
-        activityLifecycleCallbacks.subscribe { events ->
-            events
-                .filter { state ->
-                    state.event == Lifecycle.Event.ON_CREATE
-                }.collect { state ->
-                    when (state.event) {
-                        Lifecycle.Event.ON_CREATE -> runCatching {
-                            val intentArguments = state.activity.get()?.intent?.extras ?: return@collect
+    /**
+     * Called when a push is received, activates the module if it is
+     * activated lazily.
+     */
+    internal fun onPushReceived() {
+        activator.activate(trigger = "push received")
+    }
 
-                            if (moduleConfig.autoTrackPushEvents) {
-                                pushTrackingUtil.parseLaunchedActivityForTracking(intentArguments)
-                            }
-                        }
+    private fun subscribeToLifecycleEvents() {
+        activityLifecycleCallbacks.subscribe(events = setOf(Lifecycle.Event.ON_CREATE)) { state ->
+            runCatching {
+                val intentArguments = state.activity.get()?.intent?.extras ?: return@runCatching
 
-                        else -> {}
-                    }
+                if (moduleConfig.autoTrackPushEvents) {
+                    pushTrackingUtil.parseLaunchedActivityForTracking(intentArguments)
                 }
+            }
         }
     }
 
@@ -113,9 +127,10 @@ class ModuleMessagingPushFCM @JvmOverloads constructor(
 
     /**
      * Snapshot the pending store, cancel each entry's WorkManager unique work
-     * so the worker won't also deliver, then publish each entry through the
-     * analytics pipeline. Removes only the snapshotted keys at the end so
-     * entries appended mid-handoff survive.
+     * so the worker won't also deliver, claim all cancelled entries in one
+     * store write, then publish each claimed entry through the analytics
+     * pipeline. Only snapshotted keys are claimed so entries appended
+     * mid-handoff survive.
      *
      * Cancel happens before publish on purpose: a worker that is `ENQUEUED`
      * or running flips to `CANCELLED` immediately and won't issue its HTTP
@@ -134,23 +149,33 @@ class ModuleMessagingPushFCM @JvmOverloads constructor(
                 pushLogger.logForegroundSnapshot(count = pending.size)
 
                 val wm = workManagerForCancel
-                // Process each entry in isolation. WorkManager's cancelUniqueWork().await()
+                // Cancel each entry in isolation. WorkManager's cancelUniqueWork().await()
                 // can throw — if one entry's cancel fails we don't want to short-circuit
                 // the rest of the batch. Failed entries stay in the store so the next
                 // foreground transition retries them.
-                var flushedCount = 0
-                pending.forEach { entry ->
+                val cancelledKeys = pending.mapNotNull { entry ->
                     try {
                         if (wm != null) {
                             wm.cancelUniqueWork(entry.deliveryId).await()
                             pushLogger.logHandoffCancelledWorkManager(entry.deliveryId)
                         }
-                        // Atomically claim before publishing so the WorkManager worker
-                        // (which also claims before sending) cannot deliver the same
-                        // metric. Removing per-entry here, rather than batching at the
-                        // end, also means a mid-loop CancellationException can't strand
-                        // an already-published entry for re-publish next foreground.
-                        if (!pendingPushDeliveryStore.claim(entry.deliveryId)) return@forEach
+                        entry.deliveryId
+                    } catch (ce: kotlinx.coroutines.CancellationException) {
+                        throw ce
+                    } catch (ex: Exception) {
+                        pushLogger.logHandoffEntryFailed(entry.deliveryId, ex)
+                        null
+                    }
+                }
+                // Atomically claim all cancelled entries in a single store write before
+                // publishing so the WorkManager worker (which also claims before sending)
+                // cannot deliver the same metric. Entries already claimed by the worker
+                // are not returned and are not published again. Publishing does not
+                // suspend, so a CancellationException can't strand claimed entries.
+                val claimed = pendingPushDeliveryStore.claimAll(cancelledKeys)
+                var flushedCount = 0
+                claimed.forEach { entry ->
+                    try {
                         eventBus.publish(
                             Event.TrackPushMetricEvent(
                                 event = Metric.Delivered,
@@ -160,8 +185,6 @@ class ModuleMessagingPushFCM @JvmOverloads constructor(
                         )
                         pushLogger.logHandoffPublishedToEventBus(entry.deliveryId)
                         flushedCount++
-                    } catch (ce: kotlinx.coroutines.CancellationException) {
-                        throw ce
                     } catch (ex: Exception) {
                         pushLogger.logHandoffEntryFailed(entry.deliveryId, ex)
                     }
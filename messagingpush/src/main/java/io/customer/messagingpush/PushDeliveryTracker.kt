@@ -1,15 +1,21 @@
 package io.customer.messagingpush
 
+import io.customer.messagingpush.di.pushLogger
+import io.customer.messagingpush.logger.PushNotificationLogger
 import io.customer.messagingpush.store.PendingPushDeliveryMetric
 import io.customer.sdk.core.di.SDKComponent
 import io.customer.sdk.core.di.httpClient
+import io.customer.sdk.core.di.networkMonitor
 import io.customer.sdk.core.network.CustomerIOHttpClient
 import io.customer.sdk.core.network.HttpRequestParams
+import io.customer.sdk.core.network.NetworkMonitor
+import io.customer.sdk.core.network.awaitConnected
 import io.customer.sdk.core.util.DispatchersProvider
 import io.customer.sdk.data.store.PendingDeliveryStore
 import io.customer.sdk.util.EventNames
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
 import org.json.JSONObject
 
 internal interface PushDeliveryTracker {
@@ -22,7 +28,9 @@ internal class PushDeliveryTrackerImpl : PushDeliveryTracker {
         get() = SDKComponent.httpClient
 
     /**
-     * Tracks a metric by performing a single POST request with JSON.
+     * Tracks a metric as `/track` event. A single metric is sent right away,
+     * while metrics tracked shortly after it are batched together, so a burst
+     * of delivered pushes does not cost a request each.
      * Returns a `Result<Unit>`.
      */
     override suspend fun trackMetric(
@@ -49,31 +57,48 @@ internal class PushDeliveryTrackerImpl : PushDeliveryTracker {
             body = topLevelJson.toString()
         )
 
-        val result = httpClient.request(params)
+        val result = httpClient.requestBatched(params)
         return result.map { /* we only need success/failure */ }
     }
 }
 
 internal class AsyncPushDeliveryTracker(
     private val deliveryTracker: PushDeliveryTracker,
-    private val pendingStore: PendingDeliveryStore<PendingPushDeliveryMetric>
+    private val pendingStore: PendingDeliveryStore<PendingPushDeliveryMetric>,
+    private val networkMonitor: NetworkMonitor = SDKComponent.networkMonitor
 ) {
     private val dispatcher: DispatchersProvider
         get() = SDKComponent.dispatchersProvider
+    private val pushLogger: PushNotificationLogger
+        get() = SDKComponent.pushLogger
 
     /**
      * Fire-and-forget direct-HTTP fallback used when WorkManager is not available.
      * Mirrors the WorkManager success contract: on a 2xx response the pending
      * entry keyed by [deliveryId] is removed; on any failure the entry is left
      * in place so the foreground handoff will publish it via the analytics
-     * pipeline.
+     * pipeline. While device is offline, the request waits up to
+     * [OFFLINE_WAIT_MILLIS] for network and is otherwise left to the handoff
+     * as well.
      */
     fun trackMetric(token: String, event: String, deliveryId: String) {
         CoroutineScope(dispatcher.background).launch {
+            if (!networkMonitor.isConnected) {
+                val isConnected = withTimeoutOrNull(OFFLINE_WAIT_MILLIS) { networkMonitor.awaitConnected() } != null
+                if (!isConnected) {
+                    pushLogger.logAsyncTrackerSkippedOffline(deliveryId)
+                    return@launch
+                }
+            }
             val result = deliveryTracker.trackMetric(token, event, deliveryId)
             if (result.isSuccess) {
                 pendingStore.remove(deliveryId)
             }
         }
     }
+
+    companion object {
+        // FCM-woken processes are short-lived, so only wait briefly before leaving it to the handoff
+        internal const val OFFLINE_WAIT_MILLIS = 30_000L
+    }
 }
@@ -60,7 +60,10 @@ internal val SDKComponent.pendingPushDeliveryStore: PendingDeliveryStore<Pending
             context = android().applicationContext,
             fileName = PendingPushDeliveryMetric.FILE_NAME,
             elementSerializer = PendingPushDeliveryMetric.serializer(),
-            logger = logger
+            logger = logger,
+            // Every delivered push appends and every worker claims an entry,
+            // log storage keeps both from rewriting the whole queue
+            storageMode = PendingDeliveryStore.StorageMode.APPEND_LOG
         )
     }
 
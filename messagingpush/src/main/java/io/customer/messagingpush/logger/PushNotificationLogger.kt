@@ -4,6 +4,8 @@ import com.google.firebase.messaging.RemoteMessage
 import io.customer.messagingpush.config.PushClickBehavior
 import io.customer.messagingpush.data.model.CustomerIOParsedPushPayload
 import io.customer.sdk.core.util.Logger
+import io.customer.sdk.core.util.debug
+import io.customer.sdk.core.util.info
 
 internal class PushNotificationLogger(private val logger: Logger) {
 
@@ -13,80 +15,75 @@ internal class PushNotificationLogger(private val logger: Logger) {
     }
 
     fun logPendingStoreAppended(deliveryId: String) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "appended pending entry key=$deliveryId"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "appended pending entry key=$deliveryId"
+        }
     }
 
     fun logWorkManagerEnqueued(deliveryId: String) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "enqueued WM key=$deliveryId"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "enqueued WM key=$deliveryId"
+        }
     }
 
     fun logWorkManagerUnavailableAsyncFallback(deliveryId: String) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "WM unavailable, async-tracker fallback key=$deliveryId"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "WM unavailable, async-tracker fallback key=$deliveryId"
+        }
+    }
+
+    fun logAsyncTrackerSkippedOffline(deliveryId: String) {
+        logger.info(tag = HANDOFF_TAG) {
+            "async-tracker offline, left pending for handoff key=$deliveryId"
+        }
     }
 
     fun logWorkerSuccessRemoved(deliveryId: String) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "worker success, removed key=$deliveryId"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "worker success, removed key=$deliveryId"
+        }
     }
 
     fun logWorkerSkippedAlreadyDelivered(deliveryId: String) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "worker skipped, already delivered key=$deliveryId"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "worker skipped, already delivered key=$deliveryId"
+        }
     }
 
     fun logWorkerRetry(deliveryId: String, cause: Throwable?) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "worker retry key=$deliveryId cause=${cause?.javaClass?.simpleName ?: "unknown"}"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "worker retry key=$deliveryId cause=${cause?.javaClass?.simpleName ?: "unknown"}"
+        }
     }
 
     fun logWorkerFailure(deliveryId: String, cause: Throwable?) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "worker failure key=$deliveryId cause=${cause?.javaClass?.simpleName ?: "unknown"}"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "worker failure key=$deliveryId cause=${cause?.javaClass?.simpleName ?: "unknown"}"
+        }
     }
 
     fun logForegroundSnapshot(count: Int) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "foreground reached, snapshot count=$count"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "foreground reached, snapshot count=$count"
+        }
     }
 
     fun logHandoffCancelledWorkManager(deliveryId: String) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "cancelled WM key=$deliveryId"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "cancelled WM key=$deliveryId"
+        }
     }
 
     fun logHandoffPublishedToEventBus(deliveryId: String) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "published to eventBus key=$deliveryId"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "published to eventBus key=$deliveryId"
+        }
     }
 
     fun logHandoffComplete(count: Int) {
-        logger.info(
-            tag = HANDOFF_TAG,
-            message = "handoff complete, removed count=$count"
-        )
+        logger.info(tag = HANDOFF_TAG) {
+            "handoff complete, removed count=$count"
+        }
     }
 
     fun logHandoffEntryFailed(deliveryId: String, throwable: Throwable) {
@@ -105,10 +102,9 @@ internal class PushNotificationLogger(private val logger: Logger) {
     }
 
     fun logGooglePlayServicesUnavailable(result: Int) {
-        logger.debug(
-            tag = TAG,
-            message = "Google Play Services is NOT available for this device with result: $result"
-        )
+        logger.debug(tag = TAG) {
+            "Google Play Services is NOT available for this device with result: $result"
+        }
     }
 
     fun logGooglePlayServicesAvailabilityCheckFailed(throwable: Throwable) {
@@ -127,10 +123,9 @@ internal class PushNotificationLogger(private val logger: Logger) {
     }
 
     fun obtainingTokenSuccess(token: String) {
-        logger.debug(
-            tag = TAG,
-            message = "Got current device token: $token"
-        )
+        logger.debug(tag = TAG) {
+            "Got current device token: $token"
+        }
     }
 
     fun obtainingTokenFailed(throwable: Throwable?) {
@@ -142,17 +137,15 @@ internal class PushNotificationLogger(private val logger: Logger) {
     }
 
     fun logShowingPushNotification(message: RemoteMessage) {
-        logger.debug(
-            tag = TAG,
-            message = "Showing notification for message: ${toString(message)}"
-        )
+        logger.debug(tag = TAG) {
+            "Showing notification for message: ${toString(message)}"
+        }
     }
 
     fun logReceivedPushMessage(message: RemoteMessage, handleNotificationTrigger: Boolean) {
-        logger.debug(
-            tag = TAG,
-            message = "handleNotificationTrigger: $handleNotificationTrigger - Received notification for message: ${toString(message)}"
-        )
+        logger.debug(tag = TAG) {
+            "handleNotificationTrigger: $handleNotificationTrigger - Received notification for message: ${toString(message)}"
+        }
     }
 
     fun logReceivedEmptyPushMessage() {
@@ -184,17 +177,15 @@ internal class PushNotificationLogger(private val logger: Logger) {
     }
 
     fun logReceivedDuplicatePushMessageDeliveryId(deliveryId: String) {
-        logger.debug(
-            tag = TAG,
-            message = "Received duplicate message with deliveryId: $deliveryId"
-        )
+        logger.debug(tag = TAG) {
+            "Received duplicate message with deliveryId: $deliveryId"
+        }
     }
 
     fun logReceivedNewMessageWithDeliveryId(deliveryId: String) {
-        logger.debug(
-            tag = TAG,
-            message = "Received new message with deliveryId: $deliveryId"
-        )
+        logger.debug(tag = TAG) {
+            "Received new message with deliveryId: $deliveryId"
+        }
     }
 
     fun logPushMetricsAutoTrackingDisabled() {
@@ -205,17 +196,15 @@ internal class PushNotificationLogger(private val logger: Logger) {
     }
 
     fun logTrackingPushMessageDelivered(deliveryId: String) {
-        logger.debug(
-            tag = TAG,
-            message = "Tracking push message delivered with deliveryId: $deliveryId"
-        )
+        logger.debug(tag = TAG) {
+            "Tracking push message delivered with deliveryId: $deliveryId"
+        }
     }
 
     fun logTrackingPushMessageOpened(payload: CustomerIOParsedPushPayload) {
-        logger.debug(
-            tag = TAG,
-            message = "Tracking push message opened with payload: $payload"
-        )
+        logger.debug(tag = TAG) {
+            "Tracking push message opened with payload: $payload"
+        }
     }
 
     fun logFailedToHandlePushClick(throwable: Throwable) {
@@ -227,10 +216,9 @@ internal class PushNotificationLogger(private val logger: Logger) {
     }
 
     fun logHandlingNotificationDeepLink(payload: CustomerIOParsedPushPayload, behavior: PushClickBehavior) {
-        logger.debug(
-            tag = TAG,
-            message = "Handling push notification deep link with payload: $payload - pushClickBehavior: $behavior"
-        )
+        logger.debug(tag = TAG) {
+            "Handling push notification deep link with payload: $payload - pushClickBehavior: $behavior"
+        }
     }
 
     fun logDeepLinkHandledByCallback() {
@@ -276,17 +264,15 @@ internal class PushNotificationLogger(private val logger: Logger) {
     }
 
     fun logCreatingNotificationChannel(channelId: String, channelName: String, importance: Int) {
-        logger.debug(
-            tag = TAG,
-            message = "Creating new notification channel id: $channelId, name: $channelName, importance: $importance"
-        )
+        logger.debug(tag = TAG) {
+            "Creating new notification channel id: $channelId, name: $channelName, importance: $importance"
+        }
     }
 
     fun logNotificationChannelAlreadyExists(channelId: String) {
-        logger.debug(
-            tag = TAG,
-            message = "Notification channel already exists id: $channelId"
-        )
+        logger.debug(tag = TAG) {
+            "Notification channel already exists id: $channelId"
+        }
     }
 
     fun logInvalidNotificationChannelImportance(importanceLevel: Int) {
@@ -17,12 +17,14 @@ import io.customer.messagingpush.testutils.core.IntegrationTest
 import io.customer.sdk.communication.Event
 import io.customer.sdk.communication.EventBus
 import io.customer.sdk.core.di.SDKComponent
+import io.customer.sdk.core.module.ModuleActivationMode
 import io.customer.sdk.core.util.CustomerIOWorkManagerProvider
 import io.customer.sdk.core.util.DispatchersProvider
 import io.customer.sdk.data.store.PendingDeliveryStore
 import io.customer.sdk.events.Metric
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.slot
 import io.mockk.verify
 import io.mockk.verifyOrder
 import kotlinx.coroutines.test.runTest
@@ -120,26 +122,28 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
         module.initialize()
 
         verify(exactly = 0) { eventBus.publish(any<Event.TrackPushMetricEvent>()) }
-        verify(exactly = 0) { mockPendingStore.claim(any()) }
+        verify(exactly = 0) { mockPendingStore.claimAll(any()) }
         verify(exactly = 0) { mockWorkManager.cancelUniqueWork(any()) }
     }
 
     @Test
-    fun handoff_givenPendingEntries_expectCancelThenClaimThenPublish() = runTest {
+    fun handoff_givenPendingEntries_expectCancelThenClaimAllThenPublish() = runTest {
         val entries = listOf(
             PendingPushDeliveryMetric(deliveryId = "d1", token = "t1"),
             PendingPushDeliveryMetric(deliveryId = "d2", token = "t2")
         )
         every { mockPendingStore.loadAll() } returns entries
-        every { mockPendingStore.claim(any()) } returns true
+        every { mockPendingStore.claimAll(listOf("d1", "d2")) } returns entries
 
         module.handoffPendingPushDeliveryToAnalyticsPipeline()
 
-        // For each entry: cancel, then atomically claim, then publish. Cancel
-        // before claim/publish keeps the worker from also delivering.
+        // Cancel every entry, then atomically claim them in one store write,
+        // then publish. Cancel before claim/publish keeps the worker from also
+        // delivering.
         verifyOrder {
             mockWorkManager.cancelUniqueWork("d1")
-            mockPendingStore.claim("d1")
+            mockWorkManager.cancelUniqueWork("d2")
+            mockPendingStore.claimAll(listOf("d1", "d2"))
             eventBus.publish(
                 Event.TrackPushMetricEvent(
                     event = Metric.Delivered,
@@ -147,8 +151,6 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
                     deviceToken = "t1"
                 )
             )
-            mockWorkManager.cancelUniqueWork("d2")
-            mockPendingStore.claim("d2")
             eventBus.publish(
                 Event.TrackPushMetricEvent(
                     event = Metric.Delivered,
@@ -157,22 +159,41 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
                 )
             )
         }
-        // Removal happens via claim() per entry, not a batch removeAll.
+        // Removal happens via a single claimAll(), not per-entry claims or removals.
+        verify(exactly = 1) { mockPendingStore.claimAll(any()) }
+        verify(exactly = 0) { mockPendingStore.claim(any()) }
         verify(exactly = 0) { mockPendingStore.removeAll(any<Collection<String>>()) }
         verify(exactly = 0) { mockPendingStore.remove(any()) }
     }
 
+    @Test
+    fun handoff_givenSomeEntriesClaimedByWorker_expectOnlyClaimedEntriesPublished() = runTest {
+        val entries = listOf(
+            PendingPushDeliveryMetric(deliveryId = "d1", token = "t1"),
+            PendingPushDeliveryMetric(deliveryId = "d2", token = "t2")
+        )
+        every { mockPendingStore.loadAll() } returns entries
+        // Worker claimed d1 between the snapshot and the handoff's claim
+        every { mockPendingStore.claimAll(listOf("d1", "d2")) } returns listOf(entries[1])
+
+        module.handoffPendingPushDeliveryToAnalyticsPipeline()
+
+        verify(exactly = 1) { eventBus.publish(any<Event.TrackPushMetricEvent>()) }
+        verify(exactly = 1) { mockPushLogger.logHandoffPublishedToEventBus("d2") }
+        verify(exactly = 1) { mockPushLogger.logHandoffComplete(count = 1) }
+    }
+
     @Test
     fun handoff_givenEntryAlreadyClaimedByWorker_expectNoPublish() = runTest {
         // The WorkManager worker won the race and already claimed (delivered) the
         // entry; the handoff's claim returns false, so it must not publish again.
         val entries = listOf(PendingPushDeliveryMetric(deliveryId = "d1", token = "t1"))
         every { mockPendingStore.loadAll() } returns entries
-        every { mockPendingStore.claim("d1") } returns false
+        every { mockPendingStore.claimAll(listOf("d1")) } returns emptyList()
 
         module.handoffPendingPushDeliveryToAnalyticsPipeline()
 
-        verify(exactly = 1) { mockPendingStore.claim("d1") }
+        verify(exactly = 1) { mockPendingStore.claimAll(listOf("d1")) }
         verify(exactly = 0) { eventBus.publish(any<Event.TrackPushMetricEvent>()) }
         verify(exactly = 0) { mockPushLogger.logHandoffPublishedToEventBus(any()) }
     }
@@ -185,7 +206,7 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
 
         verify(exactly = 0) { mockWorkManager.cancelUniqueWork(any()) }
         verify(exactly = 0) { eventBus.publish(any<Event.TrackPushMetricEvent>()) }
-        verify(exactly = 0) { mockPendingStore.claim(any()) }
+        verify(exactly = 0) { mockPendingStore.claimAll(any()) }
     }
 
     @Test
@@ -199,7 +220,7 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
             PendingPushDeliveryMetric(deliveryId = "d1", token = "t1")
         )
         every { mockPendingStore.loadAll() } returns entries
-        every { mockPendingStore.claim("d1") } returns true
+        every { mockPendingStore.claimAll(listOf("d1")) } returns entries
 
         module.handoffPendingPushDeliveryToAnalyticsPipeline()
 
@@ -215,7 +236,7 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
                 )
             )
         }
-        verify(exactly = 1) { mockPendingStore.claim("d1") }
+        verify(exactly = 1) { mockPendingStore.claimAll(listOf("d1")) }
     }
 
     @Test
@@ -229,7 +250,7 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
             PendingPushDeliveryMetric(deliveryId = "ok", token = "t2")
         )
         every { mockPendingStore.loadAll() } returns entries
-        every { mockPendingStore.claim("ok") } returns true
+        every { mockPendingStore.claimAll(listOf("ok")) } returns listOf(entries[1])
         val failingOperation: Operation = mockk(relaxed = true) {
             every { result } returns
                 com.google.common.util.concurrent.Futures.immediateFailedFuture<Operation.State.SUCCESS>(
@@ -263,8 +284,7 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
         }
         // Only the successfully-cancelled key is claimed; "boom" was never claimed
         // (cancel threw first) so it stays for the next retry.
-        verify(exactly = 1) { mockPendingStore.claim("ok") }
-        verify(exactly = 0) { mockPendingStore.claim("boom") }
+        verify(exactly = 1) { mockPendingStore.claimAll(listOf("ok")) }
         verify(exactly = 1) { mockPushLogger.logHandoffEntryFailed("boom", any()) }
     }
 
@@ -286,4 +306,38 @@ class ModuleMessagingPushFCMTest : IntegrationTest() {
         // removed from the process lifecycle before the new one was added.
         (secondObserver !== firstObserver).shouldBeTrue()
     }
+
+    @Test
+    fun initialize_givenLazyActivation_expectTokenFetchedOnlyOnFirstPushReceived() {
+        val lazyModule = ModuleMessagingPushFCM(
+            MessagingPushModuleConfig.Builder().setActivationMode(ModuleActivationMode.LAZY).build()
+        )
+
+        lazyModule.initialize()
+
+        assertCalledNever { fcmTokenProviderMock.getCurrentToken(any()) }
+
+        lazyModule.onPushReceived()
+        lazyModule.onPushReceived()
+
+        assertCalledOnce { fcmTokenProviderMock.getCurrentToken(any()) }
+    }
+
+    @Test
+    fun initialize_givenLazyActivation_expectTokenFetchedOnIdentifiedUserOnly() = runTest {
+        val userChangedAction = slot<suspend (Event.UserChangedEvent) -> Unit>()
+        every { eventBus.subscribe(Event.UserChangedEvent::class, capture(userChangedAction)) } returns mockk(relaxed = true)
+        val lazyModule = ModuleMessagingPushFCM(
+            MessagingPushModuleConfig.Builder().setActivationMode(ModuleActivationMode.LAZY).build()
+        )
+
+        lazyModule.initialize()
+        userChangedAction.captured(Event.UserChangedEvent(userId = null, anonymousId = String.random))
+
+        assertCalledNever { fcmTokenProviderMock.getCurrentToken(any()) }
+
+        userChangedAction.captured(Event.UserChangedEvent(userId = String.random, anonymousId = String.random))
+
+        assertCalledOnce { fcmTokenProviderMock.getCurrentToken(any()) }
+    }
 }
@@ -4,6 +4,7 @@ import io.customer.commontest.config.TestConfig
 import io.customer.commontest.config.testConfigurationDefault
 import io.customer.commontest.extensions.random
 import io.customer.commontest.util.DispatchersProviderStub
+import io.customer.commontest.util.NetworkMonitorStub
 import io.customer.messagingpush.store.PendingPushDeliveryMetric
 import io.customer.messagingpush.testutils.core.IntegrationTest
 import io.customer.sdk.core.network.CustomerIOHttpClient
@@ -54,7 +55,7 @@ class PushDeliveryTrackingTest : IntegrationTest() {
         val capturedParams = slot<HttpRequestParams>()
 
         coEvery {
-            httpClient.request(capture(capturedParams))
+            httpClient.requestBatched(capture(capturedParams))
         } returns Result.success("Success")
 
         val result = pushDeliveryTracker.trackMetric(token, event, deliveryId)
@@ -75,13 +76,13 @@ class PushDeliveryTrackingTest : IntegrationTest() {
         result.isSuccess.shouldBeEqualTo(true)
 
         // Ensure we only called once
-        coVerify(exactly = 1) { httpClient.request(any()) }
+        coVerify(exactly = 1) { httpClient.requestBatched(any()) }
     }
 
     @Test
     fun trackMetric_givenHttpClientFails_expectCallbackFailure() = runTest {
         coEvery {
-            httpClient.request(any())
+            httpClient.requestBatched(any())
         } returns Result.failure(Exception("Network error"))
 
         val result = pushDeliveryTracker.trackMetric("token", "OPENED", "deliveryId")
@@ -140,4 +141,35 @@ class PushDeliveryTrackingTest : IntegrationTest() {
         coVerify(exactly = 1) { mockDeliveryTracker.trackMetric(token, "Delivered", deliveryId) }
         verify(exactly = 0) { mockPendingStore.remove(any()) }
     }
+
+    @Test
+    fun asyncTrackMetric_givenOffline_expectTrackedOnceReconnected() = runTest {
+        val token = String.random
+        val deliveryId = String.random
+        val networkMonitor = NetworkMonitorStub(isConnected = false)
+
+        coEvery {
+            mockDeliveryTracker.trackMetric(token, "Delivered", deliveryId)
+        } returns Result.success(Unit)
+
+        val asyncTracker = AsyncPushDeliveryTracker(
+            deliveryTracker = mockDeliveryTracker,
+            pendingStore = mockPendingStore,
+            networkMonitor = networkMonitor
+        )
+
+        asyncTracker.trackMetric(
+            token = token,
+            event = "Delivered",
+            deliveryId = deliveryId
+        )
+
+        coVerify(exactly = 0) { mockDeliveryTracker.trackMetric(any(), any(), any()) }
+        verify(exactly = 0) { mockPendingStore.remove(any()) }
+
+        networkMonitor.setConnected(true)
+
+        coVerify(exactly = 1) { mockDeliveryTracker.trackMetric(token, "Delivered", deliveryId) }
+        verify(exactly = 1) { mockPendingStore.remove(deliveryId) }
+    }
 }
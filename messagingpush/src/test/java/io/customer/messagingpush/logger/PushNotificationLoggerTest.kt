@@ -21,6 +21,7 @@ class PushNotificationLoggerTest : JUnitTest() {
 
     @BeforeEach
     fun setUp() {
+        every { mockLogger.isLoggable(any()) } returns true
         every { mockLogger.debug(any(), any()) } just runs
         every { mockLogger.error(any(), any(), any()) } just runs
     }